@@ -1,454 +1,326 @@
 
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.concurrent.TimeUnit;
-import javax.swing.JOptionPane;
-
 /**
  * The AStarAlgorithm class is responsible for finding an optimal path between the given starting and finishing nodes,
  * with the usage of heuristics and path scoring values <br> The A* is an extension of Dijkstra's algorithm
  * whereby it achieves better performance on the number of operations and visited nodes overall leading to a faster path finding,
- * therefore achieving a lower CPU usage.
+ * therefore achieving a lower CPU usage. <br>
+ * The algorithm runs against the cells of the GridMap, keeping the distances, parents and closed flags by the cell on the pages
+ * of the CellValues and CellStamps classes, which are only allocated for the area reached by the searches and reused by the following
+ * searches on the grid of the same size.
  * @author Adrian Fall
  *
  */
-public class AStarAlgorithm {
+public class AStarAlgorithm implements PathfindingEngine {
 	
 	/**
-	 * Declares an array list for openList, that is for the nodes which
-	 * have been examined, as they were the first nodes on the openList and
-	 * have been expanded as the surrounding nodes of their parents,
-	 * and added to this list, so they will be potentially examined
+	 * Declares a heap for openList, that is for the cells which
+	 * have been examined, as they were the cells with the lowest path scoring on the openList and
+	 * have been expanded as the surrounding cells of their parents,
+	 * and added to this heap, so they will be potentially examined
 	 * at later stages.
 	 * 
 	 */
-	private ArrayList<Node> openList;
+	private CellHeap openList;
 	
 	/**
-	 * Declares an array list for the closedList, that is for the nodes which 
-	 * 
-	 * have expanded their neighbours nodes.
+	 * Declares the closedList, stamping the cells which have expanded their neighbours cells within the current search.
 	 */
-	private ArrayList<Node> closedList;
+	private CellStamps closedList;
 	
 	/**
-	 * Declares a Node instance for the start 
+	 * Declares the precise distances to the start cell, by the cell.
 	 */
-	private static Node start;
+	private CellValues distanceFromStart;
 	
 	/**
-	 * Declares a Node instance for the goal
+	 * Declares the directions of the cells from their parents, by the cell.
 	 */
-	private static Node goal;
+	private CellValues parentDirection;
 	
 	/**
-	 * Declares a boolean for tracking whether the user wants to allow diagonal path finding
+	 * Declares the bidirectional variant of the A* algorithm, which is created when it is selected for the first time.
 	 */
-	private static boolean allowDiagonalPathFinding = true;
+	private BidirectionalSearch bidirectionalSearch;
 	
 	/**
-	 * Declares an integer variable for the delay (in milliseconds) between the robotic movement.
+	 * Declares the grid on which the path is calculated
 	 */
-	private static int msDelayBetweenRobotMovement;
+	private GridMap grid;
 	
 	/**
-	 * Declares a boolean for tracking whether the user wants to be shown with the visited nodes (when the algorithm is performs
-	 * path-finding visually)
+	 * Declares the index of the cell for the start 
 	 */
-	private static boolean showVisitedNodes;
+	private int start;
 	
 	/**
-	 * Declares an integer variable for the delay (in milliseconds) between visiting the nodes.
+	 * Declares the index of the cell for the goal
 	 */
-	private static int msDelayBetweenVisitingNodes;
+	private int goal;
 	
 	/**
-	 * Declares a String variable for the type of the heuristics to be used by the algorithm.
+	 * Declares a boolean for tracking whether the user wants to allow diagonal path finding
 	 */
-	private static String heuristicsType;
+	private boolean allowDiagonalPathFinding = true;
 	
 	/**
-	 * Declares an integer variable for maintaining the number of operations that the path-finder performs.
+	 * Declares the heuristics to be used by the algorithm, which is resolved from the type selected by the user once per search.
 	 */
-	private static int numberOfOperations = 0;
+	private Heuristic heuristic;
 	
 	/**
-	 * Declares an integer variable for maintaining the number of visited nodes that the path-finder performs.
+	 * Declares a boolean for determining whether the heuristics value of each cell is traced, which is resolved once per search
+	 * together with the heuristics, so that calculating the heuristics does not test the level of the trace for each of the cells.
 	 */
-	private static int numberOfVisitedNodes = 0;
+	private boolean traceHeuristics;
 	
 	/**
-	 * The constructor of this class, accepting the nodes and other piece of information that
-	 * is needed in order to perform the A* algorithm path find.
-	 * @param start - The node which was selected as the start node by the user in the GUI
-	 * @param goal - The node which was selected as the goal/finish node by the user in the GUI.
-	 * @param allowDiagonalPathFinding - The piece of information determining whether the user allows diagonals or not.
-	 * @param msDelayBetweenRobotMovement - The piece of information that determines the delay between the animation of the robot movement.
-	 * @param showVisitedNodes - The piece of information that determines whether the user wants to be shown with the visited nodes by the algorithm.
-	 * @param msDelayBetweenVisitingNodes - The piece of information that determines the delay between visiting each adjacent node.
-	 * @param heuristicsType - The piece of information that determines what type of heuristics will be used by the A* algorithm
+	 * Declares the listener to be notified about the progress of the search, or null if there is none.
 	 */
+	private SearchListener listener;
+	
+	/**
+	 * Declares the profiler of the phases of the current search, or null if the search is not recorded by the Java Flight Recorder.
+	 */
+	private SearchProfiler profiler;
+	
+	/**
+	 * Declares an integer variable for maintaining the number of operations that the path-finder performs.
+	 */
+	private int numberOfOperations = 0;
+	
+	/**
+	 * Declares an integer variable for maintaining the number of visited nodes that the path-finder performs.
+	 */
+	private int numberOfVisitedNodes = 0;
 	
-	public AStarAlgorithm(Node start, Node goal, boolean allowDiagonalPathFinding, int msDelayBetweenRobotMovement, boolean showVisitedNodes, int msDelayBetweenVisitingNodes, String heuristicsType) {
-		AStarAlgorithm.start = start;
-		AStarAlgorithm.goal = goal;
-		AStarAlgorithm.allowDiagonalPathFinding = allowDiagonalPathFinding;
-		AStarAlgorithm.msDelayBetweenRobotMovement = msDelayBetweenRobotMovement;
-		AStarAlgorithm.showVisitedNodes = showVisitedNodes;
-		AStarAlgorithm.msDelayBetweenVisitingNodes = msDelayBetweenVisitingNodes;
-		AStarAlgorithm.heuristicsType = heuristicsType;
-	}
-
 	/**
 	 * The A* algorithm which performs the pathfinding in following maner: <br>
 	 * 1) Initialise the closed and open lists, adding the start to the open list <br>
 	 * 2) While the path has not been calculated and the open list is not empty then: <br>
-	 * 3) &nbsp&nbsp&nbspSelect the first node from the open list, then remove it from the open list and add to the closed list <br>
-	 * 4) &nbsp&nbsp&nbspObtain the surrounding nodes and check if any of them is the goal node, if yes set path calculated. <br>
+	 * 3) &nbsp&nbsp&nbspSelect the cell with the lowest path scoring from the open list, then remove it from the open list and add to the closed list <br>
+	 * 4) &nbsp&nbsp&nbspIf the cell is the goal cell, then the path has been calculated. <br>
 	 * 5) &nbsp&nbsp&nbspIf the path has been calculated then trace back the path (from goal to start), and break. <br>
-	 * 6) &nbsp&nbsp&nbspExpand each surrounding node, if and only if the surrounding node exists (i.e. is within the bounds of the grid)
+	 * 6) &nbsp&nbsp&nbspExpand each surrounding cell, if and only if the surrounding cell exists (i.e. is within the bounds of the grid)
 	 * and is not the obstacle. <br>
-	 * 7) &nbsp&nbsp&nbspSort the open list using the bubble sort algorithm, by the means of the path scoring values.
+	 * The open list is a binary heap ordered by the path scoring values, so it does not have to be sorted after each expansion. <br>
+	 * If the bidirectional search has been selected, then the path is calculated by the bidirectional A* instead.
+	 * @param grid - The grid on which the path is calculated.
+	 * @param start - The cell which was selected as the start node by the user in the GUI
+	 * @param goal - The cell which was selected as the goal/finish node by the user in the GUI.
+	 * @param options - The options of the search, that is whether to allow diagonals and what type of heuristics will be used by the A* algorithm
+	 * @param listener - The listener to be notified about the visited cells and the number of operations, or null.
+	 * @return - The result of the search.
 	 */
-	public void calculatePath() {
-		System.out.println("Hello from calculatePath()");
+	public PathResult calculatePath(GridMap grid, int start, int goal, SearchOptions options, SearchListener listener) {
+		if (SearchTrace.isEnabled(SearchTrace.debugLevel)) {
+			SearchTrace.log(SearchTrace.debugLevel, "A* search from the cell %d to the cell %d", start, goal);
+		}
+		if (options.isBidirectional()) {
+			if (bidirectionalSearch == null) {
+				bidirectionalSearch = new BidirectionalSearch(true);
+			}
+			return bidirectionalSearch.calculatePath(grid, start, goal, options, listener);
+		}
+		long startTime = System.nanoTime();
+		
+		this.grid = grid;
+		this.start = start;
+		this.goal = goal;
+		this.allowDiagonalPathFinding = options.isAllowDiagonalPathFinding();
+		this.heuristic = Heuristics.forOptions(grid, options);
+		this.traceHeuristics = SearchTrace.isEnabled(SearchTrace.traceLevel);
+		this.listener = listener;
+		this.profiler = SearchProfiler.start("astar");
 		
-		boolean pathHasBeenCalculated = false;
+		//The start is the goal, so the path consists of the start cell alone
+		if (start == goal) {
+			return finishSearch(new PathResult(new int[] {start}, 0, 0, 0, System.nanoTime() - startTime));
+		}
 		
-		//Initialise the closedList and openList as array lists
-		closedList = new ArrayList<Node>();
-		openList = new ArrayList<Node>();
+		//Initialise the closedList and the openList
+		initialiseSearchSpace(grid.getNumberOfCells());
 		
-		//Add the start node to the open list
-		openList.add(start);
+		//Add the start cell to the open list
+		distanceFromStart.set(start, 0);
+		openList.add(start, calculateHeuristics(start));
 		
 		numberOfOperations = 0;
 		numberOfVisitedNodes = 0;
 		
-		//While the path has not been yet calculated
-		while (!pathHasBeenCalculated) {
+		//Only the non-diagonal directions are stored first in the direction arrays
+		int numberOfDirections = allowDiagonalPathFinding ? GridMap.numberOfDirections : GridMap.numberOfNonDiagonalDirections;
+		
+		//While the open list is not empty
+		while (!openList.isEmpty()) {
 			
-			//If OPEN is empty, exit with failure.
-			if (openList.isEmpty()) {
-				if (!pathHasBeenCalculated) {
-					PathfindingGUI.operationsLabel.setText("<html><font color=green> Operations: " + Integer.toString(numberOfOperations) + "</font></html>");
-					PathfindingGUI.operationsLabel.paintImmediately(PathfindingGUI.operationsLabel.getVisibleRect());
-					
-					PathfindingGUI.visitedNodesLabel.setText("<html><font color=green> Visited nodes: " + Integer.toString(numberOfVisitedNodes) + "</font></html>");
-					PathfindingGUI.visitedNodesLabel.paintImmediately(PathfindingGUI.visitedNodesLabel.getVisibleRect());
-					
-					PathfindingGUI.pathFoundLabel.setText("<html><font color=red> Path not found. </font></html>");
-					PathfindingGUI.pathFoundLabel.paintImmediately(PathfindingGUI.pathFoundLabel.getVisibleRect());
-					
-					JOptionPane.showMessageDialog(null, "There is no possible path to be found.");
-				}
-				break;
+			//Select the cell with the lowest path scoring on OPEN, remove it from OPEN, and put it on CLOSED. Call this cell s.
+			if (profiler != null) {
+				profiler.enterPhase(SearchProfiler.queuePhase);
 			}
-			while (!openList.isEmpty()) {
-				
-				//Select the first node on OPEN, remove it from OPEN, and put it on CLOSED. Call this node s.
-				Node s = openList.get(0);
-				openList.remove(0);
-				closedList.add(s);
-				
-				//Create the objects of surrounding nodes
-				Node east = s.getNodeEast();
-				Node west = s.getNodeWest();
-				Node north = s.getNodeNorth();
-				Node south = s.getNodeSouth();
-				Node northEast = s.getNodeNorthEast();
-				Node northWest = s.getNodeNorthWest();
-				Node southEast = s.getNodeSouthEast();
-				Node southWest = s.getNodeSouthWest();
-				
+			int s = openList.poll();
+			if (profiler != null) {
+				profiler.nodeExpanded();
+			}
+			closedList.mark(s);
+			if (listener != null) {
+				listener.nodeExpanded(s);
+			}
+			
+			numberOfOperations += 4;
+			if (allowDiagonalPathFinding) {
 				numberOfOperations += 4;
-				
-				//If the east node exists and is the goal
-				if (east != null && east.isTheGoal()) {
-					pathHasBeenCalculated = true;
-				}
-				//Else if the west node exists and is the goal
-				else if (west != null && west.isTheGoal()) {
-					pathHasBeenCalculated = true;
-				}
-				//Else if the north node exists and is the goal
-				else if (north != null && north.isTheGoal()) {
-					pathHasBeenCalculated = true;
-				}
-				//Else if the south node exists and is the goal
-				else if (south != null && south.isTheGoal()) {
-					pathHasBeenCalculated = true;
-				} 
-				if (allowDiagonalPathFinding) {
-					numberOfOperations += 4;
-					
-					if (northEast != null && northEast.isTheGoal()) {
-						pathHasBeenCalculated = true;
-					}
-					else if (southEast != null && southEast.isTheGoal()) {
-						pathHasBeenCalculated = true;
-					}
-					else if (southWest != null && southWest.isTheGoal()) {
-						pathHasBeenCalculated = true;
-					}
-					else if (northWest != null && northWest.isTheGoal()) {
-						pathHasBeenCalculated = true;
-					}
-				}
-				
-				//If the path has been calculated
-				if (pathHasBeenCalculated) {
-					traceThePath(s);
-					break;
-				}//End of if the path has been calculated
-				
-				
-				//Expand the surrounding nodes of the currently looped node
-				if (east != null && !east.isTheObstacle() && !closedList.contains(east)) {
-					expandNode(east, s,"e");
-				}
-				
-				if (south != null && !south.isTheObstacle() && !closedList.contains(south)) {
-					expandNode(south, s,"s");
-				}
-				
-				if (north != null && !north.isTheObstacle() && !closedList.contains(north)) {
-					expandNode(north, s,"n");
-				}
-				
-				if (west != null  && !west.isTheObstacle() && !closedList.contains(west)) {
-					expandNode(west, s,"w");
+			}
+			//The counters are reported once per expanded cell, so the log of the search holds a single progress event for each expansion
+			if (listener != null) {
+				listener.progressUpdated(numberOfOperations, numberOfVisitedNodes);
+			}
+			
+			//The goal is only accepted once it has been removed from the open list, so the path is optimal
+			if (s == goal) {
+				return finishSearch(traceThePath(startTime));
+			}
+			
+			//Expand the surrounding cells of the currently looped cell
+			for (int direction = 0; direction < numberOfDirections; direction++) {
+				int adjacent = grid.getAdjacentCell(s, direction);
+				if (adjacent != -1 && !grid.isObstacle(adjacent) && !closedList.isMarked(adjacent)) {
+					expandNode(adjacent, s, direction);
 				}
-				
-				
-				
-				if (allowDiagonalPathFinding) {
-					if (northEast != null && !closedList.contains(northEast) && !northEast.isTheObstacle() && !closedList.contains(northEast)) {
-						expandNode(northEast, s,"n-e");
-					}
-					
-					if (southEast != null && !closedList.contains(southEast) && !southEast.isTheObstacle() && !closedList.contains(southEast)) {
-						expandNode(southEast, s, "s-e");
-					}
-					
-					if (northWest != null && !closedList.contains(northWest) && !northWest.isTheObstacle() && !closedList.contains(northWest)) {
-						expandNode(northWest, s, "n-w");
-					}
-					
-					if (southWest != null && !closedList.contains(southWest) && !southWest.isTheObstacle() && !closedList.contains(southWest)) {
-						expandNode(southWest, s, "s-w");
-					}
-				}//End of if allow diagonal path finding
-				bubbleSortAlgorithm();
-			}//End of while openList is not empty
-		}//End of while the path has not been calculated
+			}
+		}//End of while openList is not empty
+		
+		//The open list is empty, exit with failure.
+		return finishSearch(new PathResult(new int[0], -1, numberOfOperations, numberOfVisitedNodes, System.nanoTime() - startTime));
 	}//End of calculatePath method
 	
 	/**
-	 * A method for sorting the open list by the means of the path scoring value, using the bubble sort algorithm.
+	 * A method for finishing the search, reporting the time spent in its phases to the Java Flight Recorder if the search is profiled.
+	 * @param result - The result of the search.
+	 * @return - The same result of the search.
 	 */
-	private void bubbleSortAlgorithm() {
-		//Bubble sort the openList array list
-		for (int k = 0; k<openList.size(); k++) {
-			for (int j =0; j < openList.size() -1; j++) {
-				if (openList.get(j).getPathScoring() >= openList.get(j+1).getPathScoring()) {
-					Node tempNode = openList.get(j);
-					openList.set(j, openList.get(j+1));
-					openList.set(j+1, tempNode);
-				}
-			}
+	private PathResult finishSearch(PathResult result) {
+		if (profiler != null) {
+			profiler.finish(start, goal, result);
+			profiler = null;
 		}
-		System.out.print("Sorted array list: ");
-		for (int i = 0; i < openList.size(); i++) {
-			System.out.print(" " + openList.get(i).getPathScoring());
+		return result;
+	}//End of finishSearch method
+	
+	/**
+	 * A method for initialising the state of the search, which is allocated only when the number of cells has changed,
+	 * otherwise the open list, the closed list and the distances move onto the next generation, without clearing their pages.
+	 * @param numberOfCells - The number of cells of the grid.
+	 */
+	private void initialiseSearchSpace(int numberOfCells) {
+		if (closedList == null || closedList.getNumberOfCells() != numberOfCells) {
+			openList = new CellHeap(numberOfCells);
+			closedList = new CellStamps(numberOfCells);
+			distanceFromStart = new CellValues(numberOfCells, 0);
+			parentDirection = new CellValues(numberOfCells, 0);
+		} else {
+			openList.clear();
+			closedList.nextGeneration();
+			distanceFromStart.nextGeneration();
+			parentDirection.nextGeneration();
 		}
-		System.out.println("");
-	}//End of bubbleSortAlgorithm method
+	}//End of initialiseSearchSpace method
 	
 	/**
-	 * A method for tracing the path where tracing backward means from goal to start node, and tracing forward from start to goal node. <br>
-	 * The method operates by firstly tracing backwards from the 
-	 * current node to its parent then continously tracing backwards from the parent
-	 * to its parent until there is a parent that has no parent. <br>
-	 * Once the path has been traced backwards, then it will be traced forward in easy manner since tracing backward has saved the sequence.
-	 * Hence there is only a need to reverse the sequence. <br>
-	 * At the end the method will display the distance that was needed to trace the distance.
-	 * @param currentNode
+	 * A method for tracing the path backwards (from goal to start cell). <br>
+	 * The method operates by continously tracing backwards from the goal cell
+	 * to its parent until the start cell has been reached. <br>
+	 * Once the path has been traced backwards, then the sequence is reversed, so it leads from the start to the goal cell.
+	 * @param startTime - The time (in nanoseconds) at which the search has been started.
+	 * @return - The result of the search with the path from the start to the goal cell.
 	 */
-	private void traceThePath(Node currentNode) {
-		
-		System.out.println("The path has been calculated.");
-		PathfindingGUI.operationsLabel.setText("<html><font color=green> Operations: " + Integer.toString(numberOfOperations) + "</font></html>");
-		PathfindingGUI.operationsLabel.paintImmediately(PathfindingGUI.operationsLabel.getVisibleRect());
-		
-		PathfindingGUI.visitedNodesLabel.setText("<html><font color=green> Visited nodes: " + Integer.toString(numberOfVisitedNodes) + "</font></html>");
-		PathfindingGUI.visitedNodesLabel.paintImmediately(PathfindingGUI.visitedNodesLabel.getVisibleRect());
-		
-		PathfindingGUI.pathFoundLabel.setText("<html><font color=orange> Path found. </font></html>");
-		PathfindingGUI.pathFoundLabel.paintImmediately(PathfindingGUI.pathFoundLabel.getVisibleRect());
-		
-		//Trace backwards
-		Node node = currentNode.traceBackwards();
-		ArrayList<Node> childNodes = new ArrayList<Node>();
-		childNodes.add(node);
-		
-		int counter = 0;
-		//While the node exists
-		while (node != null) {
-			try {
-				TimeUnit.MILLISECONDS.sleep(100);
-			} catch (InterruptedException e) {
-				e.printStackTrace();
-			}
-			//Trace backwards
-			node = node.traceBackwards();
-			if (node != null) {
-				childNodes.add(node);
-			}
-			counter++;
-			
-			PathfindingGUI.pathFoundLabel.setText("<html><font color=orange> Path found over " + (counter + 1) + " nodes. </font></html>");
-			PathfindingGUI.pathFoundLabel.paintImmediately(PathfindingGUI.pathFoundLabel.getVisibleRect());
-			
-			if ((counter % 6) == 0) {
-				PathfindingGUI.tracingBackLabel.setText("<html><font color=orange> Tracing path backwards. </font></html>");
-				PathfindingGUI.tracingBackLabel.paintImmediately(PathfindingGUI.tracingBackLabel.getVisibleRect());
-			} else if ((counter % 6) == 2) {
-				PathfindingGUI.tracingBackLabel.setText("<html><font color=orange> Tracing path backwards.. </font></html>");
-				PathfindingGUI.tracingBackLabel.paintImmediately(PathfindingGUI.tracingBackLabel.getVisibleRect());
-			} else if ((counter % 6) == 4){
-				PathfindingGUI.tracingBackLabel.setText("<html><font color=orange> Tracing path backwards... </font></html>");
-				PathfindingGUI.tracingBackLabel.paintImmediately(PathfindingGUI.tracingBackLabel.getVisibleRect());
-			}
-			
-		}//End of while the node exists
-		
-		PathfindingGUI.pathFoundLabel.setText("<html><font color=green> Path found over " + (counter + 1) + " nodes. </font></html>");
-		PathfindingGUI.pathFoundLabel.paintImmediately(PathfindingGUI.pathFoundLabel.getVisibleRect());
-		
-		PathfindingGUI.tracingBackLabel.setText("<html><font color=green> Tracing path backwards </font></html>");
-		PathfindingGUI.tracingBackLabel.paintImmediately(PathfindingGUI.tracingBackLabel.getVisibleRect());
-		
-		System.out.println("About to jump into the for loop for childNodes");
-		System.out.println("ChildNodes.size = " + childNodes.size());
-		Collections.reverse(childNodes);
-		for (int j = 0; j<childNodes.size(); j++) {
-			System.out.println("Looping for child nodes: j = " + j);
-			childNodes.get(j).drawRobotOnTraceForward(msDelayBetweenRobotMovement);
-			
-			if ((j % 6) == 0) {
-				PathfindingGUI.tracingForwardLabel.setText("<html><font color=orange> Robot tracing forward. </font></html>");
-				PathfindingGUI.tracingForwardLabel.paintImmediately(PathfindingGUI.tracingForwardLabel.getVisibleRect());
-			} else if ((j % 6) == 2) {
-				PathfindingGUI.tracingForwardLabel.setText("<html><font color=orange> Robot tracing forward.. </font></html>");
-				PathfindingGUI.tracingForwardLabel.paintImmediately(PathfindingGUI.tracingForwardLabel.getVisibleRect());
-			} else if ((j % 6) == 4){
-				PathfindingGUI.tracingForwardLabel.setText("<html><font color=orange> Robot tracing forward... </font></html>");
-				PathfindingGUI.tracingForwardLabel.paintImmediately(PathfindingGUI.tracingForwardLabel.getVisibleRect());
-			}
+	private PathResult traceThePath(long startTime) {
+		if (profiler != null) {
+			profiler.enterPhase(SearchProfiler.tracePhase);
 		}
-		PathfindingGUI.tracingForwardLabel.setText("<html><font color=green> Robot tracing forward </font></html>");
-		PathfindingGUI.tracingForwardLabel.paintImmediately(PathfindingGUI.tracingForwardLabel.getVisibleRect());
 		
-		currentNode.drawRobotOnTraceForward(msDelayBetweenRobotMovement);
-		goal.setPathForwardFinished(true);
+		int[] path = grid.tracePath(parentDirection, start, goal);
+		return new PathResult(path, distanceFromStart.get(goal), numberOfOperations, numberOfVisitedNodes, System.nanoTime() - startTime);
 	}//End of traceThePath method
 	
 	/**
-	 * A method for expanding the adjacent node in the following manner: <br>
-	 * 1) If the adjacent node is on the closed list, do nothing. <br>
-	 * 2) Otherwise if the adjacent node is not on the open list, then: <br>
-	 * &nbsp&nbsp&nbspAdd the adjacent node to openList, set its parent to the current node <br>
-	 * &nbsp&nbsp&nbspcalculate its (adjacent's) values of distance to start node, heuristic value <br>
-	 * &nbsp&nbsp&nbspand its path scoring (i.e. distance to start + heuristic). Additionally mark the node as visited. <br>
-	 * 3) Otherwise if the adjacent node is on the open list then: <br>
-	 * &nbsp&nbsp&nbspif the distance to start of current node is lower than the adjacent's distance to start then: <br>
-	 * &nbsp&nbsp&nbsp&nbsp&nbsp&nbspSet the adjacent's parent to the current node and re-calculate its values.
-	 * @param adjacent - The adjacent node (i.e. the surrounding node of the current)
-	 * @param current - The current node (which has been obtained from the first index of the open list)
-	 * @param direction - The direction of the adjacent node to the current node.
+	 * A method for expanding the adjacent cell in the following manner: <br>
+	 * 1) If the adjacent cell is on the closed list, do nothing. <br>
+	 * 2) Otherwise if the adjacent cell is not on the open list, then: <br>
+	 * &nbsp&nbsp&nbspAdd the adjacent cell to openList, set its parent to the current cell <br>
+	 * &nbsp&nbsp&nbspcalculate its (adjacent's) values of distance to start cell, heuristic value <br>
+	 * &nbsp&nbsp&nbspand its path scoring (i.e. distance to start + heuristic). Additionally mark the cell as visited. <br>
+	 * 3) Otherwise if the adjacent cell is on the open list then: <br>
+	 * &nbsp&nbsp&nbspif the distance to start of current cell (plus the distance to the adjacent) is lower than the adjacent's distance to start then: <br>
+	 * &nbsp&nbsp&nbsp&nbsp&nbsp&nbspSet the adjacent's parent to the current cell, re-calculate its values and decrease its key on the open list heap.
+	 * @param adjacent - The adjacent cell (i.e. the surrounding cell of the current)
+	 * @param current - The current cell (which has been obtained from the top of the open list)
+	 * @param direction - The direction of the adjacent cell to the current cell.
 	 */
-	private void expandNode(Node adjacent, Node current, String direction) {
-		
-		//Increment the number of operations
-		//numberOfOperations++;
+	private void expandNode(int adjacent, int current, int direction) {
 		
-		PathfindingGUI.operationsLabel.setText("<html><font color=orange> Operations: " + Integer.toString(numberOfOperations) + "</font></html>");
-		PathfindingGUI.operationsLabel.paintImmediately(PathfindingGUI.operationsLabel.getVisibleRect());
+		int distanceThroughCurrent = distanceFromStart.get(current) + GridMap.stepCosts[direction];
 		
 		if (!openList.contains(adjacent)) {
-			//Add the south node to the openList
-			openList.add(adjacent);
-			//Set the south's parent node to be the start node
-			adjacent.setParentNode(current, direction);
-			calculations(adjacent, direction);
-			//Mark the south node as visited
-			adjacent.setNodeVisited(true);
-			showVisitedNode(adjacent);
+			//Set the adjacent's parent to be the current cell and calculate its distance
+			parentDirection.set(adjacent, direction);
+			distanceFromStart.set(adjacent, distanceThroughCurrent);
+			//Add the adjacent cell to the openList with its path scoring
+			openList.add(adjacent, calculatePathScoring(adjacent, distanceThroughCurrent));
 			
 			//Increment the number of visited nodes
 			numberOfVisitedNodes++;
 			
-			PathfindingGUI.visitedNodesLabel.setText("<html><font color=orange> Visited nodes: " + Integer.toString(numberOfVisitedNodes) + "</font></html>");
-			PathfindingGUI.visitedNodesLabel.paintImmediately(PathfindingGUI.visitedNodesLabel.getVisibleRect());
-			
-		} else { //else if the openList contains the adjacent node
-			
-			//calculations(current, direction);
-			
+			if (listener != null) {
+				listener.nodeVisited(adjacent);
+			}
+		} else if (distanceThroughCurrent < distanceFromStart.get(adjacent)) { //else if the openList contains the adjacent cell and the current cell is a cheaper parent
+			parentDirection.set(adjacent, direction);
+			distanceFromStart.set(adjacent, distanceThroughCurrent);
+			//The path scoring has been lowered, so restore the position of the adjacent on the heap
+			openList.decreaseKey(adjacent, calculatePathScoring(adjacent, distanceThroughCurrent));
 			
-			int currentDistanceScore = current.getDistanceFromStart();
-			if ((currentDistanceScore) < (adjacent.getDistanceFromStart() - 14)) {
-				System.out.println("Tested value was lower.");
-				adjacent.setParentNode(current, direction);
-				calculations(adjacent, direction);
+			if (listener != null) {
+				listener.parentChanged(adjacent, current);
 			}
-		}//End of else the openlist contains the adjacent node
+		}
+		
+		if (profiler != null) {
+			profiler.enterPhase(SearchProfiler.neighboursPhase);
+		}
 	}//End of expandNode method
 	
 	/**
-	 * A method for performing the calculations of the given node. <br>
-	 * To calculate the distance from start value, it obtains the distance of its parent node and adds the distance to its parent based on the direction. <br>
-	 * For example if the given node is in non-diagonal direction to its parent, then its distance will be calculated as follows: parent distance + 10. <br>
-	 * On the other hand if the given node is in diagonal direction to its parent, then its distance will be calculated as follows: parent distance + 14 <br>
-	 * Then the node calculates its heuristics value based on the selection of the user in the GUI. <br>
-	 * Once both of the above values are calculated, the node will be delegates to calculate its path scoring, which simply adds both of above values together.
-	 * @param n - The node to perform the calculations on.
-	 * @param direction - The direction of the node from its parent.
+	 * A method for calculating the path scoring of the cell (i.e. its distance to start + its heuristic value).
+	 * If the search is profiled, then the heuristics are measured as the heuristic phase,
+	 * and the caller proceeds in the queue phase, by which the cell is put on the open list with the path scoring.
+	 * @param cell - The cell to perform the calculations on.
+	 * @param distanceFromStart - The distance of the cell to the start cell.
+	 * @return - integer with the path scoring of the cell.
 	 */
-	private void calculations(Node n, String direction) {
-		if (direction.equals("e") || direction.equals("s") || direction.equals("w") || direction.equals("n")) {
-			n.setDistanceFromStart((n.getParent().getDistanceFromStart())+10);
-		} else {
-			n.setDistanceFromStart((n.getParent().getDistanceFromStart())+14);
+	private int calculatePathScoring(int cell, int distanceFromStart) {
+		if (profiler == null) {
+			return distanceFromStart + calculateHeuristics(cell);
 		}
-		
-		if (heuristicsType.equals("manhattan")) {
-			System.out.println("Using Manhattan heuristics.");
-			n.calculateManhattanHeuristics(goal, 10);
-		} else if (heuristicsType.equals("chebyshev")) {
-			System.out.println("Using Chebyshev Heuristics");
-			n.calculateChebyshevHeuristics(goal, 10);
-		}
-		n.calculatePathScoring(n.getHeuristics(), n.getDistanceFromStart());
-	}//End of calculations method
+		profiler.enterPhase(SearchProfiler.heuristicPhase);
+		int pathScoring = distanceFromStart + calculateHeuristics(cell);
+		profiler.enterPhase(SearchProfiler.queuePhase);
+		return pathScoring;
+	}//End of calculatePathScoring method
 	
 	/**
-	 * A method for determining whether the user wants to be visually represented with the visiting of nodes.
-	 * The method also allows for user defined delay between visiting each node.
-	 * @param n - The node to perform the actions on.
+	 * A method for calculating the heuristics value (i.e. the estimated distance to the goal cell) of the given cell,
+	 * based on the selection of the user in the GUI (see the Heuristics class). <br>
+	 * The octile heuristics is the exact distance without the obstacles for the costs of 10 and 14, so it expands the fewest cells
+	 * of the geometric heuristics, while the Manhattan heuristics overestimates the diagonal steps, and the path may not be optimal.
+	 * The ALT heuristics (see the LandmarkHeuristic class) also accounts for the obstacles, so it expands fewer cells than the octile one.
+	 * @param cell - The cell to perform the calculations on.
+	 * @return - integer with the heuristics value.
 	 */
-	private void showVisitedNode(Node n) {
-		if (showVisitedNodes) {
-			n.setShowVisitedNode(true);
-			//delay for user specified amount of milliseconds (otherwise by default 10ms) so a good visual presentation of the visited nodes is shown
-			try {
-				TimeUnit.MILLISECONDS.sleep(msDelayBetweenVisitingNodes);
-			} catch (InterruptedException e) {
-				e.printStackTrace();
-			}
-		} else {
-			n.setShowVisitedNode(false);
+	private int calculateHeuristics(int cell) {
+		int heuristics = heuristic.estimate(grid, cell, goal);
+		if (traceHeuristics) {
+			SearchTrace.log(SearchTrace.traceLevel, "The heuristics of the cell %d is %d", cell, heuristics);
 		}
-	}//End of showVisitedNode method
+		return heuristics;
+	}//End of calculateHeuristics method
 }
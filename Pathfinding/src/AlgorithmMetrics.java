@@ -0,0 +1,216 @@
+
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The AlgorithmMetrics class aggregates the metrics of all the searches of one algorithm and heuristic: the totals of the counters
+ * of the SearchMetrics, and the histograms of the latency (wall time) and of the number of the expanded cells of the searches,
+ * from which the percentiles for the service level objectives are read. <br>
+ * The metrics are recorded without any lock, so they can be shared by the searching threads, and are exposed over JMX
+ * through the AlgorithmMetricsMBean interface.
+ *
+ */
+public class AlgorithmMetrics implements AlgorithmMetricsMBean {
+
+	/**
+	 * Declares the type of the algorithm.
+	 */
+	private final String algorithm;
+
+	/**
+	 * Declares the heuristics of the algorithm.
+	 */
+	private final String heuristic;
+
+	/**
+	 * Declares the number of the searches which have found the path.
+	 */
+	private final AtomicLong numberOfPathsFound = new AtomicLong();
+
+	/**
+	 * Declares the total number of the expanded cells.
+	 */
+	private final AtomicLong totalExpansions = new AtomicLong();
+
+	/**
+	 * Declares the total number of the cells put on the open list.
+	 */
+	private final AtomicLong totalHeapPushes = new AtomicLong();
+
+	/**
+	 * Declares the total number of the cells reached through a cheaper parent.
+	 */
+	private final AtomicLong totalDecreaseKeys = new AtomicLong();
+
+	/**
+	 * Declares the total number of the repeated expansions of the cells.
+	 */
+	private final AtomicLong totalReopens = new AtomicLong();
+
+	/**
+	 * Declares the histogram of the latencies (in nanoseconds) of the searches, which also counts the searches.
+	 */
+	private final Histogram latencyNanos = new Histogram();
+
+	/**
+	 * Declares the histogram of the number of the expanded cells per search.
+	 */
+	private final Histogram expansions = new Histogram();
+
+	/**
+	 * The constructor of this class.
+	 * @param algorithm - The type of the algorithm, e.g. "astar".
+	 * @param heuristic - The heuristics of the algorithm, e.g. "manhattan".
+	 */
+	public AlgorithmMetrics(String algorithm, String heuristic) {
+		this.algorithm = algorithm;
+		this.heuristic = heuristic;
+	}
+
+	/**
+	 * A method for adding the finished search to the metrics.
+	 * @param query - The counters of the search.
+	 * @param result - The result of the search.
+	 */
+	public void record(SearchMetrics query, PathResult result) {
+		if (result.isPathFound()) {
+			numberOfPathsFound.incrementAndGet();
+		}
+		totalExpansions.addAndGet(query.getNumberOfExpansions());
+		totalHeapPushes.addAndGet(query.getNumberOfHeapPushes());
+		totalDecreaseKeys.addAndGet(query.getNumberOfDecreaseKeys());
+		totalReopens.addAndGet(query.getNumberOfReopens());
+		expansions.record(query.getNumberOfExpansions());
+		latencyNanos.record(query.getElapsedNanos());
+	}//End of record method
+
+	@Override
+	public void reset() {
+		numberOfPathsFound.set(0);
+		totalExpansions.set(0);
+		totalHeapPushes.set(0);
+		totalDecreaseKeys.set(0);
+		totalReopens.set(0);
+		latencyNanos.reset();
+		expansions.reset();
+	}//End of reset method
+
+	@Override
+	public String getAlgorithm() {
+		return algorithm;
+	}
+
+	@Override
+	public String getHeuristic() {
+		return heuristic;
+	}
+
+	@Override
+	public long getNumberOfQueries() {
+		return latencyNanos.getCount();
+	}
+
+	@Override
+	public long getNumberOfPathsFound() {
+		return numberOfPathsFound.get();
+	}
+
+	@Override
+	public long getTotalExpansions() {
+		return totalExpansions.get();
+	}
+
+	@Override
+	public long getTotalHeapPushes() {
+		return totalHeapPushes.get();
+	}
+
+	@Override
+	public long getTotalDecreaseKeys() {
+		return totalDecreaseKeys.get();
+	}
+
+	@Override
+	public long getTotalReopens() {
+		return totalReopens.get();
+	}
+
+	@Override
+	public double getLatencyMeanNanos() {
+		return latencyNanos.getMean();
+	}
+
+	@Override
+	public long getLatencyP50Nanos() {
+		return latencyNanos.getPercentile(50);
+	}
+
+	@Override
+	public long getLatencyP90Nanos() {
+		return latencyNanos.getPercentile(90);
+	}
+
+	@Override
+	public long getLatencyP99Nanos() {
+		return latencyNanos.getPercentile(99);
+	}
+
+	@Override
+	public long getLatencyP999Nanos() {
+		return latencyNanos.getPercentile(99.9);
+	}
+
+	@Override
+	public long getLatencyMaxNanos() {
+		return latencyNanos.getMax();
+	}
+
+	@Override
+	public long getExpansionsP50() {
+		return expansions.getPercentile(50);
+	}
+
+	@Override
+	public long getExpansionsP99() {
+		return expansions.getPercentile(99);
+	}
+
+	@Override
+	public long getExpansionsMax() {
+		return expansions.getMax();
+	}
+
+	/**
+	 * A method for writing the metrics as a JSON object.
+	 * @param json - The builder to which the JSON object is appended.
+	 */
+	public void appendJson(StringBuilder json) {
+		json.append("{\"algorithm\": \"").append(algorithm).append("\", \"heuristic\": \"").append(heuristic).append("\"");
+		json.append(", \"queries\": ").append(getNumberOfQueries());
+		json.append(", \"pathsFound\": ").append(getNumberOfPathsFound());
+		json.append(", \"expansions\": ").append(getTotalExpansions());
+		json.append(", \"heapPushes\": ").append(getTotalHeapPushes());
+		json.append(", \"decreaseKeys\": ").append(getTotalDecreaseKeys());
+		json.append(", \"reopens\": ").append(getTotalReopens());
+		json.append(", \"latencyNanos\": ");
+		appendHistogram(json, latencyNanos);
+		json.append(", \"expansionsPerQuery\": ");
+		appendHistogram(json, expansions);
+		json.append("}");
+	}//End of appendJson method
+
+	/**
+	 * A method for writing the summary of the histogram as a JSON object.
+	 * @param json - The builder to which the JSON object is appended.
+	 * @param histogram - The histogram to be written.
+	 */
+	private static void appendHistogram(StringBuilder json, Histogram histogram) {
+		json.append("{\"mean\": ").append(String.format(Locale.ROOT, "%.1f", histogram.getMean()));
+		json.append(", \"p50\": ").append(histogram.getPercentile(50));
+		json.append(", \"p90\": ").append(histogram.getPercentile(90));
+		json.append(", \"p99\": ").append(histogram.getPercentile(99));
+		json.append(", \"p999\": ").append(histogram.getPercentile(99.9));
+		json.append(", \"max\": ").append(histogram.getMax());
+		json.append("}");
+	}//End of appendHistogram method
+}
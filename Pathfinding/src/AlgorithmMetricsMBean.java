@@ -0,0 +1,116 @@
+
+/**
+ * The AlgorithmMetricsMBean interface is the management interface of the AlgorithmMetrics, through which the metrics
+ * of the searches of one algorithm and heuristic are read over JMX (e.g. by JConsole or the monitoring of the server).
+ * The latencies are the wall times of the searches in nanoseconds.
+ *
+ */
+public interface AlgorithmMetricsMBean {
+
+	/**
+	 * Getter for the type of the algorithm.
+	 * @return - String with the type of the algorithm, e.g. "astar".
+	 */
+	String getAlgorithm();
+
+	/**
+	 * Getter for the heuristics of the algorithm.
+	 * @return - String with the heuristics, e.g. "manhattan", or "none" for the algorithm without the heuristics.
+	 */
+	String getHeuristic();
+
+	/**
+	 * Getter for the number of the searches.
+	 * @return - long with the number of the searches.
+	 */
+	long getNumberOfQueries();
+
+	/**
+	 * Getter for the number of the searches which have found the path.
+	 * @return - long with the number of the found paths.
+	 */
+	long getNumberOfPathsFound();
+
+	/**
+	 * Getter for the total number of the expanded cells of all the searches.
+	 * @return - long with the number of the expansions.
+	 */
+	long getTotalExpansions();
+
+	/**
+	 * Getter for the total number of the cells put on the open list by all the searches.
+	 * @return - long with the number of the heap pushes.
+	 */
+	long getTotalHeapPushes();
+
+	/**
+	 * Getter for the total number of the cells reached through a cheaper parent by all the searches.
+	 * @return - long with the number of the decrease-keys.
+	 */
+	long getTotalDecreaseKeys();
+
+	/**
+	 * Getter for the total number of the repeated expansions of the cells by all the searches.
+	 * @return - long with the number of the re-opens.
+	 */
+	long getTotalReopens();
+
+	/**
+	 * Getter for the mean latency of the searches.
+	 * @return - double with the mean latency in nanoseconds.
+	 */
+	double getLatencyMeanNanos();
+
+	/**
+	 * Getter for the median latency of the searches.
+	 * @return - long with the 50th percentile of the latency in nanoseconds.
+	 */
+	long getLatencyP50Nanos();
+
+	/**
+	 * Getter for the 90th percentile of the latency of the searches.
+	 * @return - long with the 90th percentile of the latency in nanoseconds.
+	 */
+	long getLatencyP90Nanos();
+
+	/**
+	 * Getter for the 99th percentile of the latency of the searches.
+	 * @return - long with the 99th percentile of the latency in nanoseconds.
+	 */
+	long getLatencyP99Nanos();
+
+	/**
+	 * Getter for the 99.9th percentile of the latency of the searches.
+	 * @return - long with the 99.9th percentile of the latency in nanoseconds.
+	 */
+	long getLatencyP999Nanos();
+
+	/**
+	 * Getter for the highest latency of the searches.
+	 * @return - long with the highest latency in nanoseconds.
+	 */
+	long getLatencyMaxNanos();
+
+	/**
+	 * Getter for the median number of the expanded cells per search.
+	 * @return - long with the 50th percentile of the expansions.
+	 */
+	long getExpansionsP50();
+
+	/**
+	 * Getter for the 99th percentile of the number of the expanded cells per search.
+	 * @return - long with the 99th percentile of the expansions.
+	 */
+	long getExpansionsP99();
+
+	/**
+	 * Getter for the highest number of the expanded cells of a search.
+	 * @return - long with the highest number of the expansions.
+	 */
+	long getExpansionsMax();
+
+	/**
+	 * A method for resetting all of the metrics, e.g. at the start of the measured period.
+	 */
+	void reset();
+}
@@ -0,0 +1,195 @@
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * The BatchQueryExecutor class solves a batch of path queries (pairs of the start and goal cells) in parallel on a ForkJoinPool. <br>
+ * The GridMap is shared by all of the workers and is only read during the batch, so it must not be changed until the batch has finished.
+ * Each worker thread owns its own instance of the path-finding engine, and thereby its own search arrays (open list, closed list, distances
+ * and parents), which are allocated on the first query of the worker and reused by its following queries. Hence the workers do not share
+ * any mutable state and do not have to synchronise with each other. <br>
+ * For the HPA*, the abstraction of the grid is built once before the batch, and is then shared (only read) by the engines of all of the workers. <br>
+ * The batch is split recursively into halves until the ranges are small enough, so the idle workers steal the work of the busy ones.
+ *
+ */
+public class BatchQueryExecutor {
+
+	/**
+	 * Declares the number of queries below which the range of the batch is solved by the worker, rather than split further.
+	 */
+	private static final int queriesPerTask = 16;
+
+	/**
+	 * Declares the pool of the worker threads.
+	 */
+	private final ForkJoinPool pool;
+
+	/**
+	 * Declares the type of the algorithm, i.e. "astar", "dijkstra", "jps", "hpa" or "dstar".
+	 */
+	private final String algorithmType;
+
+	/**
+	 * Declares the options of the searches.
+	 */
+	private final SearchOptions options;
+
+	/**
+	 * Declares the engines owned by the worker threads, whereby each thread creates its own engine on its first query.
+	 */
+	private final ThreadLocal<PathfindingEngine> engines;
+
+	/**
+	 * Declares the engine building the abstraction of the grid shared by the workers, or null if the algorithm is not the HPA*.
+	 */
+	private final HierarchicalPathfindingAlgorithm sharedAbstraction;
+
+	/**
+	 * The constructor of this class, using one worker for each of the available processors.
+	 * @param algorithmType - The type of the algorithm, i.e. "astar", "dijkstra", "jps", "hpa" or "dstar".
+	 * @param options - The options of the searches.
+	 */
+	public BatchQueryExecutor(String algorithmType, SearchOptions options) {
+		this(algorithmType, options, Runtime.getRuntime().availableProcessors());
+	}
+
+	/**
+	 * The constructor of this class.
+	 * @param algorithmType - The type of the algorithm, i.e. "astar", "dijkstra", "jps", "hpa" or "dstar".
+	 * @param options - The options of the searches.
+	 * @param parallelism - The number of the worker threads.
+	 */
+	public BatchQueryExecutor(final String algorithmType, SearchOptions options, int parallelism) {
+		//Reject the unknown type of the algorithm before the batch, rather than on the worker threads
+		PathfindingEngines.forType(algorithmType);
+		this.algorithmType = algorithmType;
+		this.options = options;
+		this.pool = new ForkJoinPool(parallelism);
+		this.engines = new ThreadLocal<PathfindingEngine>() {
+			@Override
+			protected PathfindingEngine initialValue() {
+				return PathfindingEngines.forType(algorithmType);
+			}
+		};
+		this.sharedAbstraction = algorithmType.equals("hpa") ? new HierarchicalPathfindingAlgorithm() : null;
+	}
+
+	/**
+	 * A method for solving the batch of the queries, whereby the query i is the path from starts[i] to goals[i].
+	 * The method blocks until all of the queries have been solved.
+	 * @param grid - The grid on which the paths are calculated, which must not be changed during the batch.
+	 * @param starts - The start cells of the queries.
+	 * @param goals - The goal cells of the queries.
+	 * @return - The results of the queries, in the same order as the queries.
+	 */
+	public PathResult[] execute(GridMap grid, int[] starts, int[] goals) {
+		if (starts.length != goals.length) {
+			throw new IllegalArgumentException("The number of the start cells (" + starts.length
+					+ ") differs from the number of the goal cells (" + goals.length + ")");
+		}
+		PathResult[] results = new PathResult[starts.length];
+		if (sharedAbstraction != null) {
+			//Build the abstraction once, rather than once by each of the workers
+			sharedAbstraction.prepareAbstraction(grid, options.isAllowDiagonalPathFinding());
+		}
+		pool.invoke(new QueryTask(grid, starts, goals, results, 0, starts.length));
+		return results;
+	}//End of execute method
+
+	/**
+	 * Getter for the number of the worker threads.
+	 * @return - integer with the number of the worker threads.
+	 */
+	public int getParallelism() {
+		return pool.getParallelism();
+	}
+
+	/**
+	 * Getter for the type of the algorithm.
+	 * @return - String with the type of the algorithm.
+	 */
+	public String getAlgorithmType() {
+		return algorithmType;
+	}
+
+	/**
+	 * A method for shutting down the worker threads, once no further batches will be executed.
+	 */
+	public void shutdown() {
+		pool.shutdown();
+	}
+
+	/**
+	 * The QueryTask class solves a range of the queries of the batch, splitting the range into halves while it is large.
+	 */
+	private class QueryTask extends RecursiveAction {
+
+		private static final long serialVersionUID = 1L;
+
+		/**
+		 * Declares the grid on which the paths are calculated.
+		 */
+		private final GridMap grid;
+
+		/**
+		 * Declares the start cells of the queries.
+		 */
+		private final int[] starts;
+
+		/**
+		 * Declares the goal cells of the queries.
+		 */
+		private final int[] goals;
+
+		/**
+		 * Declares the results of the queries, into which each task writes only its own range.
+		 */
+		private final PathResult[] results;
+
+		/**
+		 * Declares the index of the first query of the range.
+		 */
+		private final int from;
+
+		/**
+		 * Declares the index after the last query of the range.
+		 */
+		private final int to;
+
+		/**
+		 * The constructor of this class.
+		 * @param grid - The grid on which the paths are calculated.
+		 * @param starts - The start cells of the queries.
+		 * @param goals - The goal cells of the queries.
+		 * @param results - The results of the queries.
+		 * @param from - The index of the first query of the range.
+		 * @param to - The index after the last query of the range.
+		 */
+		private QueryTask(GridMap grid, int[] starts, int[] goals, PathResult[] results, int from, int to) {
+			this.grid = grid;
+			this.starts = starts;
+			this.goals = goals;
+			this.results = results;
+			this.from = from;
+			this.to = to;
+		}
+
+		@Override
+		protected void compute() {
+			if (to - from <= queriesPerTask) {
+				//Solve the range with the engine of the current worker
+				PathfindingEngine engine = engines.get();
+				if (sharedAbstraction != null) {
+					((HierarchicalPathfindingAlgorithm) engine).shareAbstraction(sharedAbstraction);
+				}
+				for (int i = from; i < to; i++) {
+					results[i] = engine.calculatePath(grid, starts[i], goals[i], options, null);
+				}
+				return;
+			}
+			int middle = (from + to) >>> 1;
+			invokeAll(new QueryTask(grid, starts, goals, results, from, middle),
+					new QueryTask(grid, starts, goals, results, middle, to));
+		}
+	}
+}
@@ -0,0 +1,319 @@
+
+import java.util.Arrays;
+
+/**
+ * The BidirectionalSearch class performs the bidirectional variant of the A* and Dijkstra algorithms, whereby two frontiers
+ * are grown simultaneously, the forward one from the start cell and the backward one from the goal cell, using the same
+ * 10/14 cost model (and for the A*, the same heuristics) as the single direction algorithms. <br>
+ * Each time a cell is reached by one frontier which has been already reached by the other one, the frontiers meet, and the cost
+ * of the path through that cell is a candidate for the shortest path. The search is not stopped at the first meeting, but once
+ * the frontiers prove that no cheaper path can exist, that is: <br>
+ * &nbsp&nbsp&nbspDijkstra: the sum of the lowest distances on both open lists is not lower than the best candidate, <br>
+ * &nbsp&nbsp&nbspA*: the lowest path scoring on either of the open lists is not lower than the best candidate. <br>
+ * The search always expands the frontier with the smaller open list, and if either of the open lists becomes empty,
+ * then there is no path, so a walled in goal is detected after exploring only the area around the goal.
+ *
+ */
+public class BidirectionalSearch implements PathfindingEngine {
+
+	/**
+	 * Declares the index of the forward search (from the start cell) within the arrays of both searches.
+	 */
+	private static final int forward = 0;
+
+	/**
+	 * Declares the index of the backward search (from the goal cell) within the arrays of both searches.
+	 */
+	private static final int backward = 1;
+
+	/**
+	 * Declares a boolean for tracking whether the heuristics are used (i.e. the A*), or not (i.e. the Dijkstra).
+	 */
+	private final boolean useHeuristics;
+
+	/**
+	 * Declares the heaps for the openLists of both searches, ordered by the path scoring (or the distance for the Dijkstra).
+	 */
+	private CellHeap[] openList = new CellHeap[2];
+
+	/**
+	 * Declares the closedLists of both searches, stamping the expanded cells within the current search.
+	 */
+	private CellStamps[] closedList = new CellStamps[2];
+
+	/**
+	 * Declares the cells which have been reached by each of the searches, stamped within the current search.
+	 */
+	private CellStamps[] reached = new CellStamps[2];
+
+	/**
+	 * Declares the precise distances to the start (forward) and to the goal (backward) cell, by the cell.
+	 */
+	private CellValues[] distance = new CellValues[2];
+
+	/**
+	 * Declares the directions of the cells from their parents within each of the searches, by the cell.
+	 */
+	private CellValues[] parentDirection = new CellValues[2];
+
+	/**
+	 * Declares the grid on which the path is calculated
+	 */
+	private GridMap grid;
+
+	/**
+	 * Declares the index of the cell for the start
+	 */
+	private int start;
+
+	/**
+	 * Declares the index of the cell for the goal
+	 */
+	private int goal;
+
+	/**
+	 * Declares a boolean for tracking whether the user wants to allow diagonal path finding
+	 */
+	private boolean allowDiagonalPathFinding = true;
+
+	/**
+	 * Declares the heuristics to be used by the A* algorithm, which is resolved once per search.
+	 */
+	private Heuristic heuristic;
+
+	/**
+	 * Declares the listener to be notified about the progress of the search, or null if there is none.
+	 */
+	private SearchListener listener;
+
+	/**
+	 * Declares the cell at which the frontiers meet on the cheapest path found so far, or -1 if they have not met yet.
+	 */
+	private int meetingCell;
+
+	/**
+	 * Declares the cost of the cheapest path found so far through the meeting cell.
+	 */
+	private int bestCost;
+
+	/**
+	 * Declares an integer variable for maintaining the number of operations that the path-finder performs.
+	 */
+	private int numberOfOperations = 0;
+
+	/**
+	 * Declares an integer variable for maintaining the number of visited nodes that the path-finder performs.
+	 */
+	private int numberOfVisitedNodes = 0;
+
+	/**
+	 * The constructor of this class.
+	 * @param useHeuristics - boolean whether to perform the bidirectional A* (true), or the bidirectional Dijkstra (false).
+	 */
+	public BidirectionalSearch(boolean useHeuristics) {
+		this.useHeuristics = useHeuristics;
+	}
+
+	/**
+	 * The bidirectional search which performs the pathfinding in following maner: <br>
+	 * 1) Initialise the closed and open lists of both searches, adding the start to the forward and the goal to the backward open list <br>
+	 * 2) While neither of the open lists is empty and the cheapest path has not been proven then: <br>
+	 * 3) &nbsp&nbsp&nbspSelect the search with the smaller open list, and remove the cell with the lowest path scoring from its open list <br>
+	 * 4) &nbsp&nbsp&nbspExpand each surrounding cell which exists, is not the obstacle and is not closed by this search,
+	 * and if it has been reached by the other search, then check whether the path through it is the cheapest one. <br>
+	 * 5) Trace the path from the start to the meeting cell, and from the meeting cell to the goal.
+	 * @param grid - The grid on which the path is calculated.
+	 * @param start - The cell which was selected as the start node by the user in the GUI
+	 * @param goal - The cell which was selected as the goal/finish node by the user in the GUI.
+	 * @param options - The options of the search, that is whether to allow diagonals and what type of heuristics will be used by the A* algorithm
+	 * @param listener - The listener to be notified about the visited cells and the number of operations, or null.
+	 * @return - The result of the search.
+	 */
+	public PathResult calculatePath(GridMap grid, int start, int goal, SearchOptions options, SearchListener listener) {
+		long startTime = System.nanoTime();
+
+		this.grid = grid;
+		this.start = start;
+		this.goal = goal;
+		this.allowDiagonalPathFinding = options.isAllowDiagonalPathFinding();
+		//The heuristics is resolved once per search, so the bidirectional Dijkstra calls the heuristics which is always 0
+		this.heuristic = useHeuristics ? Heuristics.forOptions(grid, options) : Heuristics.none;
+		this.listener = listener;
+
+		numberOfOperations = 0;
+		numberOfVisitedNodes = 0;
+		meetingCell = -1;
+		bestCost = Integer.MAX_VALUE;
+
+		//Initialise the closedLists and the openLists of both searches
+		initialiseSearchSpace(grid.getNumberOfCells());
+
+		//Add the start cell to the forward, and the goal cell to the backward open list
+		reachCell(forward, start, -1, 0);
+		reachCell(backward, goal, -1, 0);
+		if (start == goal) {
+			meetingCell = start;
+			bestCost = 0;
+		}
+
+		//Only the non-diagonal directions are stored first in the direction arrays
+		int numberOfDirections = allowDiagonalPathFinding ? GridMap.numberOfDirections : GridMap.numberOfNonDiagonalDirections;
+
+		//While both of the open lists are not empty, and the cheapest path has not been proven
+		while (!openList[forward].isEmpty() && !openList[backward].isEmpty() && !isCheapestPathProven()) {
+
+			//Expand the search with the smaller frontier, so both of the frontiers grow evenly
+			int side = openList[forward].size() <= openList[backward].size() ? forward : backward;
+			int other = 1 - side;
+
+			int s = openList[side].poll();
+			closedList[side].mark(s);
+			if (listener != null) {
+				listener.nodeExpanded(s);
+			}
+
+			numberOfOperations += 4;
+			if (allowDiagonalPathFinding) {
+				numberOfOperations += 4;
+			}
+			if (listener != null) {
+				listener.progressUpdated(numberOfOperations, numberOfVisitedNodes);
+			}
+
+			//Expand the surrounding cells of the currently looped cell
+			for (int direction = 0; direction < numberOfDirections; direction++) {
+				int adjacent = grid.getAdjacentCell(s, direction);
+				if (adjacent == -1 || grid.isObstacle(adjacent) || closedList[side].isMarked(adjacent)) {
+					continue;
+				}
+				int distanceThroughCurrent = distance[side].get(s) + GridMap.stepCosts[direction];
+				if (!reached[side].isMarked(adjacent) || distanceThroughCurrent < distance[side].get(adjacent)) {
+					reachCell(side, adjacent, direction, distanceThroughCurrent);
+				}
+				//If the other search has reached the adjacent cell, then the frontiers meet
+				if (reached[other].isMarked(adjacent) && distance[side].get(adjacent) + distance[other].get(adjacent) < bestCost) {
+					bestCost = distance[side].get(adjacent) + distance[other].get(adjacent);
+					meetingCell = adjacent;
+				}
+			}
+		}//End of while both of the open lists are not empty
+
+		if (meetingCell == -1) {
+			//The frontiers have not met, exit with failure.
+			return new PathResult(new int[0], -1, numberOfOperations, numberOfVisitedNodes, System.nanoTime() - startTime);
+		}
+		return traceThePath(startTime);
+	}//End of calculatePath method
+
+	/**
+	 * A method for initialising the state of both searches, which is allocated only when the number of cells has changed,
+	 * otherwise the open lists are cleared, and the closed lists, the reached cells and the distances move onto the next generation.
+	 * @param numberOfCells - The number of cells of the grid.
+	 */
+	private void initialiseSearchSpace(int numberOfCells) {
+		for (int side = forward; side <= backward; side++) {
+			if (closedList[side] == null || closedList[side].getNumberOfCells() != numberOfCells) {
+				openList[side] = new CellHeap(numberOfCells);
+				closedList[side] = new CellStamps(numberOfCells);
+				reached[side] = new CellStamps(numberOfCells);
+				distance[side] = new CellValues(numberOfCells, 0);
+				parentDirection[side] = new CellValues(numberOfCells, 0);
+			} else {
+				openList[side].clear();
+				closedList[side].nextGeneration();
+				reached[side].nextGeneration();
+				distance[side].nextGeneration();
+				parentDirection[side].nextGeneration();
+			}
+		}
+	}//End of initialiseSearchSpace method
+
+	/**
+	 * A method for reaching the cell by the given search with the given distance, that is either adding the cell to the open list,
+	 * or decreasing its key on the open list if the cell has been reached through a cheaper parent.
+	 * @param side - The search which has reached the cell, i.e. forward or backward.
+	 * @param cell - The cell which has been reached.
+	 * @param direction - The direction of the cell from its parent, or -1 for the start and the goal cells.
+	 * @param cellDistance - The distance of the cell from the start (forward) or the goal (backward) cell.
+	 */
+	private void reachCell(int side, int cell, int direction, int cellDistance) {
+		distance[side].set(cell, cellDistance);
+		if (direction != -1) {
+			parentDirection[side].set(cell, direction);
+		}
+		int key = cellDistance + calculateHeuristics(side, cell);
+		if (openList[side].contains(cell)) {
+			//The path scoring has been lowered, so restore the position of the cell on the heap
+			openList[side].decreaseKey(cell, key);
+			if (listener != null) {
+				//The cell lies in the direction from its parent
+				listener.parentChanged(cell, cell - grid.getCellOffset(direction));
+			}
+			return;
+		}
+		openList[side].add(cell, key);
+
+		if (!reached[side].isMarked(cell)) {
+			reached[side].mark(cell);
+			//Increment the number of visited nodes
+			numberOfVisitedNodes++;
+
+			if (listener != null) {
+				listener.nodeVisited(cell);
+			}
+		}
+	}//End of reachCell method
+
+	/**
+	 * Getter for the boolean whether no path cheaper than the best path found so far can exist, that is (Dijkstra) the sum
+	 * of the lowest distances on both open lists, or (A*) the lowest path scoring on either of the open lists,
+	 * is not lower than the cost of the best path.
+	 * @return - boolean whether the cheapest path has been proven.
+	 */
+	private boolean isCheapestPathProven() {
+		if (meetingCell == -1) {
+			return false;
+		}
+		if (useHeuristics) {
+			return Math.max(openList[forward].peekKey(), openList[backward].peekKey()) >= bestCost;
+		}
+		//The keys are long, so the sum cannot overflow
+		return openList[forward].peekKey() + openList[backward].peekKey() >= bestCost;
+	}//End of isCheapestPathProven method
+
+	/**
+	 * A method for tracing the path, firstly backwards from the meeting cell to the start cell by the means of the forward search,
+	 * and then forwards from the meeting cell to the goal cell by the means of the backward search.
+	 * @param startTime - The time (in nanoseconds) at which the search has been started.
+	 * @return - The result of the search with the path from the start to the goal cell.
+	 */
+	private PathResult traceThePath(long startTime) {
+		int[] pathToMeetingCell = grid.tracePath(parentDirection[forward], start, meetingCell);
+
+		//Count the cells from the meeting cell to the goal cell
+		int length = pathToMeetingCell.length;
+		for (int cell = meetingCell; cell != goal; cell -= grid.getCellOffset(parentDirection[backward].get(cell))) {
+			length++;
+		}
+
+		int[] path = Arrays.copyOf(pathToMeetingCell, length);
+		int i = pathToMeetingCell.length;
+		for (int cell = meetingCell; cell != goal; ) {
+			cell -= grid.getCellOffset(parentDirection[backward].get(cell));
+			path[i++] = cell;
+		}
+		return new PathResult(path, bestCost, numberOfOperations, numberOfVisitedNodes, System.nanoTime() - startTime);
+	}//End of traceThePath method
+
+	/**
+	 * A method for calculating the heuristics value (i.e. the estimated distance to the goal cell for the forward search,
+	 * or to the start cell for the backward search) of the given cell, in the same manner as the AStarAlgorithm class.
+	 * The Dijkstra does not use any heuristics, so the value is 0.
+	 * @param side - The search for which the heuristics is calculated, i.e. forward or backward.
+	 * @param cell - The cell to perform the calculations on.
+	 * @return - integer with the heuristics value.
+	 */
+	private int calculateHeuristics(int side, int cell) {
+		return heuristic.estimate(grid, cell, side == forward ? goal : start);
+	}//End of calculateHeuristics method
+}
@@ -0,0 +1,141 @@
+
+/**
+ * The BucketQueue class represents the open list of the path-finder as a Dial's bucket queue. <br>
+ * Since the distances are integers which grow in steps no larger than the maximum step cost (i.e. 10 or 14),
+ * every element of the queue has a distance between the distance of the lastly removed element and that distance
+ * plus the maximum step cost. Hence a circular array of (maximum step cost + 1) buckets, indexed by the distance,
+ * is sufficient to store the whole queue, and both adding and removing the element are performed in constant amortised time. <br>
+ * The elements are the indexes of the cells of the GridMap.
+ *
+ */
+public class BucketQueue {
+
+	/**
+	 * Declares the initial capacity of each bucket.
+	 */
+	private static final int initialBucketCapacity = 16;
+
+	/**
+	 * Declares the circular array of buckets, whereby the elements with the distance d are stored in the bucket d % numberOfBuckets.
+	 */
+	private int[][] buckets;
+
+	/**
+	 * Declares the array with the number of elements stored in each of the buckets.
+	 */
+	private int[] bucketSizes;
+
+	/**
+	 * Declares an integer variable for the number of buckets, that is the maximum step cost + 1.
+	 */
+	private int numberOfBuckets;
+
+	/**
+	 * Declares an integer variable for the distance of the bucket which is currently being emptied.
+	 */
+	private int currentDistance;
+
+	/**
+	 * Declares an integer variable for the number of elements currently stored on the queue.
+	 */
+	private int size;
+
+	/**
+	 * The constructor of this class, initialising an empty queue.
+	 * @param maximumStepCost - The highest possible difference between the distance of the element and the distance of its parent.
+	 */
+	public BucketQueue(int maximumStepCost) {
+		if (maximumStepCost <= 0) {
+			throw new IllegalArgumentException("The maximum step cost must be positive: " + maximumStepCost);
+		}
+		numberOfBuckets = maximumStepCost + 1;
+		buckets = new int[numberOfBuckets][initialBucketCapacity];
+		bucketSizes = new int[numberOfBuckets];
+		currentDistance = 0;
+		size = 0;
+	}
+
+	/**
+	 * A method for adding the element with the given distance to the queue.
+	 * @param element - The element (i.e. the index of the cell) to be added.
+	 * @param distance - The distance of the element, which must not be lower than the distance of the lastly removed element,
+	 * and must not exceed it by more than the maximum step cost.
+	 */
+	public void add(int element, int distance) {
+		if (size == 0) {
+			//The queue is empty, so the distance can start a new window of buckets
+			currentDistance = distance;
+		} else if (distance < currentDistance || distance >= currentDistance + numberOfBuckets) {
+			throw new IllegalArgumentException("The distance " + distance + " is out of the range of the buckets starting at " + currentDistance);
+		}
+		int bucket = distance % numberOfBuckets;
+		int[] elements = buckets[bucket];
+		//If the bucket is full, then double its capacity
+		if (bucketSizes[bucket] == elements.length) {
+			int[] grownElements = new int[elements.length * 2];
+			System.arraycopy(elements, 0, grownElements, 0, elements.length);
+			buckets[bucket] = grownElements;
+			elements = grownElements;
+		}
+		elements[bucketSizes[bucket]++] = element;
+		size++;
+	}
+
+	/**
+	 * A method for removing the element with the lowest distance from the queue.
+	 * @return - The element with the lowest distance, or -1 if the queue is empty.
+	 */
+	public int poll() {
+		if (size == 0) {
+			return -1;
+		}
+		//Move forward through the circular array until a non-empty bucket is found
+		int bucket = currentDistance % numberOfBuckets;
+		while (bucketSizes[bucket] == 0) {
+			currentDistance++;
+			bucket++;
+			if (bucket == numberOfBuckets) {
+				bucket = 0;
+			}
+		}
+		int element = buckets[bucket][--bucketSizes[bucket]];
+		size--;
+		return element;
+	}
+
+	/**
+	 * Getter for the distance of the bucket which is currently being emptied,
+	 * that is the distance of the lastly removed element.
+	 * @return - integer with the current distance.
+	 */
+	public int getCurrentDistance() {
+		return currentDistance;
+	}
+
+	/**
+	 * Getter for the boolean whether the queue is empty.
+	 * @return - boolean whether the queue is empty.
+	 */
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	/**
+	 * Getter for the number of elements stored on the queue.
+	 * @return - integer with the number of elements.
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * A method for removing all of the elements from the queue.
+	 */
+	public void clear() {
+		for (int bucket = 0; bucket < numberOfBuckets; bucket++) {
+			bucketSizes[bucket] = 0;
+		}
+		size = 0;
+		currentDistance = 0;
+	}
+}
@@ -0,0 +1,226 @@
+
+import java.util.Arrays;
+
+/**
+ * The CellHeap class represents the open list of the path-finder as an indexed binary min-heap of the cells
+ * of the GridMap, ordered by their keys (i.e. the path scoring values). <br>
+ * The position of every cell within the heap is stored by the cell (see the CellValues class, which only allocates the pages of the cells
+ * reached by the searches), therefore checking whether the cell is on the open list is a constant time operation, while adding, removing the lowest cell and decreasing the key of a cell
+ * (once a cheaper parent has been found) are performed in logarithmic time. <br>
+ * The keys are long, so that the keys consisting of two integers (such as the keys of the D* Lite) can be packed
+ * into the upper and lower half of a single key, and ordered lexicographically.
+ *
+ */
+public class CellHeap {
+
+	/**
+	 * Declares the initial capacity of the heap arrays.
+	 */
+	private static final int initialCapacity = 64;
+
+	/**
+	 * Declares the array of cells which represents the binary heap,
+	 * whereby the children of the cell at index i are stored at the indexes 2i+1 and 2i+2.
+	 */
+	private int[] heap;
+
+	/**
+	 * Declares the array of keys, whereby the key at index i belongs to the cell at index i of the heap.
+	 */
+	private long[] keys;
+
+	/**
+	 * Declares the positions within the heap, by the cell, -1 when the cell is not on the heap.
+	 */
+	private final CellValues positions;
+
+	/**
+	 * Declares an integer variable for the number of cells currently stored on the heap.
+	 */
+	private int size;
+
+	/**
+	 * The constructor of this class, initialising an empty heap.
+	 * @param numberOfCells - The number of cells of the grid, i.e. the highest index of the cell + 1.
+	 */
+	public CellHeap(int numberOfCells) {
+		heap = new int[initialCapacity];
+		keys = new long[initialCapacity];
+		positions = new CellValues(numberOfCells, -1);
+		size = 0;
+	}
+
+	/**
+	 * A method for adding the cell with the given key to the heap.
+	 * @param cell - The index of the cell to be added.
+	 * @param key - The key of the cell.
+	 */
+	public void add(int cell, long key) {
+		//If the heap arrays are full, then double their capacity
+		if (size == heap.length) {
+			heap = Arrays.copyOf(heap, heap.length * 2);
+			keys = Arrays.copyOf(keys, keys.length * 2);
+		}
+		size++;
+		siftUp(size - 1, cell, key);
+	}
+
+	/**
+	 * A method for removing the cell with the lowest key from the heap.
+	 * @return - The index of the cell with the lowest key, or -1 if the heap is empty.
+	 */
+	public int poll() {
+		if (size == 0) {
+			return -1;
+		}
+		int lowest = heap[0];
+		positions.set(lowest, -1);
+		size--;
+		//Move the last cell to the root and restore the heap order
+		if (size > 0) {
+			siftDown(0, heap[size], keys[size]);
+		}
+		return lowest;
+	}
+
+	/**
+	 * Getter for the lowest key on the heap.
+	 * @return - long with the key of the cell which would be removed next.
+	 */
+	public long peekKey() {
+		return keys[0];
+	}
+
+	/**
+	 * A method for lowering the key of the cell which is on the heap (i.e. a cheaper parent has been found).
+	 * @param cell - The index of the cell.
+	 * @param key - The new key of the cell, which must not be higher than its current key.
+	 */
+	public void decreaseKey(int cell, long key) {
+		siftUp(positions.get(cell), cell, key);
+	}
+
+	/**
+	 * A method for changing the key of the cell which is on the heap, whether the new key is lower or higher than the current one.
+	 * @param cell - The index of the cell.
+	 * @param key - The new key of the cell.
+	 */
+	public void updateKey(int cell, long key) {
+		int index = positions.get(cell);
+		if (key < keys[index]) {
+			siftUp(index, cell, key);
+		} else {
+			siftDown(index, cell, key);
+		}
+	}
+
+	/**
+	 * A method for removing the given cell from the heap.
+	 * @param cell - The index of the cell, which must be on the heap.
+	 */
+	public void remove(int cell) {
+		int index = positions.get(cell);
+		positions.set(cell, -1);
+		size--;
+		if (index == size) {
+			//The cell was the last one, so the heap order is kept
+			return;
+		}
+		//Move the last cell into the place of the removed one, and restore the heap order in either direction
+		int lastCell = heap[size];
+		long lastKey = keys[size];
+		if (index > 0 && lastKey < keys[(index - 1) >>> 1]) {
+			siftUp(index, lastCell, lastKey);
+		} else {
+			siftDown(index, lastCell, lastKey);
+		}
+	}
+
+	/**
+	 * A method for determining whether the given cell is on the heap.
+	 * @param cell - The index of the cell to be checked.
+	 * @return - boolean whether the cell is on the heap.
+	 */
+	public boolean contains(int cell) {
+		return positions.get(cell) >= 0;
+	}
+
+	/**
+	 * Getter for the boolean whether the heap is empty.
+	 * @return - boolean whether the heap is empty.
+	 */
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	/**
+	 * Getter for the number of cells stored on the heap.
+	 * @return - integer with the number of cells.
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * A method for removing all of the cells from the heap, which only moves the positions onto their next generation.
+	 */
+	public void clear() {
+		positions.nextGeneration();
+		size = 0;
+	}
+
+	/**
+	 * A method for placing the cell at the given index, and moving it up the heap until its parent
+	 * has a lower or equal key.
+	 * @param index - The index at which the cell is placed.
+	 * @param cell - The index of the cell.
+	 * @param key - The key of the cell.
+	 */
+	private void siftUp(int index, int cell, long key) {
+		while (index > 0) {
+			int parentIndex = (index - 1) >>> 1;
+			if (keys[parentIndex] <= key) {
+				break;
+			}
+			//Move the parent down
+			heap[index] = heap[parentIndex];
+			keys[index] = keys[parentIndex];
+			positions.set(heap[index], index);
+			index = parentIndex;
+		}
+		heap[index] = cell;
+		keys[index] = key;
+		positions.set(cell, index);
+	}//End of siftUp method
+
+	/**
+	 * A method for placing the cell at the given index, and moving it down the heap until both of its
+	 * children have a higher or equal key.
+	 * @param index - The index at which the cell is placed.
+	 * @param cell - The index of the cell.
+	 * @param key - The key of the cell.
+	 */
+	private void siftDown(int index, int cell, long key) {
+		int half = size >>> 1;
+		//While the cell at index has at least one child
+		while (index < half) {
+			int childIndex = 2 * index + 1;
+			int rightIndex = childIndex + 1;
+			//Select the child with the lower key
+			if (rightIndex < size && keys[rightIndex] < keys[childIndex]) {
+				childIndex = rightIndex;
+			}
+			if (key <= keys[childIndex]) {
+				break;
+			}
+			//Move the child up
+			heap[index] = heap[childIndex];
+			keys[index] = keys[childIndex];
+			positions.set(heap[index], index);
+			index = childIndex;
+		}
+		heap[index] = cell;
+		keys[index] = key;
+		positions.set(cell, index);
+	}//End of siftDown method
+}
@@ -0,0 +1,123 @@
+
+import java.util.Arrays;
+
+/**
+ * The CellStamps class marks the cells of the grid within the current search (e.g. the cells on the closed list). <br>
+ * The grid of up to CellValues.flatCellLimit cells is stamped in a single array, that is each marked cell with the generation of the search,
+ * so both marking and testing the cell is a single read or write of the array. <br>
+ * The larger grid keeps a single bit for each cell on the pages of the same number of cells as the pages of the CellValues class.
+ * A page is only allocated once its first cell is marked, so the memory taken depends on the area reached by the searches
+ * rather than on the size of the grid. Each page is stamped with the generation of the search in which its cells have been marked,
+ * so starting the next search only increments the generation, and the cells marked by the previous searches are treated as unmarked
+ * without clearing the pages. A page from the previous search is cleared once its cell is marked again. <br>
+ * The stamps are cleared only once the generation has run out of the integer values.
+ *
+ */
+public class CellStamps {
+
+	/**
+	 * Declares the number of the bits of the cell index which select the bit within its word of the page.
+	 */
+	private static final int wordBits = 6;
+
+	/**
+	 * Declares the array for the generation in which each of the cells has been marked, indexed by the cell,
+	 * or null if the grid is too large and its cells are marked on the pages instead.
+	 */
+	private final int[] stamps;
+
+	/**
+	 * Declares the array of the pages of bits, indexed by the cell index shifted by the page bits, null for the pages which have not been marked.
+	 */
+	private final long[][] pages;
+
+	/**
+	 * Declares the array for the generation in which each of the pages has been marked.
+	 */
+	private final int[] pageGenerations;
+
+	/**
+	 * Declares the number of cells of the grid.
+	 */
+	private final int numberOfCells;
+
+	/**
+	 * Declares the generation of the current search, which is never 0, so the pages of the new array are not stamped with it.
+	 */
+	private int generation = 1;
+
+	/**
+	 * The constructor of this class.
+	 * @param numberOfCells - The number of cells of the grid.
+	 */
+	public CellStamps(int numberOfCells) {
+		this.numberOfCells = numberOfCells;
+		if (numberOfCells <= CellValues.flatCellLimit) {
+			stamps = new int[numberOfCells];
+			pages = null;
+			pageGenerations = null;
+		} else {
+			stamps = null;
+			int numberOfPages = (int) (((long) numberOfCells + CellValues.pageMask) >>> CellValues.pageBits);
+			pages = new long[numberOfPages][];
+			pageGenerations = new int[numberOfPages];
+		}
+	}
+
+	/**
+	 * A method for starting the next search, so that all of the cells become unmarked.
+	 */
+	public void nextGeneration() {
+		if (generation == Integer.MAX_VALUE) {
+			//The generations have run out, so clear the stamps and start again from the first generation
+			Arrays.fill(stamps != null ? stamps : pageGenerations, 0);
+			generation = 0;
+		}
+		generation++;
+	}//End of nextGeneration method
+
+	/**
+	 * A method for marking the cell within the current search.
+	 * @param cell - The cell to be marked.
+	 */
+	public void mark(int cell) {
+		if (stamps != null) {
+			stamps[cell] = generation;
+			return;
+		}
+		int page = cell >>> CellValues.pageBits;
+		if (pageGenerations[page] != generation) {
+			//The page has not been marked within the current search, so allocate or clear it
+			if (pages[page] == null) {
+				pages[page] = new long[1 << (CellValues.pageBits - wordBits)];
+			} else {
+				Arrays.fill(pages[page], 0);
+			}
+			pageGenerations[page] = generation;
+		}
+		pages[page][(cell & CellValues.pageMask) >>> wordBits] |= 1L << cell;
+	}//End of mark method
+
+	/**
+	 * A method for determining whether the cell has been marked within the current search.
+	 * @param cell - The cell to be tested.
+	 * @return - boolean whether the cell has been marked.
+	 */
+	public boolean isMarked(int cell) {
+		if (stamps != null) {
+			return stamps[cell] == generation;
+		}
+		int page = cell >>> CellValues.pageBits;
+		//The page is read first, so the thread reading the cells marked by another thread (e.g. the GUI) never finds a stamped page missing
+		long[] bits = pages[page];
+		return bits != null && pageGenerations[page] == generation && (bits[(cell & CellValues.pageMask) >>> wordBits] & (1L << cell)) != 0;
+	}
+
+	/**
+	 * Getter for the number of cells which can be marked.
+	 * @return - integer with the number of cells.
+	 */
+	public int getNumberOfCells() {
+		return numberOfCells;
+	}
+}
@@ -0,0 +1,172 @@
+
+import java.util.Arrays;
+
+/**
+ * The CellValues class holds an integer value for each cell of the grid within the current search (e.g. the distances to the start
+ * or the positions on the open list). <br>
+ * The grid of up to flatCellLimit cells keeps its values in a single array, so reading the value is a single read of the array.
+ * The values of the larger grid are divided into the pages of the fixed number of cells, and a page is only allocated once a value
+ * of its cell is set, so the memory taken depends on the area reached by the searches rather than on the size of the grid. <br>
+ * In both cases, the cells are divided into the pages stamped with the generation of the search in which their values have been set,
+ * so that the pages set within the current search are listed once. Starting the next search resets only the listed pages to the default value,
+ * which takes the time proportional to the area reached by the previous search rather than to the size of the grid.
+ *
+ */
+public class CellValues {
+
+	/**
+	 * Declares the number of bits of the cell index which select the cell within its page, i.e. there are 256 cells on each page.
+	 * The page is a fraction of the row of the large grid, so the search crossing the rows does not allocate the cells far beside it.
+	 */
+	static final int pageBits = 8;
+
+	/**
+	 * Declares the mask of the cell index which selects the cell within its page.
+	 */
+	static final int pageMask = (1 << pageBits) - 1;
+
+	/**
+	 * Declares the largest number of cells of the grid which keeps its values (and stamps, see the CellStamps class) in a single array,
+	 * i.e. the grid of 2048 x 2048 cells, which takes 16 MB for each array. The pages of the larger grid cost an extra read on each access.
+	 */
+	static final int flatCellLimit = 1 << 22;
+
+	/**
+	 * Declares the array of the values indexed by the cell, or null if the grid is too large and its values are kept on the pages instead.
+	 */
+	private final int[] values;
+
+	/**
+	 * Declares the array of the pages of values, indexed by the cell index shifted by the page bits, null for the pages which have not been set.
+	 */
+	private final int[][] pages;
+
+	/**
+	 * Declares the array for the generation in which each of the pages has been set.
+	 */
+	private final int[] pageGenerations;
+
+	/**
+	 * Declares the array of the indexes of the pages which have been set within the current search.
+	 */
+	private int[] setPages = new int[64];
+
+	/**
+	 * Declares the number of the pages which have been set within the current search.
+	 */
+	private int numberOfSetPages;
+
+	/**
+	 * Declares the value of the cells which have not been set within the current search.
+	 */
+	private final int defaultValue;
+
+	/**
+	 * Declares the number of cells of the grid.
+	 */
+	private final int numberOfCells;
+
+	/**
+	 * Declares the generation of the current search, which is never 0, so the pages of the new array are not stamped with it.
+	 */
+	private int generation = 1;
+
+	/**
+	 * The constructor of this class.
+	 * @param numberOfCells - The number of cells of the grid.
+	 * @param defaultValue - The value of the cells which have not been set within the current search.
+	 */
+	public CellValues(int numberOfCells, int defaultValue) {
+		this.numberOfCells = numberOfCells;
+		this.defaultValue = defaultValue;
+		int numberOfPages = (int) (((long) numberOfCells + pageMask) >>> pageBits);
+		if (numberOfCells <= flatCellLimit) {
+			values = new int[numberOfCells];
+			Arrays.fill(values, defaultValue);
+			pages = null;
+		} else {
+			values = null;
+			pages = new int[numberOfPages][];
+		}
+		pageGenerations = new int[numberOfPages];
+	}
+
+	/**
+	 * A method for starting the next search, so that all of the cells have the default value,
+	 * by resetting the pages which have been set within the current search.
+	 */
+	public void nextGeneration() {
+		for (int i = 0; i < numberOfSetPages; i++) {
+			int page = setPages[i];
+			if (values != null) {
+				int firstCell = page << pageBits;
+				Arrays.fill(values, firstCell, Math.min(firstCell + (1 << pageBits), numberOfCells), defaultValue);
+			} else {
+				Arrays.fill(pages[page], defaultValue);
+			}
+		}
+		numberOfSetPages = 0;
+		if (generation == Integer.MAX_VALUE) {
+			//The generations have run out, so clear the stamps of the pages and start again from the first generation
+			Arrays.fill(pageGenerations, 0);
+			generation = 0;
+		}
+		generation++;
+	}//End of nextGeneration method
+
+	/**
+	 * Getter for the value of the cell within the current search.
+	 * @param cell - The index of the cell.
+	 * @return - integer with the value of the cell, or the default value if it has not been set.
+	 */
+	public int get(int cell) {
+		if (values != null) {
+			return values[cell];
+		}
+		//The pages which have not been set within the current search hold the default values
+		int[] page = pages[cell >>> pageBits];
+		return page == null ? defaultValue : page[cell & pageMask];
+	}
+
+	/**
+	 * Setter for the value of the cell within the current search.
+	 * @param cell - The index of the cell.
+	 * @param value - The value of the cell.
+	 */
+	public void set(int cell, int value) {
+		int page = cell >>> pageBits;
+		if (pageGenerations[page] != generation) {
+			startPage(page);
+		}
+		if (values != null) {
+			values[cell] = value;
+		} else {
+			pages[page][cell & pageMask] = value;
+		}
+	}
+
+	/**
+	 * A method for allocating the page (if it is kept apart from the other pages and has not been allocated yet) and listing it as set within the current search,
+	 * once its first value is set within the current search.
+	 * @param page - The index of the page.
+	 */
+	private void startPage(int page) {
+		if (values == null && pages[page] == null) {
+			pages[page] = new int[1 << pageBits];
+			Arrays.fill(pages[page], defaultValue);
+		}
+		if (numberOfSetPages == setPages.length) {
+			setPages = Arrays.copyOf(setPages, setPages.length * 2);
+		}
+		setPages[numberOfSetPages++] = page;
+		pageGenerations[page] = generation;
+	}//End of startPage method
+
+	/**
+	 * Getter for the number of cells which can hold a value.
+	 * @return - integer with the number of cells.
+	 */
+	public int getNumberOfCells() {
+		return numberOfCells;
+	}
+}
@@ -0,0 +1,419 @@
+
+import java.util.Arrays;
+
+/**
+ * The DStarLiteAlgorithm class performs the D* Lite, an incremental path-finding algorithm for the robots which discover the obstacles
+ * as they move. <br>
+ * The search is performed backwards, from the goal to the start cell, and its state (the distances to the goal and the open list)
+ * is kept after the path has been calculated. Once an obstacle has been placed or removed, only the surrounding cells of the changed
+ * cell are updated, and the following calculation of the path re-expands only the cells whose distance to the goal has been affected,
+ * rather than searching the whole grid again. The start cell can also move (i.e. the robot moves towards the goal) without losing the state.
+ * The changes must be reported through the obstacleChanged method, otherwise the version of the grid differs and the search starts again from scratch. <br>
+ * Each cell has two distances to the goal: g (the distance found by the last expansion of the cell) and rhs (the lowest distance
+ * through any of its surrounding cells). The cells where these differ are on the open list, ordered by the key
+ * [min(g, rhs) + heuristics + km; min(g, rhs)], where km accumulates the heuristics between the positions of the moving start cell. <br>
+ * The heuristics is the octile distance (or the Manhattan distance without the diagonals), and the path is optimal.
+ *
+ */
+public class DStarLiteAlgorithm implements PathfindingEngine {
+
+	/**
+	 * Declares the distance representing the infinity, i.e. the cell from which the goal cannot be reached.
+	 * It is low enough that adding two of them does not overflow.
+	 */
+	private static final int infinity = Integer.MAX_VALUE / 2;
+
+	/**
+	 * Declares a heap for the openList, that is for the cells whose g and rhs values differ, ordered by their keys.
+	 */
+	private CellHeap openList;
+
+	/**
+	 * Declares the distances to the goal found by the last expansion of each cell (the g values), by the cell,
+	 * which are infinite for the cells which have not been reached since the state was initialised.
+	 */
+	private CellValues distanceToGoal;
+
+	/**
+	 * Declares the lowest distances to the goal through the surrounding cells (the rhs values), by the cell,
+	 * which are infinite for the cells which have not been reached since the state was initialised.
+	 */
+	private CellValues lookaheadDistanceToGoal;
+
+	/**
+	 * Declares the grid on which the path is calculated, or null if no path has been calculated yet.
+	 */
+	private GridMap grid;
+
+	/**
+	 * Declares the version of the grid which the state of the search reflects, that is the version when the state was initialised,
+	 * increased by each change of the obstacle reported since then.
+	 */
+	private long gridVersion;
+
+	/**
+	 * Declares the index of the cell for the start, i.e. the current position of the robot.
+	 */
+	private int start;
+
+	/**
+	 * Declares the index of the cell for the goal
+	 */
+	private int goal;
+
+	/**
+	 * Declares a boolean for tracking whether the user wants to allow diagonal path finding
+	 */
+	private boolean allowDiagonalPathFinding = true;
+
+	/**
+	 * Declares the accumulated heuristics between the positions of the moving start cell (the km value), which is added to the keys
+	 * instead of recalculating the keys of all of the cells on the open list.
+	 */
+	private int keyModifier;
+
+	/**
+	 * Declares the listener to be notified about the progress of the search, or null if there is none.
+	 */
+	private SearchListener listener;
+
+	/**
+	 * Declares an integer variable for maintaining the number of operations that the path-finder performs.
+	 */
+	private int numberOfOperations = 0;
+
+	/**
+	 * Declares an integer variable for maintaining the number of visited nodes that the path-finder performs,
+	 * that is the number of cells expanded (or re-expanded) by the last calculation of the path.
+	 */
+	private int numberOfVisitedNodes = 0;
+
+	/**
+	 * Declares an integer variable for the number of the obstacles which have changed since the last calculation of the path.
+	 */
+	private int numberOfChangedCells = 0;
+
+	/**
+	 * Declares a boolean for determining whether the last calculation of the path has repaired the previous state, rather than starting from scratch.
+	 */
+	private boolean repaired = false;
+
+	/**
+	 * The D* Lite algorithm which performs the pathfinding in following maner: <br>
+	 * 1) If the state of the search does not belong to the grid, the goal cell and the diagonal option, or the grid has changed without
+	 * being reported, then initialise the state,
+	 * putting the goal cell on the open list. Otherwise if the start cell has moved, then add the heuristics between its positions to km. <br>
+	 * 2) While the key of the start cell is higher than the lowest key on the open list, or the start cell is inconsistent then: <br>
+	 * 3) &nbsp&nbsp&nbspRemove the cell with the lowest key from the open list. If its key is out of date, then put it back with the new key. <br>
+	 * 4) &nbsp&nbsp&nbspOtherwise if its g is higher than its rhs, set its g to its rhs, and update the rhs of its surrounding cells. <br>
+	 * 5) &nbsp&nbsp&nbspOtherwise set its g to the infinity, and update the rhs of the cell and its surrounding cells. <br>
+	 * 6) Trace the path from the start cell, moving to the surrounding cell with the lowest distance to the goal.
+	 * @param grid - The grid on which the path is calculated.
+	 * @param start - The cell which was selected as the start node by the user in the GUI (i.e. the current position of the robot).
+	 * @param goal - The cell which was selected as the goal/finish node by the user in the GUI.
+	 * @param options - The options of the search, that is whether to allow diagonals.
+	 * @param listener - The listener to be notified about the expanded cells and the number of operations, or null.
+	 * @return - The result of the search.
+	 */
+	public PathResult calculatePath(GridMap grid, int start, int goal, SearchOptions options, SearchListener listener) {
+		long startTime = System.nanoTime();
+
+		this.listener = listener;
+		numberOfOperations = 0;
+		numberOfVisitedNodes = 0;
+
+		if (this.grid != grid || this.goal != goal || allowDiagonalPathFinding != options.isAllowDiagonalPathFinding()
+				|| gridVersion != grid.getVersion()) {
+			//The state does not reflect the grid, e.g. an obstacle has changed without calling the obstacleChanged method
+			initialiseSearchSpace(grid, start, goal, options.isAllowDiagonalPathFinding());
+			repaired = false;
+		} else {
+			if (this.start != start) {
+				//The robot has moved, so the heuristics of all of the keys on the open list have decreased by at most this much
+				keyModifier += calculateHeuristics(this.start, start);
+				this.start = start;
+			}
+			repaired = true;
+		}
+		numberOfChangedCells = 0;
+
+		computeShortestPath();
+
+		if (lookaheadDistanceToGoal.get(start) >= infinity) {
+			//The goal cannot be reached, exit with failure.
+			return new PathResult(new int[0], -1, numberOfOperations, numberOfVisitedNodes, System.nanoTime() - startTime);
+		}
+		return traceThePath(startTime);
+	}//End of calculatePath method
+
+	/**
+	 * A method for updating the state of the search once the obstacle has been placed on or removed from the given cell of the grid.
+	 * The costs of moving to and from the cell have changed, so the rhs values of the cell and its surrounding cells are recalculated,
+	 * and the cells which have become inconsistent are put on the open list, to be re-expanded by the following calculation of the path.
+	 * If the state does not belong to the grid, then there is nothing to update.
+	 * @param grid - The grid which has been changed.
+	 * @param cell - The cell which has been changed.
+	 */
+	public void obstacleChanged(GridMap grid, int cell) {
+		if (this.grid != grid) {
+			return;
+		}
+		numberOfChangedCells++;
+		gridVersion++;
+		updateLookaheadDistance(cell);
+		for (int direction = 0; direction < getNumberOfDirections(); direction++) {
+			int adjacent = grid.getAdjacentCell(cell, direction);
+			if (adjacent != -1) {
+				updateLookaheadDistance(adjacent);
+			}
+		}
+	}//End of obstacleChanged method
+
+	/**
+	 * A method for discarding the state of the search, so that the following calculation of the path starts from scratch.
+	 * It is needed once the calculation has been aborted (e.g. by the listener), since the state might be left inconsistent.
+	 */
+	public void reset() {
+		grid = null;
+	}
+
+	/**
+	 * Getter for the number of the obstacles which had changed before the last calculation of the path.
+	 * @return - integer with the number of changed cells, or 0 if the last calculation has started from scratch.
+	 */
+	public int getNumberOfChangedCells() {
+		return numberOfChangedCells;
+	}
+
+	/**
+	 * Getter for the number of the cells re-expanded by the last calculation of the path, in order to repair the previous state.
+	 * @return - integer with the number of re-expanded cells, or -1 if the last calculation has started from scratch.
+	 */
+	public int getNumberOfReExpandedNodes() {
+		return repaired ? numberOfVisitedNodes : -1;
+	}
+
+	/**
+	 * A method for initialising the state of the search, whereby all of the cells are infinitely far from the goal,
+	 * and the goal cell is the only cell on the open list.
+	 * @param grid - The grid on which the path is calculated.
+	 * @param start - The start cell.
+	 * @param goal - The goal cell.
+	 * @param allowDiagonalPathFinding - boolean whether the diagonal path finding is allowed.
+	 */
+	private void initialiseSearchSpace(GridMap grid, int start, int goal, boolean allowDiagonalPathFinding) {
+		int numberOfCells = grid.getNumberOfCells();
+		if (distanceToGoal == null || distanceToGoal.getNumberOfCells() != numberOfCells) {
+			openList = new CellHeap(numberOfCells);
+			distanceToGoal = new CellValues(numberOfCells, infinity);
+			lookaheadDistanceToGoal = new CellValues(numberOfCells, infinity);
+		} else {
+			//The distances left by the previous state are read as infinite once they move onto the next generation
+			openList.clear();
+			distanceToGoal.nextGeneration();
+			lookaheadDistanceToGoal.nextGeneration();
+		}
+
+		this.grid = grid;
+		this.gridVersion = grid.getVersion();
+		this.start = start;
+		this.goal = goal;
+		this.allowDiagonalPathFinding = allowDiagonalPathFinding;
+		keyModifier = 0;
+
+		lookaheadDistanceToGoal.set(goal, 0);
+		openList.add(goal, calculateKey(goal));
+	}//End of initialiseSearchSpace method
+
+	/**
+	 * A method for expanding the cells on the open list until the distance of the start cell to the goal is known,
+	 * in the manner described by the calculatePath method.
+	 */
+	private void computeShortestPath() {
+		while (!openList.isEmpty()
+				&& (openList.peekKey() < calculateKey(start) || lookaheadDistanceToGoal.get(start) > distanceToGoal.get(start))) {
+			long oldKey = openList.peekKey();
+			int u = openList.poll();
+			long newKey = calculateKey(u);
+
+			if (oldKey < newKey) {
+				//The key is out of date (the start cell has moved), so put the cell back with the new key
+				openList.add(u, newKey);
+				if (listener != null) {
+					listener.nodeVisited(u);
+				}
+				continue;
+			}
+
+			numberOfOperations += 4;
+			if (allowDiagonalPathFinding) {
+				numberOfOperations += 4;
+			}
+			//Increment the number of visited (expanded) nodes
+			numberOfVisitedNodes++;
+			if (listener != null) {
+				listener.nodeExpanded(u);
+				listener.progressUpdated(numberOfOperations, numberOfVisitedNodes);
+			}
+
+			if (distanceToGoal.get(u) > lookaheadDistanceToGoal.get(u)) {
+				//Overconsistent: the cell has become closer to the goal, which propagates to its surrounding cells
+				distanceToGoal.set(u, lookaheadDistanceToGoal.get(u));
+				for (int direction = 0; direction < getNumberOfDirections(); direction++) {
+					int adjacent = grid.getAdjacentCell(u, direction);
+					if (adjacent != -1 && adjacent != goal) {
+						int distanceThroughU = add(cost(adjacent, u, direction), distanceToGoal.get(u));
+						if (distanceThroughU < lookaheadDistanceToGoal.get(adjacent)) {
+							lookaheadDistanceToGoal.set(adjacent, distanceThroughU);
+						}
+						updateOpenList(adjacent);
+					}
+				}
+			} else {
+				//Underconsistent: the cell has become further from the goal, so the cells which relied on it are recalculated
+				int oldDistance = distanceToGoal.get(u);
+				distanceToGoal.set(u, infinity);
+				updateLookaheadDistance(u);
+				for (int direction = 0; direction < getNumberOfDirections(); direction++) {
+					int adjacent = grid.getAdjacentCell(u, direction);
+					if (adjacent != -1 && lookaheadDistanceToGoal.get(adjacent) == add(cost(adjacent, u, direction), oldDistance)) {
+						updateLookaheadDistance(adjacent);
+					}
+				}
+			}
+		}//End of while the start cell is not consistent
+	}//End of computeShortestPath method
+
+	/**
+	 * A method for recalculating the rhs value of the cell, that is the lowest distance to the goal through any of its surrounding cells,
+	 * and then updating the position of the cell on the open list.
+	 * @param cell - The cell to be recalculated.
+	 */
+	private void updateLookaheadDistance(int cell) {
+		if (cell != goal) {
+			int lowestDistance = infinity;
+			for (int direction = 0; direction < getNumberOfDirections(); direction++) {
+				int adjacent = grid.getAdjacentCell(cell, direction);
+				if (adjacent != -1) {
+					lowestDistance = Math.min(lowestDistance, add(cost(cell, adjacent, direction), distanceToGoal.get(adjacent)));
+				}
+			}
+			lookaheadDistanceToGoal.set(cell, lowestDistance);
+		}
+		updateOpenList(cell);
+	}//End of updateLookaheadDistance method
+
+	/**
+	 * A method for updating the position of the cell on the open list, so that the cell is on the open list
+	 * with an up to date key if and only if its g and rhs values differ.
+	 * @param cell - The cell to be updated.
+	 */
+	private void updateOpenList(int cell) {
+		boolean inconsistent = distanceToGoal.get(cell) != lookaheadDistanceToGoal.get(cell);
+		if (inconsistent && openList.contains(cell)) {
+			openList.updateKey(cell, calculateKey(cell));
+		} else if (inconsistent) {
+			openList.add(cell, calculateKey(cell));
+			if (listener != null) {
+				listener.nodeVisited(cell);
+			}
+		} else if (openList.contains(cell)) {
+			openList.remove(cell);
+		}
+	}//End of updateOpenList method
+
+	/**
+	 * A method for calculating the key of the cell, that is [min(g, rhs) + heuristics to the start cell + km; min(g, rhs)],
+	 * packed into a single long so that the keys are ordered lexicographically.
+	 * @param cell - The cell to perform the calculations on.
+	 * @return - long with the key of the cell.
+	 */
+	private long calculateKey(int cell) {
+		int distance = Math.min(distanceToGoal.get(cell), lookaheadDistanceToGoal.get(cell));
+		long primaryKey = (long) distance + calculateHeuristics(start, cell) + keyModifier;
+		return (primaryKey << 32) | distance;
+	}//End of calculateKey method
+
+	/**
+	 * A method for tracing the path from the start cell to the goal cell, whereby each cell is followed by the surrounding cell
+	 * through which its distance to the goal is the lowest.
+	 * @param startTime - The time (in nanoseconds) at which the search has been started.
+	 * @return - The result of the search with the path from the start to the goal cell.
+	 */
+	private PathResult traceThePath(long startTime) {
+		int[] path = new int[16];
+		int length = 0;
+		int cell = start;
+		path[length++] = cell;
+		while (cell != goal && length <= grid.getNumberOfCells()) {
+			int nextCell = -1;
+			int lowestDistance = infinity;
+			for (int direction = 0; direction < getNumberOfDirections(); direction++) {
+				int adjacent = grid.getAdjacentCell(cell, direction);
+				if (adjacent != -1) {
+					int distanceThroughAdjacent = add(cost(cell, adjacent, direction), distanceToGoal.get(adjacent));
+					if (distanceThroughAdjacent < lowestDistance) {
+						lowestDistance = distanceThroughAdjacent;
+						nextCell = adjacent;
+					}
+				}
+			}
+			if (nextCell == -1) {
+				break;
+			}
+			if (length == path.length) {
+				path = Arrays.copyOf(path, path.length * 2);
+			}
+			path[length++] = nextCell;
+			cell = nextCell;
+		}
+		return new PathResult(Arrays.copyOf(path, length), lookaheadDistanceToGoal.get(start), numberOfOperations, numberOfVisitedNodes,
+				System.nanoTime() - startTime);
+	}//End of traceThePath method
+
+	/**
+	 * A method for calculating the cost of moving between the surrounding cells, which is the infinity if either of them is the obstacle.
+	 * @param from - The cell from which the move starts.
+	 * @param to - The cell at which the move finishes.
+	 * @param direction - The direction between the cells (in either way, since the costs are the same).
+	 * @return - integer with the cost of the move.
+	 */
+	private int cost(int from, int to, int direction) {
+		if (grid.isObstacle(from) || grid.isObstacle(to)) {
+			return infinity;
+		}
+		return GridMap.stepCosts[direction];
+	}//End of cost method
+
+	/**
+	 * A method for adding the distances, whereby the sum is the infinity if either of the distances is the infinity.
+	 * @param distance - The first distance.
+	 * @param otherDistance - The second distance.
+	 * @return - integer with the sum of the distances.
+	 */
+	private static int add(int distance, int otherDistance) {
+		if (distance >= infinity || otherDistance >= infinity) {
+			return infinity;
+		}
+		return distance + otherDistance;
+	}
+
+	/**
+	 * Getter for the number of the directions to the surrounding cells, which depends on whether the diagonal path finding is allowed.
+	 * @return - integer with the number of the directions.
+	 */
+	private int getNumberOfDirections() {
+		return allowDiagonalPathFinding ? GridMap.numberOfDirections : GridMap.numberOfNonDiagonalDirections;
+	}
+
+	/**
+	 * A method for calculating the heuristics value between the cells, that is the distance on the grid without the obstacles
+	 * (octile if the diagonal path finding is allowed, otherwise Manhattan).
+	 * @param from - The first cell.
+	 * @param to - The second cell.
+	 * @return - integer with the heuristics value.
+	 */
+	private int calculateHeuristics(int from, int to) {
+		return Heuristics.distanceWithoutObstacles(grid, from, to, allowDiagonalPathFinding);
+	}//End of calculateHeuristics method
+}
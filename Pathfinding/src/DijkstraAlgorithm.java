@@ -1,281 +1,338 @@
 
 import java.util.ArrayList;
-import java.util.Collections;
-import java.util.concurrent.TimeUnit;
-
-import javax.swing.JOptionPane;
 
 /**
  * The DijkstraAlgorithm class is responsible for finding an optimal path between the given starting and finishing nodes, 
  * however is relatively expensive in the matter of operations and visited nodes it performs due to 
- * no usage of heuristics and path scoring values.
+ * no usage of heuristics and path scoring values. <br>
+ * The algorithm runs against the cells of the GridMap, keeping the distances, parents and visited flags by the cell on the pages
+ * of the CellValues and CellStamps classes, which are only allocated for the area reached by the searches and reused by the following
+ * searches on the grid of the same size.
  * @author Adrian Fall
  *
  */
-public class DijkstraAlgorithm {
+public class DijkstraAlgorithm implements PathfindingEngine {
 	
 	/**
-	 * Declares an array list for openList, that is for the nodes which
-	 * have been examined, as they were the first nodes on the openList and
-	 * have been expanded as the surrounding nodes of their parents,
+	 * Declares an array list for openList, that is for the cells which
+	 * have been examined, as they were the first cells on the openList and
+	 * have been expanded as the surrounding cells of their parents,
 	 * and added to this list, so they will be potentially examined
 	 * at later stages.
 	 * 
 	 */
-	private ArrayList<Node> openList;
+	private ArrayList<Integer> openList;
 	
 	/**
-	 * Declares an array list for the closedList, that is for the nodes which 
-	 * 
-	 * have expanded their neighbours nodes.
+	 * Declares a bucket queue for the openList, which is used instead of the sorted array list
+	 * when the user has selected the bucket queue mode.
 	 */
-	private ArrayList<Node> closedList;
+	private BucketQueue bucketQueue;
 	
 	/**
-	 * Declares a Node instance for the start 
+	 * Declares an array for the visited cells, indexed by the cell, that is for the cells which
+	 * have been already added to the open list.
 	 */
-	private static Node start;
+	private CellStamps visited;
 	
 	/**
-	 * Declares a Node instance for the goal
+	 * Declares an array for the expanded cells, indexed by the cell, that is for the cells which have been removed
+	 * from the open list with their final distance to the start cell.
 	 */
-	private static Node goal;
+	private CellStamps expanded;
 	
 	/**
-	 * Declares a boolean for tracking whether the user wants to allow diagonal path finding
+	 * Declares the precise distances to the start cell, by the cell.
 	 */
-	private static boolean allowDiagonalPathFinding = true;
+	private CellValues distanceFromStart;
 	
 	/**
-	 * Declares an integer variable for the delay (in milliseconds) between the robotic movement.
+	 * Declares the directions of the cells from their parents, by the cell.
 	 */
-	private static int msDelayBetweenRobotMovement;
+	private CellValues parentDirection;
 	
 	/**
-	 * Declares a boolean for tracking whether the user wants to be shown with the visited nodes (when the algorithm is performs
-	 * path-finding visually)
+	 * Declares the bidirectional variant of the Dijkstra algorithm, which is created when it is selected for the first time.
 	 */
-	private static boolean showVisitedNodes;
+	private BidirectionalSearch bidirectionalSearch;
 	
 	/**
-	 * Declares an integer variable for the delay (in milliseconds) between visiting the nodes.
+	 * Declares the grid on which the path is calculated
 	 */
-	private static int msDelayBetweenVisitingNodes;
+	private GridMap grid;
 	
 	/**
-	 * Declares an integer variable for maintaining the number of operations that the path-finder performs.
+	 * Declares the index of the cell for the start 
 	 */
-	private static int numberOfOperations = 0;
+	private int start;
 	
 	/**
-	 * Declares an integer variable for maintaining the number of visited nodes that the path-finder performs.
+	 * Declares the index of the cell for the goal
+	 */
+	private int goal;
+	
+	/**
+	 * Declares a boolean for tracking whether the user wants to allow diagonal path finding
+	 */
+	private boolean allowDiagonalPathFinding = true;
+	
+	/**
+	 * Declares a boolean for tracking whether the open list is maintained as the Dial's bucket queue rather than the sorted array list.
+	 */
+	private boolean useBucketQueue;
+	
+	/**
+	 * Declares the listener to be notified about the progress of the search, or null if there is none.
+	 */
+	private SearchListener listener;
+	
+	/**
+	 * Declares the profiler of the phases of the current search, or null if the search is not recorded by the Java Flight Recorder.
+	 */
+	private SearchProfiler profiler;
+	
+	/**
+	 * Declares an integer variable for maintaining the number of operations that the path-finder performs.
 	 */
-	private static int numberOfVisitedNodes = 0;
+	private int numberOfOperations = 0;
 	
 	/**
-	 * The constructor of this class, accepting the nodes and other piece of information that
-	 * is needed in order to perform the Dijkstra algorithm path find.
-	 * @param start - The node which was selected as the start node by the user in the GUI
-	 * @param goal - The node which was selected as the goal/finish node by the user in the GUI.
-	 * @param allowDiagonalPathFinding - The piece of information determining whether the user allows diagonals or not.
-	 * @param msDelayBetweenRobotMovement - The piece of information that determines the delay between the animation of the robot movement.
-	 * @param showVisitedNodes - The piece of information that determines whether the user wants to be shown with the visited nodes by the algorithm.
-	 * @param msDelayBetweenVisitingNodes - The piece of information that determines the delay between visiting each adjacent node.
+	 * Declares an integer variable for maintaining the number of visited nodes that the path-finder performs.
 	 */
-	public DijkstraAlgorithm(Node start, Node goal, boolean allowDiagonalPathFinding, int msDelayBetweenRobotMovement, boolean showVisitedNodes, int msDelayBetweenVisitingNodes) {
-		DijkstraAlgorithm.start = start;
-		DijkstraAlgorithm.goal = goal;
-		DijkstraAlgorithm.allowDiagonalPathFinding = allowDiagonalPathFinding;
-		DijkstraAlgorithm.msDelayBetweenRobotMovement = msDelayBetweenRobotMovement;
-		DijkstraAlgorithm.showVisitedNodes = showVisitedNodes;
-		DijkstraAlgorithm.msDelayBetweenVisitingNodes = msDelayBetweenVisitingNodes;
-	}
+	private int numberOfVisitedNodes = 0;
 	
 	/**
 	 * The Dijkstra algorithm which performs the pathfinding in following maner: <br>
-	 * 1) Initialise the closed and open lists, adding the start to the open list <br>
+	 * 1) Initialise the open list, adding the start to the open list <br>
 	 * 2) While the path has not been calculated and the open list is not empty then: <br>
-	 * 3) &nbsp&nbsp&nbspSelect the first node from the open list, then remove it from the open list and add to the closed list <br>
-	 * 4) &nbsp&nbsp&nbspObtain the surrounding nodes and check if any of them is the goal node, if yes set path calculated. <br>
+	 * 3) &nbsp&nbsp&nbspSelect the first cell from the open list, then remove it from the open list <br>
+	 * 4) &nbsp&nbsp&nbspIf the cell is the goal cell, then the path has been calculated. <br>
 	 * 5) &nbsp&nbsp&nbspIf the path has been calculated then trace back the path (from goal to start), and break. <br>
-	 * 6) &nbsp&nbsp&nbspExpand each surrounding node, if and only if the surrounding node exists (i.e. is within the bounds of the grid)
-	 * and is not the obstacle.
-	 * 
+	 * 6) &nbsp&nbsp&nbspExpand each surrounding cell, if and only if the surrounding cell exists (i.e. is within the bounds of the grid),
+	 * is not the obstacle and has not been expanded yet. <br>
+	 * The open list is either the array list sorted with the bubble sort algorithm, or (in the bucket queue mode)
+	 * the Dial's bucket queue, which exploits the distances growing in integer steps of 10 and 14. <br>
+	 * If the bidirectional search has been selected, then the path is calculated by the bidirectional Dijkstra instead.
+	 * @param grid - The grid on which the path is calculated.
+	 * @param start - The cell which was selected as the start node by the user in the GUI
+	 * @param goal - The cell which was selected as the goal/finish node by the user in the GUI.
+	 * @param options - The options of the search, that is whether to allow diagonals and whether to use the bucket queue.
+	 * @param listener - The listener to be notified about the visited cells and the number of operations, or null.
+	 * @return - The result of the search.
 	 */
-	public void calculatePath() {
-		boolean pathHasBeenCalculated = false;
+	public PathResult calculatePath(GridMap grid, int start, int goal, SearchOptions options, SearchListener listener) {
+		if (options.isBidirectional()) {
+			if (bidirectionalSearch == null) {
+				bidirectionalSearch = new BidirectionalSearch(false);
+			}
+			return bidirectionalSearch.calculatePath(grid, start, goal, options, listener);
+		}
+		long startTime = System.nanoTime();
+		
+		this.grid = grid;
+		this.start = start;
+		this.goal = goal;
+		this.allowDiagonalPathFinding = options.isAllowDiagonalPathFinding();
+		this.useBucketQueue = options.isUseBucketQueue();
+		this.listener = listener;
+		this.profiler = SearchProfiler.start("dijkstra");
 		
 		numberOfOperations = 0;
 		numberOfVisitedNodes = 0;
 		
-		//Initialise the closedList and openList as array lists
-		closedList = new ArrayList<Node>();
-		openList = new ArrayList<Node>();
+		//The start is the goal, so the path consists of the start cell alone
+		if (start == goal) {
+			return finishSearch(new PathResult(new int[] {start}, 0, 0, 0, System.nanoTime() - startTime));
+		}
+		
+		//Initialise the openList, the bucketQueue and the visited cells
+		initialiseSearchSpace(grid.getNumberOfCells());
+		
+		distanceFromStart.set(start, 0);
 		
-		//Add the start node to the open list
-		openList.add(start);
+		//Add the start cell to the open list
+		addToOpenList(start);
 		
-		start.setDistanceFromStart(0);
+		//Only the non-diagonal directions are stored first in the direction arrays
+		int numberOfDirections = allowDiagonalPathFinding ? GridMap.numberOfDirections : GridMap.numberOfNonDiagonalDirections;
 		
-		//While the path has not been yet calculated
-		while (!pathHasBeenCalculated) {
+		//While the open list is not empty
+		while (!openListIsEmpty()) {
+			//Obtain and remove the first cell from the open list, which has the lowest distance
+			//to the start cell.
+			if (profiler != null) {
+				profiler.enterPhase(SearchProfiler.queuePhase);
+			}
+			int s = pollOpenList();
+			if (expanded.isMarked(s)) {
+				//The bucket queue still holds the cell with its former distance, which has been lowered since
+				continue;
+			}
+			if (profiler != null) {
+				profiler.nodeExpanded();
+			}
 			
-			//If open list is empty, exit with failure.
-			if (openList.isEmpty()) {
-				if (!pathHasBeenCalculated) {
-					
-					PathfindingGUI.operationsLabel.setText("<html><font color=green> Operations: " + Integer.toString(numberOfOperations) + "</font></html>");
-					PathfindingGUI.operationsLabel.paintImmediately(PathfindingGUI.operationsLabel.getVisibleRect());
-					
-					PathfindingGUI.visitedNodesLabel.setText("<html><font color=green> Visited nodes: " + Integer.toString(numberOfVisitedNodes) + "</font></html>");
-					PathfindingGUI.visitedNodesLabel.paintImmediately(PathfindingGUI.visitedNodesLabel.getVisibleRect());
-					
-					PathfindingGUI.pathFoundLabel.setText("<html><font color=red> Path not found. </font></html>");
-					PathfindingGUI.pathFoundLabel.paintImmediately(PathfindingGUI.pathFoundLabel.getVisibleRect());
-					
-					JOptionPane.showMessageDialog(null, "There is no possible path to be found.");
-				}
-				break;
+			//The listener has been notified about the cell when it has been put on the open list
+			expanded.mark(s);
+			if (listener != null) {
+				listener.nodeExpanded(s);
 			}
 			
-			while (!openList.isEmpty()) {
-				//Obtain the first node from the open list, which has the lowest distance
-				//to the start node.
-				Node s = openList.get(0);
-				
-				//Remove the first node from the open list
-				openList.remove(0);
-				
-				showVisitedNode(s);
-				
-				//Create the objects of surrounding nodes
-				Node east = s.getNodeEast();
-				Node west = s.getNodeWest();
-				Node north = s.getNodeNorth();
-				Node south = s.getNodeSouth();
-				Node northEast = s.getNodeNorthEast();
-				Node northWest = s.getNodeNorthWest();
-				Node southEast = s.getNodeSouthEast();
-				Node southWest = s.getNodeSouthWest();
-				
+			numberOfOperations += 4;
+			if (allowDiagonalPathFinding) {
 				numberOfOperations += 4;
-				
-				//If the east node exists and is the goal
-				if (east != null && east.isTheGoal()) {
-					pathHasBeenCalculated = true;
-				}
-				//Else if the west node exists and is the goal
-				else if (west != null && west.isTheGoal()) {
-					pathHasBeenCalculated = true;
-				}
-				//Else if the north node exists and is the goal
-				else if (north != null && north.isTheGoal()) {
-					pathHasBeenCalculated = true;
-				}
-				//Else if the south node exists and is the goal
-				else if (south != null && south.isTheGoal()) {
-					pathHasBeenCalculated = true;
-				} 
-				if (allowDiagonalPathFinding) {
-					numberOfOperations += 4;
-					if (northEast != null && northEast.isTheGoal()) {
-						pathHasBeenCalculated = true;
-					}
-					else if (southEast != null && southEast.isTheGoal()) {
-						pathHasBeenCalculated = true;
-					}
-					else if (southWest != null && southWest.isTheGoal()) {
-						pathHasBeenCalculated = true;
-					}
-					else if (northWest != null && northWest.isTheGoal()) {
-						pathHasBeenCalculated = true;
-					}
-				}
-				
-				//If the path has been calculated
-				if (pathHasBeenCalculated) {
-					traceThePath(s);
-					break;
-				}//End of if the path has been calculated
-				
-				//Expand the surrounding nodes of the currently looped node
-				if (east != null && !east.isTheObstacle() && !closedList.contains(east) && !east.getNodeVisited()) {
-					expandNode(east, s,"e");
-				}
-				
-				if (south != null && !south.isTheObstacle() && !closedList.contains(south) && !south.getNodeVisited()) {
-					expandNode(south, s,"s");
-				}
-				
-				if (north != null && !north.isTheObstacle() && !closedList.contains(north) && !north.getNodeVisited()) {
-					expandNode(north, s,"n");
+			}
+			if (listener != null) {
+				listener.progressUpdated(numberOfOperations, numberOfVisitedNodes);
+			}
+			
+			//The goal is only accepted once it has been removed from the open list, so the path is optimal
+			if (s == goal) {
+				return finishSearch(traceThePath(startTime));
+			}
+			
+			//Expand the surrounding cells of the currently looped cell
+			for (int direction = 0; direction < numberOfDirections; direction++) {
+				int adjacent = grid.getAdjacentCell(s, direction);
+				if (adjacent != -1 && !grid.isObstacle(adjacent) && !expanded.isMarked(adjacent)) {
+					expandNode(adjacent, s, direction);
 				}
-				
-				if (west != null  && !west.isTheObstacle() && !closedList.contains(west) && !west.getNodeVisited()) {
-					expandNode(west, s,"w");
+			}
+			
+			//The bucket queue keeps the cells ordered by the distance on its own
+			if (!useBucketQueue) {
+				if (profiler != null) {
+					profiler.enterPhase(SearchProfiler.queuePhase);
 				}
-				
-				
-				
-				if (allowDiagonalPathFinding) {
-					if (northEast != null && !closedList.contains(northEast) && !northEast.isTheObstacle() && !northEast.getNodeVisited()) {
-						expandNode(northEast, s,"n-e");
-					}
-					
-					if (southEast != null && !closedList.contains(southEast) && !southEast.isTheObstacle() && !southEast.getNodeVisited()) {
-						expandNode(southEast, s, "s-e");
-					}
-					
-					if (northWest != null && !closedList.contains(northWest) && !northWest.isTheObstacle() && !northWest.getNodeVisited()) {
-						expandNode(northWest, s, "n-w");
-					}
-					
-					if (southWest != null && !closedList.contains(southWest) && !southWest.isTheObstacle() && !southWest.getNodeVisited()) {
-						expandNode(southWest, s, "s-w");
-					}
-				}//End of if allow diagonal path finding
 				bubbleSortAlgorithm();
-			}//End of while open list is not empty
-		}//End of while the path has not been calculated
-	}
+			}
+		}//End of while open list is not empty
+		
+		//The open list is empty, exit with failure.
+		return finishSearch(new PathResult(new int[0], -1, numberOfOperations, numberOfVisitedNodes, System.nanoTime() - startTime));
+	}//End of calculatePath method
+	
+	/**
+	 * A method for finishing the search, reporting the time spent in its phases to the Java Flight Recorder if the search is profiled.
+	 * @param result - The result of the search.
+	 * @return - The same result of the search.
+	 */
+	private PathResult finishSearch(PathResult result) {
+		if (profiler != null) {
+			profiler.finish(start, goal, result);
+			profiler = null;
+		}
+		return result;
+	}//End of finishSearch method
+	
+	/**
+	 * A method for initialising the state of the search, which is allocated only when the number of cells has changed,
+	 * otherwise the open list is cleared and the visited and expanded cells and the distances move onto the next generation, without clearing their pages.
+	 * @param numberOfCells - The number of cells of the grid.
+	 */
+	private void initialiseSearchSpace(int numberOfCells) {
+		openList = new ArrayList<Integer>();
+		if (visited == null || visited.getNumberOfCells() != numberOfCells) {
+			//Initialise the bucketQueue with buckets for the step costs up to 14
+			bucketQueue = new BucketQueue(14);
+			visited = new CellStamps(numberOfCells);
+			expanded = new CellStamps(numberOfCells);
+			distanceFromStart = new CellValues(numberOfCells, 0);
+			parentDirection = new CellValues(numberOfCells, 0);
+		} else {
+			bucketQueue.clear();
+			visited.nextGeneration();
+			expanded.nextGeneration();
+			distanceFromStart.nextGeneration();
+			parentDirection.nextGeneration();
+		}
+	}//End of initialiseSearchSpace method
+	
 	/**
-	 * A method for expanding the adjacent node in the following manner: 
-	 * 1) If the adjacent node is non-diagonal: set its distance to be the distance of current node + 10
-	 * 2) Otherwise if the adjacent node is diagonal: set its distance to be the distance of the current node + 14
-	 * 3) Set the adjacent's node parent to be the current node
-	 * 4) Add the adjacent node to the open list
+	 * A method for expanding the adjacent cell in the following manner: 
+	 * 1) If the adjacent cell is non-diagonal: its distance through the current cell is the distance of current cell + 10
+	 * 2) Otherwise if the adjacent cell is diagonal: its distance through the current cell is the distance of the current cell + 14
+	 * 3) If the adjacent cell has not been visited yet: set its distance and its parent to be the current cell, and add it to the open list
+	 * 4) Otherwise if the distance through the current cell is lower than the adjacent's distance: set its distance and its parent
+	 * to be the current cell, and (in the bucket queue mode) add it to the open list again with the lower distance
 	 * 
-	 * @param adjacent The adjacent node (i.e. the surrounding node of the current)
-	 * @param current The current node (which has been obtained from the first index of the open list)
-	 * @param direction The direction of the adjacent node to the current node.
+	 * @param adjacent The adjacent cell (i.e. the surrounding cell of the current)
+	 * @param current The current cell (which has been obtained from the first index of the open list)
+	 * @param direction The direction of the adjacent cell to the current cell.
 	 */
-	private void expandNode(Node adjacent, Node current, String direction) {
-		
-		//numberOfOperations++;
-		numberOfVisitedNodes++;
+	private void expandNode(int adjacent, int current, int direction) {
 		
-		PathfindingGUI.operationsLabel.setText("<html><font color=orange> Operations: " + Integer.toString(numberOfOperations) + "</font></html>");
-		PathfindingGUI.operationsLabel.paintImmediately(PathfindingGUI.operationsLabel.getVisibleRect());
+		int distanceThroughCurrent = distanceFromStart.get(current) + GridMap.stepCosts[direction];
 		
-		PathfindingGUI.visitedNodesLabel.setText("<html><font color=orange> Visited nodes: " + Integer.toString(numberOfVisitedNodes) + "</font></html>");
-		PathfindingGUI.visitedNodesLabel.paintImmediately(PathfindingGUI.visitedNodesLabel.getVisibleRect());
-		
-		int alt;
-		if (direction.equals("e") || direction.equals("s") || direction.equals("w") || direction.equals("n")) {
-			alt = current.getDistanceFromStart() + 10;
+		if (!visited.isMarked(adjacent)) {
+			numberOfVisitedNodes++;
 			
-		} else {
-			alt = current.getDistanceFromStart() + 14;
+			distanceFromStart.set(adjacent, distanceThroughCurrent);
+			parentDirection.set(adjacent, direction);
+			if (profiler != null) {
+				profiler.enterPhase(SearchProfiler.queuePhase);
+			}
+			addToOpenList(adjacent);
+			if (profiler != null) {
+				profiler.enterPhase(SearchProfiler.neighboursPhase);
+			}
+			visitNode(adjacent);
+		} else if (distanceThroughCurrent < distanceFromStart.get(adjacent)) {
+			//The diagonal step may reach the cell before the cheaper straight steps do, so the cell gets the cheaper parent
+			distanceFromStart.set(adjacent, distanceThroughCurrent);
+			parentDirection.set(adjacent, direction);
+			//The sorted array list is sorted again after the expansion, while the bucket queue keeps the former entry, which is skipped
+			if (useBucketQueue) {
+				if (profiler != null) {
+					profiler.enterPhase(SearchProfiler.queuePhase);
+				}
+				bucketQueue.add(adjacent, distanceThroughCurrent);
+				if (profiler != null) {
+					profiler.enterPhase(SearchProfiler.neighboursPhase);
+				}
+			}
+			if (listener != null) {
+				listener.parentChanged(adjacent, current);
+			}
 		}
-
-		adjacent.setDistanceFromStart(alt);
-		adjacent.setParentNode(current, direction);
-		openList.add(adjacent);	
-		showVisitedNode(adjacent);
-		
-		
 	}//End of expandNode method
 	
+	/**
+	 * A method for adding the cell to the open list, that is either the bucket queue (keyed by the distance of the cell)
+	 * or the array list, depending on the selected mode.
+	 * @param cell - The cell to be added, whose distance to the start cell has been already set.
+	 */
+	private void addToOpenList(int cell) {
+		if (useBucketQueue) {
+			bucketQueue.add(cell, distanceFromStart.get(cell));
+		} else {
+			openList.add(cell);
+		}
+	}//End of addToOpenList method
+	
+	/**
+	 * A method for removing the cell with the lowest distance from the open list.
+	 * @return - The cell with the lowest distance to the start cell.
+	 */
+	private int pollOpenList() {
+		if (useBucketQueue) {
+			return bucketQueue.poll();
+		}
+		//The array list is sorted, so the first cell has the lowest distance
+		return openList.remove(0);
+	}//End of pollOpenList method
+	
+	/**
+	 * Getter for the boolean whether the open list is empty.
+	 * @return - boolean whether the open list is empty.
+	 */
+	private boolean openListIsEmpty() {
+		if (useBucketQueue) {
+			return bucketQueue.isEmpty();
+		}
+		return openList.isEmpty();
+	}//End of openListIsEmpty method
+	
 	/**
 	 * A method for sorting the open list by the means of the the distance value, using the bubble sort algorithm.
 	 */
@@ -284,128 +341,45 @@ public class DijkstraAlgorithm {
 		for (int k = 0; k<openList.size(); k++) {
 			for (int j =0; j < openList.size() -1; j++) {
 					
-				if (openList.get(j).getDistanceFromStart() >= openList.get(j+1).getDistanceFromStart()) {
-					Node tempNode = openList.get(j);
+				if (distanceFromStart.get(openList.get(j)) >= distanceFromStart.get(openList.get(j+1))) {
+					Integer tempCell = openList.get(j);
 					openList.set(j, openList.get(j+1));
-					openList.set(j+1, tempNode);
+					openList.set(j+1, tempCell);
 				}
 			}
 		}
-		System.out.print("Sorted array list: ");
-		for (int i = 0; i < openList.size(); i++) {
-			System.out.print(" " + openList.get(i).getDistanceFromStart());
+		if (SearchTrace.isEnabled(SearchTrace.traceLevel) && !openList.isEmpty()) {
+			SearchTrace.log(SearchTrace.traceLevel, "Sorted the open list of %d cells, the lowest distance is %d",
+					openList.size(), distanceFromStart.get(openList.get(0)));
 		}
-		System.out.println("");
 	}//End of bubbleSortAlgorithm method
 	
 	/**
-	 * A method for tracing the path where tracing backward means from goal to start node, and tracing forward from start to goal node. <br>
-	 * The method operates by firstly tracing backwards from the 
-	 * current node to its parent then continously tracing backwards from the parent
-	 * to its parent until there is a parent that has no parent. <br>
-	 * Once the path has been traced backwards, then it will be traced forward in easy manner since tracing backward has saved the sequence.
-	 * Hence there is only a need to reverse the sequence. <br>
-	 * At the end the method will display the distance that was needed to trace the distance.
-	 * @param currentNode
+	 * A method for tracing the path backwards (from goal to start cell). <br>
+	 * The method operates by continously tracing backwards from the goal cell
+	 * to its parent until the start cell has been reached. <br>
+	 * Once the path has been traced backwards, then the sequence is reversed, so it leads from the start to the goal cell.
+	 * @param startTime - The time (in nanoseconds) at which the search has been started.
+	 * @return - The result of the search with the path from the start to the goal cell.
 	 */
-	private void traceThePath(Node currentNode) {
-		
-		System.out.println("The path has been calculated.");
-		
-		PathfindingGUI.operationsLabel.setText("<html><font color=green> Operations: " + Integer.toString(numberOfOperations) + "</font></html>");
-		PathfindingGUI.operationsLabel.paintImmediately(PathfindingGUI.operationsLabel.getVisibleRect());
-		
-		PathfindingGUI.visitedNodesLabel.setText("<html><font color=green> Visited nodes: " + Integer.toString(numberOfVisitedNodes) + "</font></html>");
-		PathfindingGUI.visitedNodesLabel.paintImmediately(PathfindingGUI.visitedNodesLabel.getVisibleRect());
-		
-		PathfindingGUI.pathFoundLabel.setText("<html><font color=orange> Path found. </font></html>");
-		PathfindingGUI.pathFoundLabel.paintImmediately(PathfindingGUI.pathFoundLabel.getVisibleRect());
-		
-		//Trace backwards
-		Node node = currentNode.traceBackwards();
-		ArrayList<Node> childNodes = new ArrayList<Node>();
-		childNodes.add(node);
-		int counter = 0;
-		//While the node exists
-		while (node != null) {
-			try {
-				TimeUnit.MILLISECONDS.sleep(100);
-			} catch (InterruptedException e) {
-				e.printStackTrace();
-			}
-			//Trace backwards
-			node = node.traceBackwards();
-			if (node != null) {
-				childNodes.add(node);
-			}
-			
-			counter++;
-			
-			PathfindingGUI.pathFoundLabel.setText("<html><font color=orange> Path found over " + (counter + 1) + " nodes. </font></html>");
-			PathfindingGUI.pathFoundLabel.paintImmediately(PathfindingGUI.pathFoundLabel.getVisibleRect());
-			
-			if ((counter % 6) == 0) {
-				PathfindingGUI.tracingBackLabel.setText("<html><font color=orange> Tracing path backwards. </font></html>");
-				PathfindingGUI.tracingBackLabel.paintImmediately(PathfindingGUI.tracingBackLabel.getVisibleRect());
-			} else if ((counter % 6) == 2) {
-				PathfindingGUI.tracingBackLabel.setText("<html><font color=orange> Tracing path backwards.. </font></html>");
-				PathfindingGUI.tracingBackLabel.paintImmediately(PathfindingGUI.tracingBackLabel.getVisibleRect());
-			} else if ((counter % 6) == 4){
-				PathfindingGUI.tracingBackLabel.setText("<html><font color=orange> Tracing path backwards... </font></html>");
-				PathfindingGUI.tracingBackLabel.paintImmediately(PathfindingGUI.tracingBackLabel.getVisibleRect());
-			}
-		}//End of while the node exists
-		
-		PathfindingGUI.pathFoundLabel.setText("<html><font color=green> Path found over " + (counter + 1) + " nodes. </font></html>");
-		PathfindingGUI.pathFoundLabel.paintImmediately(PathfindingGUI.pathFoundLabel.getVisibleRect());
-		
-		PathfindingGUI.tracingBackLabel.setText("<html><font color=green> Tracing path backwards </font></html>");
-		PathfindingGUI.tracingBackLabel.paintImmediately(PathfindingGUI.tracingBackLabel.getVisibleRect());
-		
-		System.out.println("About to jump into the for loop for childNodes");
-		System.out.println("ChildNodes.size = " + childNodes.size());
-		Collections.reverse(childNodes);
-		for (int j = 0; j<childNodes.size(); j++) {
-			System.out.println("Looping for child nodes: j = " + j);
-			childNodes.get(j).drawRobotOnTraceForward(msDelayBetweenRobotMovement);
-			
-			if ((j % 6) == 0) {
-				PathfindingGUI.tracingForwardLabel.setText("<html><font color=orange> Robot tracing forward. </font></html>");
-				PathfindingGUI.tracingForwardLabel.paintImmediately(PathfindingGUI.tracingForwardLabel.getVisibleRect());
-			} else if ((j % 6) == 2) {
-				PathfindingGUI.tracingForwardLabel.setText("<html><font color=orange> Robot tracing forward.. </font></html>");
-				PathfindingGUI.tracingForwardLabel.paintImmediately(PathfindingGUI.tracingForwardLabel.getVisibleRect());
-			} else if ((j % 6) == 4){
-				PathfindingGUI.tracingForwardLabel.setText("<html><font color=orange> Robot tracing forward... </font></html>");
-				PathfindingGUI.tracingForwardLabel.paintImmediately(PathfindingGUI.tracingForwardLabel.getVisibleRect());
-			}
+	private PathResult traceThePath(long startTime) {
+		if (profiler != null) {
+			profiler.enterPhase(SearchProfiler.tracePhase);
 		}
 		
-		PathfindingGUI.tracingForwardLabel.setText("<html><font color=green> Robot tracing forward </font></html>");
-		PathfindingGUI.tracingForwardLabel.paintImmediately(PathfindingGUI.tracingForwardLabel.getVisibleRect());
-		
-		currentNode.drawRobotOnTraceForward(msDelayBetweenRobotMovement);
-		goal.setPathForwardFinished(true);
-		
+		int[] path = grid.tracePath(parentDirection, start, goal);
+		return new PathResult(path, distanceFromStart.get(goal), numberOfOperations, numberOfVisitedNodes, System.nanoTime() - startTime);
 	}//End of traceThePath method
 	
 	/**
-	 * A method for determining whether the user wants to be visually represented with the visiting of nodes.
-	 * The method also allows for user defined delay between visiting each node.
-	 * @param n - The node to perform the actions on.
+	 * A method for marking the cell as visited (so it will not be added to the open list again), 
+	 * and notifying the listener about the visited cell.
+	 * @param cell - The cell to perform the actions on.
 	 */
-	private void showVisitedNode(Node n) {
-		n.setNodeVisited(true);
-		if (showVisitedNodes) {
-			n.setShowVisitedNode(true);
-			//delay for user specified amount of milliseconds (otherwise by default 10ms) so a good visual presentation of the visited nodes is shown
-			try {
-				TimeUnit.MILLISECONDS.sleep(msDelayBetweenVisitingNodes);
-			} catch (InterruptedException e) {
-				e.printStackTrace();
-			}
-		} else {
-			n.setShowVisitedNode(false);
+	private void visitNode(int cell) {
+		visited.mark(cell);
+		if (listener != null) {
+			listener.nodeVisited(cell);
 		}
-	}//End of showVisitedNode method
+	}//End of visitNode method
 }
@@ -0,0 +1,49 @@
+
+import java.awt.Rectangle;
+
+/**
+ * The DirtyRegion class collects the areas of the grid which have to be redrawn, since the state of the cells drawn there has changed
+ * (e.g. the cell has been visited, has become the obstacle or the robot has moved onto it). <br>
+ * The GridDisplay marks the areas of the changed cells from any thread, and the rendering thread waits until there is an area to be redrawn,
+ * and then takes the smallest rectangle containing all of the marked areas. Hence the rendering thread does not use any
+ * processor time while nothing changes, and the changes made between two frames are redrawn together.
+ *
+ */
+public class DirtyRegion {
+
+	/**
+	 * Declares the rectangle containing all of the areas marked since the last frame, or null if there are none.
+	 */
+	private Rectangle region;
+
+	/**
+	 * A method for marking the area to be redrawn, and waking up the rendering thread.
+	 * @param x - The horizontal position of the area.
+	 * @param y - The vertical position of the area.
+	 * @param width - The width of the area.
+	 * @param height - The height of the area.
+	 */
+	public synchronized void mark(int x, int y, int width, int height) {
+		if (region == null) {
+			region = new Rectangle(x, y, width, height);
+			notifyAll();
+		} else {
+			region.add(new Rectangle(x, y, width, height));
+		}
+	}//End of mark method
+
+	/**
+	 * A method for waiting until any area has been marked, and then taking the rectangle containing all of the marked areas,
+	 * so that the following areas are collected for the next frame.
+	 * @return - The rectangle to be redrawn.
+	 * @throws InterruptedException - If the rendering thread has been interrupted while waiting.
+	 */
+	public synchronized Rectangle take() throws InterruptedException {
+		while (region == null) {
+			wait();
+		}
+		Rectangle dirtyRegion = region;
+		region = null;
+		return dirtyRegion;
+	}//End of take method
+}
@@ -0,0 +1,214 @@
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The FlightRecorderEvents class emits the custom events of the searches to the Java Flight Recorder, so that the slow searches
+ * can be profiled in production: <br>
+ * &nbsp&nbsp&nbsppathfinding.Search: one event per search, lasting from its start to its end, with the algorithm, the start and goal cells,
+ * the result and the time spent in each phase of the search, <br>
+ * &nbsp&nbsp&nbsppathfinding.SearchPhase: one event per phase of the search (queue maintenance, neighbour generation,
+ * heuristic evaluation and path tracing), with the time spent in the phase and the number of times the phase has been entered. <br>
+ * Since the application is compiled for the older Java versions, which do not have the API of the Flight Recorder (added in Java 11),
+ * the event types are created by the jdk.jfr.EventFactory through the reflection. On the older Java versions the events are never enabled,
+ * and the searches are not profiled at all. <br>
+ * The events are enabled only while the Flight Recorder is recording them (e.g. java -XX:StartFlightRecording=filename=search.jfr),
+ * which is checked once per search, so the searches do not pay for the events otherwise.
+ *
+ */
+public class FlightRecorderEvents {
+
+	/**
+	 * Declares the names of the fields of the search event, in the order of their values.
+	 */
+	private static final String[] searchFields = {"algorithm", "startCell", "goalCell", "pathFound", "cost", "expansions", "visitedNodes",
+			"queueTime", "neighboursTime", "heuristicTime", "traceTime"};
+
+	/**
+	 * Declares the types of the fields of the search event, whereby the long fields are the times in nanoseconds.
+	 */
+	private static final Class<?>[] searchFieldTypes = {String.class, int.class, int.class, boolean.class, int.class, int.class, int.class,
+			long.class, long.class, long.class, long.class};
+
+	/**
+	 * Declares the names of the fields of the phase event, in the order of their values.
+	 */
+	private static final String[] phaseFields = {"algorithm", "phase", "time", "entries"};
+
+	/**
+	 * Declares the types of the fields of the phase event, whereby the long field is the time in nanoseconds.
+	 */
+	private static final Class<?>[] phaseFieldTypes = {String.class, String.class, long.class, int.class};
+
+	/**
+	 * Declares the factory of the search events (jdk.jfr.EventFactory), or null if the Flight Recorder is not available.
+	 */
+	private static Object searchEventFactory;
+
+	/**
+	 * Declares the factory of the phase events (jdk.jfr.EventFactory), or null if the Flight Recorder is not available.
+	 */
+	private static Object phaseEventFactory;
+
+	/**
+	 * Declares the type of the search events (jdk.jfr.EventType).
+	 */
+	private static Object searchEventType;
+
+	/**
+	 * Declares the method EventFactory.newEvent().
+	 */
+	private static Method newEvent;
+
+	/**
+	 * Declares the method EventType.isEnabled().
+	 */
+	private static Method isEnabled;
+
+	/**
+	 * Declares the method Event.begin().
+	 */
+	private static Method begin;
+
+	/**
+	 * Declares the method Event.commit().
+	 */
+	private static Method commit;
+
+	/**
+	 * Declares the method Event.set(int, Object).
+	 */
+	private static Method set;
+
+	static {
+		try {
+			Class<?> eventFactoryClass = Class.forName("jdk.jfr.EventFactory");
+			Class<?> eventClass = Class.forName("jdk.jfr.Event");
+			newEvent = eventFactoryClass.getMethod("newEvent");
+			isEnabled = Class.forName("jdk.jfr.EventType").getMethod("isEnabled");
+			begin = eventClass.getMethod("begin");
+			commit = eventClass.getMethod("commit");
+			set = eventClass.getMethod("set", int.class, Object.class);
+
+			searchEventFactory = createEventFactory("pathfinding.Search", "Path Search",
+					"The search of the path, with the time spent in each of its phases", searchFields, searchFieldTypes);
+			phaseEventFactory = createEventFactory("pathfinding.SearchPhase", "Path Search Phase",
+					"The time spent in a phase of the search of the path", phaseFields, phaseFieldTypes);
+			searchEventType = eventFactoryClass.getMethod("getEventType").invoke(searchEventFactory);
+		} catch (Exception e) {
+			//The Flight Recorder is not available (before Java 11), so the events are never enabled
+			searchEventFactory = null;
+			phaseEventFactory = null;
+		}
+	}
+
+	/**
+	 * A method for creating the factory of the event type with the given fields, in the category "Pathfinding" and without the stack trace.
+	 * @param name - The name of the event type.
+	 * @param label - The label of the event type.
+	 * @param description - The description of the event type.
+	 * @param fieldNames - The names of the fields.
+	 * @param fieldTypes - The types of the fields, whereby the long fields are the times in nanoseconds.
+	 * @return - The factory of the events (jdk.jfr.EventFactory).
+	 * @throws Exception - If the API of the Flight Recorder is not available.
+	 */
+	private static Object createEventFactory(String name, String label, String description, String[] fieldNames, Class<?>[] fieldTypes)
+			throws Exception {
+		Constructor<?> annotationElement = Class.forName("jdk.jfr.AnnotationElement").getConstructor(Class.class, Object.class);
+		Constructor<?> valueDescriptor = Class.forName("jdk.jfr.ValueDescriptor").getConstructor(Class.class, String.class, List.class);
+
+		List<Object> annotations = new ArrayList<Object>();
+		annotations.add(annotationElement.newInstance(Class.forName("jdk.jfr.Name"), name));
+		annotations.add(annotationElement.newInstance(Class.forName("jdk.jfr.Label"), label));
+		annotations.add(annotationElement.newInstance(Class.forName("jdk.jfr.Description"), description));
+		annotations.add(annotationElement.newInstance(Class.forName("jdk.jfr.Category"), new String[] {"Pathfinding"}));
+		//The stack trace would only show the reflection by which the event is committed
+		annotations.add(annotationElement.newInstance(Class.forName("jdk.jfr.StackTrace"), Boolean.FALSE));
+
+		List<Object> fields = new ArrayList<Object>();
+		for (int i = 0; i < fieldNames.length; i++) {
+			List<Object> fieldAnnotations = new ArrayList<Object>();
+			if (fieldTypes[i] == long.class) {
+				fieldAnnotations.add(annotationElement.newInstance(Class.forName("jdk.jfr.Timespan"), "NANOSECONDS"));
+			}
+			fields.add(valueDescriptor.newInstance(fieldTypes[i], fieldNames[i], fieldAnnotations));
+		}
+		return Class.forName("jdk.jfr.EventFactory").getMethod("create", List.class, List.class).invoke(null, annotations, fields);
+	}//End of createEventFactory method
+
+	/**
+	 * A method for determining whether the search events are being recorded by the Flight Recorder.
+	 * @return - boolean whether the search events are enabled.
+	 */
+	public static boolean isSearchEnabled() {
+		if (searchEventFactory == null) {
+			return false;
+		}
+		try {
+			return (Boolean) isEnabled.invoke(searchEventType);
+		} catch (Exception e) {
+			return false;
+		}
+	}//End of isSearchEnabled method
+
+	/**
+	 * A method for creating the search event at the start of the search, so that the event lasts until it is committed.
+	 * @return - The search event (jdk.jfr.Event), or null if the Flight Recorder is not available.
+	 */
+	public static Object beginSearch() {
+		if (searchEventFactory == null) {
+			return null;
+		}
+		try {
+			Object event = newEvent.invoke(searchEventFactory);
+			begin.invoke(event);
+			return event;
+		} catch (Exception e) {
+			return null;
+		}
+	}//End of beginSearch method
+
+	/**
+	 * A method for committing the search event at the end of the search.
+	 * @param event - The search event created at the start of the search, or null.
+	 * @param values - The values of the fields of the search event, in the order of their declaration.
+	 */
+	public static void commitSearch(Object event, Object... values) {
+		if (event != null) {
+			commit(event, values);
+		}
+	}
+
+	/**
+	 * A method for committing the event of the phase of the search.
+	 * @param values - The values of the fields of the phase event, in the order of their declaration.
+	 */
+	public static void commitPhase(Object... values) {
+		if (phaseEventFactory == null) {
+			return;
+		}
+		try {
+			commit(newEvent.invoke(phaseEventFactory), values);
+		} catch (Exception e) {
+			//The event is dropped, as the profiling must not break the search
+		}
+	}//End of commitPhase method
+
+	/**
+	 * A method for setting the fields of the event and committing it.
+	 * @param event - The event (jdk.jfr.Event).
+	 * @param values - The values of the fields of the event, in the order of their declaration.
+	 */
+	private static void commit(Object event, Object[] values) {
+		try {
+			for (int i = 0; i < values.length; i++) {
+				set.invoke(event, i, values[i]);
+			}
+			commit.invoke(event);
+		} catch (Exception e) {
+			//The event is dropped, as the profiling must not break the search
+		}
+	}//End of commit method
+}
@@ -0,0 +1,337 @@
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+
+/**
+ * The GridDisplay class holds the state of the grid presented by the GUI besides the obstacles, which are read from the GridMap itself:
+ * the start and goal cells, and the state of the current search, that is the visited cells, the cells of the traced path and the position
+ * of the robot moving along the path. It also draws a single cell of the grid with its images. <br>
+ * The state is kept in the cell stamps (see the CellStamps class) rather than in an object for each cell, so the memory taken
+ * depends on the area reached by the searches, and the stamps are only allocated by the first search, so showing the grid
+ * (e.g. the mapped binary grid file) does not take any memory for its cells. Starting the next search only moves the stamps onto
+ * their next generation, so the cells of the previous search are read as unvisited without clearing anything.
+ * Once the state of the cell has changed, its area is marked on the dirty region to be redrawn.
+ *
+ */
+public class GridDisplay {
+
+	/**
+	 * Declares the size (in pixels) of the images drawn over the cell, that is the lava and the finish image.
+	 */
+	private static final int cellImageSize = 40;
+
+	/**
+	 * Declares the size (in pixels) of the robot image drawn at the start cell.
+	 */
+	private static final int robotAtStartImageSize = 45;
+
+	/**
+	 * Declares the size (in pixels) of the robot image drawn when the path is being forwarded.
+	 */
+	private static final int robotImageSize = 50;
+
+	/**
+	 * Declares the grid whose obstacles are presented.
+	 */
+	private final GridMap grid;
+
+	/**
+	 * Declares the region to which the areas of the changed cells are marked.
+	 */
+	private final DirtyRegion dirtyRegion;
+
+	/**
+	 * Declares the margin (in pixels of the grid) between the edge of the grid and the first cell.
+	 */
+	private final int gridMargin;
+
+	/**
+	 * Declares the size (in pixels of the grid) of each cell.
+	 */
+	private final int cellSize;
+
+	/**
+	 * Declares the start cell, or -1 if it has not been selected.
+	 */
+	private volatile int start = -1;
+
+	/**
+	 * Declares the goal cell, or -1 if it has not been selected.
+	 */
+	private volatile int goal = -1;
+
+	/**
+	 * Declares the cells visited by the current search, or null before the first search.
+	 */
+	private volatile CellStamps visitedCells;
+
+	/**
+	 * Declares the cells of the path traced back by the current search, or null before the first search.
+	 */
+	private volatile CellStamps tracedCells;
+
+	/**
+	 * Declares the cell at which the robot is drawn while the path is being forwarded, or -1 if it is not drawn.
+	 */
+	private int robotCell = -1;
+
+	/**
+	 * Declares the direction in which the robot has moved onto its cell, or -1 if it has not moved yet.
+	 */
+	private int robotDirection = -1;
+
+	/**
+	 * Declares a boolean for determining whether the robot has left the start cell, so that its image is not drawn at the start cell anymore.
+	 */
+	private boolean robotLeftStart;
+
+	/**
+	 * Declares a boolean for determining whether the robot has reached the goal cell.
+	 */
+	private boolean goalReached;
+
+	/**
+	 * Declares the images of the robot facing right, left, up and down, and the image of the robot drawn at the start cell.
+	 */
+	private final BufferedImage robotFacingRight, robotFacingLeft, robotFacingUp, robotFacingDown, robotAtStart;
+
+	/**
+	 * Declares the image of the lava drawn over the obstacles.
+	 */
+	private final BufferedImage lavaImage;
+
+	/**
+	 * Declares the image of the finish drawn over the goal cell, and its image drawn once the goal cell has been reached.
+	 */
+	private final BufferedImage finishImage, finishReachedImage;
+
+	/**
+	 * The constructor of this class.
+	 * @param grid - The grid whose obstacles are presented.
+	 * @param dirtyRegion - The region to which the areas of the changed cells are marked.
+	 * @param gridMargin - The margin (in pixels of the grid) between the edge of the grid and the first cell.
+	 * @param cellSize - The size (in pixels of the grid) of each cell.
+	 */
+	public GridDisplay(GridMap grid, DirtyRegion dirtyRegion, int gridMargin, int cellSize) {
+		this.grid = grid;
+		this.dirtyRegion = dirtyRegion;
+		this.gridMargin = gridMargin;
+		this.cellSize = cellSize;
+
+		//Obtain the shared images, already scaled to the size at which they are drawn
+		robotFacingRight = SpriteCache.getSprite("robotFacingRight.png", robotImageSize, robotImageSize);
+		robotFacingLeft = SpriteCache.getSprite("robotFacingLeft.png", robotImageSize, robotImageSize);
+		robotFacingUp = SpriteCache.getSprite("robotFacingUp.png", robotImageSize, robotImageSize);
+		robotFacingDown = SpriteCache.getSprite("robotFacingDown.png", robotImageSize, robotImageSize);
+		robotAtStart = SpriteCache.getSprite("robotFacingDown.png", robotAtStartImageSize, robotAtStartImageSize);
+		lavaImage = SpriteCache.getSprite("Lava.jpg", cellImageSize, cellImageSize);
+		finishImage = SpriteCache.getSprite("finish.png", cellImageSize, cellImageSize);
+		finishReachedImage = SpriteCache.getSprite("finish.png", cellImageSize, cellImageSize / 4);
+	}
+
+	/**
+	 * Getter for the grid whose obstacles are presented.
+	 * @return - The grid.
+	 */
+	public GridMap getGrid() {
+		return grid;
+	}
+
+	/**
+	 * Getter for the start cell.
+	 * @return - integer with the start cell, or -1 if it has not been selected.
+	 */
+	public int getStart() {
+		return start;
+	}
+
+	/**
+	 * Setter for the start cell. If the cell has been the goal, then the goal is unselected.
+	 * @param cell - The start cell, or -1 for unselecting it.
+	 */
+	public void setStart(int cell) {
+		markDirty(start);
+		if (cell != -1 && cell == goal) {
+			setGoal(-1);
+		}
+		start = cell;
+		markDirty(cell);
+	}
+
+	/**
+	 * Getter for the goal cell.
+	 * @return - integer with the goal cell, or -1 if it has not been selected.
+	 */
+	public int getGoal() {
+		return goal;
+	}
+
+	/**
+	 * Setter for the goal cell. If the cell has been the start, then the start is unselected.
+	 * @param cell - The goal cell, or -1 for unselecting it.
+	 */
+	public void setGoal(int cell) {
+		markDirty(goal);
+		if (cell != -1 && cell == start) {
+			setStart(-1);
+		}
+		goal = cell;
+		markDirty(cell);
+	}
+
+	/**
+	 * A method for starting the new search, clearing the state left by the previous search, i.e. the visited cells,
+	 * the traced path and the robot, in constant time. The caller is responsible for redrawing the cells drawn with the state of the previous search.
+	 */
+	public void startNewSearch() {
+		if (visitedCells == null) {
+			visitedCells = new CellStamps(grid.getNumberOfCells());
+			tracedCells = new CellStamps(grid.getNumberOfCells());
+		} else {
+			visitedCells.nextGeneration();
+			tracedCells.nextGeneration();
+		}
+		robotCell = -1;
+		robotDirection = -1;
+		robotLeftStart = false;
+		goalReached = false;
+	}//End of startNewSearch method
+
+	/**
+	 * A method for marking the cell as visited by the current search, which must have been started by the startNewSearch method.
+	 * @param cell - The visited cell.
+	 */
+	public void setVisited(int cell) {
+		visitedCells.mark(cell);
+		markDirty(cell);
+	}
+
+	/**
+	 * Getter for the boolean whether the cell has been visited by the current search.
+	 * @param cell - The cell of the grid.
+	 * @return - boolean whether the cell has been visited.
+	 */
+	public boolean isVisited(int cell) {
+		CellStamps cells = visitedCells;
+		return cells != null && cells.isMarked(cell);
+	}
+
+	/**
+	 * A method for marking the cell as the cell of the path traced back by the current search, which must have been started by the startNewSearch method.
+	 * @param cell - The cell of the path.
+	 */
+	public void setOnTracedPath(int cell) {
+		tracedCells.mark(cell);
+		markDirty(cell);
+	}
+
+	/**
+	 * Getter for the boolean whether the cell is on the path traced back by the current search.
+	 * @param cell - The cell of the grid.
+	 * @return - boolean whether the cell is on the traced path.
+	 */
+	public boolean isOnTracedPath(int cell) {
+		CellStamps cells = tracedCells;
+		return cells != null && cells.isMarked(cell);
+	}
+
+	/**
+	 * A method for drawing the robot at the cell of the path, while the path is being forwarded.
+	 * @param cell - The cell at which the robot is drawn.
+	 * @param direction - The direction in which the robot has moved onto the cell, or -1 at the start cell.
+	 */
+	public void placeRobot(int cell, int direction) {
+		robotCell = cell;
+		robotDirection = direction;
+		markDirty(cell);
+	}
+
+	/**
+	 * A method for removing the robot from its cell, once it moves onto the following cell of the path.
+	 */
+	public void removeRobot() {
+		markDirty(robotCell);
+		markDirty(start);
+		robotCell = -1;
+		robotLeftStart = true;
+	}
+
+	/**
+	 * A method for marking the goal cell as reached by the robot, once the path has been forwarded.
+	 */
+	public void setGoalReached() {
+		goalReached = true;
+		markDirty(goal);
+	}
+
+	/**
+	 * A method for rendering the cell onto the graphics 2d object, at its position within the pixels of the grid.
+	 * @param g2d - The graphics 2d object to be drawn onto.
+	 * @param cell - The cell to be rendered.
+	 */
+	public void render(Graphics2D g2d, int cell) {
+		int xPosition = gridMargin + grid.getColumn(cell) * cellSize;
+		int yPosition = gridMargin + grid.getRow(cell) * cellSize;
+		boolean isStart = cell == start;
+		boolean isGoal = cell == goal;
+
+		//Set the color and draw the rectangle
+		g2d.setColor(Color.BLACK);
+		g2d.drawRect(xPosition, yPosition, cellSize, cellSize);
+
+		//Set the colors for the cells
+		if (isOnTracedPath(cell) && !isStart) {
+			g2d.setColor(Color.GREEN);
+		} else if (isVisited(cell) && !isStart) {
+			g2d.setColor(Color.CYAN);
+		} else if (isStart) {
+			g2d.setColor(Color.BLUE);
+		} else {
+			g2d.setColor(Color.lightGray);
+		}
+		//Fill the rectangle leaving 1 pixel for the borders
+		g2d.fillRect(xPosition + 1, yPosition + 1, cellSize - 2, cellSize - 2);
+
+		if (grid.isObstacle(cell)) {
+			g2d.drawImage(lavaImage, xPosition, yPosition, null);
+		} else if (isGoal) {
+			g2d.setColor(Color.ORANGE);
+			g2d.fillRect(xPosition + 1, yPosition + 1, cellSize - 2, cellSize - 2);
+			g2d.drawImage(goalReached ? finishReachedImage : finishImage, xPosition, yPosition, null);
+		}
+
+		//If the robot has not left the start cell yet
+		if (isStart && !robotLeftStart) {
+			g2d.drawImage(robotAtStart, xPosition, yPosition, null);
+		}
+
+		//If the path is being forwarded, draw the robot facing the direction in which it has moved onto the cell
+		if (cell == robotCell && robotDirection != -1) {
+			if (GridMap.rowOffsets[robotDirection] < 0) {
+				g2d.drawImage(robotFacingUp, xPosition, yPosition, null);
+			} else if (GridMap.rowOffsets[robotDirection] > 0) {
+				g2d.drawImage(robotFacingDown, xPosition, yPosition, null);
+			} else if (GridMap.columnOffsets[robotDirection] > 0) {
+				g2d.drawImage(robotFacingRight, xPosition, yPosition, null);
+			} else {
+				g2d.drawImage(robotFacingLeft, xPosition, yPosition, null);
+			}
+		}
+
+		if (isGoal && goalReached) {
+			g2d.drawImage(robotFacingDown, xPosition, yPosition, null);
+		}
+	}//End of render method
+
+	/**
+	 * A method for marking the area of the cell to be redrawn, once its state has changed.
+	 * The area includes the robot image, which is larger than the cell.
+	 * @param cell - The changed cell, or -1 for none.
+	 */
+	public void markDirty(int cell) {
+		if (cell != -1) {
+			dirtyRegion.mark(gridMargin + grid.getColumn(cell) * cellSize, gridMargin + grid.getRow(cell) * cellSize, robotImageSize, robotImageSize);
+		}
+	}
+}
@@ -0,0 +1,250 @@
+
+import java.util.BitSet;
+
+/**
+ * The GridMap class represents the grid of cells in a compact manner, so that very large maps can be searched. <br>
+ * Rather than an object per cell, each cell is identified by its index (row * width + column), the obstacles
+ * are stored in a bit set, and the surrounding cells are computed from the column and row offsets. Hence a map of
+ * 10,000 x 10,000 cells occupies about 12 MB of memory and is initialised immediately.
+ *
+ */
+public class GridMap {
+
+	/**
+	 * Declares the number of directions to the surrounding cells.
+	 */
+	public static final int numberOfDirections = 8;
+
+	/**
+	 * Declares the number of non-diagonal directions, which are stored first in the direction arrays.
+	 */
+	public static final int numberOfNonDiagonalDirections = 4;
+
+	/**
+	 * Declares the column offsets of the surrounding cells, in the order in which the path-finders expand them, that is
+	 * east, south, north, west, north-east, south-east, north-west and south-west.
+	 */
+	public static final int[] columnOffsets = {1, 0, 0, -1, 1, 1, -1, -1};
+
+	/**
+	 * Declares the row offsets of the surrounding cells, in the same order as the column offsets.
+	 */
+	public static final int[] rowOffsets = {0, 1, -1, 0, -1, 1, -1, 1};
+
+	/**
+	 * Declares the distances to the surrounding cells, that is 10 for the non-diagonal and 14 for the diagonal directions.
+	 */
+	public static final int[] stepCosts = {10, 10, 10, 10, 14, 14, 14, 14};
+
+	/**
+	 * Declares an integer variable for the number of columns of the grid.
+	 */
+	private final int width;
+
+	/**
+	 * Declares an integer variable for the number of rows of the grid.
+	 */
+	private final int height;
+
+	/**
+	 * Declares the bit set of the obstacles, whereby the bit at the index of the cell is set if the cell is an obstacle,
+	 * or null if the obstacles are stored by the subclass (e.g. in the memory-mapped file).
+	 */
+	private final BitSet obstacles;
+
+	/**
+	 * Declares an integer variable for the version of the grid, which is increased each time an obstacle is placed or removed.
+	 */
+	private int version = 0;
+
+	/**
+	 * The constructor of this class, initialising the grid without any obstacles.
+	 * @param width - The number of columns of the grid.
+	 * @param height - The number of rows of the grid.
+	 */
+	public GridMap(int width, int height) {
+		this(width, height, true);
+	}
+
+	/**
+	 * The constructor of this class for the subclasses, which store the obstacles on their own.
+	 * @param width - The number of columns of the grid.
+	 * @param height - The number of rows of the grid.
+	 * @param storeObstacles - boolean whether the obstacles are stored in the bit set of this class.
+	 */
+	protected GridMap(int width, int height, boolean storeObstacles) {
+		if (width <= 0 || height <= 0 || (long) width * height > Integer.MAX_VALUE) {
+			throw new IllegalArgumentException("Invalid size of the grid: " + width + " x " + height);
+		}
+		this.width = width;
+		this.height = height;
+		this.obstacles = storeObstacles ? new BitSet(width * height) : null;
+	}
+
+	/**
+	 * Getter for the number of columns of the grid.
+	 * @return - integer with the number of columns.
+	 */
+	public int getWidth() {
+		return width;
+	}
+
+	/**
+	 * Getter for the number of rows of the grid.
+	 * @return - integer with the number of rows.
+	 */
+	public int getHeight() {
+		return height;
+	}
+
+	/**
+	 * Getter for the number of cells of the grid.
+	 * @return - integer with the number of cells.
+	 */
+	public int getNumberOfCells() {
+		return width * height;
+	}
+
+	/**
+	 * Getter for the index of the cell at the given column and row.
+	 * @param column - The column of the cell.
+	 * @param row - The row of the cell.
+	 * @return - integer with the index of the cell.
+	 */
+	public int getCellIndex(int column, int row) {
+		return row * width + column;
+	}
+
+	/**
+	 * Getter for the column of the cell.
+	 * @param cell - The index of the cell.
+	 * @return - integer with the column of the cell.
+	 */
+	public int getColumn(int cell) {
+		return cell % width;
+	}
+
+	/**
+	 * Getter for the row of the cell.
+	 * @param cell - The index of the cell.
+	 * @return - integer with the row of the cell.
+	 */
+	public int getRow(int cell) {
+		return cell / width;
+	}
+
+	/**
+	 * A method for determining whether the given column and row are within the bounds of the grid.
+	 * @param column - The column to be checked.
+	 * @param row - The row to be checked.
+	 * @return - boolean whether the column and row are within the bounds.
+	 */
+	public boolean isWithinBounds(int column, int row) {
+		return column >= 0 && column < width && row >= 0 && row < height;
+	}
+
+	/**
+	 * Getter for the boolean whether the cell is an obstacle.
+	 * @param cell - The index of the cell.
+	 * @return - boolean whether the cell is an obstacle.
+	 */
+	public boolean isObstacle(int cell) {
+		return obstacles.get(cell);
+	}
+
+	/**
+	 * Setter for the boolean whether the cell is an obstacle. If the cell has changed, then the version of the grid is increased.
+	 * @param cell - The index of the cell.
+	 * @param obstacle - boolean whether the cell is an obstacle.
+	 */
+	public void setObstacle(int cell, boolean obstacle) {
+		if (isObstacle(cell) != obstacle) {
+			storeObstacle(cell, obstacle);
+			version++;
+		}
+	}
+
+	/**
+	 * A method for storing whether the cell is an obstacle, which is overridden by the subclasses storing the obstacles on their own.
+	 * @param cell - The index of the cell.
+	 * @param obstacle - boolean whether the cell is an obstacle.
+	 */
+	protected void storeObstacle(int cell, boolean obstacle) {
+		obstacles.set(cell, obstacle);
+	}
+
+	/**
+	 * Getter for the version of the grid, which is increased each time an obstacle is placed or removed.
+	 * @return - integer with the version of the grid.
+	 */
+	public int getVersion() {
+		return version;
+	}
+
+	/**
+	 * Getter for the index of the surrounding cell in the given direction.
+	 * @param cell - The index of the cell.
+	 * @param direction - The direction of the surrounding cell, i.e. the index into the direction arrays.
+	 * @return - integer with the index of the surrounding cell, or -1 if it is outside of the bounds of the grid.
+	 */
+	public int getAdjacentCell(int cell, int direction) {
+		int column = cell % width + columnOffsets[direction];
+		int row = cell / width + rowOffsets[direction];
+		if (column < 0 || column >= width || row < 0 || row >= height) {
+			return -1;
+		}
+		return row * width + column;
+	}
+
+	/**
+	 * Getter for the difference between the index of the surrounding cell in the given direction and the index of the cell,
+	 * provided that the surrounding cell is within the bounds of the grid.
+	 * @param direction - The direction of the surrounding cell, i.e. the index into the direction arrays.
+	 * @return - integer with the difference of the indexes.
+	 */
+	public int getCellOffset(int direction) {
+		return rowOffsets[direction] * width + columnOffsets[direction];
+	}
+
+	/**
+	 * A method for tracing the path backwards from the goal to the start cell, by the means of the directions
+	 * of the cells from their parents, and reversing it so it leads from the start to the goal cell.
+	 * @param parentDirections - The directions of the cells from their parents, by the cell.
+	 * @param start - The index of the start cell.
+	 * @param goal - The index of the goal cell.
+	 * @return - The array of the indexes of the cells on the path, beginning with the start and finishing with the goal cell.
+	 */
+	public int[] tracePath(CellValues parentDirections, int start, int goal) {
+		//Count the cells on the path
+		int length = 1;
+		for (int cell = goal; cell != start; cell -= getCellOffset(parentDirections.get(cell))) {
+			length++;
+		}
+		//Trace backwards, filling the path from its end
+		int[] path = new int[length];
+		int cell = goal;
+		for (int i = length - 1; i > 0; i--) {
+			path[i] = cell;
+			cell -= getCellOffset(parentDirections.get(cell));
+		}
+		path[0] = start;
+		return path;
+	}
+
+	/**
+	 * Getter for the direction from one cell to its surrounding cell.
+	 * @param from - The index of the cell.
+	 * @param to - The index of the surrounding cell.
+	 * @return - integer with the direction (i.e. the index into the direction arrays), or -1 if the cells are not adjacent.
+	 */
+	public int getDirection(int from, int to) {
+		int columnDifference = getColumn(to) - getColumn(from);
+		int rowDifference = getRow(to) - getRow(from);
+		for (int direction = 0; direction < numberOfDirections; direction++) {
+			if (columnOffsets[direction] == columnDifference && rowOffsets[direction] == rowDifference) {
+				return direction;
+			}
+		}
+		return -1;
+	}
+}
@@ -0,0 +1,20 @@
+
+/**
+ * The Heuristic interface is the strategy by which the A* algorithm estimates the distance of the cell to its target cell
+ * (the goal cell, or the start cell for the backward search), in the same units as the costs of the steps (10 straight, 14 diagonal). <br>
+ * The heuristic is resolved once per search (see the Heuristics class), so the search does not select the heuristic
+ * by its name for each of the cells. The call is still made through this interface, whose implementations vary between the searches.
+ *
+ */
+public interface Heuristic {
+
+	/**
+	 * A method for estimating the distance between the cells, which must not exceed the cost of the shortest path between them,
+	 * so that the path found by the A* algorithm is optimal.
+	 * @param grid - The grid of the cells.
+	 * @param cell - The cell to perform the calculations on.
+	 * @param target - The target cell.
+	 * @return - integer with the estimated distance.
+	 */
+	int estimate(GridMap grid, int cell, int target);
+}
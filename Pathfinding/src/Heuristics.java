@@ -0,0 +1,142 @@
+
+/**
+ * The Heuristics class provides the geometric heuristics, i.e. the distances on the grid without any obstacles: <br>
+ * &nbsp&nbsp&nbspmanhattan: the sum of the differences of the columns and rows (exact without the diagonals, but overestimating with them), <br>
+ * &nbsp&nbsp&nbspchebyshev: the larger of the differences (admissible, but far below the cost of the diagonal steps), <br>
+ * &nbsp&nbsp&nbspoctile: the diagonal steps (14) while both differences are non-zero, and then the straight steps (10),
+ * which is the exact distance without the obstacles, and hence the tightest admissible geometric heuristics, <br>
+ * &nbsp&nbsp&nbspeuclidean: the straight-line distance, scaled so that the diagonal step costs 14 (admissible, but below the octile distance). <br>
+ * The ALT heuristics ("alt") is not geometric, as it is preprocessed for the obstacles of the grid (see the LandmarkHeuristic class),
+ * so it is resolved from the landmarks given by the options of the search. <br>
+ * Each of the heuristics is a stateless instance of its own class, so it can be shared by the searches on any thread.
+ *
+ */
+public class Heuristics {
+
+	/**
+	 * Declares the cost of the unit of the straight-line distance, at which the diagonal step costs 14.
+	 */
+	private static final double euclideanScale = 14 / Math.sqrt(2);
+
+	/**
+	 * Declares the heuristics of the search without any heuristics (i.e. the Dijkstra algorithm), which is always 0.
+	 */
+	public static final Heuristic none = new Heuristic() {
+		@Override
+		public int estimate(GridMap grid, int cell, int target) {
+			return 0;
+		}
+	};
+
+	/**
+	 * Declares the Manhattan heuristics.
+	 */
+	public static final Heuristic manhattan = new Heuristic() {
+		@Override
+		public int estimate(GridMap grid, int cell, int target) {
+			return 10 * (Math.abs(grid.getColumn(cell) - grid.getColumn(target)) + Math.abs(grid.getRow(cell) - grid.getRow(target)));
+		}
+	};
+
+	/**
+	 * Declares the Chebyshev heuristics.
+	 */
+	public static final Heuristic chebyshev = new Heuristic() {
+		@Override
+		public int estimate(GridMap grid, int cell, int target) {
+			return 10 * Math.max(Math.abs(grid.getColumn(cell) - grid.getColumn(target)), Math.abs(grid.getRow(cell) - grid.getRow(target)));
+		}
+	};
+
+	/**
+	 * Declares the octile heuristics.
+	 */
+	public static final Heuristic octile = new Heuristic() {
+		@Override
+		public int estimate(GridMap grid, int cell, int target) {
+			return octileDistance(Math.abs(grid.getColumn(cell) - grid.getColumn(target)), Math.abs(grid.getRow(cell) - grid.getRow(target)));
+		}
+	};
+
+	/**
+	 * Declares the Euclidean heuristics.
+	 */
+	public static final Heuristic euclidean = new Heuristic() {
+		@Override
+		public int estimate(GridMap grid, int cell, int target) {
+			double columnDistance = grid.getColumn(cell) - grid.getColumn(target);
+			double rowDistance = grid.getRow(cell) - grid.getRow(target);
+			//The diagonal step costs 14 rather than 10 times the square root of 2, so the distance is scaled by 14 / square root of 2
+			return (int) (euclideanScale * Math.sqrt(columnDistance * columnDistance + rowDistance * rowDistance));
+		}
+	};
+
+	/**
+	 * A method for resolving the heuristics of the given type, once before the search.
+	 * @param heuristicsType - The type of the heuristics, i.e. "manhattan", "chebyshev", "octile" or "euclidean".
+	 * @param allowDiagonalPathFinding - boolean whether the diagonal path finding is allowed, without which the octile
+	 * distance is the Manhattan distance.
+	 * @return - The heuristics of the type.
+	 */
+	public static Heuristic forType(String heuristicsType, boolean allowDiagonalPathFinding) {
+		if (heuristicsType.equals("manhattan")) {
+			return manhattan;
+		} else if (heuristicsType.equals("chebyshev")) {
+			return chebyshev;
+		} else if (heuristicsType.equals("octile")) {
+			return allowDiagonalPathFinding ? octile : manhattan;
+		} else if (heuristicsType.equals("euclidean")) {
+			return euclidean;
+		}
+		throw new IllegalArgumentException("Unknown type of the heuristics: " + heuristicsType);
+	}//End of forType method
+
+	/**
+	 * A method for resolving the heuristics selected by the options of the search, once before the search.
+	 * @param grid - The grid of the search.
+	 * @param options - The options of the search, that is the type of the heuristics, whether the diagonal path finding is allowed,
+	 * and (for the ALT heuristics) the landmarks of the grid.
+	 * @return - The heuristics of the search.
+	 */
+	public static Heuristic forOptions(GridMap grid, SearchOptions options) {
+		if (options.getHeuristicsType().equals("alt")) {
+			LandmarkHeuristic landmarks = options.getLandmarks();
+			//The landmarks of the other grid, or of the changed obstacles, could overestimate the distances
+			if (landmarks == null || !landmarks.isValidFor(grid, options.isAllowDiagonalPathFinding())) {
+				throw new IllegalArgumentException("The ALT heuristics requires the landmarks preprocessed for the current obstacles of the grid"
+						+ " and the same diagonal path finding");
+			}
+			return landmarks;
+		}
+		return forType(options.getHeuristicsType(), options.isAllowDiagonalPathFinding());
+	}//End of forOptions method
+
+	/**
+	 * A method for calculating the distance between the cells on the grid without the obstacles,
+	 * i.e. the octile distance if diagonal path finding has been allowed, otherwise the Manhattan distance.
+	 * @param grid - The grid of the cells.
+	 * @param from - The first cell.
+	 * @param to - The second cell.
+	 * @param allowDiagonalPathFinding - boolean whether the diagonal path finding is allowed.
+	 * @return - integer with the distance.
+	 */
+	public static int distanceWithoutObstacles(GridMap grid, int from, int to, boolean allowDiagonalPathFinding) {
+		int columnDistance = Math.abs(grid.getColumn(from) - grid.getColumn(to));
+		int rowDistance = Math.abs(grid.getRow(from) - grid.getRow(to));
+		if (!allowDiagonalPathFinding) {
+			return 10 * (columnDistance + rowDistance);
+		}
+		return octileDistance(columnDistance, rowDistance);
+	}//End of distanceWithoutObstacles method
+
+	/**
+	 * A method for calculating the octile distance, that is the cost of moving diagonally (14) while both of the differences
+	 * are non-zero, and then straight (10) for the remainder.
+	 * @param columnDistance - The absolute difference of the columns.
+	 * @param rowDistance - The absolute difference of the rows.
+	 * @return - integer with the octile distance.
+	 */
+	public static int octileDistance(int columnDistance, int rowDistance) {
+		return 10 * Math.max(columnDistance, rowDistance) + 4 * Math.min(columnDistance, rowDistance);
+	}
+}
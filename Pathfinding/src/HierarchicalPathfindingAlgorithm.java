@@ -0,0 +1,815 @@
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.CancellationException;
+
+/**
+ * The HierarchicalPathfindingAlgorithm class performs the HPA* (Hierarchical Path-Finding A*), which is suited for large maps
+ * that rarely change. <br>
+ * The grid is partitioned into square clusters, and on each border between the clusters the entrances are found, that is the pairs
+ * of the cells on both sides of the border which can be moved between (one in the middle of each short opening, two at the ends
+ * of each long opening). The cells of the entrances are the nodes of the abstract graph, connected by the transitions across the borders,
+ * and by the precalculated distances between the entrances of the same cluster. <br>
+ * The path is calculated by connecting the start and goal cells to the entrances of their clusters, searching the abstract graph with the A*,
+ * and then refining only the segments of the abstract path into the cells, by searching within a single cluster at a time. <br>
+ * The abstraction is cached between the searches on the same grid. Once the obstacle has been placed or removed, only the clusters containing
+ * the changed cell or its surrounding cells are rebuilt. If the grid has been changed without being reported, then the whole abstraction is rebuilt.
+ * The built abstraction is only read by the searches, so it can be shared by the instances searching the same grid in parallel. <br>
+ * The path is near-optimal, since it has to pass through the entrances.
+ *
+ */
+public class HierarchicalPathfindingAlgorithm implements PathfindingEngine {
+
+	/**
+	 * Declares the default number of the columns and rows of each cluster.
+	 */
+	public static final int defaultClusterSize = 10;
+
+	/**
+	 * Declares the length of the opening from which two entrances (at both of its ends) are created instead of one in the middle.
+	 */
+	private static final int longEntranceLength = 6;
+
+	/**
+	 * Declares the number of the columns and rows of each cluster.
+	 */
+	private final int clusterSize;
+
+	/**
+	 * Declares the grid on which the abstraction has been built, or null if it has not been built yet.
+	 */
+	private GridMap grid;
+
+	/**
+	 * Declares the version of the grid which the abstraction reflects, that is the version when the abstraction was built,
+	 * increased by each change of the obstacle reported since then.
+	 */
+	private long gridVersion;
+
+	/**
+	 * Declares a boolean for tracking whether the abstraction has been built with the diagonal path finding allowed.
+	 */
+	private boolean allowDiagonalPathFinding = true;
+
+	/**
+	 * Declares the number of the clusters in each row of the clusters.
+	 */
+	private int clustersWide;
+
+	/**
+	 * Declares the number of the clusters in each column of the clusters.
+	 */
+	private int clustersHigh;
+
+	/**
+	 * Declares the array of clusters, whereby the cluster at the cluster column x and cluster row y is stored at the index y * clustersWide + x.
+	 */
+	private Cluster[] clusters;
+
+	/**
+	 * Declares the heap for the open list of the search within a single cluster, indexed by the local index of the cell within the cluster.
+	 */
+	private CellHeap localOpenList;
+
+	/**
+	 * Declares the cells reached by the search within a single cluster, stamped by the local index of the cell within the current search.
+	 */
+	private CellStamps localReached;
+
+	/**
+	 * Declares the closedList of the search of the abstract graph, stamping the expanded abstract nodes by their cells.
+	 */
+	private CellStamps abstractClosedList;
+
+	/**
+	 * Declares an array for the distances from the source cell of the search within a single cluster, indexed by the local index of the cell.
+	 */
+	private int[] localDistance;
+
+	/**
+	 * Declares an array for the directions of the cells from their parents within a single cluster, indexed by the local index of the cell.
+	 */
+	private byte[] localParentDirection;
+
+	/**
+	 * Declares the cluster in which the last search within a single cluster has been performed.
+	 */
+	private Cluster localCluster;
+
+	/**
+	 * Declares the listener to be notified about the progress of the search, or null if there is none.
+	 */
+	private SearchListener listener;
+
+	/**
+	 * Declares an integer variable for maintaining the number of operations that the path-finder performs.
+	 */
+	private int numberOfOperations = 0;
+
+	/**
+	 * Declares an integer variable for maintaining the number of visited nodes that the path-finder performs,
+	 * that is the number of the abstract nodes reached by the search of the abstract graph.
+	 */
+	private int numberOfVisitedNodes = 0;
+
+	/**
+	 * Declares an integer variable for the number of clusters which have been built since the creation of this instance,
+	 * so that the cost of the incremental updates can be observed.
+	 */
+	private int numberOfBuiltClusters = 0;
+
+	/**
+	 * The constructor of this class, using the clusters of the default size.
+	 */
+	public HierarchicalPathfindingAlgorithm() {
+		this(defaultClusterSize);
+	}
+
+	/**
+	 * The constructor of this class.
+	 * @param clusterSize - The number of the columns and rows of each cluster.
+	 */
+	public HierarchicalPathfindingAlgorithm(int clusterSize) {
+		if (clusterSize < 2) {
+			throw new IllegalArgumentException("The size of the cluster must be at least 2: " + clusterSize);
+		}
+		this.clusterSize = clusterSize;
+		localOpenList = new CellHeap(clusterSize * clusterSize);
+		localReached = new CellStamps(clusterSize * clusterSize);
+		localDistance = new int[clusterSize * clusterSize];
+		localParentDirection = new byte[clusterSize * clusterSize];
+	}
+
+	/**
+	 * The HPA* algorithm which performs the pathfinding in following maner: <br>
+	 * 1) Build the abstraction, if it has not been built for the grid and the diagonal option yet, or the grid has changed without being reported <br>
+	 * 2) Search within the cluster of the start cell for the distances to its entrances, and within the cluster of the goal cell
+	 * for the distances from its entrances (and the direct distance if both of the cells are in the same cluster) <br>
+	 * 3) Search the abstract graph with the A*, from the start to the goal cell <br>
+	 * 4) Refine each segment of the abstract path, that is find the cells between each pair of the abstract nodes within their cluster.
+	 * @param grid - The grid on which the path is calculated.
+	 * @param start - The cell which was selected as the start node by the user in the GUI
+	 * @param goal - The cell which was selected as the goal/finish node by the user in the GUI.
+	 * @param options - The options of the search, that is whether to allow diagonals.
+	 * @param listener - The listener to be notified about the reached abstract nodes and the number of operations, or null.
+	 * @return - The result of the search.
+	 */
+	public PathResult calculatePath(GridMap grid, int start, int goal, SearchOptions options, SearchListener listener) {
+		long startTime = System.nanoTime();
+
+		this.listener = listener;
+		numberOfOperations = 0;
+		numberOfVisitedNodes = 0;
+
+		prepareAbstraction(grid, options.isAllowDiagonalPathFinding());
+
+		Cluster startCluster = getCluster(start);
+		Cluster goalCluster = getCluster(goal);
+
+		//Connect the start cell to the entrances of its cluster
+		searchWithinCluster(startCluster, start, -1);
+		int[] startDistances = getLocalDistances(startCluster.entrances);
+		int directDistance = -1;
+		if (startCluster == goalCluster) {
+			directDistance = getLocalDistance(goal);
+		}
+
+		//Connect the entrances of the goal cluster to the goal cell (the distances are symmetric)
+		searchWithinCluster(goalCluster, goal, -1);
+		int[] goalDistances = getLocalDistances(goalCluster.entrances);
+
+		List<Integer> abstractPath = searchAbstractGraph(start, goal, startCluster, startDistances, goalCluster, goalDistances, directDistance);
+		if (abstractPath == null) {
+			//The abstract graph does not connect the start and goal cells, exit with failure.
+			return new PathResult(new int[0], -1, numberOfOperations, numberOfVisitedNodes, System.nanoTime() - startTime);
+		}
+
+		return refinePath(abstractPath, startTime);
+	}//End of calculatePath method
+
+	/**
+	 * A method for updating the abstraction once the obstacle has been placed on or removed from the given cell of the grid. <br>
+	 * The entrances on the border of the cluster depend on the cells on both sides of the border, therefore every cluster containing
+	 * the cell or any of its surrounding cells is rebuilt, while the rest of the abstraction is kept.
+	 * If the abstraction has not been built for the grid, then there is nothing to update.
+	 * @param grid - The grid which has been changed.
+	 * @param cell - The cell which has been changed.
+	 */
+	public void obstacleChanged(GridMap grid, int cell) {
+		if (this.grid != grid) {
+			return;
+		}
+		gridVersion++;
+		int column = grid.getColumn(cell);
+		int row = grid.getRow(cell);
+		//Collect the clusters of the cell and its surrounding cells, without the duplicates
+		HashSet<Integer> affectedClusters = new HashSet<Integer>();
+		for (int rowOffset = -1; rowOffset <= 1; rowOffset++) {
+			for (int columnOffset = -1; columnOffset <= 1; columnOffset++) {
+				if (grid.isWithinBounds(column + columnOffset, row + rowOffset)) {
+					affectedClusters.add(((row + rowOffset) / clusterSize) * clustersWide + (column + columnOffset) / clusterSize);
+				}
+			}
+		}
+		for (int clusterIndex : affectedClusters) {
+			buildCluster(clusters[clusterIndex]);
+		}
+	}//End of obstacleChanged method
+
+	/**
+	 * A method for building the abstraction of the grid, unless it has already been built for the grid and the diagonal option,
+	 * and reflects every change of the grid. The version of the grid is compared with the version the abstraction reflects, so once
+	 * the grid has been changed without calling the obstacleChanged method, the whole abstraction is rebuilt rather than used out of date.
+	 * @param grid - The grid to be abstracted.
+	 * @param allowDiagonalPathFinding - boolean whether the diagonal path finding is allowed.
+	 */
+	public void prepareAbstraction(GridMap grid, boolean allowDiagonalPathFinding) {
+		if (this.grid != grid || this.allowDiagonalPathFinding != allowDiagonalPathFinding || gridVersion != grid.getVersion()) {
+			buildAbstraction(grid, allowDiagonalPathFinding);
+		}
+	}//End of prepareAbstraction method
+
+	/**
+	 * A method for using the abstraction built by the given instance, rather than building an own copy of it. <br>
+	 * The clusters are shared, not copied, so they must only be read while the instances share them, that is the obstacleChanged method
+	 * must not be called on any of them. Each instance keeps its own arrays for searching within the clusters and the abstract graph.
+	 * @param source - The instance whose abstraction is used, which must have the same size of the clusters.
+	 */
+	public void shareAbstraction(HierarchicalPathfindingAlgorithm source) {
+		if (source.clusterSize != clusterSize) {
+			throw new IllegalArgumentException("The size of the clusters (" + source.clusterSize + ") differs from " + clusterSize);
+		}
+		grid = source.grid;
+		gridVersion = source.gridVersion;
+		allowDiagonalPathFinding = source.allowDiagonalPathFinding;
+		clustersWide = source.clustersWide;
+		clustersHigh = source.clustersHigh;
+		clusters = source.clusters;
+	}//End of shareAbstraction method
+
+	/**
+	 * Getter for the number of clusters which have been built since the creation of this instance.
+	 * @return - integer with the number of built clusters.
+	 */
+	public int getNumberOfBuiltClusters() {
+		return numberOfBuiltClusters;
+	}
+
+	/**
+	 * A method for building the whole abstraction of the grid, that is partitioning the grid into the clusters, and building each of them.
+	 * The building takes a while on the large grid, so it is abandoned once the thread has been interrupted (e.g. the search has been cancelled),
+	 * and the abstraction is built again by the following search.
+	 * @param grid - The grid to be abstracted.
+	 * @param allowDiagonalPathFinding - boolean whether the diagonal path finding is allowed.
+	 * @throws CancellationException - If the thread has been interrupted.
+	 */
+	private void buildAbstraction(GridMap grid, boolean allowDiagonalPathFinding) {
+		this.grid = grid;
+		this.gridVersion = grid.getVersion();
+		this.allowDiagonalPathFinding = allowDiagonalPathFinding;
+		clustersWide = (grid.getWidth() + clusterSize - 1) / clusterSize;
+		clustersHigh = (grid.getHeight() + clusterSize - 1) / clusterSize;
+		clusters = new Cluster[clustersWide * clustersHigh];
+		for (int clusterRow = 0; clusterRow < clustersHigh; clusterRow++) {
+			if (Thread.currentThread().isInterrupted()) {
+				//The abstraction is incomplete, so it does not belong to any grid
+				this.grid = null;
+				throw new CancellationException("The abstraction of the grid has been cancelled");
+			}
+			for (int clusterColumn = 0; clusterColumn < clustersWide; clusterColumn++) {
+				int firstColumn = clusterColumn * clusterSize;
+				int firstRow = clusterRow * clusterSize;
+				Cluster cluster = new Cluster(firstColumn, firstRow,
+						Math.min(clusterSize, grid.getWidth() - firstColumn), Math.min(clusterSize, grid.getHeight() - firstRow));
+				clusters[clusterRow * clustersWide + clusterColumn] = cluster;
+				buildCluster(cluster);
+			}
+		}
+	}//End of buildAbstraction method
+
+	/**
+	 * A method for building the cluster, that is finding the transitions across each of its borders and corners,
+	 * the entrances (i.e. the cells of the cluster from which the transitions start), and the distances between the entrances.
+	 * @param cluster - The cluster to be built.
+	 */
+	private void buildCluster(Cluster cluster) {
+		numberOfBuiltClusters++;
+		ArrayList<int[]> transitions = new ArrayList<int[]>();
+		int lastColumn = cluster.firstColumn + cluster.width - 1;
+		int lastRow = cluster.firstRow + cluster.height - 1;
+
+		//West and east borders, along the rows of the cluster
+		findBorderTransitions(transitions, cluster.firstColumn, cluster.firstRow, 0, 1, -1, 0, cluster.height);
+		findBorderTransitions(transitions, lastColumn, cluster.firstRow, 0, 1, 1, 0, cluster.height);
+		//North and south borders, along the columns of the cluster
+		findBorderTransitions(transitions, cluster.firstColumn, cluster.firstRow, 1, 0, 0, -1, cluster.width);
+		findBorderTransitions(transitions, cluster.firstColumn, lastRow, 1, 0, 0, 1, cluster.width);
+
+		if (allowDiagonalPathFinding) {
+			//Corners, towards the diagonal clusters
+			findCornerTransition(transitions, cluster.firstColumn, cluster.firstRow, -1, -1);
+			findCornerTransition(transitions, lastColumn, cluster.firstRow, 1, -1);
+			findCornerTransition(transitions, cluster.firstColumn, lastRow, -1, 1);
+			findCornerTransition(transitions, lastColumn, lastRow, 1, 1);
+		}
+
+		//Group the transitions by their entrances
+		ArrayList<Integer> entrances = new ArrayList<Integer>();
+		ArrayList<ArrayList<int[]>> entranceTransitions = new ArrayList<ArrayList<int[]>>();
+		for (int[] transition : transitions) {
+			int index = entrances.indexOf(transition[0]);
+			if (index == -1) {
+				index = entrances.size();
+				entrances.add(transition[0]);
+				entranceTransitions.add(new ArrayList<int[]>());
+			}
+			entranceTransitions.get(index).add(transition);
+		}
+
+		int numberOfEntrances = entrances.size();
+		cluster.entrances = new int[numberOfEntrances];
+		cluster.transitionTargets = new int[numberOfEntrances][];
+		cluster.transitionCosts = new int[numberOfEntrances][];
+		for (int i = 0; i < numberOfEntrances; i++) {
+			cluster.entrances[i] = entrances.get(i);
+			ArrayList<int[]> entranceTransition = entranceTransitions.get(i);
+			cluster.transitionTargets[i] = new int[entranceTransition.size()];
+			cluster.transitionCosts[i] = new int[entranceTransition.size()];
+			for (int j = 0; j < entranceTransition.size(); j++) {
+				cluster.transitionTargets[i][j] = entranceTransition.get(j)[1];
+				cluster.transitionCosts[i][j] = entranceTransition.get(j)[2];
+			}
+		}
+
+		//Calculate the distances between each pair of the entrances within the cluster
+		cluster.distances = new int[numberOfEntrances][];
+		for (int i = 0; i < numberOfEntrances; i++) {
+			searchWithinCluster(cluster, cluster.entrances[i], -1);
+			cluster.distances[i] = getLocalDistances(cluster.entrances);
+		}
+	}//End of buildCluster method
+
+	/**
+	 * A method for finding the transitions across a single border of the cluster. <br>
+	 * The border is walked cell by cell, and the maximal openings (i.e. the runs of the cells which are free on both sides of the border)
+	 * are found. A short opening gets a single straight transition in its middle, while a long one gets two transitions, at both of its ends.
+	 * If the diagonal path finding is allowed, then a diagonal transition is added wherever the sides can only be moved between diagonally.
+	 * The same transitions are found from both of the clusters sharing the border.
+	 * @param transitions - The list to which the transitions (the cell inside, the cell outside, and the cost) are added.
+	 * @param column - The column of the first cell of the border inside the cluster.
+	 * @param row - The row of the first cell of the border inside the cluster.
+	 * @param columnStep - The column step along the border.
+	 * @param rowStep - The row step along the border.
+	 * @param columnOutwards - The column offset from the cell inside to the cell outside of the cluster.
+	 * @param rowOutwards - The row offset from the cell inside to the cell outside of the cluster.
+	 * @param length - The number of cells of the border.
+	 */
+	private void findBorderTransitions(ArrayList<int[]> transitions, int column, int row, int columnStep, int rowStep,
+			int columnOutwards, int rowOutwards, int length) {
+		if (!grid.isWithinBounds(column + columnOutwards, row + rowOutwards)) {
+			//The border is the bound of the grid
+			return;
+		}
+
+		//Determine at which positions of the border both of its sides are free
+		boolean[] open = new boolean[length];
+		for (int i = 0; i < length; i++) {
+			int insideColumn = column + i * columnStep;
+			int insideRow = row + i * rowStep;
+			open[i] = isWalkable(insideColumn, insideRow) && isWalkable(insideColumn + columnOutwards, insideRow + rowOutwards);
+		}
+
+		//Add the straight transitions for each of the openings
+		int openingStart = -1;
+		for (int i = 0; i <= length; i++) {
+			if (i < length && open[i]) {
+				if (openingStart == -1) {
+					openingStart = i;
+				}
+			} else if (openingStart != -1) {
+				int openingEnd = i - 1;
+				if (openingEnd - openingStart + 1 < longEntranceLength) {
+					addTransition(transitions, column, row, columnStep, rowStep, (openingStart + openingEnd) / 2, columnOutwards, rowOutwards, 0);
+				} else {
+					addTransition(transitions, column, row, columnStep, rowStep, openingStart, columnOutwards, rowOutwards, 0);
+					addTransition(transitions, column, row, columnStep, rowStep, openingEnd, columnOutwards, rowOutwards, 0);
+				}
+				openingStart = -1;
+			}
+		}
+
+		if (!allowDiagonalPathFinding) {
+			return;
+		}
+		//Add the diagonal transitions between the neighbouring positions which are both closed
+		for (int i = 0; i < length - 1; i++) {
+			if (open[i] || open[i + 1]) {
+				continue;
+			}
+			if (isWalkable(column + i * columnStep, row + i * rowStep)
+					&& isWalkable(column + (i + 1) * columnStep + columnOutwards, row + (i + 1) * rowStep + rowOutwards)) {
+				addTransition(transitions, column, row, columnStep, rowStep, i, columnOutwards, rowOutwards, 1);
+			}
+			if (isWalkable(column + (i + 1) * columnStep, row + (i + 1) * rowStep)
+					&& isWalkable(column + i * columnStep + columnOutwards, row + i * rowStep + rowOutwards)) {
+				addTransition(transitions, column, row, columnStep, rowStep, i + 1, columnOutwards, rowOutwards, -1);
+			}
+		}
+	}//End of findBorderTransitions method
+
+	/**
+	 * A method for adding the transition from the cell at the given position of the border to the cell outside of the cluster.
+	 * @param transitions - The list to which the transition is added.
+	 * @param column - The column of the first cell of the border inside the cluster.
+	 * @param row - The row of the first cell of the border inside the cluster.
+	 * @param columnStep - The column step along the border.
+	 * @param rowStep - The row step along the border.
+	 * @param position - The position of the cell inside the cluster along the border.
+	 * @param columnOutwards - The column offset from the cell inside to the cell outside of the cluster.
+	 * @param rowOutwards - The row offset from the cell inside to the cell outside of the cluster.
+	 * @param shift - The shift of the cell outside along the border, i.e. 0 for the straight, and 1 or -1 for the diagonal transition.
+	 */
+	private void addTransition(ArrayList<int[]> transitions, int column, int row, int columnStep, int rowStep, int position,
+			int columnOutwards, int rowOutwards, int shift) {
+		int insideColumn = column + position * columnStep;
+		int insideRow = row + position * rowStep;
+		int outsideColumn = insideColumn + shift * columnStep + columnOutwards;
+		int outsideRow = insideRow + shift * rowStep + rowOutwards;
+		int cost = shift == 0 ? 10 : 14;
+		transitions.add(new int[] {grid.getCellIndex(insideColumn, insideRow), grid.getCellIndex(outsideColumn, outsideRow), cost});
+	}//End of addTransition method
+
+	/**
+	 * A method for finding the diagonal transition from the corner cell of the cluster to the diagonal cluster,
+	 * which is only needed if both of the cells around the corner are obstacles (otherwise the corner can be passed by the straight transitions).
+	 * @param transitions - The list to which the transition is added.
+	 * @param column - The column of the corner cell.
+	 * @param row - The row of the corner cell.
+	 * @param columnOutwards - The column offset towards the diagonal cluster.
+	 * @param rowOutwards - The row offset towards the diagonal cluster.
+	 */
+	private void findCornerTransition(ArrayList<int[]> transitions, int column, int row, int columnOutwards, int rowOutwards) {
+		if (isWalkable(column, row) && isWalkable(column + columnOutwards, row + rowOutwards)
+				&& !isWalkable(column + columnOutwards, row) && !isWalkable(column, row + rowOutwards)) {
+			transitions.add(new int[] {grid.getCellIndex(column, row), grid.getCellIndex(column + columnOutwards, row + rowOutwards), 14});
+		}
+	}//End of findCornerTransition method
+
+	/**
+	 * A method for searching the abstract graph with the A* algorithm, from the start to the goal cell. <br>
+	 * The surrounding nodes of each abstract node are the other entrances of its cluster and the targets of its transitions,
+	 * while the start cell is connected to the entrances of its cluster, and the entrances of the goal cluster are connected to the goal cell.
+	 * @param start - The start cell.
+	 * @param goal - The goal cell.
+	 * @param startCluster - The cluster of the start cell.
+	 * @param startDistances - The distances from the start cell to the entrances of its cluster, -1 for the unreachable entrances.
+	 * @param goalCluster - The cluster of the goal cell.
+	 * @param goalDistances - The distances from the entrances of the goal cluster to the goal cell, -1 for the unreachable entrances.
+	 * @param directDistance - The distance from the start to the goal cell within their common cluster, or -1.
+	 * @return - The list of the abstract nodes from the start to the goal cell, or null if the goal cell cannot be reached.
+	 */
+	private List<Integer> searchAbstractGraph(int start, int goal, Cluster startCluster, int[] startDistances,
+			Cluster goalCluster, int[] goalDistances, int directDistance) {
+		HashMap<Integer, Integer> distanceFromStart = new HashMap<Integer, Integer>();
+		HashMap<Integer, Integer> parent = new HashMap<Integer, Integer>();
+		if (abstractClosedList == null || abstractClosedList.getNumberOfCells() != grid.getNumberOfCells()) {
+			abstractClosedList = new CellStamps(grid.getNumberOfCells());
+		} else {
+			abstractClosedList.nextGeneration();
+		}
+		CellStamps closedList = abstractClosedList;
+		//The open list holds the path scoring in the upper and the cell in the lower half of the long, so it is ordered by the path scoring
+		PriorityQueue<Long> openList = new PriorityQueue<Long>();
+
+		distanceFromStart.put(start, 0);
+		openList.add(((long) calculateHeuristics(start, goal) << 32) | start);
+
+		while (!openList.isEmpty()) {
+			int s = (int) (openList.poll() & 0xffffffffL);
+			if (closedList.isMarked(s)) {
+				//The cell has been already expanded through a cheaper path
+				continue;
+			}
+			closedList.mark(s);
+			numberOfOperations++;
+			if (listener != null) {
+				listener.nodeExpanded(s);
+				listener.progressUpdated(numberOfOperations, numberOfVisitedNodes);
+			}
+
+			if (s == goal) {
+				//Trace the abstract path backwards from the goal
+				ArrayList<Integer> abstractPath = new ArrayList<Integer>();
+				for (Integer cell = goal; cell != null; cell = parent.get(cell)) {
+					abstractPath.add(0, cell);
+				}
+				return abstractPath;
+			}
+
+			int distance = distanceFromStart.get(s);
+			if (s == start) {
+				for (int i = 0; i < startCluster.entrances.length; i++) {
+					reachAbstractNode(startCluster.entrances[i], s, distance, startDistances[i], goal, distanceFromStart, parent, closedList, openList);
+				}
+				reachAbstractNode(goal, s, distance, directDistance, goal, distanceFromStart, parent, closedList, openList);
+			}
+
+			Cluster cluster = getCluster(s);
+			int entrance = indexOf(cluster.entrances, s);
+			if (entrance != -1) {
+				//Move to the other entrances of the cluster, and across the transitions to the surrounding clusters
+				for (int i = 0; i < cluster.entrances.length; i++) {
+					if (i != entrance) {
+						reachAbstractNode(cluster.entrances[i], s, distance, cluster.distances[entrance][i], goal, distanceFromStart, parent, closedList, openList);
+					}
+				}
+				for (int i = 0; i < cluster.transitionTargets[entrance].length; i++) {
+					reachAbstractNode(cluster.transitionTargets[entrance][i], s, distance, cluster.transitionCosts[entrance][i], goal, distanceFromStart, parent, closedList, openList);
+				}
+				if (cluster == goalCluster) {
+					reachAbstractNode(goal, s, distance, goalDistances[entrance], goal, distanceFromStart, parent, closedList, openList);
+				}
+			}
+		}//End of while openList is not empty
+		return null;
+	}//End of searchAbstractGraph method
+
+	/**
+	 * A method for reaching the abstract node from the currently expanded node, which adds it to the open list
+	 * if it has not been reached yet, or has been reached through a more expensive path.
+	 * @param node - The abstract node which is reached.
+	 * @param current - The abstract node which is expanded.
+	 * @param distance - The distance of the current node from the start cell.
+	 * @param edgeCost - The cost of moving from the current node to the reached node, or -1 if it cannot be reached.
+	 * @param goal - The goal cell.
+	 * @param distanceFromStart - The distances of the abstract nodes from the start cell.
+	 * @param parent - The parents of the abstract nodes.
+	 * @param closedList - The abstract nodes which have been expanded.
+	 * @param openList - The open list of the abstract search.
+	 */
+	private void reachAbstractNode(int node, int current, int distance, int edgeCost, int goal, HashMap<Integer, Integer> distanceFromStart,
+			HashMap<Integer, Integer> parent, CellStamps closedList, PriorityQueue<Long> openList) {
+		if (edgeCost < 0 || closedList.isMarked(node)) {
+			return;
+		}
+		int distanceThroughCurrent = distance + edgeCost;
+		Integer previousDistance = distanceFromStart.get(node);
+		if (previousDistance != null && previousDistance <= distanceThroughCurrent) {
+			return;
+		}
+		if (previousDistance == null) {
+			//Increment the number of visited nodes
+			numberOfVisitedNodes++;
+			if (listener != null) {
+				listener.nodeVisited(node);
+			}
+		} else if (listener != null) {
+			listener.parentChanged(node, current);
+		}
+		distanceFromStart.put(node, distanceThroughCurrent);
+		parent.put(node, current);
+		openList.add(((long) (distanceThroughCurrent + calculateHeuristics(node, goal)) << 32) | node);
+	}//End of reachAbstractNode method
+
+	/**
+	 * A method for refining the abstract path into the cells. Each pair of the abstract nodes is either a transition between
+	 * the surrounding cells of two clusters, or a segment within a single cluster, which is found by searching within that cluster.
+	 * @param abstractPath - The list of the abstract nodes from the start to the goal cell.
+	 * @param startTime - The time (in nanoseconds) at which the search has been started.
+	 * @return - The result of the search with the path from the start to the goal cell.
+	 */
+	private PathResult refinePath(List<Integer> abstractPath, long startTime) {
+		ArrayList<Integer> path = new ArrayList<Integer>();
+		path.add(abstractPath.get(0));
+		int cost = 0;
+		for (int i = 1; i < abstractPath.size(); i++) {
+			int from = abstractPath.get(i - 1);
+			int to = abstractPath.get(i);
+			if (from == to) {
+				continue;
+			}
+			Cluster cluster = getCluster(from);
+			if (cluster != getCluster(to)) {
+				//The transition across the border
+				path.add(to);
+				cost += GridMap.stepCosts[grid.getDirection(from, to)];
+				continue;
+			}
+			//The segment within the cluster, traced backwards and inserted in the forward order
+			searchWithinCluster(cluster, from, to);
+			cost += getLocalDistance(to);
+			int insertionIndex = path.size();
+			for (int cell = to; cell != from; cell -= grid.getCellOffset(localParentDirection[getLocalIndex(cluster, cell)])) {
+				path.add(insertionIndex, cell);
+			}
+		}
+
+		int[] cells = new int[path.size()];
+		for (int i = 0; i < cells.length; i++) {
+			cells[i] = path.get(i);
+		}
+		return new PathResult(cells, cost, numberOfOperations, numberOfVisitedNodes, System.nanoTime() - startTime);
+	}//End of refinePath method
+
+	/**
+	 * A method for searching the cells of a single cluster with the Dijkstra algorithm, from the source cell until the target cell
+	 * has been reached, or until the whole cluster has been searched if there is no target.
+	 * Afterwards the distances and the parents of the reached cells can be obtained by the means of their local indexes.
+	 * @param cluster - The cluster to be searched.
+	 * @param source - The cell from which the search starts.
+	 * @param target - The cell at which the search finishes, or -1 to search the whole cluster.
+	 */
+	private void searchWithinCluster(Cluster cluster, int source, int target) {
+		localCluster = cluster;
+		localOpenList.clear();
+		localReached.nextGeneration();
+
+		int numberOfDirections = allowDiagonalPathFinding ? GridMap.numberOfDirections : GridMap.numberOfNonDiagonalDirections;
+		int sourceIndex = getLocalIndex(cluster, source);
+		localReached.mark(sourceIndex);
+		localDistance[sourceIndex] = 0;
+		localOpenList.add(sourceIndex, 0);
+
+		while (!localOpenList.isEmpty()) {
+			int index = localOpenList.poll();
+			numberOfOperations++;
+			int column = cluster.firstColumn + index % cluster.width;
+			int row = cluster.firstRow + index / cluster.width;
+			if (target != -1 && grid.getCellIndex(column, row) == target) {
+				return;
+			}
+			for (int direction = 0; direction < numberOfDirections; direction++) {
+				int adjacentColumn = column + GridMap.columnOffsets[direction];
+				int adjacentRow = row + GridMap.rowOffsets[direction];
+				if (!cluster.contains(adjacentColumn, adjacentRow) || !isWalkable(adjacentColumn, adjacentRow)) {
+					continue;
+				}
+				int adjacentIndex = (adjacentRow - cluster.firstRow) * cluster.width + (adjacentColumn - cluster.firstColumn);
+				int distanceThroughCurrent = localDistance[index] + GridMap.stepCosts[direction];
+				if (!localReached.isMarked(adjacentIndex)) {
+					localReached.mark(adjacentIndex);
+					localDistance[adjacentIndex] = distanceThroughCurrent;
+					localParentDirection[adjacentIndex] = (byte) direction;
+					localOpenList.add(adjacentIndex, distanceThroughCurrent);
+				} else if (localOpenList.contains(adjacentIndex) && distanceThroughCurrent < localDistance[adjacentIndex]) {
+					localDistance[adjacentIndex] = distanceThroughCurrent;
+					localParentDirection[adjacentIndex] = (byte) direction;
+					localOpenList.decreaseKey(adjacentIndex, distanceThroughCurrent);
+				}
+			}
+		}
+	}//End of searchWithinCluster method
+
+	/**
+	 * Getter for the distance of the cell from the source cell of the last search within a single cluster.
+	 * @param cell - The cell of the cluster.
+	 * @return - integer with the distance, or -1 if the cell has not been reached.
+	 */
+	private int getLocalDistance(int cell) {
+		int index = getLocalIndex(localCluster, cell);
+		return localReached.isMarked(index) ? localDistance[index] : -1;
+	}
+
+	/**
+	 * Getter for the distances of the cells from the source cell of the last search within a single cluster.
+	 * @param cells - The cells of the cluster.
+	 * @return - The array of the distances, with -1 for the cells which have not been reached.
+	 */
+	private int[] getLocalDistances(int[] cells) {
+		int[] distances = new int[cells.length];
+		for (int i = 0; i < cells.length; i++) {
+			distances[i] = getLocalDistance(cells[i]);
+		}
+		return distances;
+	}
+
+	/**
+	 * Getter for the local index of the cell within its cluster.
+	 * @param cluster - The cluster of the cell.
+	 * @param cell - The cell of the grid.
+	 * @return - integer with the local index of the cell.
+	 */
+	private int getLocalIndex(Cluster cluster, int cell) {
+		return (grid.getRow(cell) - cluster.firstRow) * cluster.width + (grid.getColumn(cell) - cluster.firstColumn);
+	}
+
+	/**
+	 * Getter for the cluster of the given cell.
+	 * @param cell - The cell of the grid.
+	 * @return - The cluster containing the cell.
+	 */
+	private Cluster getCluster(int cell) {
+		return clusters[(grid.getRow(cell) / clusterSize) * clustersWide + grid.getColumn(cell) / clusterSize];
+	}
+
+	/**
+	 * Getter for the boolean whether the cell at the given column and row can be moved through,
+	 * that is it is within the bounds of the grid and it is not the obstacle.
+	 * @param column - The column of the cell.
+	 * @param row - The row of the cell.
+	 * @return - boolean whether the cell can be moved through.
+	 */
+	private boolean isWalkable(int column, int row) {
+		return grid.isWithinBounds(column, row) && !grid.isObstacle(grid.getCellIndex(column, row));
+	}
+
+	/**
+	 * A method for calculating the heuristics value of the abstract node, that is the exact distance to the goal cell on the grid
+	 * without the obstacles (octile if the diagonal path finding is allowed, otherwise Manhattan).
+	 * @param cell - The cell of the abstract node.
+	 * @param goal - The goal cell.
+	 * @return - integer with the heuristics value.
+	 */
+	private int calculateHeuristics(int cell, int goal) {
+		return Heuristics.distanceWithoutObstacles(grid, cell, goal, allowDiagonalPathFinding);
+	}//End of calculateHeuristics method
+
+	/**
+	 * A method for finding the index of the value within the array.
+	 * @param array - The array to be searched.
+	 * @param value - The value to be found.
+	 * @return - integer with the index of the value, or -1 if the array does not contain it.
+	 */
+	private static int indexOf(int[] array, int value) {
+		for (int i = 0; i < array.length; i++) {
+			if (array[i] == value) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * The Cluster class represents a single rectangle of the partitioned grid, together with its entrances,
+	 * the transitions from them to the surrounding clusters, and the distances between them.
+	 */
+	private static class Cluster {
+
+		/**
+		 * Declares the column of the top left cell of the cluster.
+		 */
+		private final int firstColumn;
+
+		/**
+		 * Declares the row of the top left cell of the cluster.
+		 */
+		private final int firstRow;
+
+		/**
+		 * Declares the number of the columns of the cluster.
+		 */
+		private final int width;
+
+		/**
+		 * Declares the number of the rows of the cluster.
+		 */
+		private final int height;
+
+		/**
+		 * Declares the cells of the entrances of the cluster.
+		 */
+		private int[] entrances;
+
+		/**
+		 * Declares the cells outside of the cluster reached by the transitions from each of the entrances.
+		 */
+		private int[][] transitionTargets;
+
+		/**
+		 * Declares the costs of the transitions from each of the entrances.
+		 */
+		private int[][] transitionCosts;
+
+		/**
+		 * Declares the distances between each pair of the entrances within the cluster, -1 if they are not connected within the cluster.
+		 */
+		private int[][] distances;
+
+		/**
+		 * The constructor of this class.
+		 * @param firstColumn - The column of the top left cell of the cluster.
+		 * @param firstRow - The row of the top left cell of the cluster.
+		 * @param width - The number of the columns of the cluster.
+		 * @param height - The number of the rows of the cluster.
+		 */
+		private Cluster(int firstColumn, int firstRow, int width, int height) {
+			this.firstColumn = firstColumn;
+			this.firstRow = firstRow;
+			this.width = width;
+			this.height = height;
+		}
+
+		/**
+		 * A method for determining whether the cell at the given column and row is within the cluster.
+		 * @param column - The column of the cell.
+		 * @param row - The row of the cell.
+		 * @return - boolean whether the cell is within the cluster.
+		 */
+		private boolean contains(int column, int row) {
+			return column >= firstColumn && column < firstColumn + width && row >= firstRow && row < firstRow + height;
+		}
+	}
+}
@@ -0,0 +1,168 @@
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * The Histogram class counts the recorded non-negative values (e.g. the latencies of the searches in nanoseconds) in the buckets
+ * of logarithmically growing widths, so that any percentile of the values can be estimated within 12.5 % of the value,
+ * while the histogram keeps a fixed number of counters regardless of the number and range of the values. <br>
+ * The values below 16 have their own buckets, and each following power of two is split into 8 buckets of the same width. <br>
+ * Recording the value is a few atomic increments without any lock, so the histogram can be shared by the searching threads.
+ *
+ */
+public class Histogram {
+
+	/**
+	 * Declares the number of the bits of the value (below its highest bit) which select the bucket within the power of two.
+	 */
+	private static final int subBucketBits = 3;
+
+	/**
+	 * Declares the number of the buckets within each power of two.
+	 */
+	private static final int subBucketCount = 1 << subBucketBits;
+
+	/**
+	 * Declares the number of the lowest values which have a bucket each.
+	 */
+	private static final int exactBucketCount = 2 * subBucketCount;
+
+	/**
+	 * Declares the exponent of the lowest power of two which is split into the buckets.
+	 */
+	private static final int firstExponent = subBucketBits + 1;
+
+	/**
+	 * Declares the total number of the buckets, covering all of the non-negative long values.
+	 */
+	private static final int numberOfBuckets = exactBucketCount + (63 - firstExponent) * subBucketCount;
+
+	/**
+	 * Declares the number of the values recorded in each of the buckets.
+	 */
+	private final AtomicLongArray counts = new AtomicLongArray(numberOfBuckets);
+
+	/**
+	 * Declares the number of the recorded values.
+	 */
+	private final AtomicLong totalCount = new AtomicLong();
+
+	/**
+	 * Declares the sum of the recorded values.
+	 */
+	private final AtomicLong sum = new AtomicLong();
+
+	/**
+	 * Declares the highest recorded value.
+	 */
+	private final AtomicLong max = new AtomicLong();
+
+	/**
+	 * A method for recording the value.
+	 * @param value - The value to be recorded, whereby the negative values are recorded as 0.
+	 */
+	public void record(long value) {
+		value = Math.max(0, value);
+		counts.incrementAndGet(getBucket(value));
+		totalCount.incrementAndGet();
+		sum.addAndGet(value);
+		long highest = max.get();
+		while (value > highest && !max.compareAndSet(highest, value)) {
+			highest = max.get();
+		}
+	}//End of record method
+
+	/**
+	 * A method for removing all of the recorded values. The values recorded at the same time by the other threads
+	 * may be partially kept.
+	 */
+	public void reset() {
+		for (int bucket = 0; bucket < numberOfBuckets; bucket++) {
+			counts.set(bucket, 0);
+		}
+		totalCount.set(0);
+		sum.set(0);
+		max.set(0);
+	}//End of reset method
+
+	/**
+	 * Getter for the number of the recorded values.
+	 * @return - long with the number of the values.
+	 */
+	public long getCount() {
+		return totalCount.get();
+	}
+
+	/**
+	 * Getter for the mean of the recorded values.
+	 * @return - double with the mean, or 0 if no value has been recorded.
+	 */
+	public double getMean() {
+		long count = totalCount.get();
+		return count == 0 ? 0 : (double) sum.get() / count;
+	}
+
+	/**
+	 * Getter for the highest recorded value.
+	 * @return - long with the highest value, or 0 if no value has been recorded.
+	 */
+	public long getMax() {
+		return max.get();
+	}
+
+	/**
+	 * A method for estimating the percentile of the recorded values, i.e. the value which is not exceeded by the given percentage
+	 * of the values. The estimate is the highest value of the bucket containing the percentile (but at most the highest recorded value),
+	 * so the percentile is never underestimated.
+	 * @param percentile - The percentage of the values, between 0 and 100 (e.g. 99.9).
+	 * @return - long with the estimated percentile, or 0 if no value has been recorded.
+	 */
+	public long getPercentile(double percentile) {
+		long count = totalCount.get();
+		if (count == 0) {
+			return 0;
+		}
+		//The rank of the value of the percentile, counted from 1
+		long rank = Math.max(1, (long) Math.ceil(count * Math.min(100, percentile) / 100));
+		long cumulativeCount = 0;
+		for (int bucket = 0; bucket < numberOfBuckets; bucket++) {
+			cumulativeCount += counts.get(bucket);
+			if (cumulativeCount >= rank) {
+				return Math.min(getHighestValue(bucket), max.get());
+			}
+		}
+		return max.get();
+	}//End of getPercentile method
+
+	/**
+	 * A method for determining the bucket of the value.
+	 * @param value - The non-negative value.
+	 * @return - integer with the index of the bucket.
+	 */
+	private static int getBucket(long value) {
+		if (value < exactBucketCount) {
+			return (int) value;
+		}
+		int exponent = 63 - Long.numberOfLeadingZeros(value);
+		int subBucket = (int) (value >>> (exponent - subBucketBits)) & (subBucketCount - 1);
+		return exactBucketCount + (exponent - firstExponent) * subBucketCount + subBucket;
+	}//End of getBucket method
+
+	/**
+	 * A method for determining the highest value of the bucket.
+	 * @param bucket - The index of the bucket.
+	 * @return - long with the highest value which is counted in the bucket.
+	 */
+	private static long getHighestValue(int bucket) {
+		if (bucket < exactBucketCount) {
+			return bucket;
+		}
+		if (bucket == numberOfBuckets - 1) {
+			return Long.MAX_VALUE;
+		}
+		int exponent = (bucket - exactBucketCount) / subBucketCount + firstExponent;
+		long subBucket = (bucket - exactBucketCount) % subBucketCount;
+		//The lowest value of the following bucket, minus 1
+		return ((subBucketCount + subBucket + 1) << (exponent - subBucketBits)) - 1;
+	}//End of getHighestValue method
+}
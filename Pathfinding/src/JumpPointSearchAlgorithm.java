@@ -0,0 +1,400 @@
+
+/**
+ * The JumpPointSearchAlgorithm class is responsible for finding an optimal path between the given starting and finishing nodes
+ * on the grid with uniform costs, where the diagonal path finding is allowed. <br>
+ * The Jump Point Search is an A* which prunes the symmetric paths: instead of adding every surrounding cell to the open list,
+ * it jumps from the cell in a straight or diagonal line until it reaches a jump point, that is the goal cell or a cell with
+ * a forced neighbour (i.e. a neighbour which can only be reached optimally through this cell due to an adjacent obstacle).
+ * Only the jump points are added to the open list, so the number of visited nodes is usually orders of magnitude lower than the A*. <br>
+ * The octile heuristics (i.e. the exact distance on the grid without the obstacles) is used, so the path is optimal. <br>
+ * If the diagonal path finding is not allowed, then no jumps are performed and every surrounding cell is added to the open list.
+ *
+ */
+public class JumpPointSearchAlgorithm implements PathfindingEngine {
+
+	/**
+	 * Declares a heap for openList, that is for the jump points which
+	 * have been found, but have not been expanded yet, ordered by their path scoring.
+	 */
+	private CellHeap openList;
+
+	/**
+	 * Declares an array for the closedList, indexed by the cell, that is for the jump points which
+	 * have been already expanded.
+	 */
+	private CellStamps closedList;
+
+	/**
+	 * Declares the precise distances to the start cell, by the cell.
+	 */
+	private CellValues distanceFromStart;
+
+	/**
+	 * Declares the parents of the jump points, by the cell, whereby the parent is the previous jump point
+	 * on the path, which is not necessarily adjacent to the cell.
+	 */
+	private CellValues parentCell;
+
+	/**
+	 * Declares the grid on which the path is calculated
+	 */
+	private GridMap grid;
+
+	/**
+	 * Declares the index of the cell for the start
+	 */
+	private int start;
+
+	/**
+	 * Declares the index of the cell for the goal
+	 */
+	private int goal;
+
+	/**
+	 * Declares the column of the goal cell
+	 */
+	private int goalColumn;
+
+	/**
+	 * Declares the row of the goal cell
+	 */
+	private int goalRow;
+
+	/**
+	 * Declares a boolean for tracking whether the user wants to allow diagonal path finding
+	 */
+	private boolean allowDiagonalPathFinding = true;
+
+	/**
+	 * Declares the listener to be notified about the progress of the search, or null if there is none.
+	 */
+	private SearchListener listener;
+
+	/**
+	 * Declares an integer variable for maintaining the number of operations that the path-finder performs,
+	 * that is the number of cells examined while jumping.
+	 */
+	private int numberOfOperations = 0;
+
+	/**
+	 * Declares an integer variable for maintaining the number of visited nodes that the path-finder performs,
+	 * that is the number of jump points added to the open list.
+	 */
+	private int numberOfVisitedNodes = 0;
+
+	/**
+	 * The Jump Point Search algorithm which performs the pathfinding in following maner: <br>
+	 * 1) Initialise the closed and open lists, adding the start to the open list <br>
+	 * 2) While the open list is not empty then: <br>
+	 * 3) &nbsp&nbsp&nbspSelect the jump point with the lowest path scoring from the open list, then remove it from the open list and add to the closed list <br>
+	 * 4) &nbsp&nbsp&nbspIf the jump point is the goal cell, then trace back the path (from goal to start), and break. <br>
+	 * 5) &nbsp&nbsp&nbspObtain the directions which have not been pruned (i.e. the natural and forced neighbours of the jump point),
+	 * and jump in each of them, adding the jump points which have been found to the open list. <br>
+	 * The goal is only accepted once it has been removed from the open list, so the path is optimal.
+	 * @param grid - The grid on which the path is calculated.
+	 * @param start - The cell which was selected as the start node by the user in the GUI
+	 * @param goal - The cell which was selected as the goal/finish node by the user in the GUI.
+	 * @param options - The options of the search, that is whether to allow diagonals.
+	 * @param listener - The listener to be notified about the jump points and the number of operations, or null.
+	 * @return - The result of the search.
+	 */
+	public PathResult calculatePath(GridMap grid, int start, int goal, SearchOptions options, SearchListener listener) {
+		long startTime = System.nanoTime();
+
+		this.grid = grid;
+		this.start = start;
+		this.goal = goal;
+		this.goalColumn = grid.getColumn(goal);
+		this.goalRow = grid.getRow(goal);
+		this.allowDiagonalPathFinding = options.isAllowDiagonalPathFinding();
+		this.listener = listener;
+
+		numberOfOperations = 0;
+		numberOfVisitedNodes = 0;
+
+		//Initialise the closedList and the openList
+		initialiseSearchSpace(grid.getNumberOfCells());
+
+		//Add the start cell to the open list, it has no parent
+		distanceFromStart.set(start, 0);
+		parentCell.set(start, -1);
+		openList.add(start, calculateHeuristics(grid.getColumn(start), grid.getRow(start)));
+
+		//While the open list is not empty
+		while (!openList.isEmpty()) {
+
+			//Select the jump point with the lowest path scoring on OPEN, remove it from OPEN, and put it on CLOSED. Call this cell s.
+			int s = openList.poll();
+			closedList.mark(s);
+			if (listener != null) {
+				listener.nodeExpanded(s);
+			}
+
+			if (s == goal) {
+				return traceThePath(startTime);
+			}
+
+			identifySuccessors(s);
+			//The jump points found from the expanded cell are counted, so the counters are reported once they have all been added
+			if (listener != null) {
+				listener.progressUpdated(numberOfOperations, numberOfVisitedNodes);
+			}
+		}//End of while openList is not empty
+
+		//The open list is empty, exit with failure.
+		return new PathResult(new int[0], -1, numberOfOperations, numberOfVisitedNodes, System.nanoTime() - startTime);
+	}//End of calculatePath method
+
+	/**
+	 * A method for initialising the state of the search, which is allocated only when the number of cells has changed,
+	 * otherwise the open list, the closed list, the distances and the parents move onto the next generation, without clearing their pages.
+	 * @param numberOfCells - The number of cells of the grid.
+	 */
+	private void initialiseSearchSpace(int numberOfCells) {
+		if (closedList == null || closedList.getNumberOfCells() != numberOfCells) {
+			openList = new CellHeap(numberOfCells);
+			closedList = new CellStamps(numberOfCells);
+			distanceFromStart = new CellValues(numberOfCells, 0);
+			parentCell = new CellValues(numberOfCells, -1);
+		} else {
+			openList.clear();
+			closedList.nextGeneration();
+			distanceFromStart.nextGeneration();
+			parentCell.nextGeneration();
+		}
+	}//End of initialiseSearchSpace method
+
+	/**
+	 * A method for finding the successors of the jump point, in the following manner: <br>
+	 * 1) If the jump point is the start cell, then all of the surrounding directions are searched. <br>
+	 * 2) Otherwise the direction of travel (from the parent) is followed, together with its components if it is diagonal,
+	 * and the directions towards the forced neighbours. <br>
+	 * 3) In each of the directions jump, and add the jump point which has been found to the open list.
+	 * @param current - The jump point which is being expanded.
+	 */
+	private void identifySuccessors(int current) {
+		int column = grid.getColumn(current);
+		int row = grid.getRow(current);
+
+		if (!allowDiagonalPathFinding) {
+			//Without the diagonals there are no jumps, so every surrounding cell is a successor
+			for (int direction = 0; direction < GridMap.numberOfNonDiagonalDirections; direction++) {
+				numberOfOperations++;
+				int adjacentColumn = column + GridMap.columnOffsets[direction];
+				int adjacentRow = row + GridMap.rowOffsets[direction];
+				if (isWalkable(adjacentColumn, adjacentRow)) {
+					expandJumpPoint(grid.getCellIndex(adjacentColumn, adjacentRow), current);
+				}
+			}
+			return;
+		}
+
+		if (parentCell.get(current) == -1) {
+			//The start cell has no direction of travel, so search in all of the directions
+			for (int direction = 0; direction < GridMap.numberOfDirections; direction++) {
+				jumpAndExpand(current, column, row, GridMap.columnOffsets[direction], GridMap.rowOffsets[direction]);
+			}
+			return;
+		}
+
+		//Obtain the direction of travel from the parent (which lies on a straight or diagonal line)
+		int columnDirection = Integer.signum(column - grid.getColumn(parentCell.get(current)));
+		int rowDirection = Integer.signum(row - grid.getRow(parentCell.get(current)));
+
+		if (columnDirection != 0 && rowDirection != 0) {
+			//Diagonal: the natural neighbours are the diagonal and its two components
+			jumpAndExpand(current, column, row, 0, rowDirection);
+			jumpAndExpand(current, column, row, columnDirection, 0);
+			jumpAndExpand(current, column, row, columnDirection, rowDirection);
+			//Forced neighbours due to the obstacles behind the jump point
+			if (!isWalkable(column - columnDirection, row)) {
+				jumpAndExpand(current, column, row, -columnDirection, rowDirection);
+			}
+			if (!isWalkable(column, row - rowDirection)) {
+				jumpAndExpand(current, column, row, columnDirection, -rowDirection);
+			}
+		} else if (columnDirection != 0) {
+			//Horizontal: the natural neighbour is straight ahead
+			jumpAndExpand(current, column, row, columnDirection, 0);
+			//Forced neighbours due to the obstacles above and below the jump point
+			if (!isWalkable(column, row + 1)) {
+				jumpAndExpand(current, column, row, columnDirection, 1);
+			}
+			if (!isWalkable(column, row - 1)) {
+				jumpAndExpand(current, column, row, columnDirection, -1);
+			}
+		} else {
+			//Vertical: the natural neighbour is straight ahead
+			jumpAndExpand(current, column, row, 0, rowDirection);
+			//Forced neighbours due to the obstacles on the left and right of the jump point
+			if (!isWalkable(column + 1, row)) {
+				jumpAndExpand(current, column, row, 1, rowDirection);
+			}
+			if (!isWalkable(column - 1, row)) {
+				jumpAndExpand(current, column, row, -1, rowDirection);
+			}
+		}
+	}//End of identifySuccessors method
+
+	/**
+	 * A method for jumping from the current jump point in the given direction, and expanding the jump point which has been found (if any).
+	 * @param current - The jump point which is being expanded.
+	 * @param column - The column of the current jump point.
+	 * @param row - The row of the current jump point.
+	 * @param columnDirection - The horizontal component of the direction (-1, 0 or 1).
+	 * @param rowDirection - The vertical component of the direction (-1, 0 or 1).
+	 */
+	private void jumpAndExpand(int current, int column, int row, int columnDirection, int rowDirection) {
+		int jumpPoint = jump(column, row, columnDirection, rowDirection);
+		if (jumpPoint != -1) {
+			expandJumpPoint(jumpPoint, current);
+		}
+	}//End of jumpAndExpand method
+
+	/**
+	 * A method for jumping from the given cell in the given direction, until the goal cell or the cell with a forced neighbour
+	 * is reached. <br>
+	 * While jumping diagonally, the cell is also a jump point if any of the horizontal or vertical jumps from it finds a jump point.
+	 * @param column - The column of the cell from which the jump starts.
+	 * @param row - The row of the cell from which the jump starts.
+	 * @param columnDirection - The horizontal component of the direction (-1, 0 or 1).
+	 * @param rowDirection - The vertical component of the direction (-1, 0 or 1).
+	 * @return - The cell of the jump point, or -1 if the jump has reached an obstacle or the bound of the grid.
+	 */
+	private int jump(int column, int row, int columnDirection, int rowDirection) {
+		while (true) {
+			column += columnDirection;
+			row += rowDirection;
+			numberOfOperations++;
+
+			if (!isWalkable(column, row)) {
+				return -1;
+			}
+			if (column == goalColumn && row == goalRow) {
+				return goal;
+			}
+
+			if (columnDirection != 0 && rowDirection != 0) {
+				//Diagonal: check for the forced neighbours
+				if ((isWalkable(column - columnDirection, row + rowDirection) && !isWalkable(column - columnDirection, row))
+						|| (isWalkable(column + columnDirection, row - rowDirection) && !isWalkable(column, row - rowDirection))) {
+					return grid.getCellIndex(column, row);
+				}
+				//The cell is a jump point if a jump point can be reached horizontally or vertically from it
+				if (jump(column, row, columnDirection, 0) != -1 || jump(column, row, 0, rowDirection) != -1) {
+					return grid.getCellIndex(column, row);
+				}
+			} else if (columnDirection != 0) {
+				//Horizontal: check for the forced neighbours above and below
+				if ((isWalkable(column + columnDirection, row + 1) && !isWalkable(column, row + 1))
+						|| (isWalkable(column + columnDirection, row - 1) && !isWalkable(column, row - 1))) {
+					return grid.getCellIndex(column, row);
+				}
+			} else {
+				//Vertical: check for the forced neighbours on the left and right
+				if ((isWalkable(column + 1, row + rowDirection) && !isWalkable(column + 1, row))
+						|| (isWalkable(column - 1, row + rowDirection) && !isWalkable(column - 1, row))) {
+					return grid.getCellIndex(column, row);
+				}
+			}
+		}
+	}//End of jump method
+
+	/**
+	 * A method for expanding the jump point in the following manner: <br>
+	 * 1) If the jump point is on the closed list, do nothing. <br>
+	 * 2) Otherwise if the jump point is not on the open list, then add it to the open list with the current jump point as its parent,
+	 * and mark it as visited. <br>
+	 * 3) Otherwise if the current jump point is a cheaper parent, then set it as the parent and decrease the key on the open list heap.
+	 * @param jumpPoint - The jump point which has been found.
+	 * @param current - The jump point from which the jump has been performed.
+	 */
+	private void expandJumpPoint(int jumpPoint, int current) {
+		if (closedList.isMarked(jumpPoint)) {
+			return;
+		}
+
+		int jumpPointColumn = grid.getColumn(jumpPoint);
+		int jumpPointRow = grid.getRow(jumpPoint);
+		//The jump point lies on a straight or diagonal line from the current jump point, so the distance is the octile distance
+		int distanceThroughCurrent = distanceFromStart.get(current)
+				+ Heuristics.octileDistance(Math.abs(jumpPointColumn - grid.getColumn(current)), Math.abs(jumpPointRow - grid.getRow(current)));
+
+		if (!openList.contains(jumpPoint)) {
+			parentCell.set(jumpPoint, current);
+			distanceFromStart.set(jumpPoint, distanceThroughCurrent);
+			openList.add(jumpPoint, distanceThroughCurrent + calculateHeuristics(jumpPointColumn, jumpPointRow));
+
+			//Increment the number of visited nodes
+			numberOfVisitedNodes++;
+
+			if (listener != null) {
+				listener.nodeVisited(jumpPoint);
+			}
+		} else if (distanceThroughCurrent < distanceFromStart.get(jumpPoint)) {
+			parentCell.set(jumpPoint, current);
+			distanceFromStart.set(jumpPoint, distanceThroughCurrent);
+			openList.decreaseKey(jumpPoint, distanceThroughCurrent + calculateHeuristics(jumpPointColumn, jumpPointRow));
+
+			if (listener != null) {
+				listener.parentChanged(jumpPoint, current);
+			}
+		}
+	}//End of expandJumpPoint method
+
+	/**
+	 * A method for tracing the path backwards (from goal to start cell) through the jump points,
+	 * and filling in the cells which have been jumped over between each pair of the jump points.
+	 * @param startTime - The time (in nanoseconds) at which the search has been started.
+	 * @return - The result of the search with the path from the start to the goal cell.
+	 */
+	private PathResult traceThePath(long startTime) {
+		//Count the cells on the path, which is the number of steps between the jump points + 1
+		int length = 1;
+		for (int cell = goal; cell != start; cell = parentCell.get(cell)) {
+			int parent = parentCell.get(cell);
+			length += Math.max(Math.abs(grid.getColumn(cell) - grid.getColumn(parent)), Math.abs(grid.getRow(cell) - grid.getRow(parent)));
+		}
+
+		//Trace backwards, stepping from each jump point towards its parent
+		int[] path = new int[length];
+		int i = length - 1;
+		for (int cell = goal; cell != start; cell = parentCell.get(cell)) {
+			int parent = parentCell.get(cell);
+			int columnDirection = Integer.signum(grid.getColumn(parent) - grid.getColumn(cell));
+			int rowDirection = Integer.signum(grid.getRow(parent) - grid.getRow(cell));
+			int cellOffset = rowDirection * grid.getWidth() + columnDirection;
+			for (int stepCell = cell; stepCell != parent; stepCell += cellOffset) {
+				path[i--] = stepCell;
+			}
+		}
+		path[0] = start;
+
+		return new PathResult(path, distanceFromStart.get(goal), numberOfOperations, numberOfVisitedNodes, System.nanoTime() - startTime);
+	}//End of traceThePath method
+
+	/**
+	 * Getter for the boolean whether the cell at the given column and row can be moved through,
+	 * that is it is within the bounds of the grid and it is not the obstacle.
+	 * @param column - The column of the cell.
+	 * @param row - The row of the cell.
+	 * @return - boolean whether the cell can be moved through.
+	 */
+	private boolean isWalkable(int column, int row) {
+		return grid.isWithinBounds(column, row) && !grid.isObstacle(grid.getCellIndex(column, row));
+	}
+
+	/**
+	 * A method for calculating the octile heuristics value (i.e. the estimated distance to the goal cell) of the given cell.
+	 * @param column - The column of the cell.
+	 * @param row - The row of the cell.
+	 * @return - integer with the heuristics value.
+	 */
+	private int calculateHeuristics(int column, int row) {
+		if (!allowDiagonalPathFinding) {
+			//Without the diagonals, the exact distance on the grid without the obstacles is the Manhattan distance
+			return 10 * (Math.abs(column - goalColumn) + Math.abs(row - goalRow));
+		}
+		return Heuristics.octileDistance(Math.abs(column - goalColumn), Math.abs(row - goalRow));
+	}//End of calculateHeuristics method
+}
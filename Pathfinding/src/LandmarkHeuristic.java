@@ -0,0 +1,413 @@
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Arrays;
+import java.util.zip.CRC32;
+
+/**
+ * The LandmarkHeuristic class is the ALT heuristics (A*, Landmarks and the Triangle inequality) of the fixed grid. <br>
+ * Before the searches, a few landmark cells are chosen, and the exact distances (around the obstacles) of every cell from each
+ * of the landmarks are calculated by the full Dijkstra search. Since the cost of the shortest path from the cell to its target
+ * cannot be lower than the difference of their distances from any landmark (the triangle inequality), the highest of the differences
+ * is the admissible heuristics, which (unlike the geometric heuristics) takes the obstacles into account, so A* expands far fewer cells
+ * when the path leads around the obstacles. The heuristics is never lower than the octile distance, which it falls back to
+ * when the cells are not reached from any landmark. <br>
+ * The landmarks are chosen one by one as the cell farthest from the landmarks chosen so far, so they lie on the edges of the grid,
+ * behind which the paths of the queries tend to lead. <br>
+ * The distances are stored as 16-bit values, interleaved by the cell (i.e. the distances of the cell from all of the landmarks are next
+ * to each other in the memory), so estimating the cell reads a single cache line. If the distances of the grid exceed the 16-bit range,
+ * then they are stored in the coarser units, rounded down (and the few distances beyond even those are stored as the highest value),
+ * whereby the differences are lowered by the rounding so they stay admissible. <br>
+ * Preprocessing the large grid takes a while, so the landmarks can be saved into the landmark file and loaded again for the same grid,
+ * whereby the file is checked against the size and obstacles of the grid. The landmarks are only valid for the obstacles
+ * for which they have been preprocessed, hence they have to be preprocessed again once an obstacle is placed or removed. <br>
+ * The file starts with the header of 32 bytes (the magic number "LMRK", the version of the format, the width and height of the grid,
+ * the flags, the number of the landmarks, the unit of the distances and the checksum of the obstacles), followed by the cells of the landmarks
+ * and the distances of the cells. <br>
+ * Usage: options.setHeuristicsType("alt").setLandmarks(LandmarkHeuristic.preprocess(grid, 16, true))
+ *
+ */
+public class LandmarkHeuristic implements Heuristic {
+
+	/**
+	 * Declares the magic number at the start of the landmark file, i.e. "LMRK".
+	 */
+	public static final int magicNumber = 0x4C4D524B;
+
+	/**
+	 * Declares the version of the format of the landmark file.
+	 */
+	public static final int formatVersion = 1;
+
+	/**
+	 * Declares the size (in bytes) of the header of the landmark file.
+	 */
+	public static final int headerSize = 32;
+
+	/**
+	 * Declares the flag of the landmark file for the distances calculated with the diagonal path finding.
+	 */
+	private static final int diagonalFlag = 1;
+
+	/**
+	 * Declares the stored distance of the cell which is not reached from the landmark.
+	 */
+	private static final char unreachable = 0xFFFF;
+
+	/**
+	 * Declares the highest stored distance, below the unreachable value.
+	 */
+	private static final int maximumStoredDistance = 0xFFFE;
+
+	/**
+	 * Declares the grid for which the landmarks have been preprocessed (or loaded).
+	 */
+	private final GridMap grid;
+
+	/**
+	 * Declares the version of the grid for which the landmarks have been preprocessed (or loaded).
+	 */
+	private final int gridVersion;
+
+	/**
+	 * Declares a boolean whether the distances have been calculated with the diagonal path finding.
+	 */
+	private final boolean allowDiagonalPathFinding;
+
+	/**
+	 * Declares the cells of the landmarks.
+	 */
+	private final int[] landmarkCells;
+
+	/**
+	 * Declares the unit of the stored distances, that is the cost of the steps divided by the unit and rounded down.
+	 */
+	private final int distanceUnit;
+
+	/**
+	 * Declares the distances of the cells from the landmarks, whereby the distance of the cell from the landmark i is stored
+	 * at the index (cell * number of the landmarks + i).
+	 */
+	private final char[] distances;
+
+	/**
+	 * The constructor of this class.
+	 * @param grid - The grid of the landmarks.
+	 * @param allowDiagonalPathFinding - boolean whether the distances have been calculated with the diagonal path finding.
+	 * @param landmarkCells - The cells of the landmarks.
+	 * @param distanceUnit - The unit of the stored distances.
+	 * @param distances - The stored distances of the cells from the landmarks.
+	 */
+	private LandmarkHeuristic(GridMap grid, boolean allowDiagonalPathFinding, int[] landmarkCells, int distanceUnit, char[] distances) {
+		this.grid = grid;
+		this.gridVersion = grid.getVersion();
+		this.allowDiagonalPathFinding = allowDiagonalPathFinding;
+		this.landmarkCells = landmarkCells;
+		this.distanceUnit = distanceUnit;
+		this.distances = distances;
+	}
+
+	/**
+	 * A method for choosing the landmarks of the grid and calculating the distances of the cells from them. <br>
+	 * The first landmark is the cell farthest from the first free cell of the grid, and each following landmark is the cell
+	 * whose distance from its closest landmark is the highest, so the full Dijkstra search is performed once per landmark (plus once
+	 * for the first free cell). The unit of the stored distances is chosen by the highest distance from the first landmark,
+	 * and the rare higher distances of the other landmarks are stored as the highest stored distance.
+	 * @param grid - The grid of the landmarks.
+	 * @param numberOfLandmarks - The number of the landmarks, e.g. 16. The grid without enough reachable cells gets fewer landmarks.
+	 * @param allowDiagonalPathFinding - boolean whether the searches using the landmarks allow the diagonal path finding.
+	 * @return - The landmarks of the grid.
+	 */
+	public static LandmarkHeuristic preprocess(GridMap grid, int numberOfLandmarks, boolean allowDiagonalPathFinding) {
+		if (numberOfLandmarks <= 0) {
+			throw new IllegalArgumentException("The number of the landmarks must be positive: " + numberOfLandmarks);
+		}
+		long startTime = System.nanoTime();
+		int numberOfCells = grid.getNumberOfCells();
+		if ((long) numberOfCells * numberOfLandmarks > Integer.MAX_VALUE) {
+			throw new IllegalArgumentException("The grid of " + numberOfCells + " cells is too large for " + numberOfLandmarks + " landmarks");
+		}
+		BucketQueue queue = new BucketQueue(14);
+
+		//The distance of each cell from its closest landmark, and (before the first landmark) from the first free cell
+		int[] closestDistances = new int[numberOfCells];
+		int firstFreeCell = 0;
+		while (firstFreeCell < numberOfCells && grid.isObstacle(firstFreeCell)) {
+			firstFreeCell++;
+		}
+		if (firstFreeCell == numberOfCells) {
+			throw new IllegalArgumentException("The grid has no free cell for the landmarks");
+		}
+		calculateDistances(grid, firstFreeCell, allowDiagonalPathFinding, queue, closestDistances);
+
+		int[] landmarkCells = new int[numberOfLandmarks];
+		int[] distance = new int[numberOfCells];
+		char[] distances = new char[numberOfCells * numberOfLandmarks];
+		int distanceUnit = 1;
+		int numberOfChosen = 0;
+		while (numberOfChosen < numberOfLandmarks) {
+			int farthestCell = findFarthestCell(closestDistances);
+			if (farthestCell == -1) {
+				//Each reachable cell is already a landmark
+				break;
+			}
+			calculateDistances(grid, farthestCell, allowDiagonalPathFinding, queue, distance);
+			if (numberOfChosen == 0) {
+				//The first landmark lies on the edge of the grid, so its highest distance is about the longest path of the grid
+				int maximumDistance = 0;
+				for (int cell = 0; cell < numberOfCells; cell++) {
+					if (distance[cell] != Integer.MAX_VALUE) {
+						maximumDistance = Math.max(maximumDistance, distance[cell]);
+					}
+				}
+				distanceUnit = Math.max(1, (maximumDistance + maximumStoredDistance - 1) / maximumStoredDistance);
+			}
+			for (int cell = 0; cell < numberOfCells; cell++) {
+				if (distance[cell] == Integer.MAX_VALUE) {
+					distances[cell * numberOfLandmarks + numberOfChosen] = unreachable;
+				} else {
+					//The first landmark replaces the distances from the first free cell
+					closestDistances[cell] = numberOfChosen == 0 ? distance[cell] : Math.min(closestDistances[cell], distance[cell]);
+					distances[cell * numberOfLandmarks + numberOfChosen] = (char) Math.min(distance[cell] / distanceUnit, maximumStoredDistance);
+				}
+			}
+			landmarkCells[numberOfChosen] = farthestCell;
+			numberOfChosen++;
+		}
+		if (numberOfChosen < numberOfLandmarks) {
+			//Remove the gaps of the landmarks which have not been chosen
+			char[] chosenDistances = new char[numberOfCells * numberOfChosen];
+			for (int cell = 0; cell < numberOfCells; cell++) {
+				System.arraycopy(distances, cell * numberOfLandmarks, chosenDistances, cell * numberOfChosen, numberOfChosen);
+			}
+			distances = chosenDistances;
+			landmarkCells = Arrays.copyOf(landmarkCells, numberOfChosen);
+		}
+
+		if (SearchTrace.isEnabled(SearchTrace.infoLevel)) {
+			SearchTrace.log(SearchTrace.infoLevel, "Preprocessed %d landmarks in %d ms", numberOfChosen, (System.nanoTime() - startTime) / 1000000);
+		}
+		return new LandmarkHeuristic(grid, allowDiagonalPathFinding, landmarkCells, distanceUnit, distances);
+	}//End of preprocess method
+
+	/**
+	 * A method for calculating the distances of all of the cells from the source cell, by the Dijkstra search over the whole grid.
+	 * @param grid - The grid of the cells.
+	 * @param source - The source cell.
+	 * @param allowDiagonalPathFinding - boolean whether the diagonal steps are allowed.
+	 * @param queue - The empty bucket queue, which is reused by each of the searches.
+	 * @param distance - The array of the distances to be filled, in which the cells not reached from the source get Integer.MAX_VALUE.
+	 */
+	private static void calculateDistances(GridMap grid, int source, boolean allowDiagonalPathFinding, BucketQueue queue, int[] distance) {
+		Arrays.fill(distance, Integer.MAX_VALUE);
+		//Only the non-diagonal directions are stored first in the direction arrays
+		int numberOfDirections = allowDiagonalPathFinding ? GridMap.numberOfDirections : GridMap.numberOfNonDiagonalDirections;
+		distance[source] = 0;
+		queue.add(source, 0);
+		while (!queue.isEmpty()) {
+			int cell = queue.poll();
+			int cellDistance = queue.getCurrentDistance();
+			if (cellDistance > distance[cell]) {
+				//The cell has been added again with a lower distance, and already removed
+				continue;
+			}
+			for (int direction = 0; direction < numberOfDirections; direction++) {
+				int adjacent = grid.getAdjacentCell(cell, direction);
+				if (adjacent != -1 && !grid.isObstacle(adjacent)) {
+					int distanceThroughCell = cellDistance + GridMap.stepCosts[direction];
+					if (distanceThroughCell < distance[adjacent]) {
+						distance[adjacent] = distanceThroughCell;
+						queue.add(adjacent, distanceThroughCell);
+					}
+				}
+			}
+		}
+	}//End of calculateDistances method
+
+	/**
+	 * A method for finding the reachable cell farthest from its closest landmark.
+	 * @param closestDistances - The distances of the cells from their closest landmarks.
+	 * @return - integer with the farthest cell, or -1 if every reachable cell is a landmark.
+	 */
+	private static int findFarthestCell(int[] closestDistances) {
+		int farthestCell = -1;
+		int farthestDistance = 0;
+		for (int cell = 0; cell < closestDistances.length; cell++) {
+			if (closestDistances[cell] != Integer.MAX_VALUE && closestDistances[cell] > farthestDistance) {
+				farthestCell = cell;
+				farthestDistance = closestDistances[cell];
+			}
+		}
+		return farthestCell;
+	}//End of findFarthestCell method
+
+	@Override
+	public int estimate(GridMap grid, int cell, int target) {
+		int columnDistance = Math.abs(grid.getColumn(cell) - grid.getColumn(target));
+		int rowDistance = Math.abs(grid.getRow(cell) - grid.getRow(target));
+		int bound = allowDiagonalPathFinding ? Heuristics.octileDistance(columnDistance, rowDistance) : 10 * (columnDistance + rowDistance);
+
+		int numberOfLandmarks = landmarkCells.length;
+		int cellOffset = cell * numberOfLandmarks;
+		int targetOffset = target * numberOfLandmarks;
+		for (int landmark = 0; landmark < numberOfLandmarks; landmark++) {
+			int cellDistance = distances[cellOffset + landmark];
+			int targetDistance = distances[targetOffset + landmark];
+			if (cellDistance == unreachable || targetDistance == unreachable) {
+				continue;
+			}
+			//Each of the exact distances is at most (unit - 1) above its stored distance times the unit
+			int landmarkBound = Math.abs(targetDistance - cellDistance) * distanceUnit - (distanceUnit - 1);
+			if (landmarkBound > bound) {
+				bound = landmarkBound;
+			}
+		}
+		return bound;
+	}//End of estimate method
+
+	/**
+	 * A method for determining whether the landmarks can be used by the search on the grid, i.e. they have been preprocessed
+	 * for the same grid, whose obstacles have not changed since, and with the same diagonal path finding.
+	 * @param grid - The grid of the search.
+	 * @param allowDiagonalPathFinding - boolean whether the search allows the diagonal path finding.
+	 * @return - boolean whether the landmarks are valid for the search.
+	 */
+	public boolean isValidFor(GridMap grid, boolean allowDiagonalPathFinding) {
+		return grid == this.grid && grid.getVersion() == gridVersion && allowDiagonalPathFinding == this.allowDiagonalPathFinding;
+	}
+
+	/**
+	 * Getter for the number of the landmarks.
+	 * @return - integer with the number of the landmarks.
+	 */
+	public int getNumberOfLandmarks() {
+		return landmarkCells.length;
+	}
+
+	/**
+	 * Getter for the cells of the landmarks.
+	 * @return - The array of the cells of the landmarks.
+	 */
+	public int[] getLandmarkCells() {
+		return landmarkCells.clone();
+	}
+
+	/**
+	 * A method for saving the landmarks into the landmark file, from which they can be loaded for the same grid.
+	 * @param file - The landmark file to be written.
+	 * @throws IOException - If the file cannot be written.
+	 */
+	public void save(File file) throws IOException {
+		DataOutputStream output = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file), 1 << 16));
+		try {
+			output.writeInt(magicNumber);
+			output.writeInt(formatVersion);
+			output.writeInt(grid.getWidth());
+			output.writeInt(grid.getHeight());
+			output.writeInt(allowDiagonalPathFinding ? diagonalFlag : 0);
+			output.writeInt(landmarkCells.length);
+			output.writeInt(distanceUnit);
+			output.writeInt(calculateChecksum(grid));
+			for (int landmarkCell : landmarkCells) {
+				output.writeInt(landmarkCell);
+			}
+			for (char distance : distances) {
+				output.writeChar(distance);
+			}
+		} finally {
+			output.close();
+		}
+	}//End of save method
+
+	/**
+	 * A method for loading the landmarks of the grid from the landmark file, which is read by mapping it into the memory.
+	 * @param file - The landmark file.
+	 * @param grid - The grid for which the landmarks have been saved.
+	 * @return - The landmarks of the grid.
+	 * @throws IOException - If the file cannot be read, is not the valid landmark file, or has been saved for another grid
+	 * (with a different size or different obstacles).
+	 */
+	public static LandmarkHeuristic load(File file, GridMap grid) throws IOException {
+		if (!file.isFile()) {
+			throw new FileNotFoundException("The landmark file " + file + " has not been found");
+		}
+		RandomAccessFile randomAccessFile = new RandomAccessFile(file, "r");
+		try {
+			FileChannel channel = randomAccessFile.getChannel();
+			if (channel.size() < headerSize) {
+				throw new IOException("The file " + file + " is not the landmark file");
+			}
+			MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, headerSize);
+			if (header.getInt(0) != magicNumber) {
+				throw new IOException("The file " + file + " is not the landmark file");
+			}
+			if (header.getInt(4) != formatVersion || (header.getInt(16) & ~diagonalFlag) != 0) {
+				throw new IOException("The landmark file " + file + " has the unsupported version " + header.getInt(4)
+						+ " or flags " + header.getInt(16));
+			}
+			if (header.getInt(8) != grid.getWidth() || header.getInt(12) != grid.getHeight()) {
+				throw new IOException("The landmark file " + file + " has been saved for the grid of " + header.getInt(8) + " x "
+						+ header.getInt(12) + " cells rather than " + grid.getWidth() + " x " + grid.getHeight());
+			}
+			int numberOfLandmarks = header.getInt(20);
+			int distanceUnit = header.getInt(24);
+			int numberOfCells = grid.getNumberOfCells();
+			if (numberOfLandmarks <= 0 || distanceUnit <= 0 || (long) numberOfCells * numberOfLandmarks > Integer.MAX_VALUE) {
+				throw new IOException("The landmark file " + file + " has the invalid number of landmarks " + numberOfLandmarks
+						+ " or unit " + distanceUnit);
+			}
+			long size = headerSize + 4L * numberOfLandmarks + 2L * numberOfCells * numberOfLandmarks;
+			if (channel.size() < size) {
+				throw new IOException("The landmark file " + file + " is shorter than the distances of its " + numberOfLandmarks + " landmarks");
+			}
+			if (header.getInt(28) != calculateChecksum(grid)) {
+				throw new IOException("The landmark file " + file + " has been saved for different obstacles of the grid");
+			}
+
+			ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, headerSize, size - headerSize);
+			int[] landmarkCells = new int[numberOfLandmarks];
+			buffer.asIntBuffer().get(landmarkCells);
+			buffer.position(4 * numberOfLandmarks);
+			char[] distances = new char[numberOfCells * numberOfLandmarks];
+			buffer.slice().asCharBuffer().get(distances);
+			return new LandmarkHeuristic(grid, (header.getInt(16) & diagonalFlag) != 0, landmarkCells, distanceUnit, distances);
+		} finally {
+			randomAccessFile.close();
+		}
+	}//End of load method
+
+	/**
+	 * A method for calculating the checksum (CRC-32) of the obstacles of the grid, by which the landmark file is matched to the grid.
+	 * @param grid - The grid of the obstacles.
+	 * @return - integer with the checksum.
+	 */
+	private static int calculateChecksum(GridMap grid) {
+		CRC32 checksum = new CRC32();
+		int numberOfCells = grid.getNumberOfCells();
+		byte[] bitmap = new byte[1 << 12];
+		int length = 0;
+		for (int firstCell = 0; firstCell < numberOfCells; firstCell += 8) {
+			int bits = 0;
+			for (int bit = 0; bit < 8 && firstCell + bit < numberOfCells; bit++) {
+				if (grid.isObstacle(firstCell + bit)) {
+					bits |= 1 << bit;
+				}
+			}
+			bitmap[length++] = (byte) bits;
+			if (length == bitmap.length) {
+				checksum.update(bitmap, 0, length);
+				length = 0;
+			}
+		}
+		checksum.update(bitmap, 0, length);
+		return (int) checksum.getValue();
+	}//End of calculateChecksum method
+}
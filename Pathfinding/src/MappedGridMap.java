@@ -0,0 +1,168 @@
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * The MappedGridMap class is the grid whose obstacles are read directly from the binary grid file mapped into the memory,
+ * so opening the grid takes only the time of mapping the file, regardless of its size, and the pages of the file are loaded
+ * by the operating system once the engines read them. The pages are shared through the page cache by all of the programs
+ * (and the Java virtual machines) which have mapped the same file. <br>
+ * The binary grid file consists of the header of 32 bytes, followed by the bitmap of the obstacles: <br>
+ * &nbsp&nbsp&nbspthe magic number "GRID" (4 bytes), the version of the format (4 bytes, currently 1), <br>
+ * &nbsp&nbsp&nbspthe width and the height of the grid (4 bytes each), the flags (4 bytes, currently 0), and 12 reserved bytes of zeros, <br>
+ * &nbsp&nbsp&nbspthe bitmap, whereby the obstacle of the cell is the bit (cell % 8) of the byte (cell / 8), i.e. 1 bit per cell. <br>
+ * The numbers of the header are stored in the big-endian order. The flags are reserved for the optional sections following
+ * the bitmap (e.g. the cost of each cell), which the current engines do not use, since all of the cells cost the same.
+ *
+ */
+public class MappedGridMap extends GridMap {
+
+	/**
+	 * Declares the magic number at the beginning of the binary grid file, i.e. "GRID".
+	 */
+	public static final int magicNumber = 0x47524944;
+
+	/**
+	 * Declares the version of the format of the binary grid file.
+	 */
+	public static final int formatVersion = 1;
+
+	/**
+	 * Declares the size (in bytes) of the header of the binary grid file, after which the bitmap of the obstacles begins.
+	 */
+	public static final int headerSize = 32;
+
+	/**
+	 * Declares the buffer of the mapped file.
+	 */
+	private final MappedByteBuffer buffer;
+
+	/**
+	 * The constructor of this class.
+	 * @param width - The number of columns of the grid.
+	 * @param height - The number of rows of the grid.
+	 * @param buffer - The buffer of the mapped file.
+	 */
+	private MappedGridMap(int width, int height, MappedByteBuffer buffer) {
+		super(width, height, false);
+		this.buffer = buffer;
+	}
+
+	/**
+	 * A method for opening the binary grid file by mapping it into the memory. <br>
+	 * The read-only grid cannot be changed, while the obstacles placed or removed on the writable grid are only kept
+	 * by this grid, i.e. the file is mapped as the private copy, so the file itself and the other programs are not affected
+	 * (only the changed pages are copied into the memory of this program). Mapping the private copy requires the permission
+	 * to write the file, even though the file is never written.
+	 * @param file - The binary grid file.
+	 * @param writable - boolean whether the obstacles of the grid can be changed.
+	 * @return - The grid reading the obstacles from the file.
+	 * @throws IOException - If the file cannot be mapped or is not the valid binary grid file.
+	 */
+	public static MappedGridMap open(File file, boolean writable) throws IOException {
+		if (!file.isFile()) {
+			//Opening the file for writing would create it
+			throw new FileNotFoundException("The binary grid file " + file + " has not been found");
+		}
+		RandomAccessFile randomAccessFile = new RandomAccessFile(file, writable ? "rw" : "r");
+		try {
+			FileChannel channel = randomAccessFile.getChannel();
+			if (channel.size() < headerSize) {
+				throw new IOException("The file " + file + " is not the binary grid file");
+			}
+			MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, headerSize);
+			if (header.getInt(0) != magicNumber) {
+				throw new IOException("The file " + file + " is not the binary grid file");
+			}
+			if (header.getInt(4) != formatVersion || header.getInt(16) != 0) {
+				throw new IOException("The binary grid file " + file + " has the unsupported version " + header.getInt(4)
+						+ " or flags " + header.getInt(16));
+			}
+			int width = header.getInt(8);
+			int height = header.getInt(12);
+			if (width <= 0 || height <= 0 || (long) width * height > Integer.MAX_VALUE) {
+				throw new IOException("The binary grid file " + file + " has the invalid size " + width + " x " + height);
+			}
+			long size = headerSize + getBitmapSize(width * height);
+			if (channel.size() < size) {
+				throw new IOException("The binary grid file " + file + " is shorter than its bitmap of " + width + " x " + height + " cells");
+			}
+			//The mapping stays valid once the file has been closed
+			MappedByteBuffer buffer = channel.map(writable ? FileChannel.MapMode.PRIVATE : FileChannel.MapMode.READ_ONLY, 0, size);
+			return new MappedGridMap(width, height, buffer);
+		} finally {
+			randomAccessFile.close();
+		}
+	}//End of open method
+
+	/**
+	 * A method for saving the grid (e.g. loaded from the MovingAI map file) into the binary grid file.
+	 * @param grid - The grid to be saved.
+	 * @param file - The binary grid file to be written.
+	 * @throws IOException - If the file cannot be written.
+	 */
+	public static void save(GridMap grid, File file) throws IOException {
+		DataOutputStream output = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file), 1 << 16));
+		try {
+			output.writeInt(magicNumber);
+			output.writeInt(formatVersion);
+			output.writeInt(grid.getWidth());
+			output.writeInt(grid.getHeight());
+			//The flags, and the reserved bytes
+			output.writeInt(0);
+			output.write(new byte[headerSize - 20]);
+
+			int numberOfCells = grid.getNumberOfCells();
+			for (int firstCell = 0; firstCell < numberOfCells; firstCell += 8) {
+				int bits = 0;
+				for (int bit = 0; bit < 8 && firstCell + bit < numberOfCells; bit++) {
+					if (grid.isObstacle(firstCell + bit)) {
+						bits |= 1 << bit;
+					}
+				}
+				output.write(bits);
+			}
+		} finally {
+			output.close();
+		}
+	}//End of save method
+
+	/**
+	 * Getter for the size (in bytes) of the bitmap of the given number of cells.
+	 * @param numberOfCells - The number of cells of the grid.
+	 * @return - long with the size of the bitmap.
+	 */
+	private static long getBitmapSize(int numberOfCells) {
+		return ((long) numberOfCells + 7) / 8;
+	}
+
+	@Override
+	public boolean isObstacle(int cell) {
+		return (buffer.get(headerSize + (cell >>> 3)) & (1 << (cell & 7))) != 0;
+	}
+
+	/**
+	 * A method for storing whether the cell is an obstacle into the private copy of the mapped file.
+	 * @param cell - The index of the cell.
+	 * @param obstacle - boolean whether the cell is an obstacle.
+	 * @throws java.nio.ReadOnlyBufferException - If the grid has been opened as read-only.
+	 */
+	@Override
+	protected void storeObstacle(int cell, boolean obstacle) {
+		int index = headerSize + (cell >>> 3);
+		int bits = buffer.get(index);
+		if (obstacle) {
+			bits |= 1 << (cell & 7);
+		} else {
+			bits &= ~(1 << (cell & 7));
+		}
+		buffer.put(index, (byte) bits);
+	}//End of storeObstacle method
+}
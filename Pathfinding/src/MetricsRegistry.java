@@ -0,0 +1,183 @@
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.PrintWriter;
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.TreeMap;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * The MetricsRegistry class measures the searches of the path-finding engines, and keeps their metrics aggregated
+ * per algorithm (including the connectivity of the grid, i.e. "-4way" or "-8way") and heuristic (the AlgorithmMetrics), so that the service level objectives on the latency of the paths
+ * can be set and monitored. <br>
+ * The metrics of each algorithm and heuristic are registered on the platform MBeanServer under the name
+ * Pathfinding:type=AlgorithmMetrics,algorithm=...,heuristic=..., and all of the metrics can be written as JSON. <br>
+ * The searches which are not run through the measure method are not measured, so the engines themselves do not pay for the metrics.
+ *
+ */
+public class MetricsRegistry {
+
+	/**
+	 * Declares the domain of the names of the MBeans.
+	 */
+	private static final String domain = "Pathfinding";
+
+	/**
+	 * Declares the metrics of each algorithm and heuristic, keyed by "algorithm/heuristic" and ordered by the key.
+	 */
+	private static final Map<String, AlgorithmMetrics> metrics = new TreeMap<String, AlgorithmMetrics>();
+
+	/**
+	 * Declares the counters of the search, which each thread reuses for its following searches.
+	 */
+	private static final ThreadLocal<SearchMetrics> queryMetrics = new ThreadLocal<SearchMetrics>() {
+		@Override
+		protected SearchMetrics initialValue() {
+			return new SearchMetrics();
+		}
+	};
+
+	/**
+	 * A method for calculating the path by the engine, and adding the counters and the wall time of the search
+	 * to the metrics of its algorithm and heuristic.
+	 * @param algorithmType - The type of the algorithm of the engine, i.e. "astar", "dijkstra", "jps", "hpa" or "dstar".
+	 * @param engine - The engine calculating the path.
+	 * @param grid - The grid on which the path is calculated.
+	 * @param start - The index of the cell from which the path starts.
+	 * @param goal - The index of the cell at which the path finishes.
+	 * @param options - The options of the search.
+	 * @param listener - The listener to be notified about the progress of the search, or null.
+	 * @return - The result of the search.
+	 */
+	public static PathResult measure(String algorithmType, PathfindingEngine engine, GridMap grid, int start, int goal,
+			SearchOptions options, SearchListener listener) {
+		SearchMetrics query = queryMetrics.get();
+		//Both directions of the bidirectional search expand the cells where they meet, which are not re-opens
+		query.start(grid, listener, !isBidirectional(algorithmType, options));
+		long startTime = System.nanoTime();
+		PathResult result = engine.calculatePath(grid, start, goal, options, query);
+		query.finish(System.nanoTime() - startTime);
+		getMetrics(algorithmType, options).record(query, result);
+		return result;
+	}//End of measure method
+
+	/**
+	 * Getter for the counters of the last search measured by the calling thread.
+	 * @return - The counters of the search, which are overwritten by the following search of the thread.
+	 */
+	public static SearchMetrics getLastQueryMetrics() {
+		return queryMetrics.get();
+	}
+
+	/**
+	 * A method for obtaining the metrics of the algorithm and heuristic used by the search, which are created (and registered
+	 * over JMX) by the first search.
+	 * @param algorithmType - The type of the algorithm.
+	 * @param options - The options of the search, which select the heuristics and the bidirectional search of A* and Dijkstra.
+	 * @return - The metrics of the algorithm and heuristic.
+	 */
+	public static AlgorithmMetrics getMetrics(String algorithmType, SearchOptions options) {
+		String algorithm = algorithmType;
+		if (isBidirectional(algorithmType, options)) {
+			algorithm = algorithmType + "-bidirectional";
+		}
+		//The searches of the 4-connected and 8-connected grids differ in their latencies, so they are kept apart
+		algorithm += options.isAllowDiagonalPathFinding() ? "-8way" : "-4way";
+		String heuristic;
+		if (algorithmType.equals("astar")) {
+			heuristic = options.getHeuristicsType();
+		} else if (algorithmType.equals("dijkstra")) {
+			heuristic = "none";
+		} else {
+			//JPS, HPA* and D* Lite use the distance without obstacles, i.e. octile with the diagonals and Manhattan without them
+			heuristic = options.isAllowDiagonalPathFinding() ? "octile" : "manhattan";
+		}
+
+		String key = algorithm + "/" + heuristic;
+		synchronized (metrics) {
+			AlgorithmMetrics algorithmMetrics = metrics.get(key);
+			if (algorithmMetrics == null) {
+				algorithmMetrics = new AlgorithmMetrics(algorithm, heuristic);
+				metrics.put(key, algorithmMetrics);
+				register(algorithmMetrics);
+			}
+			return algorithmMetrics;
+		}
+	}//End of getMetrics method
+
+	/**
+	 * A method for determining whether the search is bidirectional, which only the A* and Dijkstra engines support.
+	 * @param algorithmType - The type of the algorithm.
+	 * @param options - The options of the search.
+	 * @return - boolean whether the search is bidirectional.
+	 */
+	private static boolean isBidirectional(String algorithmType, SearchOptions options) {
+		return options.isBidirectional() && (algorithmType.equals("astar") || algorithmType.equals("dijkstra"));
+	}
+
+	/**
+	 * A method for registering the metrics on the platform MBeanServer. The metrics which cannot be registered
+	 * (e.g. by the security manager) are still kept and written as JSON.
+	 * @param algorithmMetrics - The metrics to be registered.
+	 */
+	private static void register(AlgorithmMetrics algorithmMetrics) {
+		try {
+			MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+			ObjectName name = new ObjectName(domain + ":type=AlgorithmMetrics,algorithm=" + algorithmMetrics.getAlgorithm()
+					+ ",heuristic=" + algorithmMetrics.getHeuristic());
+			if (!server.isRegistered(name)) {
+				server.registerMBean(algorithmMetrics, name);
+			}
+		} catch (JMException e) {
+			e.printStackTrace();
+		} catch (SecurityException e) {
+			e.printStackTrace();
+		}
+	}//End of register method
+
+	/**
+	 * A method for resetting the metrics of all the algorithms and heuristics.
+	 */
+	public static void reset() {
+		synchronized (metrics) {
+			for (AlgorithmMetrics algorithmMetrics : metrics.values()) {
+				algorithmMetrics.reset();
+			}
+		}
+	}//End of reset method
+
+	/**
+	 * A method for writing the metrics of all the algorithms and heuristics as a JSON array.
+	 * @return - String with the JSON array of the metrics.
+	 */
+	public static String toJson() {
+		StringBuilder json = new StringBuilder("[");
+		synchronized (metrics) {
+			String separator = "\n  ";
+			for (AlgorithmMetrics algorithmMetrics : metrics.values()) {
+				json.append(separator);
+				algorithmMetrics.appendJson(json);
+				separator = ",\n  ";
+			}
+		}
+		return json.append("\n]\n").toString();
+	}//End of toJson method
+
+	/**
+	 * A method for writing the metrics of all the algorithms and heuristics as a JSON file.
+	 * @param file - The file to be written.
+	 * @throws FileNotFoundException - If the file cannot be created.
+	 */
+	public static void writeJson(File file) throws FileNotFoundException {
+		PrintWriter writer = new PrintWriter(file);
+		try {
+			writer.print(toJson());
+		} finally {
+			writer.close();
+		}
+	}//End of writeJson method
+}
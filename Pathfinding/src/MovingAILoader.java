@@ -0,0 +1,111 @@
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The MovingAILoader class loads the map (.map) and scenario (.scen) files of the MovingAI benchmark sets. <br>
+ * The map file consists of the header ("type octile", "height H", "width W" and "map") followed by one line for each row of the map,
+ * whereby '.', 'G' and 'S' are the passable cells, and any other character (such as '@', 'O', 'T' and 'W') is the obstacle. <br>
+ * The scenario file consists of the version line followed by one query on each line, that is the bucket, map name, width and height
+ * of the map, start column and row, goal column and row and the length of the optimal path, separated by the tabs. <br>
+ * The files are read line by line, and the rows of the map are written straight to the GridMap, so the whole file is never held in memory.
+ *
+ */
+public class MovingAILoader {
+
+	/**
+	 * A method for loading the map file into the grid used by the engines.
+	 * @param file - The map file.
+	 * @return - The grid with the obstacles of the map.
+	 * @throws IOException - If the file cannot be read or is not the valid map file.
+	 */
+	public static GridMap loadMap(File file) throws IOException {
+		BufferedReader reader = new BufferedReader(new FileReader(file));
+		try {
+			int width = -1;
+			int height = -1;
+			String line;
+			//Read the header until the "map" line
+			while ((line = reader.readLine()) != null && !line.trim().equals("map")) {
+				String[] fields = line.trim().split("\\s+");
+				if (fields[0].equals("height")) {
+					height = Integer.parseInt(fields[1]);
+				} else if (fields[0].equals("width")) {
+					width = Integer.parseInt(fields[1]);
+				}
+			}
+			if (line == null || width <= 0 || height <= 0) {
+				throw new IOException("The map file " + file + " does not have a valid header");
+			}
+
+			GridMap grid = new GridMap(width, height);
+			for (int row = 0; row < height; row++) {
+				line = reader.readLine();
+				if (line == null || line.length() < width) {
+					throw new IOException("The map file " + file + " has fewer than " + width + " cells on the row " + row);
+				}
+				for (int column = 0; column < width; column++) {
+					if (!isPassable(line.charAt(column))) {
+						grid.setObstacle(grid.getCellIndex(column, row), true);
+					}
+				}
+			}
+			return grid;
+		} finally {
+			reader.close();
+		}
+	}//End of loadMap method
+
+	/**
+	 * A method for loading the queries of the scenario file.
+	 * @param file - The scenario file.
+	 * @return - The list of the queries, in the order of the file.
+	 * @throws IOException - If the file cannot be read or is not the valid scenario file.
+	 */
+	public static List<MovingAIScenario> loadScenarios(File file) throws IOException {
+		List<MovingAIScenario> scenarios = new ArrayList<MovingAIScenario>();
+		BufferedReader reader = new BufferedReader(new FileReader(file));
+		try {
+			String line;
+			int lineNumber = 0;
+			while ((line = reader.readLine()) != null) {
+				lineNumber++;
+				if (line.trim().isEmpty() || line.startsWith("version")) {
+					continue;
+				}
+				//The name of the map might contain the spaces, so the fields are separated by the tabs
+				String[] fields = line.split("\t");
+				if (fields.length < 9) {
+					fields = line.trim().split("\\s+");
+				}
+				if (fields.length < 9) {
+					throw new IOException("The scenario file " + file + " has an invalid query on the line " + lineNumber);
+				}
+				try {
+					scenarios.add(new MovingAIScenario(Integer.parseInt(fields[0]), fields[1],
+							Integer.parseInt(fields[4]), Integer.parseInt(fields[5]),
+							Integer.parseInt(fields[6]), Integer.parseInt(fields[7]),
+							Double.parseDouble(fields[8])));
+				} catch (NumberFormatException e) {
+					throw new IOException("The scenario file " + file + " has an invalid query on the line " + lineNumber, e);
+				}
+			}
+		} finally {
+			reader.close();
+		}
+		return scenarios;
+	}//End of loadScenarios method
+
+	/**
+	 * A method for determining whether the character of the map file is the passable cell.
+	 * @param terrain - The character of the map file.
+	 * @return - boolean whether the cell is passable.
+	 */
+	private static boolean isPassable(char terrain) {
+		return terrain == '.' || terrain == 'G' || terrain == 'S';
+	}
+}
@@ -0,0 +1,119 @@
+
+/**
+ * The MovingAIScenario class holds a single query of the scenario file of the MovingAI benchmark sets,
+ * that is the map, the start and goal positions and the length of the optimal path between them.
+ *
+ */
+public class MovingAIScenario {
+
+	/**
+	 * Declares the bucket of the query, which groups the queries of the similar length.
+	 */
+	private final int bucket;
+
+	/**
+	 * Declares the name of the map file, relative to the scenario file.
+	 */
+	private final String mapName;
+
+	/**
+	 * Declares the column of the start position.
+	 */
+	private final int startColumn;
+
+	/**
+	 * Declares the row of the start position.
+	 */
+	private final int startRow;
+
+	/**
+	 * Declares the column of the goal position.
+	 */
+	private final int goalColumn;
+
+	/**
+	 * Declares the row of the goal position.
+	 */
+	private final int goalRow;
+
+	/**
+	 * Declares the length of the optimal path, whereby the straight step costs 1 and the diagonal step costs the square root of 2.
+	 */
+	private final double optimalLength;
+
+	/**
+	 * The constructor of this class.
+	 * @param bucket - The bucket of the query.
+	 * @param mapName - The name of the map file.
+	 * @param startColumn - The column of the start position.
+	 * @param startRow - The row of the start position.
+	 * @param goalColumn - The column of the goal position.
+	 * @param goalRow - The row of the goal position.
+	 * @param optimalLength - The length of the optimal path.
+	 */
+	public MovingAIScenario(int bucket, String mapName, int startColumn, int startRow, int goalColumn, int goalRow, double optimalLength) {
+		this.bucket = bucket;
+		this.mapName = mapName;
+		this.startColumn = startColumn;
+		this.startRow = startRow;
+		this.goalColumn = goalColumn;
+		this.goalRow = goalRow;
+		this.optimalLength = optimalLength;
+	}
+
+	/**
+	 * Getter for the bucket of the query.
+	 * @return - integer with the bucket.
+	 */
+	public int getBucket() {
+		return bucket;
+	}
+
+	/**
+	 * Getter for the name of the map file, relative to the scenario file.
+	 * @return - String with the name of the map file.
+	 */
+	public String getMapName() {
+		return mapName;
+	}
+
+	/**
+	 * Getter for the column of the start position.
+	 * @return - integer with the column.
+	 */
+	public int getStartColumn() {
+		return startColumn;
+	}
+
+	/**
+	 * Getter for the row of the start position.
+	 * @return - integer with the row.
+	 */
+	public int getStartRow() {
+		return startRow;
+	}
+
+	/**
+	 * Getter for the column of the goal position.
+	 * @return - integer with the column.
+	 */
+	public int getGoalColumn() {
+		return goalColumn;
+	}
+
+	/**
+	 * Getter for the row of the goal position.
+	 * @return - integer with the row.
+	 */
+	public int getGoalRow() {
+		return goalRow;
+	}
+
+	/**
+	 * Getter for the length of the optimal path.
+	 * @return - double with the length of the optimal path.
+	 */
+	public double getOptimalLength() {
+		return optimalLength;
+	}
+}
@@ -0,0 +1,368 @@
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The PathCache class holds the results of the recent path queries, so that repeating the same query does not recompute the path. <br>
+ * The results are keyed on the type of the algorithm, the start and goal cells and the options of the search, and are only returned
+ * for the version of the GridMap for which they are valid. The cache is bounded, and once it is full, the least recently used
+ * result is evicted. <br>
+ * Once the obstacle has been changed, the cache is told about the changed cell, and only the results which could have been
+ * affected are invalidated, that is: <br>
+ * &nbsp&nbsp&nbspObstacle placed: the paths crossing the cell (the rest of the paths remain valid, and cannot become any cheaper), <br>
+ * &nbsp&nbsp&nbspObstacle removed: the queries without a path, and the paths which could become cheaper by passing through the cell. <br>
+ * The remaining results are moved to the new version of the map.
+ *
+ */
+public class PathCache {
+
+	/**
+	 * Declares the default maximum number of the results held by the cache.
+	 */
+	public static final int defaultCapacity = 256;
+
+	/**
+	 * Declares the maximum number of the results held by the cache.
+	 */
+	private final int capacity;
+
+	/**
+	 * Declares the map of the results, ordered from the least to the most recently used.
+	 */
+	private LinkedHashMap<Key, Entry> entries;
+
+	/**
+	 * Declares an integer variable for the number of queries which have been answered by the cache.
+	 */
+	private int numberOfHits = 0;
+
+	/**
+	 * Declares an integer variable for the number of queries which have not been answered by the cache.
+	 */
+	private int numberOfMisses = 0;
+
+	/**
+	 * Declares an integer variable for the number of results which have been evicted, since the cache has been full.
+	 */
+	private int numberOfEvictions = 0;
+
+	/**
+	 * Declares an integer variable for the number of results which have been invalidated by the changed obstacles.
+	 */
+	private int numberOfInvalidations = 0;
+
+	/**
+	 * The constructor of this class, using the default capacity.
+	 */
+	public PathCache() {
+		this(defaultCapacity);
+	}
+
+	/**
+	 * The constructor of this class.
+	 * @param capacity - The maximum number of the results held by the cache.
+	 */
+	public PathCache(int capacity) {
+		if (capacity <= 0) {
+			throw new IllegalArgumentException("The capacity of the cache must be positive: " + capacity);
+		}
+		this.capacity = capacity;
+		//The access order moves each used result to the end, so the first result is the least recently used one
+		this.entries = new LinkedHashMap<Key, Entry>(16, 0.75f, true);
+	}
+
+	/**
+	 * A method for obtaining the cached result of the query.
+	 * @param grid - The grid on which the path is calculated.
+	 * @param algorithmType - The type of the algorithm, e.g. "astar".
+	 * @param start - The start cell.
+	 * @param goal - The goal cell.
+	 * @param options - The options of the search.
+	 * @return - The cached result, or null if there is no result for the current version of the grid.
+	 */
+	public PathResult get(GridMap grid, String algorithmType, int start, int goal, SearchOptions options) {
+		Key key = new Key(algorithmType, start, goal, options);
+		Entry entry = entries.get(key);
+		if (entry != null && entry.grid != grid) {
+			//The result belongs to another grid (e.g. the grid has been replaced), so drop it rather than keep the old grid in the memory
+			entries.remove(key);
+			entry = null;
+		}
+		if (entry == null || entry.version != grid.getVersion()) {
+			numberOfMisses++;
+			return null;
+		}
+		numberOfHits++;
+		return entry.result;
+	}//End of get method
+
+	/**
+	 * A method for storing the result of the query, evicting the least recently used result if the cache is full.
+	 * @param grid - The grid on which the path has been calculated.
+	 * @param algorithmType - The type of the algorithm, e.g. "astar".
+	 * @param start - The start cell.
+	 * @param goal - The goal cell.
+	 * @param options - The options of the search.
+	 * @param result - The result of the search.
+	 */
+	public void put(GridMap grid, String algorithmType, int start, int goal, SearchOptions options, PathResult result) {
+		entries.put(new Key(algorithmType, start, goal, options), new Entry(grid, options.isAllowDiagonalPathFinding(), result));
+		if (entries.size() > capacity) {
+			Iterator<Key> leastRecentlyUsed = entries.keySet().iterator();
+			leastRecentlyUsed.next();
+			leastRecentlyUsed.remove();
+			numberOfEvictions++;
+		}
+	}//End of put method
+
+	/**
+	 * A method for invalidating the results which could have been affected by the changed obstacle,
+	 * and moving the remaining results of the grid to its current version.
+	 * @param grid - The grid which has been changed.
+	 * @param cell - The cell which has been changed.
+	 */
+	public void obstacleChanged(GridMap grid, int cell) {
+		boolean obstaclePlaced = grid.isObstacle(cell);
+		Iterator<Entry> iterator = entries.values().iterator();
+		while (iterator.hasNext()) {
+			Entry entry = iterator.next();
+			if (entry.grid != grid) {
+				continue;
+			}
+			boolean affected;
+			if (obstaclePlaced) {
+				affected = entry.crosses(cell);
+			} else {
+				affected = !entry.result.isPathFound() || entry.couldPassThrough(cell);
+			}
+			if (affected) {
+				iterator.remove();
+				numberOfInvalidations++;
+			} else {
+				entry.version = grid.getVersion();
+			}
+		}
+	}//End of obstacleChanged method
+
+	/**
+	 * A method for removing all of the results from the cache.
+	 */
+	public void clear() {
+		entries.clear();
+	}
+
+	/**
+	 * Getter for the number of queries which have been answered by the cache.
+	 * @return - integer with the number of hits.
+	 */
+	public int getNumberOfHits() {
+		return numberOfHits;
+	}
+
+	/**
+	 * Getter for the number of queries which have not been answered by the cache.
+	 * @return - integer with the number of misses.
+	 */
+	public int getNumberOfMisses() {
+		return numberOfMisses;
+	}
+
+	/**
+	 * Getter for the number of results which have been evicted, since the cache has been full.
+	 * @return - integer with the number of evictions.
+	 */
+	public int getNumberOfEvictions() {
+		return numberOfEvictions;
+	}
+
+	/**
+	 * Getter for the number of results which have been invalidated by the changed obstacles.
+	 * @return - integer with the number of invalidations.
+	 */
+	public int getNumberOfInvalidations() {
+		return numberOfInvalidations;
+	}
+
+	/**
+	 * Getter for the number of results currently held by the cache.
+	 * @return - integer with the number of results.
+	 */
+	public int size() {
+		return entries.size();
+	}
+
+	/**
+	 * Getter for the maximum number of the results held by the cache.
+	 * @return - integer with the capacity.
+	 */
+	public int getCapacity() {
+		return capacity;
+	}
+
+	/**
+	 * Returns the counters of the cache as a String, e.g. for printing.
+	 * @return - String with the counters.
+	 */
+	@Override
+	public String toString() {
+		return "Path cache: " + entries.size() + "/" + capacity + " paths, hits = " + numberOfHits + ", misses = " + numberOfMisses
+				+ ", evictions = " + numberOfEvictions + ", invalidations = " + numberOfInvalidations;
+	}
+
+	/**
+	 * The Key class identifies the query, that is the type of the algorithm, the start and goal cells and the options of the search.
+	 */
+	private static class Key {
+
+		/**
+		 * Declares the type of the algorithm.
+		 */
+		private final String algorithmType;
+
+		/**
+		 * Declares the start cell.
+		 */
+		private final int start;
+
+		/**
+		 * Declares the goal cell.
+		 */
+		private final int goal;
+
+		/**
+		 * Declares a boolean whether diagonal path finding is allowed.
+		 */
+		private final boolean allowDiagonalPathFinding;
+
+		/**
+		 * Declares the type of the heuristics.
+		 */
+		private final String heuristicsType;
+
+		/**
+		 * Declares a boolean whether the bucket queue is used.
+		 */
+		private final boolean useBucketQueue;
+
+		/**
+		 * Declares a boolean whether the bidirectional search is performed.
+		 */
+		private final boolean bidirectional;
+
+		/**
+		 * The constructor of this class.
+		 * @param algorithmType - The type of the algorithm.
+		 * @param start - The start cell.
+		 * @param goal - The goal cell.
+		 * @param options - The options of the search.
+		 */
+		private Key(String algorithmType, int start, int goal, SearchOptions options) {
+			this.algorithmType = algorithmType;
+			this.start = start;
+			this.goal = goal;
+			this.allowDiagonalPathFinding = options.isAllowDiagonalPathFinding();
+			this.heuristicsType = options.getHeuristicsType();
+			this.useBucketQueue = options.isUseBucketQueue();
+			this.bidirectional = options.isBidirectional();
+		}
+
+		@Override
+		public boolean equals(Object object) {
+			if (!(object instanceof Key)) {
+				return false;
+			}
+			Key key = (Key) object;
+			return start == key.start && goal == key.goal && allowDiagonalPathFinding == key.allowDiagonalPathFinding
+					&& useBucketQueue == key.useBucketQueue && bidirectional == key.bidirectional
+					&& algorithmType.equals(key.algorithmType) && heuristicsType.equals(key.heuristicsType);
+		}
+
+		@Override
+		public int hashCode() {
+			int hash = algorithmType.hashCode();
+			hash = 31 * hash + start;
+			hash = 31 * hash + goal;
+			hash = 31 * hash + heuristicsType.hashCode();
+			hash = 31 * hash + (allowDiagonalPathFinding ? 1 : 0);
+			hash = 31 * hash + (useBucketQueue ? 1 : 0);
+			hash = 31 * hash + (bidirectional ? 1 : 0);
+			return hash;
+		}
+	}
+
+	/**
+	 * The Entry class holds the cached result, together with the grid and its version for which the result is valid.
+	 */
+	private static class Entry {
+
+		/**
+		 * Declares the grid on which the path has been calculated.
+		 */
+		private final GridMap grid;
+
+		/**
+		 * Declares a boolean whether diagonal path finding has been allowed.
+		 */
+		private final boolean allowDiagonalPathFinding;
+
+		/**
+		 * Declares the cached result.
+		 */
+		private final PathResult result;
+
+		/**
+		 * Declares the version of the grid for which the result is valid.
+		 */
+		private int version;
+
+		/**
+		 * The constructor of this class.
+		 * @param grid - The grid on which the path has been calculated.
+		 * @param allowDiagonalPathFinding - boolean whether diagonal path finding has been allowed.
+		 * @param result - The result to be cached.
+		 */
+		private Entry(GridMap grid, boolean allowDiagonalPathFinding, PathResult result) {
+			this.grid = grid;
+			this.allowDiagonalPathFinding = allowDiagonalPathFinding;
+			this.result = result;
+			this.version = grid.getVersion();
+		}
+
+		/**
+		 * A method for determining whether the cached path crosses the given cell.
+		 * @param cell - The cell to be checked.
+		 * @return - boolean whether the path crosses the cell.
+		 */
+		private boolean crosses(int cell) {
+			for (int pathCell : result.getPath()) {
+				if (pathCell == cell) {
+					return true;
+				}
+			}
+			return false;
+		}
+
+		/**
+		 * A method for determining whether a path through the given cell could be cheaper than the cached path, that is whether
+		 * the distances from the start to the cell and from the cell to the goal, on the grid without the obstacles, are lower than its cost.
+		 * @param cell - The cell to be checked.
+		 * @return - boolean whether a path through the cell could be cheaper.
+		 */
+		private boolean couldPassThrough(int cell) {
+			int[] path = result.getPath();
+			return distanceWithoutObstacles(path[0], cell) + distanceWithoutObstacles(cell, path[path.length - 1]) < result.getCost();
+		}
+
+		/**
+		 * A method for calculating the distance between the cells on the grid without the obstacles,
+		 * i.e. the octile distance if diagonal path finding has been allowed, otherwise the Manhattan distance.
+		 * @param from - The first cell.
+		 * @param to - The second cell.
+		 * @return - integer with the distance.
+		 */
+		private int distanceWithoutObstacles(int from, int to) {
+			return Heuristics.distanceWithoutObstacles(grid, from, to, allowDiagonalPathFinding);
+		}
+	}
+}
@@ -0,0 +1,98 @@
+
+/**
+ * The PathResult class represents the result of a single search performed by the PathfindingEngine, that is
+ * the sequence of cells from the start to the goal cell (empty if the path has not been found), the cost of the path
+ * and the counters of the search.
+ *
+ */
+public class PathResult {
+
+	/**
+	 * Declares the array of the indexes of the cells on the path, beginning with the start cell and finishing with the goal cell.
+	 */
+	private final int[] path;
+
+	/**
+	 * Declares an integer variable for the cost of the path, that is the distance of the goal cell to the start cell.
+	 */
+	private final int cost;
+
+	/**
+	 * Declares an integer variable for the number of operations that the path-finder has performed.
+	 */
+	private final int numberOfOperations;
+
+	/**
+	 * Declares an integer variable for the number of nodes that the path-finder has visited.
+	 */
+	private final int numberOfVisitedNodes;
+
+	/**
+	 * Declares a long variable for the time (in nanoseconds) taken by the search.
+	 */
+	private final long elapsedNanos;
+
+	/**
+	 * The constructor of this class, accepting the path and the counters of the search.
+	 * @param path - The array of the cells from the start to the goal cell, or an empty array if the path has not been found.
+	 * @param cost - The cost of the path, or -1 if the path has not been found.
+	 * @param numberOfOperations - The number of operations that the path-finder has performed.
+	 * @param numberOfVisitedNodes - The number of nodes that the path-finder has visited.
+	 * @param elapsedNanos - The time (in nanoseconds) taken by the search.
+	 */
+	public PathResult(int[] path, int cost, int numberOfOperations, int numberOfVisitedNodes, long elapsedNanos) {
+		this.path = path;
+		this.cost = cost;
+		this.numberOfOperations = numberOfOperations;
+		this.numberOfVisitedNodes = numberOfVisitedNodes;
+		this.elapsedNanos = elapsedNanos;
+	}
+
+	/**
+	 * Getter for the boolean whether the path has been found.
+	 * @return - boolean whether the path has been found.
+	 */
+	public boolean isPathFound() {
+		return path.length > 0;
+	}
+
+	/**
+	 * Getter for the array of the cells on the path, which must not be modified.
+	 * @return - The array of the indexes of the cells from the start to the goal cell, or an empty array if the path has not been found.
+	 */
+	public int[] getPath() {
+		return path;
+	}
+
+	/**
+	 * Getter for the cost of the path.
+	 * @return - integer with the cost of the path, or -1 if the path has not been found.
+	 */
+	public int getCost() {
+		return cost;
+	}
+
+	/**
+	 * Getter for the number of operations that the path-finder has performed.
+	 * @return - integer with the number of operations.
+	 */
+	public int getNumberOfOperations() {
+		return numberOfOperations;
+	}
+
+	/**
+	 * Getter for the number of nodes that the path-finder has visited.
+	 * @return - integer with the number of visited nodes.
+	 */
+	public int getNumberOfVisitedNodes() {
+		return numberOfVisitedNodes;
+	}
+
+	/**
+	 * Getter for the time taken by the search.
+	 * @return - long with the time in nanoseconds.
+	 */
+	public long getElapsedNanos() {
+		return elapsedNanos;
+	}
+}
@@ -0,0 +1,22 @@
+
+/**
+ * The PathfindingEngine interface represents a path-finding algorithm which can be run without the 
+ * Graphical User Interface (e.g. in a server or a benchmark). <br>
+ * The engine finds the path between the given start and goal cells of the GridMap, moving through the grid
+ * by the means of the surrounding cells of each cell, and returns the result of the search. The progress
+ * of the search is delivered through the optional listener, so the GUI is just one of the consumers of the engine.
+ *
+ */
+public interface PathfindingEngine {
+
+	/**
+	 * A method for calculating the path between the start and goal cells.
+	 * @param grid - The grid on which the path is calculated.
+	 * @param start - The index of the cell from which the path starts.
+	 * @param goal - The index of the cell at which the path finishes.
+	 * @param options - The options of the search, such as whether diagonal path finding is allowed.
+	 * @param listener - The listener to be notified about the progress of the search, or null if the progress is not needed.
+	 * @return - The result of the search, containing the path if it has been found.
+	 */
+	PathResult calculatePath(GridMap grid, int start, int goal, SearchOptions options, SearchListener listener);
+}
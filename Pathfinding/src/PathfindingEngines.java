@@ -0,0 +1,34 @@
+
+/**
+ * The PathfindingEngines class creates the path-finding engines by the type of the algorithm, so the GUI, the batch executor
+ * and the benchmarks select the engines by the same names: <br>
+ * &nbsp&nbsp&nbspastar: the A* (AStarAlgorithm), <br>
+ * &nbsp&nbsp&nbspdijkstra: the Dijkstra's algorithm (DijkstraAlgorithm), <br>
+ * &nbsp&nbsp&nbspjps: the Jump Point Search (JumpPointSearchAlgorithm), <br>
+ * &nbsp&nbsp&nbsphpa: the Hierarchical Path-Finding A* (HierarchicalPathfindingAlgorithm), <br>
+ * &nbsp&nbsp&nbspdstar: the D* Lite (DStarLiteAlgorithm). <br>
+ * Each call creates a new engine, with its own search arrays and cached state.
+ *
+ */
+public class PathfindingEngines {
+
+	/**
+	 * A method for creating the path-finding engine for the given type of the algorithm.
+	 * @param algorithmType - The type of the algorithm, i.e. "astar", "dijkstra", "jps", "hpa" or "dstar".
+	 * @return - The new engine performing the selected algorithm.
+	 */
+	public static PathfindingEngine forType(String algorithmType) {
+		if (algorithmType.equals("astar")) {
+			return new AStarAlgorithm();
+		} else if (algorithmType.equals("dijkstra")) {
+			return new DijkstraAlgorithm();
+		} else if (algorithmType.equals("jps")) {
+			return new JumpPointSearchAlgorithm();
+		} else if (algorithmType.equals("hpa")) {
+			return new HierarchicalPathfindingAlgorithm();
+		} else if (algorithmType.equals("dstar")) {
+			return new DStarLiteAlgorithm();
+		}
+		throw new IllegalArgumentException("Unknown type of the algorithm: " + algorithmType);
+	}//End of forType method
+}
@@ -1,16 +1,33 @@
 
 import java.awt.Canvas;
 import java.awt.Color;
+import java.awt.Graphics;
 import java.awt.Graphics2D;
 import java.awt.GridLayout;
+import java.awt.Rectangle;
+import java.awt.geom.AffineTransform;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
+import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
 import java.awt.event.MouseListener;
+import java.awt.event.MouseWheelEvent;
 import java.awt.image.BufferStrategy;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import javax.swing.JButton;
 import javax.swing.JCheckBox;
+import javax.swing.JFileChooser;
 import javax.swing.JFrame;
 import javax.swing.JLabel;
 import javax.swing.JMenu;
@@ -21,6 +38,7 @@ import javax.swing.JPanel;
 import javax.swing.JPopupMenu;
 import javax.swing.JTextField;
 import javax.swing.SwingConstants;
+import javax.swing.SwingUtilities;
 
 /**
  * The PathfindingGUI class sets up the Graphical User Interface for the user,
@@ -31,55 +49,97 @@ import javax.swing.SwingConstants;
  * @author Adrian Fall
  *
  */
-public class PathfindingGUI extends Canvas implements Runnable, MouseListener {
+public class PathfindingGUI extends Canvas implements Runnable, MouseListener, SearchListener {
 	
 	private static final long serialVersionUID = 1L;
+	
 	/**
-	 * Declares a constant variable for the horizontal space of the window
+	 * Declares the width (in pixels) of the canvas on which the grid is drawn.
 	 */
-	private static final int windowWidth = 1050;
+	private static final int canvasWidth = 800;
 	
 	/**
-	 * Declares a constant variable for the vertical space of the window
+	 * Declares the height (in pixels) of the canvas on which the grid is drawn.
 	 */
-	private static final int windowHeight = 700;
+	private static final int canvasHeight = 600;
 	
 	/**
-	 * Declares the two dimensional array for maintaining the list of nodes
+	 * Declares the size (in pixels of the grid) of each node.
 	 */
-	private static Node[][] nodeList;
-		
+	private static final int nodeSize = 40;
+	
 	/**
-	 * Declares a Node instance for the start 
+	 * Declares the margin (in pixels of the grid) between the edge of the grid and the first node.
 	 */
-	private static Node start;
+	private static final int gridMargin = 20;
 	
 	/**
-	 * Declares a Node instance for the goal
+	 * Declares the number of the columns (and rows) of the nodes sampled from the block shown at each pixel of the overview,
+	 * so that rendering the overview costs the same number of nodes for each pixel, however far the grid is zoomed out.
 	 */
-	private static Node goal;
+	private static final int overviewSamples = 4;
 	
-	//Declare a boolean for determining if path has been calculated
 	/**
-	 * Declares a boolean for the purpose of determining whether the path has been calculated
+	 * Declares the size (in pixels of the grid) of the area drawn by each node, which includes the robot image larger than the node.
 	 */
-	private boolean pathCalculated;
+	private static final int nodeDrawnSize = 50;
 	
-	//Declare a PathFindingGUI object for the running thread
 	/**
-	 * Declares a threaded pathfinding GUI object
+	 * Declares the size (in pixels of the canvas) of the node, below which the grid is drawn as the overview, that is the nodes are drawn
+	 * as plain squares without the images, and each block of the nodes sharing a single pixel is drawn as that pixel.
 	 */
-	private static PathfindingGUI threadGUI;
+	private static final int overviewNodeSize = 12;
+	
+	/**
+	 * Declares the factor by which the grid is zoomed in (or out) by each step of the mouse wheel.
+	 */
+	private static final double zoomStep = 1.25;
+	
+	/**
+	 * Declares the camera through which the grid is shown on the canvas, which is replaced once the grid is panned or zoomed.
+	 */
+	private static volatile Viewport viewport = new Viewport(canvasWidth, canvasHeight, canvasWidth, canvasHeight);
+	
+	/**
+	 * Declares the shortest time (in milliseconds) between two frames, so that the changes made meanwhile are drawn together (about 60 frames per second).
+	 */
+	private static final int msFrameInterval = 16;
+	
+	/**
+	 * Declares the region of the grid which has to be redrawn, marked by the nodes once their state has changed.
+	 */
+	private final DirtyRegion dirtyRegion = new DirtyRegion();
+	
+	/**
+	 * Declares the image holding the last drawn frame, onto which only the dirty region is redrawn.
+	 */
+	private BufferedImage frameImage;
+	
+	/**
+	 * Declares the image into which the pixels of the overview are written, before they are drawn onto the frame.
+	 */
+	private BufferedImage overviewImage;
+	/**
+	 * Declares a constant variable for the horizontal space of the window
+	 */
+	private static final int windowWidth = 1050;
+	
+	/**
+	 * Declares a constant variable for the vertical space of the window
+	 */
+	private static final int windowHeight = 700;
 	
 	/**
-	 * Declares an instance of the A* algorithm object
+	 * Declares the presentation of the grid, that is the start and goal nodes and the state of the current search,
+	 * which is replaced together with the gridMap.
 	 */
-	private static AStarAlgorithm aStar;
+	private static volatile GridDisplay gridDisplay;
 	
+	//Declare a PathFindingGUI object for the running thread
 	/**
-	 * Declares an instance of the Dijkstra algorithm object
+	 * Declares a threaded pathfinding GUI object
 	 */
-	private static DijkstraAlgorithm dijkstra;
+	private static PathfindingGUI threadGUI;
 	
 	
 	/**
@@ -113,6 +173,90 @@ public class PathfindingGUI extends Canvas implements Runnable, MouseListener {
 	 */
 	private static String heuristicsType = "manhattan";
 	
+	/**
+	 * Declares a boolean for tracking whether the Dijkstra algorithm maintains its open list as the bucket queue, by default false
+	 */
+	private static boolean useBucketQueue = false;
+	
+	/**
+	 * Declares a boolean for tracking whether the A* and Dijkstra algorithms search from both the start and the goal, by default false
+	 */
+	private static boolean bidirectional = false;
+	
+	/**
+	 * Declares the compact grid of the map, which is drawn by the GUI and updated on each placed or removed obstacle.
+	 * It is replaced by the worker thread, once the new grid has been created or opened.
+	 */
+	private static volatile GridMap gridMap;
+	
+	/**
+	 * Declares the HPA* engine, which is kept between the searches so that its abstraction of the gridMap is reused.
+	 */
+	private static HierarchicalPathfindingAlgorithm hierarchicalPathfinding = new HierarchicalPathfindingAlgorithm();
+	
+	/**
+	 * Declares the D* Lite engine, which is kept between the searches so that the path is repaired, rather than recalculated, after the obstacles have changed.
+	 */
+	private static DStarLiteAlgorithm dStarLite = new DStarLiteAlgorithm();
+	
+	/**
+	 * Declares the worker thread on which the searches (and the presentation of their paths) are performed,
+	 * so that the event thread of the GUI is never blocked by them. The searches are performed one after another.
+	 */
+	private static final ExecutorService searchExecutor = Executors.newSingleThreadExecutor(new ThreadFactory() {
+		public Thread newThread(Runnable runnable) {
+			Thread thread = new Thread(runnable, "Pathfinding search");
+			thread.setDaemon(true);
+			return thread;
+		}
+	});
+	
+	/**
+	 * Declares the search which has been submitted to the worker thread most recently, or null if there has been none.
+	 * It is only accessed by the event thread of the GUI.
+	 */
+	private static Future<?> searchInProgress;
+	
+	/**
+	 * Declares the replacement of the grid (by the new or opened grid) which has been submitted to the worker thread most recently,
+	 * or null if there has been none. Unlike the search, it is never cancelled, since the grid has to be replaced as a whole.
+	 * It is only accessed by the event thread of the GUI.
+	 */
+	private static Future<?> gridReplacementInProgress;
+	
+	/**
+	 * Declares the log into which the search is recorded at full speed, before it is replayed to the GUI by the SearchAnimator.
+	 * It is only accessed by the worker thread.
+	 */
+	private static final SearchEventLog searchEventLog = new SearchEventLog();
+	
+	/**
+	 * Declares a boolean for determining whether the path repaired by the D* Lite is also calculated from scratch (on the worker thread),
+	 * so that the numbers of the expanded nodes can be compared. It is set by the system property "pathfinding.dstar.compareFromScratch".
+	 */
+	private static final boolean compareDStarLiteFromScratch = Boolean.getBoolean("pathfinding.dstar.compareFromScratch");
+	
+	/**
+	 * Declares the number of operations most recently reported by the search, to be displayed by the event thread.
+	 */
+	private static volatile int reportedNumberOfOperations;
+	
+	/**
+	 * Declares the number of visited nodes most recently reported by the search, to be displayed by the event thread.
+	 */
+	private static volatile int reportedNumberOfVisitedNodes;
+	
+	/**
+	 * Declares a boolean for tracking whether the display of the progress has been requested from the event thread, but not performed yet,
+	 * so that the progress reported meanwhile is displayed together.
+	 */
+	private static final AtomicBoolean progressDisplayPending = new AtomicBoolean(false);
+	
+	/**
+	 * Declares the cache of the recently calculated paths, so that repeating the same query does not recompute the path.
+	 */
+	private static PathCache pathCache = new PathCache();
+	
 	/**
 	 * Declares an instance of the JLabel object, for displaying the number of operations.
 	 */
@@ -219,8 +363,15 @@ public class PathfindingGUI extends Canvas implements Runnable, MouseListener {
 		
 		//Create and initialise a JLabel object for the information about the Options
 		JLabel optionsLabel = new JLabel("Options");
-		//Set bounds for the optionsLabel
-		optionsLabel.setBounds(850, 30, 200, 25);
+		//Set bounds for the optionsLabel (leaving space for the checkBoxBidirectional on the right)
+		optionsLabel.setBounds(850, 30, 100, 25);
+		
+		//Create and initialise JCheckBox object for the user to specify whether the A* and Dijkstra algorithms search from both ends
+		final JCheckBox checkBoxBidirectional = new JCheckBox("Bidirectional");
+		//Set the checkBoxBidirectional to be either ticked or unticked. By default it's unticked.
+		checkBoxBidirectional.setSelected(bidirectional);
+		//Set the bounds for checkBoxBidirectional
+		checkBoxBidirectional.setBounds(950, 30, 100, 25);
 		
 		//Create and initialise JCheckBox object for the user to specify whether to allow diagonal path finding
 		final JCheckBox checkBoxAllowDiagonalPathFinding = new JCheckBox("Allow Diagonal");
@@ -251,31 +402,54 @@ public class PathfindingGUI extends Canvas implements Runnable, MouseListener {
 		
 		//Declare and initialize a JCheckBox object for selection of the A* Algorithm
 		final JCheckBox aStarAlgorithmCheckbox = new JCheckBox("A* Algorithm");
-		//Set the bounds of the aStarAlgorithmSelection
-		aStarAlgorithmCheckbox.setBounds(850, 140, 200, 25);
+		//Set the bounds of the aStarAlgorithmSelection (leaving space for the jumpPointSearchCheckbox on the right)
+		aStarAlgorithmCheckbox.setBounds(850, 140, 100, 25);
 		//Set the aStarAlgorithmSelection checkbox as ticked by default (Since A* algorithm is the default algorithm of the program)
 		aStarAlgorithmCheckbox.setSelected(true);
 		
 		//Declare and initialize a JCheckBox object for the selection of the Dijkstra Algorithm
 		final JCheckBox dijkstraAlgorithmCheckbox = new JCheckBox("Dijkstra Algorithm");
-		//Set the bounds of the dijkstraAlgorithmCheckbox
-		dijkstraAlgorithmCheckbox.setBounds(850, 170, 200, 25);
+		//Set the bounds of the dijkstraAlgorithmCheckbox (leaving space for the hierarchicalCheckbox on the right)
+		dijkstraAlgorithmCheckbox.setBounds(850, 170, 135, 25);
+		
+		//Declare and initialize a JCheckBox object for the selection of the Jump Point Search Algorithm
+		final JCheckBox jumpPointSearchCheckbox = new JCheckBox("JPS");
+		//Set the bounds of the jumpPointSearchCheckbox
+		jumpPointSearchCheckbox.setBounds(950, 140, 100, 25);
+		
+		//Declare and initialize a JCheckBox object for the selection of the Hierarchical Path-Finding A* Algorithm
+		final JCheckBox hierarchicalCheckbox = new JCheckBox("HPA*");
+		//Set the bounds of the hierarchicalCheckbox
+		hierarchicalCheckbox.setBounds(985, 170, 65, 25);
+		
+		//Declare and initialize a JCheckBox object for the selection of the D* Lite Algorithm
+		final JCheckBox dStarLiteCheckbox = new JCheckBox("D* Lite");
+		//Set the bounds of the dStarLiteCheckbox (on the right of the heuristicsSelectionInfoLabel)
+		dStarLiteCheckbox.setBounds(985, 200, 65, 25);
 		
 		//Declare and initialize a JLabel object for the information of the Heuristics selection
 		JLabel heuristicsSelectionInfoLabel = new JLabel("Heuristics selection:");
 		//Set the bounds of the heuristicsSelectionInfoLabel
-		heuristicsSelectionInfoLabel.setBounds(850, 200, 200, 25);
+		heuristicsSelectionInfoLabel.setBounds(850, 200, 135, 25);
 		
 		//Declare and initialize a JCheckBox object for selection of the Manhattan Heuristics
 		final JCheckBox manhattanHeuristicsCheckbox = new JCheckBox("Manhattan");
 		//Set the bounds of the manhattanHeuristicsCheckbox
-		manhattanHeuristicsCheckbox.setBounds(850, 225, 200, 25);
+		manhattanHeuristicsCheckbox.setBounds(850, 225, 105, 25);
 		//Set the manhattanHeuristicsCheckbox as ticked by default
 		manhattanHeuristicsCheckbox.setSelected(true);
 		
 		//Declare and initialize a JCheckBox object for selection of the Chebyshev Heuristics
 		final JCheckBox chebyshevHeuristicsCheckbox = new JCheckBox("Chebyshev");
-		chebyshevHeuristicsCheckbox.setBounds(850, 255, 200, 25);
+		chebyshevHeuristicsCheckbox.setBounds(850, 255, 105, 25);
+		
+		//Declare and initialize a JCheckBox object for selection of the Octile Heuristics (on the right of the manhattanHeuristicsCheckbox)
+		final JCheckBox octileHeuristicsCheckbox = new JCheckBox("Octile");
+		octileHeuristicsCheckbox.setBounds(960, 225, 90, 25);
+		
+		//Declare and initialize a JCheckBox object for selection of the Euclidean Heuristics (on the right of the chebyshevHeuristicsCheckbox)
+		final JCheckBox euclideanHeuristicsCheckbox = new JCheckBox("Euclidean");
+		euclideanHeuristicsCheckbox.setBounds(960, 255, 90, 25);
 		
 		//Declare and initialize a JLabel object for the information that Dijkstra doesn't use a heuristics
 		final JLabel dijkstraHeuristicInfoLabel = new JLabel("<html><font color=red> Dijkstra doesn't use any heuristics</font></html>");
@@ -284,6 +458,35 @@ public class PathfindingGUI extends Canvas implements Runnable, MouseListener {
 		//Set the label to not visible by default
 		dijkstraHeuristicInfoLabel.setVisible(false);
 		
+		//Declare and initialize a JLabel object for the information that JPS always uses the octile heuristics
+		final JLabel jumpPointSearchHeuristicInfoLabel = new JLabel("<html><font color=red> JPS uses the octile heuristics</font></html>");
+		//Set the bounds of the jumpPointSearchHeuristicInfoLabel
+		jumpPointSearchHeuristicInfoLabel.setBounds(825, 225, 200, 25);
+		//Set the label to not visible by default
+		jumpPointSearchHeuristicInfoLabel.setVisible(false);
+		
+		//Declare and initialize a JLabel object for the information that HPA* always uses the octile heuristics
+		final JLabel hierarchicalHeuristicInfoLabel = new JLabel("<html><font color=red> HPA* uses the octile heuristics</font></html>");
+		//Set the bounds of the hierarchicalHeuristicInfoLabel
+		hierarchicalHeuristicInfoLabel.setBounds(825, 225, 200, 25);
+		//Set the label to not visible by default
+		hierarchicalHeuristicInfoLabel.setVisible(false);
+		
+		//Declare and initialize a JLabel object for the information that D* Lite always uses the octile heuristics
+		final JLabel dStarLiteHeuristicInfoLabel = new JLabel("<html><font color=red> D* Lite uses the octile heuristics</font></html>");
+		//Set the bounds of the dStarLiteHeuristicInfoLabel
+		dStarLiteHeuristicInfoLabel.setBounds(825, 225, 200, 25);
+		//Set the dStarLiteHeuristicInfoLabel to be invisible by default
+		dStarLiteHeuristicInfoLabel.setVisible(false);
+		
+		//Declare and initialize a JCheckBox object for the selection of the bucket queue for the Dijkstra Algorithm
+		final JCheckBox bucketQueueCheckbox = new JCheckBox("Bucket Queue");
+		//Set the bounds of the bucketQueueCheckbox (in place of the heuristics, which are hidden for the Dijkstra Algorithm)
+		bucketQueueCheckbox.setBounds(850, 255, 200, 25);
+		//Set the bucketQueueCheckbox to be either ticked or unticked, and not visible by default
+		bucketQueueCheckbox.setSelected(useBucketQueue);
+		bucketQueueCheckbox.setVisible(false);
+		
 		//Initialize a JLabel object for the information about operations
 		operationsLabel = new JLabel("");
 		//Set the bounds of the operationsLabel
@@ -350,27 +553,45 @@ public class PathfindingGUI extends Canvas implements Runnable, MouseListener {
 		//Set bounds of the createNewGridButton
 		createNewGridButton.setBounds(850, 510, 150, 50);
 		
+		//Declare and initialize a JButton object for aborting the search in progress
+		JButton cancelSearchButton = new JButton("Cancel");
+		//Set bounds of the cancelSearchButton
+		cancelSearchButton.setBounds(850, 570, 150, 30);
+		
 		//Add an action listener for the checkBoxAllowDiagonalPathFinding
 		checkBoxAllowDiagonalPathFinding.addActionListener(new ActionListener() {
 			public void actionPerformed(ActionEvent e) {
 				if (checkBoxAllowDiagonalPathFinding.isSelected()) {
-					System.out.println("Setting the allowDiagonalPathFinding to true");
+					SearchTrace.log(SearchTrace.infoLevel, "Setting the allowDiagonalPathFinding to true");
 					allowDiagonalPathFinding = true;
 				} else {
-					System.out.println("Setting the allowDiagonalPathFinding to false");
+					SearchTrace.log(SearchTrace.infoLevel, "Setting the allowDiagonalPathFinding to false");
 					allowDiagonalPathFinding = false;
 				}
 			}
 		});//End of ActionListener for checkBoxAllowDiagonalPathFinding
 		
+		//Add an action listener for the checkBoxBidirectional
+		checkBoxBidirectional.addActionListener(new ActionListener() {
+			public void actionPerformed(ActionEvent e) {
+				if (checkBoxBidirectional.isSelected()) {
+					SearchTrace.log(SearchTrace.infoLevel, "Setting the bidirectional to true");
+					bidirectional = true;
+				} else {
+					SearchTrace.log(SearchTrace.infoLevel, "Setting the bidirectional to false");
+					bidirectional = false;
+				}
+			}
+		});//End of ActionListener for checkBoxBidirectional
+		
 		//Add an action listener to the checkBoxVisitedNodes
 		checkBoxVisitedNodes.addActionListener(new ActionListener() {
 			public void actionPerformed(ActionEvent e) {
 				if (checkBoxVisitedNodes.isSelected()) {
-					System.out.println("Setting the showVisitedNodes to true");
+					SearchTrace.log(SearchTrace.infoLevel, "Setting the showVisitedNodes to true");
 					showVisitedNodes = true;
 				} else {
-					System.out.println("Setting the showVisitedNodes to false");
+					SearchTrace.log(SearchTrace.infoLevel, "Setting the showVisitedNodes to false");
 					showVisitedNodes = false;
 				}
 			}
@@ -382,10 +603,20 @@ public class PathfindingGUI extends Canvas implements Runnable, MouseListener {
 			public void actionPerformed(ActionEvent arg0) {
 				if (aStarAlgorithmCheckbox.isSelected()) {
 					dijkstraAlgorithmCheckbox.setSelected(false);
+					jumpPointSearchCheckbox.setSelected(false);
+					hierarchicalCheckbox.setSelected(false);
+					dStarLiteCheckbox.setSelected(false);
 					algorithmType = "astar";
 					manhattanHeuristicsCheckbox.setVisible(true);
 					chebyshevHeuristicsCheckbox.setVisible(true);
+					octileHeuristicsCheckbox.setVisible(true);
+					euclideanHeuristicsCheckbox.setVisible(true);
 					dijkstraHeuristicInfoLabel.setVisible(false);
+					jumpPointSearchHeuristicInfoLabel.setVisible(false);
+					hierarchicalHeuristicInfoLabel.setVisible(false);
+					dStarLiteHeuristicInfoLabel.setVisible(false);
+					bucketQueueCheckbox.setVisible(false);
+					checkBoxBidirectional.setEnabled(true);
 				} else {
 					aStarAlgorithmCheckbox.setSelected(true);
 					algorithmType = "astar";
@@ -400,10 +631,20 @@ public class PathfindingGUI extends Canvas implements Runnable, MouseListener {
 			public void actionPerformed(ActionEvent arg0) {
 				if (dijkstraAlgorithmCheckbox.isSelected()) {
 					aStarAlgorithmCheckbox.setSelected(false);
+					jumpPointSearchCheckbox.setSelected(false);
+					hierarchicalCheckbox.setSelected(false);
+					dStarLiteCheckbox.setSelected(false);
 					algorithmType = "dijkstra";
 					manhattanHeuristicsCheckbox.setVisible(false);
 					chebyshevHeuristicsCheckbox.setVisible(false);
+					octileHeuristicsCheckbox.setVisible(false);
+					euclideanHeuristicsCheckbox.setVisible(false);
 					dijkstraHeuristicInfoLabel.setVisible(true);
+					jumpPointSearchHeuristicInfoLabel.setVisible(false);
+					hierarchicalHeuristicInfoLabel.setVisible(false);
+					dStarLiteHeuristicInfoLabel.setVisible(false);
+					bucketQueueCheckbox.setVisible(true);
+					checkBoxBidirectional.setEnabled(true);
 				} else {
 					dijkstraAlgorithmCheckbox.setSelected(true);
 					algorithmType = "dijkstra";
@@ -412,112 +653,149 @@ public class PathfindingGUI extends Canvas implements Runnable, MouseListener {
 			
 		});//End of action listener for dijkstraAlgorithmCheckbox
 		
-		//Add the action listener for the manhattanHeuristicsCheckbox
-		manhattanHeuristicsCheckbox.addActionListener(new ActionListener() {
-			
+		//Add the action listener for the jumpPointSearchCheckbox
+		jumpPointSearchCheckbox.addActionListener(new ActionListener(){
+
 			public void actionPerformed(ActionEvent arg0) {
-				if (manhattanHeuristicsCheckbox.isSelected()) {
-					chebyshevHeuristicsCheckbox.setSelected(false);
-					heuristicsType = "manhattan";
+				if (jumpPointSearchCheckbox.isSelected()) {
+					aStarAlgorithmCheckbox.setSelected(false);
+					dijkstraAlgorithmCheckbox.setSelected(false);
+					hierarchicalCheckbox.setSelected(false);
+					dStarLiteCheckbox.setSelected(false);
+					algorithmType = "jps";
+					manhattanHeuristicsCheckbox.setVisible(false);
+					chebyshevHeuristicsCheckbox.setVisible(false);
+					octileHeuristicsCheckbox.setVisible(false);
+					euclideanHeuristicsCheckbox.setVisible(false);
+					dijkstraHeuristicInfoLabel.setVisible(false);
+					jumpPointSearchHeuristicInfoLabel.setVisible(true);
+					hierarchicalHeuristicInfoLabel.setVisible(false);
+					dStarLiteHeuristicInfoLabel.setVisible(false);
+					bucketQueueCheckbox.setVisible(false);
+					//The Jump Point Search does not have the bidirectional variant
+					checkBoxBidirectional.setEnabled(false);
 				} else {
-					manhattanHeuristicsCheckbox.setSelected(true);
-					heuristicsType = "manhattan";
+					jumpPointSearchCheckbox.setSelected(true);
+					algorithmType = "jps";
 				}
 			}
-		});//End of action listener for manhattanHeuristicsCheckbox
+			
+		});//End of action listener for jumpPointSearchCheckbox
 		
-		//Add the action listener for the chebyshevHeuristicsCheckbox
-		chebyshevHeuristicsCheckbox.addActionListener(new ActionListener() {
+		//Add the action listener for the hierarchicalCheckbox
+		hierarchicalCheckbox.addActionListener(new ActionListener(){
+
+			public void actionPerformed(ActionEvent arg0) {
+				if (hierarchicalCheckbox.isSelected()) {
+					aStarAlgorithmCheckbox.setSelected(false);
+					dijkstraAlgorithmCheckbox.setSelected(false);
+					jumpPointSearchCheckbox.setSelected(false);
+					dStarLiteCheckbox.setSelected(false);
+					algorithmType = "hpa";
+					manhattanHeuristicsCheckbox.setVisible(false);
+					chebyshevHeuristicsCheckbox.setVisible(false);
+					octileHeuristicsCheckbox.setVisible(false);
+					euclideanHeuristicsCheckbox.setVisible(false);
+					dijkstraHeuristicInfoLabel.setVisible(false);
+					jumpPointSearchHeuristicInfoLabel.setVisible(false);
+					hierarchicalHeuristicInfoLabel.setVisible(true);
+					dStarLiteHeuristicInfoLabel.setVisible(false);
+					bucketQueueCheckbox.setVisible(false);
+					//The HPA* does not have the bidirectional variant
+					checkBoxBidirectional.setEnabled(false);
+				} else {
+					hierarchicalCheckbox.setSelected(true);
+					algorithmType = "hpa";
+				}
+			}
 			
+		});//End of action listener for hierarchicalCheckbox
+		
+		//Add the action listener for the dStarLiteCheckbox
+		dStarLiteCheckbox.addActionListener(new ActionListener(){
+
 			public void actionPerformed(ActionEvent arg0) {
-				if (chebyshevHeuristicsCheckbox.isSelected()) {
-					manhattanHeuristicsCheckbox.setSelected(false);
-					heuristicsType = "chebyshev";
+				if (dStarLiteCheckbox.isSelected()) {
+					aStarAlgorithmCheckbox.setSelected(false);
+					dijkstraAlgorithmCheckbox.setSelected(false);
+					jumpPointSearchCheckbox.setSelected(false);
+					hierarchicalCheckbox.setSelected(false);
+					algorithmType = "dstar";
+					manhattanHeuristicsCheckbox.setVisible(false);
+					chebyshevHeuristicsCheckbox.setVisible(false);
+					octileHeuristicsCheckbox.setVisible(false);
+					euclideanHeuristicsCheckbox.setVisible(false);
+					dijkstraHeuristicInfoLabel.setVisible(false);
+					jumpPointSearchHeuristicInfoLabel.setVisible(false);
+					hierarchicalHeuristicInfoLabel.setVisible(false);
+					dStarLiteHeuristicInfoLabel.setVisible(true);
+					bucketQueueCheckbox.setVisible(false);
+					//The D* Lite does not have the bidirectional variant
+					checkBoxBidirectional.setEnabled(false);
 				} else {
-					chebyshevHeuristicsCheckbox.setSelected(true);
-					heuristicsType = "chebyshev";
+					dStarLiteCheckbox.setSelected(true);
+					algorithmType = "dstar";
 				}
 			}
-		});//End of action listener for chebyshevHeuristicsCheckbox
+			
+		});//End of action listener for dStarLiteCheckbox
 		
-		//Add action listener for the calculatePathButton
-		calculatePathButton.addActionListener(new ActionListener() {
+		//The heuristics checkboxes and the types of the heuristics they select
+		final JCheckBox[] heuristicsCheckboxes = {manhattanHeuristicsCheckbox, chebyshevHeuristicsCheckbox,
+				octileHeuristicsCheckbox, euclideanHeuristicsCheckbox};
+		final String[] heuristicsTypes = {"manhattan", "chebyshev", "octile", "euclidean"};
+		
+		//Add the same action listener to each of the heuristics checkboxes, so that exactly one of them is selected
+		ActionListener heuristicsListener = new ActionListener() {
+			
 			public void actionPerformed(ActionEvent arg0) {
-				//Clear the information regarding algorithm steps/operations
-				PathfindingGUI.operationsLabel.setText("");
-				PathfindingGUI.operationsLabel.paintImmediately(PathfindingGUI.operationsLabel.getVisibleRect());
-				
-				PathfindingGUI.visitedNodesLabel.setText("");
-				PathfindingGUI.visitedNodesLabel.paintImmediately(PathfindingGUI.visitedNodesLabel.getVisibleRect());
-				
-				PathfindingGUI.pathFoundLabel.setText("");
-				PathfindingGUI.pathFoundLabel.paintImmediately(PathfindingGUI.pathFoundLabel.getVisibleRect());
-				
-				PathfindingGUI.tracingBackLabel.setText("");
-				PathfindingGUI.tracingBackLabel.paintImmediately(PathfindingGUI.tracingBackLabel.getVisibleRect());
-				
-				PathfindingGUI.tracingForwardLabel.setText("");
-				PathfindingGUI.tracingForwardLabel.paintImmediately(PathfindingGUI.tracingForwardLabel.getVisibleRect());
-				
-				if (threadGUI.pathCalculated) {
-					//Loop through the nodeList length for the nodes in columns
-					for (int i = 0; i < nodeList.length; i++) {
-						//Inner loop through the nodeList length for nodes in rows
-						for (int n = 0; n < nodeList[i].length; n++) {
-							if (nodeList[i][n].getNodeVisited()) {
-								nodeList[i][n].setNodeVisited(false);
-							} else if (nodeList[i][n].isTheGoal()) {
-								nodeList[i][n].setGoalNodeReached(false);
-							} else if (nodeList[i][n].isTheStart()) {
-								nodeList[i][n].setShowImageAtStartNode(true);
-							}
-						}
+				for (int i = 0; i < heuristicsCheckboxes.length; i++) {
+					boolean selected = heuristicsCheckboxes[i] == arg0.getSource();
+					heuristicsCheckboxes[i].setSelected(selected);
+					if (selected) {
+						heuristicsType = heuristicsTypes[i];
 					}
 				}
-				//If the start or goal node is null
-				if (PathfindingGUI.start == null || PathfindingGUI.goal == null) {
-					JOptionPane.showMessageDialog(null, "In order to calculate the path, remember to allocate the start and goal nodes.", "No start or goal node", JOptionPane.ERROR_MESSAGE);
-					return;
-				}
-				
-				//If the selected algorithm is A* algorithm
-				if (algorithmType.equals("astar")) {
-					 
-					//Initialise the AStarAlgorithm object
-					aStar = new AStarAlgorithm(start, goal, allowDiagonalPathFinding, msDelayBetweenRobotMovement, showVisitedNodes, msDelayBetweenVisitingNodes, heuristicsType);
-					//Call the method of aStar object to calculate the path
-					aStar.calculatePath();
-					threadGUI.pathCalculated = true;
-				} else if (algorithmType.equals("dijkstra")) {
-					//initialise the DijkstraAlgorithm object
-					dijkstra = new DijkstraAlgorithm(start, goal, allowDiagonalPathFinding, msDelayBetweenRobotMovement, showVisitedNodes, msDelayBetweenVisitingNodes);
-					//Call the method of dijkstra to calculate the path
-					dijkstra.calculatePath();
-					threadGUI.pathCalculated = true;
+			}
+		};//End of action listener for the heuristics checkboxes
+		for (JCheckBox heuristicsCheckbox : heuristicsCheckboxes) {
+			heuristicsCheckbox.addActionListener(heuristicsListener);
+		}
+		
+		//Add the action listener for the bucketQueueCheckbox
+		bucketQueueCheckbox.addActionListener(new ActionListener() {
+			
+			public void actionPerformed(ActionEvent arg0) {
+				if (bucketQueueCheckbox.isSelected()) {
+					SearchTrace.log(SearchTrace.infoLevel, "Setting the useBucketQueue to true");
+					useBucketQueue = true;
+				} else {
+					SearchTrace.log(SearchTrace.infoLevel, "Setting the useBucketQueue to false");
+					useBucketQueue = false;
 				}
 			}
+		});//End of action listener for bucketQueueCheckbox
+		
+		//Add action listener for the calculatePathButton
+		calculatePathButton.addActionListener(new ActionListener() {
+			public void actionPerformed(ActionEvent arg0) {
+				//Start the search on the worker thread, aborting the search in progress
+				startCalculatingPath();
+			}
 		});//End of action listener for calculatePathButton
 		
+		//Add an action listener for the cancelSearchButton
+		cancelSearchButton.addActionListener(new ActionListener() {
+			public void actionPerformed(ActionEvent arg0) {
+				cancelSearch();
+			}
+		});//End of action listener for cancelSearchButton
+		
 		//Add an action listener for the createNewGridButton
 		createNewGridButton.addActionListener(new ActionListener() {
 			public void actionPerformed(ActionEvent args0) {
-				//Clear the information regarding algorithm steps/operations
-				PathfindingGUI.operationsLabel.setText("");
-				PathfindingGUI.operationsLabel.paintImmediately(PathfindingGUI.operationsLabel.getVisibleRect());
-				
-				PathfindingGUI.visitedNodesLabel.setText("");
-				PathfindingGUI.visitedNodesLabel.paintImmediately(PathfindingGUI.visitedNodesLabel.getVisibleRect());
-				
-				PathfindingGUI.pathFoundLabel.setText("");
-				PathfindingGUI.pathFoundLabel.paintImmediately(PathfindingGUI.pathFoundLabel.getVisibleRect());
-				
-				PathfindingGUI.tracingBackLabel.setText("");
-				PathfindingGUI.tracingBackLabel.paintImmediately(PathfindingGUI.tracingBackLabel.getVisibleRect());
-				
-				PathfindingGUI.tracingForwardLabel.setText("");
-				PathfindingGUI.tracingForwardLabel.paintImmediately(PathfindingGUI.tracingForwardLabel.getVisibleRect());
-				threadGUI.initialiseNodesOnGrid();
-				threadGUI.pathCalculated = false;
+				//Abort the search in progress, and create the new grid once it has finished
+				createNewGrid();
 			}
 		});
 		
@@ -525,11 +803,21 @@ public class PathfindingGUI extends Canvas implements Runnable, MouseListener {
 		f.add(algorithmSelectionInfoLabel);
 		f.add(aStarAlgorithmCheckbox);
 		f.add(dijkstraAlgorithmCheckbox);
+		f.add(jumpPointSearchCheckbox);
+		f.add(hierarchicalCheckbox);
+		f.add(dStarLiteCheckbox);
 		f.add(heuristicsSelectionInfoLabel);
 		f.add(manhattanHeuristicsCheckbox);
 		f.add(chebyshevHeuristicsCheckbox);
+		f.add(octileHeuristicsCheckbox);
+		f.add(euclideanHeuristicsCheckbox);
 		f.add(dijkstraHeuristicInfoLabel);
+		f.add(jumpPointSearchHeuristicInfoLabel);
+		f.add(hierarchicalHeuristicInfoLabel);
+		f.add(dStarLiteHeuristicInfoLabel);
+		f.add(bucketQueueCheckbox);
 		f.add(checkBoxAllowDiagonalPathFinding);
+		f.add(checkBoxBidirectional);
 		f.add(optionsLabel);
 		f.add(checkBoxVisitedNodes);
 		f.add(operationsLabel);
@@ -539,6 +827,7 @@ public class PathfindingGUI extends Canvas implements Runnable, MouseListener {
 		f.add(tracingForwardLabel);
 		f.add(calculatePathButton);
 		f.add(createNewGridButton);
+		f.add(cancelSearchButton);
 		f.add(gridLoadingLabel);
 		f.add(legendsInfoLabel);
 		f.add(startNodeLabel);
@@ -576,8 +865,12 @@ public class PathfindingGUI extends Canvas implements Runnable, MouseListener {
 		JMenuItem quit = new JMenuItem("Quit");
 		//Declare and initialise the createNewGrid object as a menu item (to be selectable from drop down menu of options)
 		JMenuItem createNewGrid = new JMenuItem("Create New Grid");
+		//Declare and initialise the openMap object as a menu item (to be selectable from drop down menu of options)
+		JMenuItem openMap = new JMenuItem("Open Map");
 		//Declare and initialise the calculatePath object as a menu item (to be selectable from drop down menu of options)
 		JMenuItem calculatePath = new JMenuItem("Calculate The Path");
+		//Declare and initialise the saveMetrics object as a menu item (to be selectable from drop down menu of options)
+		JMenuItem saveMetrics = new JMenuItem("Save Metrics");
 		
 		//Declare and initialise the settings object to be placed on the bar as a menu
 		JMenu settings = new JMenu("Settings");
@@ -605,84 +898,46 @@ public class PathfindingGUI extends Canvas implements Runnable, MouseListener {
 		//Add an action listener to the createNewGrid object
 		createNewGrid.addActionListener(new ActionListener() {
 			public void actionPerformed(ActionEvent e) {
-				//Clear the information regarding algorithm steps/operations
-				PathfindingGUI.operationsLabel.setText("");
-				PathfindingGUI.operationsLabel.paintImmediately(PathfindingGUI.operationsLabel.getVisibleRect());
-				
-				PathfindingGUI.visitedNodesLabel.setText("");
-				PathfindingGUI.visitedNodesLabel.paintImmediately(PathfindingGUI.visitedNodesLabel.getVisibleRect());
-				
-				PathfindingGUI.pathFoundLabel.setText("");
-				PathfindingGUI.pathFoundLabel.paintImmediately(PathfindingGUI.pathFoundLabel.getVisibleRect());
-				
-				PathfindingGUI.tracingBackLabel.setText("");
-				PathfindingGUI.tracingBackLabel.paintImmediately(PathfindingGUI.tracingBackLabel.getVisibleRect());
-				
-				PathfindingGUI.tracingForwardLabel.setText("");
-				PathfindingGUI.tracingForwardLabel.paintImmediately(PathfindingGUI.tracingForwardLabel.getVisibleRect());
-				threadGUI.initialiseNodesOnGrid();
-				threadGUI.pathCalculated = false;
+				//Abort the search in progress, and create the new grid once it has finished
+				createNewGrid();
 			}
 		});
 		
-		//Add an action listener to the calculatePath object
-		calculatePath.addActionListener(new ActionListener() {
+		//Add an action listener to the openMap object
+		openMap.addActionListener(new ActionListener() {
 			public void actionPerformed(ActionEvent e) {
-				
-				//Clear the information regarding algorithm steps/operations
-				PathfindingGUI.operationsLabel.setText("");
-				PathfindingGUI.operationsLabel.paintImmediately(PathfindingGUI.operationsLabel.getVisibleRect());
-				
-				PathfindingGUI.visitedNodesLabel.setText("");
-				PathfindingGUI.visitedNodesLabel.paintImmediately(PathfindingGUI.visitedNodesLabel.getVisibleRect());
-				
-				PathfindingGUI.pathFoundLabel.setText("");
-				PathfindingGUI.pathFoundLabel.paintImmediately(PathfindingGUI.pathFoundLabel.getVisibleRect());
-				
-				PathfindingGUI.tracingBackLabel.setText("");
-				PathfindingGUI.tracingBackLabel.paintImmediately(PathfindingGUI.tracingBackLabel.getVisibleRect());
-				
-				PathfindingGUI.tracingForwardLabel.setText("");
-				PathfindingGUI.tracingForwardLabel.paintImmediately(PathfindingGUI.tracingForwardLabel.getVisibleRect());
-				
-				if (threadGUI.pathCalculated) {
-					//Loop through the nodeList length for the nodes in columns
-					for (int i = 0; i < nodeList.length; i++) {
-						//Inner loop through the nodeList length for nodes in rows
-						for (int n = 0; n < nodeList[i].length; n++) {
-							if (nodeList[i][n].getNodeVisited()) {
-								nodeList[i][n].setNodeVisited(false);
-							} else if (nodeList[i][n].isTheGoal()) {
-								nodeList[i][n].setGoalNodeReached(false);
-							} else if (nodeList[i][n].isTheStart()) {
-								nodeList[i][n].setShowImageAtStartNode(true);
-							}
-						}
-					}
-				}
-				//If the start or goal node is null
-				if (PathfindingGUI.start == null || PathfindingGUI.goal == null) {
-					return;
+				//Let the user choose the map file of the MovingAI benchmark sets
+				JFileChooser chooser = new JFileChooser();
+				if (chooser.showOpenDialog(f) == JFileChooser.APPROVE_OPTION) {
+					openMap(chooser.getSelectedFile());
 				}
-				
-				//If the selected algorithm is A* algorithm
-				if (algorithmType.equals("astar")) {
-					 
-					//Initialise the AStarAlgorithm object
-					aStar = new AStarAlgorithm(start, goal, allowDiagonalPathFinding, msDelayBetweenRobotMovement, showVisitedNodes, msDelayBetweenVisitingNodes, heuristicsType);
-					//Call the method of aStar object to calculate the path
-					aStar.calculatePath();
-					threadGUI.pathCalculated = true;
-				} else if (algorithmType.equals("dijkstra")) {
-					//initialise the DijkstraAlgorithm object
-					dijkstra = new DijkstraAlgorithm(start, goal, allowDiagonalPathFinding, msDelayBetweenRobotMovement, showVisitedNodes, msDelayBetweenVisitingNodes);
-					//Call the method of dijkstra to calculate the path
-					dijkstra.calculatePath();
-					threadGUI.pathCalculated = true;
+			}
+		});
+		
+		//Add an action listener to the saveMetrics object
+		saveMetrics.addActionListener(new ActionListener() {
+			public void actionPerformed(ActionEvent e) {
+				//Let the user choose the JSON file, to which the metrics of the searches are written
+				JFileChooser chooser = new JFileChooser();
+				chooser.setSelectedFile(new File("metrics.json"));
+				if (chooser.showSaveDialog(f) == JFileChooser.APPROVE_OPTION) {
+					try {
+						MetricsRegistry.writeJson(chooser.getSelectedFile());
+					} catch (IOException e1) {
+						JOptionPane.showMessageDialog(f, e1.getMessage(), "The metrics cannot be saved", JOptionPane.ERROR_MESSAGE);
+					}
 				}
 			}
 		});
 		
+		//Add an action listener to the calculatePath object
+		calculatePath.addActionListener(new ActionListener() {
+			public void actionPerformed(ActionEvent e) {
+				//Start the search on the worker thread, aborting the search in progress
+				startCalculatingPath();
+			}
+		});
+		
 		//Add an action listener to the calculatePathSettings object
 		calculatePathSettings.addActionListener(new ActionListener() {
 			public void actionPerformed(ActionEvent e) {
@@ -822,7 +1077,8 @@ public class PathfindingGUI extends Canvas implements Runnable, MouseListener {
 				//Create and initialise a label objects
 				JLabel labelTitle = new JLabel("About the Pathfinding Program");
 				JLabel labelMouseSettings = new JLabel("<html> The Mouse Settings: <br>Left mouse button = Placement of obstacle node <br>" +
-						"Right mouse button = Placement of start/goal node <br><br> The Program Settings: <br> Show/Hide visited nodes <br> "
+						"Right mouse button = Placement of start/goal node <br>Middle mouse button = Panning of the grid <br>"
+						+ "Mouse wheel = Zooming of the grid <br><br> The Program Settings: <br> Show/Hide visited nodes <br> "
 						+ " Allow/Disable diagonal path finding <br> Set delay between visiting nodes <br> Set delay between robot movement</html>");
 				JLabel labelAuthor = new JLabel("Author: Adrian Fall");
 				//Center the position of the JLabels
@@ -846,8 +1102,12 @@ public class PathfindingGUI extends Canvas implements Runnable, MouseListener {
 		options.add(quit);
 		//Add the createNewGrid object to the list of drop down items of options
 		options.add(createNewGrid);
+		//Add the openMap object to the list of drop down items of options
+		options.add(openMap);
 		//Add the calculatePath object to the list of drop down items of options
 		options.add(calculatePath);
+		//Add the saveMetrics object to the list of drop down items of options
+		options.add(saveMetrics);
 		
 		//Add the calculatePathSettings object to the list of drop down items of settings
 		settings.add(calculatePathSettings);
@@ -856,6 +1116,410 @@ public class PathfindingGUI extends Canvas implements Runnable, MouseListener {
 		help.add(aboutProgram);
 		
 	}//End of setUpMenu method
+	
+	/**
+	 * A method for starting the search on the worker thread, called from the event thread of the GUI once the user wants to calculate the path.
+	 * The search in progress (if any) is aborted, and the new search starts once it has finished. The new search firstly clears
+	 * the previously calculated (or cancelled) path from the grid, and then calculates and presents the new path.
+	 */
+	private static void startCalculatingPath() {
+		//If the start or goal node has not been selected
+		if (gridDisplay.getStart() == -1 || gridDisplay.getGoal() == -1) {
+			JOptionPane.showMessageDialog(null, "In order to calculate the path, remember to allocate the start and goal nodes.", "No start or goal node", JOptionPane.ERROR_MESSAGE);
+			return;
+		}
+		//The start and goal nodes would be unselected by the grid being replaced
+		if (isGridReplacementInProgress()) {
+			JOptionPane.showMessageDialog(null, "Please wait until the grid has been loaded.");
+			return;
+		}
+		cancelSearch();
+		searchInProgress = searchExecutor.submit(new Runnable() {
+			public void run() {
+				//Clear the information regarding algorithm steps/operations
+				clearLabels();
+				try {
+					//The grid might have been replaced since the search was submitted, unselecting the start and goal nodes
+					if (gridDisplay.getStart() == -1 || gridDisplay.getGoal() == -1) {
+						showLabel(pathFoundLabel, "<html><font color=red> No start or goal node. </font></html>");
+						return;
+					}
+					//The cancelled search might have visited the nodes as well, so the nodes are always cleared
+					clearCalculatedPath();
+					calculatePath();
+				} catch (CancellationException e) {
+					//The state of the D* Lite might be left in the middle of the expansion, so it starts from scratch next time
+					dStarLite.reset();
+					showLabel(pathFoundLabel, "<html><font color=red> Search cancelled. </font></html>");
+				} catch (final RuntimeException e) {
+					//Otherwise the exception would be kept by the future, which is never read, and the search would silently stop
+					dStarLite.reset();
+					SearchTrace.log(SearchTrace.infoLevel, "The search has failed: " + e);
+					showLabel(pathFoundLabel, "<html><font color=red> Search failed. </font></html>");
+					SwingUtilities.invokeLater(new Runnable() {
+						public void run() {
+							JOptionPane.showMessageDialog(null, e.getMessage(), "The path cannot be calculated", JOptionPane.ERROR_MESSAGE);
+						}
+					});
+				}
+			}
+		});
+	}//End of startCalculatingPath method
+	
+	/**
+	 * A method for aborting the search in progress (if any), by interrupting the worker thread. The search then stops
+	 * at its next expanded node (see the SearchEventLog class), or the replay at its next visited node (or the next step of the robot),
+	 * so the worker thread is soon free for the next search.
+	 */
+	private static void cancelSearch() {
+		if (searchInProgress != null && searchInProgress.cancel(true)) {
+			//The cancelled future is done at once, while the worker thread is still leaving the search, so the search is
+			//tracked as in progress until the worker thread reaches the empty task submitted after it
+			searchInProgress = searchExecutor.submit(new Runnable() {
+				public void run() {
+				}
+			});
+		}
+	}//End of cancelSearch method
+	
+	/**
+	 * A method for determining whether the search submitted to the worker thread has not finished yet.
+	 * @return - boolean whether the search is in progress.
+	 */
+	private static boolean isSearchInProgress() {
+		return searchInProgress != null && !searchInProgress.isDone();
+	}//End of isSearchInProgress method
+	
+	/**
+	 * A method for determining whether the replacement of the grid submitted to the worker thread has not finished yet.
+	 * @return - boolean whether the grid is being replaced.
+	 */
+	private static boolean isGridReplacementInProgress() {
+		return gridReplacementInProgress != null && !gridReplacementInProgress.isDone();
+	}//End of isGridReplacementInProgress method
+	
+	/**
+	 * A method for creating the new grid, called from the event thread of the GUI. The search in progress (if any) is aborted,
+	 * and the nodes are created on the worker thread once it has finished, so that the search does not visit the new nodes.
+	 * The grid cannot be edited or searched until it has been replaced.
+	 */
+	private static void createNewGrid() {
+		cancelSearch();
+		gridReplacementInProgress = searchExecutor.submit(new Runnable() {
+			public void run() {
+				clearLabels();
+				threadGUI.initialiseNodesOnGrid();
+			}
+		});
+	}//End of createNewGrid method
+	
+	/**
+	 * A method for opening the map file of the MovingAI benchmark sets (or the binary grid file, see the MappedGridMap)
+	 * as the new grid, called from the event thread of the GUI. The opened grid itself is drawn, edited and searched,
+	 * so opening the binary grid file takes only the time of mapping it, and its obstacles are read once the nodes are drawn.
+	 * The search in progress (if any) is aborted, and the map is loaded on the worker thread once it has finished.
+	 * The large maps can be inspected by panning (middle mouse button) and zooming (mouse wheel) the grid.
+	 * The grid cannot be edited or searched until the map has been loaded.
+	 * @param file - The map file, or the binary grid file with the ".grid" extension.
+	 */
+	private static void openMap(final File file) {
+		cancelSearch();
+		gridReplacementInProgress = searchExecutor.submit(new Runnable() {
+			public void run() {
+				final GridMap map;
+				try {
+					if (file.getName().endsWith(".grid")) {
+						//The obstacles placed or removed by the user are kept by the private copy, so the file is not changed
+						map = MappedGridMap.open(file, true);
+					} else {
+						map = MovingAILoader.loadMap(file);
+					}
+				} catch (final IOException e) {
+					SwingUtilities.invokeLater(new Runnable() {
+						public void run() {
+							JOptionPane.showMessageDialog(null, e.getMessage(), "The map cannot be opened", JOptionPane.ERROR_MESSAGE);
+						}
+					});
+					return;
+				}
+				clearLabels();
+				//The map itself is drawn and edited, so only the obstacles of the drawn nodes are read
+				threadGUI.showGrid(map);
+			}
+		});
+	}//End of openMap method
+	
+	/**
+	 * A method for clearing the previously calculated path from the nodes on the grid, that is the visited nodes and the traced path. <br>
+	 * The state of the search is kept in the cell stamps of the gridDisplay, so clearing it takes a constant time regardless of the size of the grid.
+	 */
+	private static void clearCalculatedPath() {
+		gridDisplay.startNewSearch();
+		//Any of the nodes might have been drawn with the state of the previous search, so redraw the whole canvas
+		threadGUI.redrawCanvas();
+	}//End of clearCalculatedPath method
+	
+	/**
+	 * A method for clearing the information regarding the algorithm steps/operations and the path.
+	 */
+	private static void clearLabels() {
+		showLabel(operationsLabel, "");
+		showLabel(visitedNodesLabel, "");
+		showLabel(pathFoundLabel, "");
+		showLabel(tracingBackLabel, "");
+		showLabel(tracingForwardLabel, "");
+	}//End of clearLabels method
+	
+	/**
+	 * A method for displaying the text on the label, which can be called from any thread, since the label is updated by the event thread of the GUI.
+	 * @param label - The label to be updated.
+	 * @param text - The text to be displayed.
+	 */
+	private static void showLabel(final JLabel label, final String text) {
+		SwingUtilities.invokeLater(new Runnable() {
+			public void run() {
+				label.setText(text);
+			}
+		});
+	}//End of showLabel method
+	
+	/**
+	 * A method for checking whether the search has been cancelled (i.e. the worker thread has been interrupted), and if so aborting it.
+	 * @throws CancellationException - If the search has been cancelled.
+	 */
+	private static void checkCancelled() {
+		if (Thread.currentThread().isInterrupted()) {
+			throw new CancellationException("The search has been cancelled");
+		}
+	}//End of checkCancelled method
+	
+	/**
+	 * A method for calculating the path between the start and goal nodes with the algorithm selected by the user,
+	 * whereby the GUI listens to the progress of the search, and then presenting the result of the search.
+	 */
+	private static void calculatePath() {
+		//Create the options of the search based on the selection of the user
+		SearchOptions options = new SearchOptions()
+				.setAllowDiagonalPathFinding(allowDiagonalPathFinding)
+				.setHeuristicsType(heuristicsType)
+				.setUseBucketQueue(useBucketQueue)
+				.setBidirectional(bidirectional);
+		
+		PathfindingEngine engine = createEngine(algorithmType);
+		
+		//Obtain the cells of the start and goal nodes on the grid map, on which the engines perform the search
+		int startCell = gridDisplay.getStart();
+		int goalCell = gridDisplay.getGoal();
+		
+		//Obtain the path from the cache, otherwise calculate the path at full speed, recording the visited nodes into the log
+		searchEventLog.clear();
+		PathResult result = pathCache.get(gridMap, algorithmType, startCell, goalCell, options);
+		//The report of the D* Lite repair, or null if the path has not been repaired by the D* Lite
+		String repairReport = null;
+		if (result == null) {
+			result = MetricsRegistry.measure(algorithmType, engine, gridMap, startCell, goalCell, options, searchEventLog);
+			SearchTrace.log(SearchTrace.infoLevel, "The search has finished in %d microseconds, recording %d events",
+					result.getElapsedNanos() / 1000, searchEventLog.getEndIndex());
+			pathCache.put(gridMap, algorithmType, startCell, goalCell, options, result);
+			if (engine == dStarLite && dStarLite.getNumberOfReExpandedNodes() != -1) {
+				repairReport = "Re-expanded: " + dStarLite.getNumberOfReExpandedNodes();
+				if (compareDStarLiteFromScratch) {
+					//Compare the re-expanded nodes of the repaired path with the nodes expanded by calculating the path from scratch
+					PathResult fromScratch = new DStarLiteAlgorithm().calculatePath(gridMap, startCell, goalCell, options, null);
+					repairReport += " of " + fromScratch.getNumberOfVisitedNodes();
+				}
+				repairReport += " (" + dStarLite.getNumberOfChangedCells() + " changes)";
+				SearchTrace.log(SearchTrace.infoLevel, "D* Lite " + repairReport);
+			}
+		}
+		if (SearchTrace.isEnabled(SearchTrace.debugLevel)) {
+			SearchTrace.log(SearchTrace.debugLevel, pathCache.toString());
+		}
+		if (result.isPathFound()) {
+			searchEventLog.recordPath(result.getPath());
+		}
+		if (searchEventLog.getNumberOfOverwrittenEvents() > 0) {
+			//The beginning of the search has been overwritten, and the animator only presents the path rather than the rest of the search
+			final long numberOfEvents = searchEventLog.getEndIndex();
+			final long numberOfOverwrittenEvents = searchEventLog.getNumberOfOverwrittenEvents();
+			SearchTrace.log(SearchTrace.infoLevel, "The search has recorded %d events, %d of which have been overwritten", numberOfEvents, numberOfOverwrittenEvents);
+			SwingUtilities.invokeLater(new Runnable() {
+				public void run() {
+					JOptionPane.showMessageDialog(null, "The search has recorded " + numberOfEvents + " events, which is more than can be replayed ("
+							+ numberOfOverwrittenEvents + " events have been overwritten), so only the path is presented.");
+				}
+			});
+		}
+		
+		//Replay the recorded search to the GUI at the delay chosen by the user, and then present the path
+		int[] path;
+		try {
+			path = new SearchAnimator(showVisitedNodes ? msDelayBetweenVisitingNodes : 0).replay(searchEventLog, threadGUI);
+		} catch (InterruptedException e) {
+			throw new CancellationException("The search has been cancelled");
+		}
+		if (path != null) {
+			traceThePath(path);
+		}
+		
+		showLabel(operationsLabel, "<html><font color=green> Operations: " + Integer.toString(result.getNumberOfOperations()) + "</font></html>");
+		
+		if (repairReport != null) {
+			//The repaired path only re-expands the nodes affected by the changed obstacles
+			showLabel(visitedNodesLabel, "<html><font color=green> " + repairReport + "</font></html>");
+		} else {
+			showLabel(visitedNodesLabel, "<html><font color=green> Visited nodes: " + Integer.toString(result.getNumberOfVisitedNodes()) + "</font></html>");
+		}
+		
+		if (!result.isPathFound()) {
+			showLabel(pathFoundLabel, "<html><font color=red> Path not found. </font></html>");
+			
+			SwingUtilities.invokeLater(new Runnable() {
+				public void run() {
+					JOptionPane.showMessageDialog(null, "There is no possible path to be found.");
+				}
+			});
+		}
+	}//End of calculatePath method
+	
+	/**
+	 * A method for obtaining the path-finding engine for the given type of the algorithm.
+	 * The engines keeping their state between the searches are created once, while the others are created for each search.
+	 * @param algorithmType - The type of the algorithm, i.e. "astar", "dijkstra", "jps", "hpa" or "dstar".
+	 * @return - The engine performing the selected algorithm.
+	 */
+	private static PathfindingEngine createEngine(String algorithmType) {
+		if (algorithmType.equals("hpa")) {
+			//The same engine is returned, so that its abstraction of the grid map is reused
+			return hierarchicalPathfinding;
+		} else if (algorithmType.equals("dstar")) {
+			//The same engine is returned, so that its search state is repaired after the obstacles have changed
+			return dStarLite;
+		}
+		return PathfindingEngines.forType(algorithmType);
+	}//End of createEngine method
+	
+	/**
+	 * A method for presenting the calculated path on the grid, where tracing backward means from goal to start node, and tracing forward from start to goal node. <br>
+	 * The method firstly traces backwards from the node adjacent to the goal node to the start node, 
+	 * marking each node on the path. <br>
+	 * Once the path has been traced backwards, then the robot is moved forward from the start node,
+	 * through each node on the path, and at the end the goal node is marked as reached.
+	 * @param cells - The cells of the path from the start to the goal cell.
+	 */
+	private static void traceThePath(int[] cells) {
+		GridDisplay display = gridDisplay;
+		
+		showLabel(pathFoundLabel, "<html><font color=orange> Path found. </font></html>");
+		
+		//The last node on the path is the goal node, which is not traced
+		int goalIndex = cells.length - 1;
+		
+		int counter = 0;
+		//Trace backwards, from the node adjacent to the goal node
+		for (int i = goalIndex - 1; i >= 0; i--) {
+			display.setOnTracedPath(cells[i]);
+			try {
+				TimeUnit.MILLISECONDS.sleep(100);
+			} catch (InterruptedException e) {
+				throw new CancellationException("The search has been cancelled");
+			}
+			counter++;
+			
+			showLabel(pathFoundLabel, "<html><font color=orange> Path found over " + (counter + 1) + " nodes. </font></html>");
+			
+			if ((counter % 6) == 0) {
+				showLabel(tracingBackLabel, "<html><font color=orange> Tracing path backwards. </font></html>");
+			} else if ((counter % 6) == 2) {
+				showLabel(tracingBackLabel, "<html><font color=orange> Tracing path backwards.. </font></html>");
+			} else if ((counter % 6) == 4){
+				showLabel(tracingBackLabel, "<html><font color=orange> Tracing path backwards... </font></html>");
+			}
+		}//End of trace backwards
+		
+		showLabel(pathFoundLabel, "<html><font color=green> Path found over " + (counter + 1) + " nodes. </font></html>");
+		
+		showLabel(tracingBackLabel, "<html><font color=green> Tracing path backwards </font></html>");
+		
+		//Trace forward, from the start node to the node adjacent to the goal node
+		for (int j = 0; j < goalIndex; j++) {
+			//The robot is drawn facing the direction in which it has moved from the previous node
+			display.placeRobot(cells[j], j > 0 ? gridMap.getDirection(cells[j - 1], cells[j]) : -1);
+			try {
+				Thread.sleep(msDelayBetweenRobotMovement);
+			} catch (InterruptedException e) {
+				//Keep the thread interrupted, so that the path stops being traced
+				Thread.currentThread().interrupt();
+			}
+			display.removeRobot();
+			checkCancelled();
+			
+			if ((j % 6) == 0) {
+				showLabel(tracingForwardLabel, "<html><font color=orange> Robot tracing forward. </font></html>");
+			} else if ((j % 6) == 2) {
+				showLabel(tracingForwardLabel, "<html><font color=orange> Robot tracing forward.. </font></html>");
+			} else if ((j % 6) == 4){
+				showLabel(tracingForwardLabel, "<html><font color=orange> Robot tracing forward... </font></html>");
+			}
+		}
+		showLabel(tracingForwardLabel, "<html><font color=green> Robot tracing forward </font></html>");
+		
+		display.setGoalReached();
+	}//End of traceThePath method
+	
+	/**
+	 * A method called by the SearchAnimator when the node has been visited, for determining whether the user wants to be 
+	 * visually represented with the visiting of nodes. The user defined delay between visiting each node is made by the SearchAnimator.
+	 * @param cell - The visited cell of the grid.
+	 */
+	@Override
+	public void nodeVisited(int cell) {
+		//Abort the search if it has been cancelled
+		checkCancelled();
+		if (showVisitedNodes) {
+			gridDisplay.setVisited(cell);
+		}
+	}//End of nodeVisited method
+	
+	/**
+	 * A method called by the SearchAnimator when the node has been expanded, which is not presented by the GUI.
+	 * @param cell - The expanded cell of the grid.
+	 */
+	@Override
+	public void nodeExpanded(int cell) {
+	}
+	
+	/**
+	 * A method called by the SearchAnimator when the node has been reached through a cheaper parent, which is not presented by the GUI,
+	 * since the parents of the nodes on the path are set once the path is traced.
+	 * @param cell - The cell of the grid.
+	 * @param parentCell - The new parent cell.
+	 */
+	@Override
+	public void parentChanged(int cell, int parentCell) {
+	}
+	
+	/**
+	 * A method called by the SearchAnimator when the counters of the path-finder have changed, for displaying the
+	 * number of operations and visited nodes. The counters are displayed by the event thread of the GUI,
+	 * and the counters reported before the event thread has displayed the previous ones are displayed together.
+	 * @param numberOfOperations - The number of operations performed so far.
+	 * @param numberOfVisitedNodes - The number of nodes visited so far.
+	 */
+	@Override
+	public void progressUpdated(int numberOfOperations, int numberOfVisitedNodes) {
+		reportedNumberOfOperations = numberOfOperations;
+		reportedNumberOfVisitedNodes = numberOfVisitedNodes;
+		if (progressDisplayPending.compareAndSet(false, true)) {
+			SwingUtilities.invokeLater(new Runnable() {
+				public void run() {
+					progressDisplayPending.set(false);
+					operationsLabel.setText("<html><font color=orange> Operations: " + Integer.toString(reportedNumberOfOperations) + "</font></html>");
+					visitedNodesLabel.setText("<html><font color=orange> Visited nodes: " + Integer.toString(reportedNumberOfVisitedNodes) + "</font></html>");
+				}
+			});
+		}
+	}//End of progressUpdated method
 		
 	/**
 	 * A method for starting a new thread, so it takes care
@@ -863,17 +1527,26 @@ public class PathfindingGUI extends Canvas implements Runnable, MouseListener {
 	 */
 	public void start() {
 		new Thread(this).start();
-		System.out.println("Thread started");
+		SearchTrace.log(SearchTrace.debugLevel, "Thread started");
 	}
 	
 	/**
 	 * A method for running the thread which initialises the nodes
 	 * and their positions on the grid, creating buffered strategy
 	 * which organises the memory allocation of the canvas, creates
-	 * the 2D graphics object and delegates it to the render method
+	 * the 2D graphics object and delegates it to the render method. <br>
+	 * The thread waits until the state of any node has changed, and then redraws only the region
+	 * of the changed nodes onto the image of the last frame, which is then shown on the canvas.
+	 * Hence the thread is idle while nothing changes.
 	 */
 	public void run() {
 		
+		if (getGraphicsConfiguration() != null) {
+			frameImage = getGraphicsConfiguration().createCompatibleImage(canvasWidth, canvasHeight);
+		} else {
+			frameImage = new BufferedImage(canvasWidth, canvasHeight, BufferedImage.TYPE_INT_RGB);
+		}
+		
 		//Call the initialise method to initialise the grid for the nodes.
 		initialiseGrid();
 
@@ -882,36 +1555,93 @@ public class PathfindingGUI extends Canvas implements Runnable, MouseListener {
 		
 		showLegends();
 
-		System.out.println("Thread running.");
+		SearchTrace.log(SearchTrace.debugLevel, "Thread running.");
 		while(true) {
 			
+			//Wait until any node has changed, and obtain the region to be redrawn
+			Rectangle region;
+			try {
+				region = dirtyRegion.take();
+			} catch (InterruptedException e) {
+				return;
+			}
+			
+			//Redraw the region onto the image of the last frame
+			Graphics2D frameGraphics = frameImage.createGraphics();
+			renderRegion(frameGraphics, region);
+			frameGraphics.dispose();
+			
+			//If the canvas is not shown yet, then the frame is shown once the canvas is painted
+			if (!isDisplayable()) {
+				continue;
+			}
+			
 			//Create the bufferStrategy object for organizing memory of the canvas
 			BufferStrategy buffStrategy = getBufferStrategy();
 			
 			//If the bufferedStrategy has not been yet created with buffers
 			if (buffStrategy == null) {
-				System.out.println("Creating strategy with 2 buffers");
+				SearchTrace.log(SearchTrace.debugLevel, "Creating strategy with 2 buffers");
 				//Create the strategy with 2 buffers
 				createBufferStrategy(2);
-				//Continue from the beginning of while loop
-				continue;
+				buffStrategy = getBufferStrategy();
 			}
-			//Create the Graphics2D object that will be used for rendering
-			Graphics2D g2d = (Graphics2D) buffStrategy.getDrawGraphics();
-			//Call the render method
-			render(g2d);
-			//Make the next available buffer visible
-			buffStrategy.show();
+			//Copy the frame onto the next available buffer, and make it visible (repeating it if the buffer has been lost meanwhile)
+			do {
+				do {
+					Graphics g = buffStrategy.getDrawGraphics();
+					g.drawImage(frameImage, 0, 0, null);
+					g.dispose();
+				} while (buffStrategy.contentsRestored());
+				buffStrategy.show();
+			} while (buffStrategy.contentsLost());
 			
-			//Delay the thread
+			//Delay the thread, so that the changes made meanwhile are drawn with the next frame
 			try {
-				Thread.sleep(1);
+				Thread.sleep(msFrameInterval);
 			} catch (InterruptedException e) {
-				e.printStackTrace();
+				return;
 			}
 		}
 	}//End of run method
 	
+	/**
+	 * A method for painting the canvas once it has been uncovered or resized, which marks the whole canvas to be redrawn,
+	 * so that the rendering thread shows the frame again.
+	 * @param g - The graphics object of the canvas.
+	 */
+	@Override
+	public void paint(Graphics g) {
+		redrawCanvas();
+	}
+	
+	/**
+	 * A method for marking the area of the grid visible on the canvas to be redrawn.
+	 */
+	private void redrawCanvas() {
+		Rectangle area = viewport.getVisibleArea();
+		dirtyRegion.mark(area.x, area.y, area.width, area.height);
+	}
+	
+	/**
+	 * A method for showing the grid through the new camera, once the grid has been panned, zoomed or replaced by the new grid.
+	 * @param newViewport - The new camera.
+	 */
+	private void moveViewport(Viewport newViewport) {
+		viewport = newViewport;
+		redrawCanvas();
+	}
+	
+	/**
+	 * A method for updating the canvas, which does not clear the canvas (unlike the default method),
+	 * since the whole canvas is drawn by the rendering thread.
+	 * @param g - The graphics object of the canvas.
+	 */
+	@Override
+	public void update(Graphics g) {
+		paint(g);
+	}
+	
 
 	
 	private void showLegends() {
@@ -947,141 +1677,295 @@ public class PathfindingGUI extends Canvas implements Runnable, MouseListener {
 	}
 
 	/**
-	 * A method for initialising the grid of node list.
-	 * The grid is initialised based on two dimensional array
-	 * of the node list, where the first dimension corresponds 
-	 * to the number of columns and the second dimension
-	 * to the number of rows of possible nodes on the grid.
+	 * A method for initialising the grid of nodes.
+	 * The grid is initialised as the grid map with the number
+	 * of columns and rows of possible nodes on the grid.
 	 * Additionally adds the mouse listener to the grid, so
 	 * that the nodes (obstacle, start and goal) can be allocated
 	 * on the grid.
 	 */
 	public void initialiseGrid() {
 
-		System.out.println("Hello from initialise");
+		SearchTrace.log(SearchTrace.debugLevel, "Initialising the grid");
 		//Request focus for this component for the inputs and window.
 		requestFocus();
-		//Set the pathCalculated boolean to false, since we are just initialising the nodes and their positions
-		pathCalculated = false;
-		
-		//Initialise and set the size of the nodeList, first dimension corresponds to the number of columns
-		//and second dimension to the number of rows
-		nodeList = new Node[19][13];
-		System.out.println("nodeList.length (number of columns) = " + nodeList.length);
-		System.out.println("nodeList[] length (number of rows) = " + nodeList[0].length);
+		//Initialise the grid map with 19 columns and 13 rows of the nodes
+		gridMap = new GridMap(19, 13);
+		SearchTrace.log(SearchTrace.debugLevel, "gridMap width (number of columns) = %d, gridMap height (number of rows) = %d",
+				gridMap.getWidth(), gridMap.getHeight());
 		
 		//Add the mouse listener
 		addMouseListener(this);
+		
+		//Add the listener for panning the grid by dragging it with the middle mouse button, and zooming it with the mouse wheel
+		MouseAdapter cameraListener = new MouseAdapter() {
+			private int lastX;
+			private int lastY;
+			
+			@Override
+			public void mousePressed(MouseEvent e) {
+				lastX = e.getX();
+				lastY = e.getY();
+			}
+			
+			@Override
+			public void mouseDragged(MouseEvent e) {
+				if (SwingUtilities.isMiddleMouseButton(e)) {
+					moveViewport(viewport.pan(e.getX() - lastX, e.getY() - lastY));
+				}
+				lastX = e.getX();
+				lastY = e.getY();
+			}
+			
+			@Override
+			public void mouseWheelMoved(MouseWheelEvent e) {
+				//Rolling the wheel away from the user zooms in at the mouse pointer
+				moveViewport(viewport.zoom(Math.pow(zoomStep, -e.getWheelRotation()), e.getX(), e.getY()));
+			}
+		};
+		addMouseListener(cameraListener);
+		addMouseMotionListener(cameraListener);
+		addMouseWheelListener(cameraListener);
 	}
 	
 	/**
-	 * A method for initialising the nodes on the grid, setting
-	 * its position (column and row). When nodes are created on 
-	 * the grid, each of them will be initialised with 8-way surrounding
-	 * nodes
+	 * A method for initialising the nodes on the grid, that is
+	 * replacing the grid by the new grid of the same number of
+	 * columns and rows, without any obstacles.
 	 */
 	//A method for initialising the nodes
 	public void initialiseNodesOnGrid() {
-
-		//Set the start and goal nodes to null
-		start = null;
-		goal = null;
-		
-		//Loop through the nodeList length for the nodes in columns
-		for (int i = 0; i < nodeList.length; i++) {
-			//Inner loop through the nodeList length for nodes in rows
-			for (int n = 0; n < nodeList[i].length; n++) {
-				
-				//Create the node
-				System.out.println("Creating node at column [" + i + "] row" + " [" + n + "]");
-				nodeList[i][n] = new Node(i, n).setXPos(20 + i * 40).setYPos(20 + n * 40);
-			}
-		}
-		
-		//Loop through the nodeList length for the nodes in columns
-		for (int column = 0; column < nodeList.length; column++) {
-			//Inner loop through the nodeList length for nodes in rows
-			for (int row = 0; row < nodeList[column].length; row++) {
-				//Declare variables for the directions of the nodes
-				int eastDirection = column + 1;
-				int westDirection = column - 1;
-				int northDirection = row - 1;
-				int southDirection = row + 1;
-				
-				
-				//Declare and initialise the surrounding nodes
-				Node east = null, west = null, north = null, south = null, northEast = null, northWest = null, southEast = null, southWest = null;
-				
-				//If the eastDirection is within the bounds of the grid
-				if (eastDirection >= 0 && eastDirection < nodeList.length) {
-					//Set the surrounding east node
-					east = nodeList[eastDirection][row];
-				}
-				//If the westDirection is within the bounds of the grid
-				if (westDirection >= 0 && westDirection < nodeList.length) {
-					//Set the surrounding west node
-					west = nodeList[westDirection][row];
-				}
-				//If the northDirection is within the bounds of the grid 
-				if (northDirection >= 0 && northDirection < nodeList[column].length) {
-					//Set the surrounding west node
-					north = nodeList[column][northDirection];
-				}
-				//If the southDirection is within the bounds of the grid
-				if (southDirection >= 0 && southDirection < nodeList[column].length) {
-					//Set the surrounding south node
-					south = nodeList[column][southDirection];
-				}
-				//If the northDirection and eastDirection is within the bounds of the grid, hence the northEast direction will be within the bounds as well
-				if (northDirection >= 0 && northDirection < nodeList[column].length && eastDirection >= 0 && eastDirection < nodeList.length) {
-					//Set the surrounding northEast node
-					northEast = nodeList[eastDirection][northDirection];
-				}
-				//If the northDirection and westDirection is within the bounds of the grid, hence the northWest direction will be within the bounds as well
-				if (northDirection >= 0 && northDirection < nodeList[column].length && westDirection >= 0 && westDirection < nodeList.length) {
-					//Set the surrounding northWest node
-					northWest = nodeList[westDirection][northDirection];
-				}
-				//If the southDirection and eastDirection is within the bounds of the grid, hence the southEast direction will be within the bounds as well
-				if (southDirection >= 0 && southDirection < nodeList[column].length && eastDirection >= 0 && eastDirection < nodeList.length) {
-					//Set the surrounding southEast node
-					southEast = nodeList[eastDirection][southDirection];
-				}
-				//If the southDirection and westDirection is within the bounds of the grid, hence the southWest direction will be within the bounds as well
-				if (southDirection >= 0 && southDirection < nodeList[column].length && westDirection >= 0 && westDirection < nodeList.length) {
-					southWest = nodeList[westDirection][southDirection];
-				}
-				
-				//Set the nearby directions of the currently looped node
-				nodeList[column][row].setNearbyNodes(east, west, north, south, northEast, northWest, southEast, southWest);
-			}
-		}
-		
-		gridLoadingLabel.setVisible(false);
-		
+		showGrid(new GridMap(gridMap.getWidth(), gridMap.getHeight()));
 	}//End of InitialiseNodes method
 	
+	/**
+	 * A method for showing the given grid instead of the current grid, whereby the start and goal nodes are unselected.
+	 * The nodes are drawn directly from the grid map and the gridDisplay, so no object is created for each of the nodes,
+	 * and the obstacles are only read for the nodes which are drawn.
+	 * @param grid - The grid to be shown.
+	 */
+	private void showGrid(GridMap grid) {
+		gridMap = grid;
+		gridDisplay = new GridDisplay(grid, dirtyRegion, gridMargin, nodeSize);
+		//The cached paths belong to the previous grid
+		pathCache.clear();
+		
+		//Show the top left corner of the new grid without any zoom
+		moveViewport(new Viewport(2 * gridMargin + grid.getWidth() * nodeSize, 2 * gridMargin + grid.getHeight() * nodeSize, canvasWidth, canvasHeight));
+		
+		//The grid is shown by the worker thread, while the label is only updated by the event thread of the GUI
+		SwingUtilities.invokeLater(new Runnable() {
+			public void run() {
+				gridLoadingLabel.setVisible(false);
+			}
+		});
+	}//End of showGrid method
+	
 	/**
 	 * A method for rendering the graphics to be drawn onto the graphics 2d object,
 	 * hence it renders the grid with the node graphical representation.
 	 * @param g2d - The graphics 2d object to be drawn onto.
 	 */
 	public void render(Graphics2D g2d) {
+		renderRegion(g2d, viewport.getVisibleArea());
+	}//End of render method
+	
+	/**
+	 * A method for rendering only the given region of the grid, whereby the background of the region is cleared, and the nodes
+	 * intersecting the region are rendered in the same order as by rendering the whole grid, so that the region looks the same. <br>
+	 * Only the nodes visible through the viewport are rendered, so the time taken depends on the size of the canvas rather than
+	 * the size of the grid. Once the nodes are too small to recognise their images, the grid is drawn as the overview instead.
+	 * @param g2d - The graphics 2d object to be drawn onto.
+	 * @param region - The region of the grid to be rendered.
+	 */
+	private void renderRegion(Graphics2D g2d, Rectangle region) {
+		//The viewport and the grid might be replaced by the event thread (or the worker thread) meanwhile
+		Viewport view = viewport;
+		GridDisplay display = gridDisplay;
+		
+		//Do not draw anything outside of the region, or outside of the canvas
+		Rectangle canvasRegion = view.toCanvas(region);
+		if (canvasRegion.isEmpty()) {
+			return;
+		}
+		g2d.setClip(canvasRegion);
 		
 		//Set the background color and bounds
 		g2d.setColor(new Color(136,0,0));
-		g2d.fillRect(0, 0, 800, 600);
+		g2d.fillRect(canvasRegion.x, canvasRegion.y, canvasRegion.width, canvasRegion.height);
+		if (display == null) {
+			return;
+		}
+		
+		if (view.getScale() * nodeSize < overviewNodeSize) {
+			renderOverview(g2d, view, display, canvasRegion);
+			return;
+		}
 		
-		//Loop through the nodeList length for the nodes in columns
-		for (int i = 0; i < nodeList.length; i++) {
-			//Inner loop through the nodeList length for the nodes in rows
-			for (int n = 0; n < nodeList[i].length; n++) {
+		//Determine the columns and rows of the nodes which might intersect the region
+		GridMap grid = display.getGrid();
+		Rectangle gridRegion = view.toGrid(canvasRegion);
+		int firstColumn = Math.max(0, (gridRegion.x - gridMargin - nodeDrawnSize) / nodeSize);
+		int lastColumn = Math.min(grid.getWidth() - 1, (gridRegion.x + gridRegion.width - gridMargin) / nodeSize);
+		int firstRow = Math.max(0, (gridRegion.y - gridMargin - nodeDrawnSize) / nodeSize);
+		int lastRow = Math.min(grid.getHeight() - 1, (gridRegion.y + gridRegion.height - gridMargin) / nodeSize);
+		
+		//Draw the nodes positioned in the pixels of the grid at their places of the canvas
+		AffineTransform canvasTransform = g2d.getTransform();
+		view.applyTo(g2d);
+		//Loop through the visible columns of the grid
+		for (int column = firstColumn; column <= lastColumn; column++) {
+			//Inner loop through the visible rows of the grid
+			for (int row = firstRow; row <= lastRow; row++) {
 				
-				//Render the node through the Node class
-				nodeList[i][n].render(g2d);
+				//Render the node through the GridDisplay class, if its area (including the robot image) intersects the region
+				if (gridRegion.intersects(gridMargin + column * nodeSize, gridMargin + row * nodeSize, nodeDrawnSize, nodeDrawnSize)) {
+					display.render(g2d, grid.getCellIndex(column, row));
+				}
 			}//End of loop for nodes in rows
 		}//End of loop for nodes in columns
-	}//End of render method
+		g2d.setTransform(canvasTransform);
+	}//End of renderRegion method
+	
+	/**
+	 * A method for rendering the given area of the canvas as the overview, that is each pixel is colored by the block of the nodes
+	 * shown at the pixel. At most overviewSamples x overviewSamples nodes spread evenly over the block are read, so the cost depends
+	 * on the size of the area rather than on the size of the grid. The pixel is colored as the obstacle if any of the sampled nodes is
+	 * the obstacle, otherwise as the traced path or the visited node if any of them is, so the walls and paths remain visible
+	 * (although the thin ones become dotted) once the grid is zoomed out.
+	 * The pixels are written into the image of the overview, which is then drawn onto the canvas. The start and goal nodes are drawn
+	 * over the overview, so that they can be found even if the pixels show other nodes of their blocks.
+	 * @param g2d - The graphics 2d object to be drawn onto.
+	 * @param view - The viewport through which the grid is shown.
+	 * @param display - The presentation of the grid.
+	 * @param canvasRegion - The area of the canvas to be drawn.
+	 */
+	private void renderOverview(Graphics2D g2d, Viewport view, GridDisplay display, Rectangle canvasRegion) {
+		if (overviewImage == null) {
+			overviewImage = new BufferedImage(canvasWidth, canvasHeight, BufferedImage.TYPE_INT_RGB);
+		}
+		int[] pixels = ((DataBufferInt) overviewImage.getRaster().getDataBuffer()).getData();
+		int background = new Color(136,0,0).getRGB();
+		GridMap grid = display.getGrid();
+		
+		//Determine the block of the rows shown at each pixel of the area, i.e. from firstRows[y] to lastRows[y], or -1 outside of the grid
+		int[] firstRows = new int[canvasRegion.height];
+		int[] lastRows = new int[canvasRegion.height];
+		for (int y = 0; y < firstRows.length; y++) {
+			firstRows[y] = getFirstNodeOfPixel(view.toGridY(canvasRegion.y + y), grid.getHeight());
+			lastRows[y] = getLastNodeOfPixel(view.toGridY(canvasRegion.y + y + 1), firstRows[y], grid.getHeight());
+		}
+		for (int x = 0; x < canvasRegion.width; x++) {
+			int firstColumn = getFirstNodeOfPixel(view.toGridX(canvasRegion.x + x), grid.getWidth());
+			int lastColumn = getLastNodeOfPixel(view.toGridX(canvasRegion.x + x + 1), firstColumn, grid.getWidth());
+			int color = background;
+			for (int y = 0; y < firstRows.length; y++) {
+				//The following pixels of the same block keep the color of the previous pixel
+				if (y == 0 || firstRows[y] != firstRows[y - 1] || lastRows[y] != lastRows[y - 1]) {
+					color = background;
+					if (firstColumn >= 0 && firstRows[y] >= 0) {
+						color = getOverviewColor(display, firstColumn, lastColumn, firstRows[y], lastRows[y]);
+					}
+				}
+				pixels[(canvasRegion.y + y) * canvasWidth + canvasRegion.x + x] = color;
+			}
+		}
+		g2d.drawImage(overviewImage.getSubimage(canvasRegion.x, canvasRegion.y, canvasRegion.width, canvasRegion.height),
+				canvasRegion.x, canvasRegion.y, null);
+		
+		int[] markedCells = {display.getStart(), display.getGoal()};
+		Color[] markedColors = {Color.BLUE, Color.ORANGE};
+		for (int i = 0; i < markedCells.length; i++) {
+			if (markedCells[i] != -1) {
+				int x = view.toCanvasX(gridMargin + (grid.getColumn(markedCells[i]) + 0.5) * nodeSize);
+				int y = view.toCanvasY(gridMargin + (grid.getRow(markedCells[i]) + 0.5) * nodeSize);
+				g2d.setColor(markedColors[i]);
+				g2d.fillRect(x - 2, y - 2, 5, 5);
+			}
+		}
+	}//End of renderOverview method
+	
+	/**
+	 * A method for determining the first column (or row) of the nodes shown at the pixel, from the position of the pixel on the grid.
+	 * @param gridPosition - The position (in pixels of the grid) of the left (or top) edge of the pixel.
+	 * @param numberOfNodes - The number of the columns (or rows) of the grid.
+	 * @return - integer with the first column (or row), or -1 if the pixel is outside of the grid.
+	 */
+	private static int getFirstNodeOfPixel(double gridPosition, int numberOfNodes) {
+		int node = (int) Math.floor((gridPosition - gridMargin) / nodeSize);
+		if (node >= numberOfNodes) {
+			return -1;
+		}
+		return Math.max(0, node);
+	}//End of getFirstNodeOfPixel method
+	
+	/**
+	 * A method for determining the last column (or row) of the nodes shown at the pixel, from the position of the following pixel on the grid.
+	 * The pixel shows at least its first column (or row), even if it is smaller than the node.
+	 * @param nextGridPosition - The position (in pixels of the grid) of the left (or top) edge of the following pixel.
+	 * @param firstNode - The first column (or row) of the nodes shown at the pixel, or -1 if the pixel is outside of the grid.
+	 * @param numberOfNodes - The number of the columns (or rows) of the grid.
+	 * @return - integer with the last column (or row), or -1 if the pixel is outside of the grid.
+	 */
+	private static int getLastNodeOfPixel(double nextGridPosition, int firstNode, int numberOfNodes) {
+		int node = (int) Math.ceil((nextGridPosition - gridMargin) / nodeSize) - 1;
+		if (firstNode == -1 || node < 0) {
+			return -1;
+		}
+		return Math.min(numberOfNodes - 1, Math.max(firstNode, node));
+	}//End of getLastNodeOfPixel method
+	
+	/**
+	 * A method for determining the color of the pixel of the overview showing the given block of the nodes, from the nodes sampled
+	 * evenly over the block (every node of the block which is not larger than overviewSamples x overviewSamples). The obstacles are
+	 * the most important, so the samples are read only until the first obstacle, followed by the traced path and the visited nodes.
+	 * @param display - The presentation of the grid.
+	 * @param firstColumn - The first column of the block.
+	 * @param lastColumn - The last column of the block.
+	 * @param firstRow - The first row of the block.
+	 * @param lastRow - The last row of the block.
+	 * @return - integer with the RGB color of the pixel.
+	 */
+	private static int getOverviewColor(GridDisplay display, int firstColumn, int lastColumn, int firstRow, int lastRow) {
+		GridMap grid = display.getGrid();
+		int columnSamples = Math.min(overviewSamples, lastColumn - firstColumn + 1);
+		int rowSamples = Math.min(overviewSamples, lastRow - firstRow + 1);
+		boolean traced = false;
+		boolean visited = false;
+		for (int i = 0; i < rowSamples; i++) {
+			int row = getSampledNode(firstRow, lastRow, i, rowSamples);
+			for (int j = 0; j < columnSamples; j++) {
+				int cell = grid.getCellIndex(getSampledNode(firstColumn, lastColumn, j, columnSamples), row);
+				if (grid.isObstacle(cell)) {
+					return Color.RED.getRGB();
+				}
+				traced = traced || display.isOnTracedPath(cell);
+				visited = visited || display.isVisited(cell);
+			}
+		}
+		if (traced) {
+			return Color.GREEN.getRGB();
+		} else if (visited) {
+			return Color.CYAN.getRGB();
+		}
+		return Color.lightGray.getRGB();
+	}//End of getOverviewColor method
+	
+	/**
+	 * A method for determining the sampled column (or row) of the block, whereby the samples are spread evenly from the first
+	 * to the last column (or row) of the block.
+	 * @param firstNode - The first column (or row) of the block.
+	 * @param lastNode - The last column (or row) of the block.
+	 * @param sample - The index of the sample.
+	 * @param numberOfSamples - The number of the samples, which is not larger than the number of the columns (or rows) of the block.
+	 * @return - integer with the sampled column (or row).
+	 */
+	private static int getSampledNode(int firstNode, int lastNode, int sample, int numberOfSamples) {
+		if (numberOfSamples == 1) {
+			return firstNode;
+		}
+		return firstNode + (int) ((long) (lastNode - firstNode) * sample / (numberOfSamples - 1));
+	}//End of getSampledNode method
 
 	@Override
 	public void mouseClicked(MouseEvent e) {
@@ -1107,115 +1991,120 @@ public class PathfindingGUI extends Canvas implements Runnable, MouseListener {
 	 */
 	@Override
 	public void mousePressed(MouseEvent e) {
-		//If the path has been already calculated
-		if (pathCalculated) {
-			JOptionPane.showMessageDialog(null, "Please create a new grid (in Options) to draw a new path.");
+		//The middle button pans the grid, so it does not change the nodes
+		if (SwingUtilities.isMiddleMouseButton(e)) {
 			return;
-		} else {
-			//Obtain the pressed button and store it in mouseButton
-			int mouseButton = e.getButton();
-					
-			//Create a node object and call the method to get its position (i.e. its row and column)
-			final Node node = getNodePosition(e.getX(), e.getY());
-			
-			//If the node object exists
-			if (node != null) {
-				boolean nodeIsObstacle = false;
-				if (node.isTheObstacle()) nodeIsObstacle = true;
-				//Clear the clicked node, in case it has been assigned already to any type of node
-				node.clearNode();
+		}
+		//If the search is in progress, then the grid cannot be changed until it has finished
+		if (isSearchInProgress()) {
+			JOptionPane.showMessageDialog(null, "Please wait until the path has been calculated, or cancel the search.");
+			return;
+		}
+		//If the grid is being replaced, then the clicked cell might belong to either of the grids
+		if (isGridReplacementInProgress()) {
+			JOptionPane.showMessageDialog(null, "Please wait until the grid has been loaded.");
+			return;
+		}
+		//The obstacles can be changed after the path has been calculated as well, since the D* Lite repairs the path,
+		//the HPA* rebuilds only the affected clusters and the path cache invalidates only the affected paths
+		//Obtain the pressed button and store it in mouseButton
+		int mouseButton = e.getButton();
 				
-				//If the clicked mouse button is the left button
-				if (mouseButton == 1) {
-					System.out.println("node is the goal" + (node == goal));
-					if (!nodeIsObstacle && !(node == goal) && !(node == start)){
-					//Set the clicked node to be the obstacle
-					node.setTheObstacle(); 
-					} else if (node == goal) {
-						goal = node;
-						node.setTheGoal(true);
-					} else if (node == start) {
-						start = node;
-						node.setTheStart();
-					}
-					
+		//Call the method to get the cell of the node at the position (i.e. its row and column)
+		final int cell = getNodePosition(e.getX(), e.getY());
+		final GridDisplay display = gridDisplay;
+		
+		//If the node exists
+		if (cell != -1) {
+			
+			//If the clicked mouse button is the left button
+			if (mouseButton == 1) {
+				if (SearchTrace.isEnabled(SearchTrace.debugLevel)) {
+					SearchTrace.log(SearchTrace.debugLevel, "node is the goal " + (cell == display.getGoal()));
+				}
+				//The start and goal nodes stay, otherwise the clicked node becomes or stops being the obstacle
+				if (cell != display.getGoal() && cell != display.getStart()) {
+					setObstacle(cell, !gridMap.isObstacle(cell));
 				}
+			}
+			
+			//If the clicked mouse button is the right button
+			if (mouseButton == 3) {
+				//Clear the clicked node, in case it has been the obstacle
+				setObstacle(cell, false);
 				
-				//If the clicked mouse button is the right button
-				if (mouseButton == 3) {
-					
-					//Initialise the JPopupMenu for showing the menu when right mouse button is clicked
-					JPopupMenu menu = new JPopupMenu("Menu");
-					//Initialise the JMenuItem for selecting the start node from the menu
-					JMenuItem startNodeItem = new JMenuItem("Start Node");
-					//Initialise the JMenuItem for selecting the goal node from the menu
-					JMenuItem goalNodeItem = new JMenuItem("Goal Node");
-				    //Add the JMenuItems to the menu
-				    menu.add(startNodeItem);
-				    menu.add(goalNodeItem);
-				    //Show the menu at the coordinates of where the mouse button has been clicked
-				    menu.show(e.getComponent(), e.getX(), e.getY());
-				    
-				    //Add an action listener for the startNodeItem
-				    startNodeItem.addActionListener(new ActionListener() {
-				    
-						@Override
-						public void actionPerformed(ActionEvent e1) {
-							//If the start Node exists
-							if (start != null) {
-								//Clear the goal
-								start.clearNode();
-								
-							}
-							//Set the clicked node to be the start
-							node.setTheStart();
-							//Set the start node with the current node
-							start = node;
-						}
-				    	
-				    });//End of action listener for the startNodeItem
-				    
-				    goalNodeItem.addActionListener(new ActionListener() {
-				    	
-				    	@Override
-				    	public void actionPerformed(ActionEvent e2) {
-				    		//If the goal Node exists
-				    		if (goal != null) {
-				    			//Clear the goal
-				    			goal.clearNode();
-				    			
-				    		}
-				    		//Set the clicked node to be the goal
-				    		node.setTheGoal(true);
-				    		//Set the goal node with the current node
-				    		goal = node;
-				    	}
-				    });//End of action listener for the goalNodeItem
-				}//End of if the clicked mouse is the right button
-			}//End of if the node object exists
-		}//End of else (i.e. path is not calculated)
+				//Initialise the JPopupMenu for showing the menu when right mouse button is clicked
+				JPopupMenu menu = new JPopupMenu("Menu");
+				//Initialise the JMenuItem for selecting the start node from the menu
+				JMenuItem startNodeItem = new JMenuItem("Start Node");
+				//Initialise the JMenuItem for selecting the goal node from the menu
+				JMenuItem goalNodeItem = new JMenuItem("Goal Node");
+			    //Add the JMenuItems to the menu
+			    menu.add(startNodeItem);
+			    menu.add(goalNodeItem);
+			    //Show the menu at the coordinates of where the mouse button has been clicked
+			    menu.show(e.getComponent(), e.getX(), e.getY());
+			    
+			    //Add an action listener for the startNodeItem
+			    startNodeItem.addActionListener(new ActionListener() {
+			    
+					@Override
+					public void actionPerformed(ActionEvent e1) {
+						//Set the clicked node to be the start, instead of the previous start node
+						display.setStart(cell);
+					}
+			    	
+			    });//End of action listener for the startNodeItem
+			    
+			    goalNodeItem.addActionListener(new ActionListener() {
+			    	
+			    	@Override
+			    	public void actionPerformed(ActionEvent e2) {
+			    		//Set the clicked node to be the goal, instead of the previous goal node
+			    		display.setGoal(cell);
+			    	}
+			    });//End of action listener for the goalNodeItem
+			}//End of if the clicked mouse is the right button
+		}//End of if the node exists
 	}//End of mousePressed method
 	
+	/**
+	 * A method for placing the obstacle on (or removing it from) the cell of the grid map for the clicked node. <br>
+	 * If the obstacle has changed, then the node is redrawn, the HPA* engine rebuilds only the clusters affected by the cell,
+	 * the D* Lite engine updates only the surrounding cells, and the path cache invalidates only the paths affected by the cell.
+	 * @param cell - The cell of the node which has been clicked.
+	 * @param obstacle - boolean whether the node becomes the obstacle.
+	 */
+	private void setObstacle(int cell, boolean obstacle) {
+		if (gridMap.isObstacle(cell) != obstacle) {
+			gridMap.setObstacle(cell, obstacle);
+			gridDisplay.markDirty(cell);
+			hierarchicalPathfinding.obstacleChanged(gridMap, cell);
+			dStarLite.obstacleChanged(gridMap, cell);
+			pathCache.obstacleChanged(gridMap, cell);
+		}
+	}//End of setObstacle method
+	
 	/**
 	 * A method for determining the positon of the node in
 	 * the two dimensional array (i.e. its column and row)
 	 * based on the clicked mouse coordinates (i.e. x and y)
 	 * @param mouseX - The coordinate of where the mouse button was clicked, i.e. the width
 	 * @param mouseY - The coordinate of where the mouse button was clicked, i.e. the height
-	 * @return - If the mouse coordinate were within the bounds of the grid, then returns the node at the specific column and row position. Otherwise returns null
+	 * @return - If the mouse coordinate were within the bounds of the grid, then returns the cell of the node at the specific column and row position. Otherwise returns -1
 	 */
-	public Node getNodePosition(int mouseX, int mouseY) {
+	public int getNodePosition(int mouseX, int mouseY) {
 		
-		mouseX -= 20;
-		mouseY -= 20;
-		mouseX /= 40;
-		mouseY /= 40;
+		//Translate the mouse coordinates through the camera into the column and row of the grid
+		Viewport view = viewport;
+		int column = (int) Math.floor((view.toGridX(mouseX) - gridMargin) / nodeSize);
+		int row = (int) Math.floor((view.toGridY(mouseY) - gridMargin) / nodeSize);
 		
 		//If the mouse coordinates are within the bounds of any node on the grid
-		if (mouseX >= 0 && mouseY >= 0 && mouseX < nodeList.length && mouseY < nodeList[mouseX].length) {
-			return nodeList[mouseX][mouseY];
+		if (gridMap.isWithinBounds(column, row)) {
+			return gridMap.getCellIndex(column, row);
 		} else {
-			return null;
+			return -1;
 		}
 	}
 
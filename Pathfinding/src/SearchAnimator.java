@@ -0,0 +1,83 @@
+
+/**
+ * The SearchAnimator class replays the search recorded by the SearchEventLog to the listener (e.g. the GUI),
+ * pausing after each visited cell, so that the user can follow the search step by step,
+ * while the search itself has already finished at full speed. <br>
+ * The replay is performed on the calling thread, and can be aborted by interrupting it. <br>
+ * If the beginning of the search has been overwritten (i.e. the search has recorded more events than the log can keep),
+ * then the search is not replayed from its middle, and only the found path is returned, so the caller should report it to the user.
+ *
+ */
+public class SearchAnimator {
+
+	/**
+	 * Declares the delay (in milliseconds) after each visited cell, or 0 for replaying the search without any delay.
+	 */
+	private final int msDelayBetweenVisitingNodes;
+
+	/**
+	 * The constructor of this class.
+	 * @param msDelayBetweenVisitingNodes - The delay (in milliseconds) after each visited cell, or 0 for no delay.
+	 */
+	public SearchAnimator(int msDelayBetweenVisitingNodes) {
+		this.msDelayBetweenVisitingNodes = msDelayBetweenVisitingNodes;
+	}
+
+	/**
+	 * A method for replaying the events of the log to the listener in the order in which they have been recorded,
+	 * until the path marker, and returning the cells of the found path which follow the path marker.
+	 * If any of the events have been overwritten, then none of the events are replayed, and only the path is returned.
+	 * @param log - The log of the search.
+	 * @param listener - The listener to which the events are replayed.
+	 * @return - The cells of the found path, or null if the log does not contain the path.
+	 * @throws InterruptedException - If the thread has been interrupted during the replay.
+	 */
+	public int[] replay(SearchEventLog log, SearchListener listener) throws InterruptedException {
+		long index = log.getFirstIndex();
+		if (log.getNumberOfOverwrittenEvents() > 0) {
+			index = findPathMarker(log);
+		}
+		for (; index < log.getEndIndex() && !log.isPathMarker(index); index++) {
+			int type = log.getType(index);
+			if (type == SearchEventLog.visitedEvent) {
+				listener.nodeVisited(log.getFirstValue(index));
+				if (msDelayBetweenVisitingNodes > 0) {
+					Thread.sleep(msDelayBetweenVisitingNodes);
+				}
+			} else if (type == SearchEventLog.expandedEvent) {
+				listener.nodeExpanded(log.getFirstValue(index));
+			} else if (type == SearchEventLog.parentChangedEvent) {
+				listener.parentChanged(log.getFirstValue(index), log.getSecondValue(index));
+			} else {
+				listener.progressUpdated(log.getFirstValue(index), log.getSecondValue(index));
+			}
+			if (Thread.currentThread().isInterrupted()) {
+				throw new InterruptedException();
+			}
+		}
+		if (index == log.getEndIndex()) {
+			return null;
+		}
+
+		//The visited events following the path marker are the cells of the path
+		int[] path = new int[(int) (log.getEndIndex() - index - 1)];
+		for (int i = 0; i < path.length; i++) {
+			path[i] = log.getFirstValue(index + 1 + i);
+		}
+		return path;
+	}//End of replay method
+
+	/**
+	 * A method for finding the path marker, searching backwards from the newest event, since the path is recorded once the search has finished.
+	 * @param log - The log of the search.
+	 * @return - long with the index of the path marker, or the end index of the log if the log does not contain the path marker.
+	 */
+	private static long findPathMarker(SearchEventLog log) {
+		for (long index = log.getEndIndex() - 1; index >= log.getFirstIndex(); index--) {
+			if (log.isPathMarker(index)) {
+				return index;
+			}
+		}
+		return log.getEndIndex();
+	}//End of findPathMarker method
+}
@@ -0,0 +1,242 @@
+
+import java.util.Arrays;
+import java.util.concurrent.CancellationException;
+
+/**
+ * The SearchEventLog class records the progress of the search as a compact log of the events, so that the search can run
+ * at full speed, and the log can be replayed afterwards (e.g. by the SearchAnimator at the delays chosen by the user). <br>
+ * Each event is a single long, consisting of the type of the event (2 bits) and two non-negative integers (31 bits each): <br>
+ * &nbsp&nbsp&nbspvisited: the visited cell, <br>
+ * &nbsp&nbsp&nbspexpanded: the expanded cell, <br>
+ * &nbsp&nbsp&nbspparent changed: the cell and its new parent cell, <br>
+ * &nbsp&nbsp&nbspprogress: the number of operations and the number of visited nodes. <br>
+ * The cells of the found path are recorded as the visited events following the path marker event (the progress event with both
+ * values set to the maximal integer), once the search has finished. <br>
+ * The events are stored in the ring buffer, which is doubled once it is full, up to its maximum capacity, so the log grows
+ * with the search, and it is kept for the following searches of a similar size. The log cleared after the search which has used
+ * less than a quarter of the ring buffer drops back to its initial capacity, so the large buffer of a single large search
+ * is not kept for the rest of the session. Only once the ring buffer of the maximum capacity is full,
+ * the oldest events are overwritten. The log of which the beginning has been overwritten is not replayed from the middle
+ * of the search (see the SearchAnimator class), and the number of the overwritten events is reported instead. <br>
+ * The search recorded on the interrupted thread (e.g. the worker thread of the GUI, once the search has been cancelled) is aborted
+ * by the CancellationException thrown from the expanded event, so the cancelled search does not have to finish first.
+ *
+ */
+public class SearchEventLog implements SearchListener {
+
+	/**
+	 * Declares the number of the events for which the ring buffer is allocated at first.
+	 */
+	private static final int initialCapacity = 1 << 16;
+
+	/**
+	 * Declares the default maximum number of the events kept by the log (128 MB of the events).
+	 */
+	public static final int defaultMaximumCapacity = 1 << 24;
+
+	/**
+	 * Declares the type of the event for the visited cell.
+	 */
+	public static final int visitedEvent = 0;
+
+	/**
+	 * Declares the type of the event for the expanded cell.
+	 */
+	public static final int expandedEvent = 1;
+
+	/**
+	 * Declares the type of the event for the cell reached through a cheaper parent.
+	 */
+	public static final int parentChangedEvent = 2;
+
+	/**
+	 * Declares the type of the event for the changed counters of the search.
+	 */
+	public static final int progressEvent = 3;
+
+	/**
+	 * Declares the value of the progress event marking the start of the cells of the found path.
+	 */
+	private static final int pathMarker = Integer.MAX_VALUE;
+
+	/**
+	 * Declares the mask of each of the two values of the event (31 bits).
+	 */
+	private static final long valueMask = 0x7fffffffL;
+
+	/**
+	 * Declares the ring buffer of the events, whose length is a power of two.
+	 */
+	private long[] events;
+
+	/**
+	 * Declares the maximum length of the ring buffer, which is a power of two.
+	 */
+	private final int maximumCapacity;
+
+	/**
+	 * Declares the total number of the events recorded since the log has been cleared (including the overwritten ones).
+	 */
+	private long numberOfEvents = 0;
+
+	/**
+	 * The constructor of this class, using the default maximum capacity.
+	 */
+	public SearchEventLog() {
+		this(defaultMaximumCapacity);
+	}
+
+	/**
+	 * The constructor of this class.
+	 * @param maximumCapacity - The maximum number of the events kept by the log, which is rounded up to a power of two.
+	 */
+	public SearchEventLog(int maximumCapacity) {
+		if (maximumCapacity <= 0 || maximumCapacity > (1 << 30)) {
+			throw new IllegalArgumentException("The capacity of the log must be between 1 and 2^30: " + maximumCapacity);
+		}
+		int length = 1;
+		while (length < maximumCapacity) {
+			length <<= 1;
+		}
+		this.maximumCapacity = length;
+		events = new long[Math.min(initialCapacity, length)];
+	}
+
+	/**
+	 * A method for removing all of the events from the log, before the next search is recorded.
+	 * The ring buffer is released back to its initial capacity, if the previous search has used less than a quarter of it.
+	 */
+	public void clear() {
+		if (events.length > initialCapacity && numberOfEvents < events.length / 4) {
+			events = new long[initialCapacity];
+		}
+		numberOfEvents = 0;
+	}//End of clear method
+
+	@Override
+	public void nodeVisited(int cell) {
+		record(visitedEvent, cell, 0);
+	}
+
+	/**
+	 * A method for recording the expanded cell, which aborts the search once the thread has been interrupted.
+	 * @param cell - The index of the expanded cell within the GridMap.
+	 * @throws CancellationException - If the thread recording the search has been interrupted.
+	 */
+	@Override
+	public void nodeExpanded(int cell) {
+		if (Thread.currentThread().isInterrupted()) {
+			throw new CancellationException("The search has been cancelled");
+		}
+		record(expandedEvent, cell, 0);
+	}//End of nodeExpanded method
+
+	@Override
+	public void parentChanged(int cell, int parentCell) {
+		record(parentChangedEvent, cell, parentCell);
+	}
+
+	@Override
+	public void progressUpdated(int numberOfOperations, int numberOfVisitedNodes) {
+		record(progressEvent, numberOfOperations, numberOfVisitedNodes);
+	}
+
+	/**
+	 * A method for recording the found path, as the path marker followed by the cells of the path from the start to the goal cell.
+	 * @param path - The cells of the path.
+	 */
+	public void recordPath(int[] path) {
+		record(progressEvent, pathMarker, pathMarker);
+		for (int cell : path) {
+			record(visitedEvent, cell, 0);
+		}
+	}//End of recordPath method
+
+	/**
+	 * A method for storing the event in the ring buffer, doubling the buffer if it is full, or overwriting the oldest event
+	 * if the buffer has already reached its maximum capacity.
+	 * @param type - The type of the event.
+	 * @param first - The first value of the event.
+	 * @param second - The second value of the event.
+	 */
+	private void record(int type, int first, int second) {
+		if (numberOfEvents == events.length && events.length < maximumCapacity) {
+			//No event has been overwritten yet, so the events are stored in their order from the start of the buffer
+			events = Arrays.copyOf(events, events.length * 2);
+		}
+		events[(int) (numberOfEvents & (events.length - 1))] = ((long) type << 62) | ((first & valueMask) << 31) | (second & valueMask);
+		numberOfEvents++;
+	}//End of record method
+
+	/**
+	 * Getter for the index of the oldest event kept by the log. The events are indexed from 0 since the log has been cleared.
+	 * @return - long with the index of the oldest event.
+	 */
+	public long getFirstIndex() {
+		return Math.max(0, numberOfEvents - events.length);
+	}
+
+	/**
+	 * Getter for the index after the newest event of the log.
+	 * @return - long with the total number of the recorded events.
+	 */
+	public long getEndIndex() {
+		return numberOfEvents;
+	}
+
+	/**
+	 * Getter for the number of the events which have been overwritten, since the log has been full.
+	 * @return - long with the number of the overwritten events.
+	 */
+	public long getNumberOfOverwrittenEvents() {
+		return getFirstIndex();
+	}
+
+	/**
+	 * Getter for the type of the event.
+	 * @param index - The index of the event, between the first and the end index.
+	 * @return - integer with the type of the event.
+	 */
+	public int getType(long index) {
+		return (int) (getEvent(index) >>> 62);
+	}
+
+	/**
+	 * Getter for the first value of the event, i.e. the cell (or the number of operations of the progress event).
+	 * @param index - The index of the event, between the first and the end index.
+	 * @return - integer with the first value of the event.
+	 */
+	public int getFirstValue(long index) {
+		return (int) ((getEvent(index) >>> 31) & valueMask);
+	}
+
+	/**
+	 * Getter for the second value of the event, i.e. the parent cell (or the number of visited nodes of the progress event).
+	 * @param index - The index of the event, between the first and the end index.
+	 * @return - integer with the second value of the event.
+	 */
+	public int getSecondValue(long index) {
+		return (int) (getEvent(index) & valueMask);
+	}
+
+	/**
+	 * A method for determining whether the event is the path marker, i.e. the following events are the cells of the found path.
+	 * @param index - The index of the event, between the first and the end index.
+	 * @return - boolean whether the event is the path marker.
+	 */
+	public boolean isPathMarker(long index) {
+		return getType(index) == progressEvent && getFirstValue(index) == pathMarker && getSecondValue(index) == pathMarker;
+	}
+
+	/**
+	 * A method for obtaining the event of the given index from the ring buffer.
+	 * @param index - The index of the event, between the first and the end index.
+	 * @return - long with the event.
+	 */
+	private long getEvent(long index) {
+		if (index < getFirstIndex() || index >= numberOfEvents) {
+			throw new IndexOutOfBoundsException("The event " + index + " is not kept by the log (" + getFirstIndex() + " - " + numberOfEvents + ")");
+		}
+		return events[(int) (index & (events.length - 1))];
+	}//End of getEvent method
+}
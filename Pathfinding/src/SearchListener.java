@@ -0,0 +1,37 @@
+
+/**
+ * The SearchListener interface is notified by the PathfindingEngine about the progress of the search,
+ * so that it can be presented to the user (e.g. the visited cells drawn on the grid and the number of operations).
+ * The methods are called on the thread which runs the search.
+ *
+ */
+public interface SearchListener {
+
+	/**
+	 * A method called when the cell has been visited by the path-finder, i.e. reached for the first time and put on the open list
+	 * (or, for D* Lite, which repairs its previous searches, put back on the open list).
+	 * @param cell - The index of the visited cell within the GridMap.
+	 */
+	void nodeVisited(int cell);
+
+	/**
+	 * A method called when the cell has been removed from the open list by the path-finder, and its surrounding cells are expanded.
+	 * @param cell - The index of the expanded cell within the GridMap.
+	 */
+	void nodeExpanded(int cell);
+
+	/**
+	 * A method called when the cell on the open list has been reached through a cheaper parent.
+	 * @param cell - The index of the cell within the GridMap.
+	 * @param parentCell - The index of the new parent of the cell within the GridMap.
+	 */
+	void parentChanged(int cell, int parentCell);
+
+	/**
+	 * A method called when the counters of the path-finder have changed, which is once for each expanded cell
+	 * rather than for each of its surrounding cells, so that the progress does not outnumber the other events.
+	 * @param numberOfOperations - The number of operations performed so far.
+	 * @param numberOfVisitedNodes - The number of nodes visited so far.
+	 */
+	void progressUpdated(int numberOfOperations, int numberOfVisitedNodes);
+}
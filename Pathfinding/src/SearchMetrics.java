@@ -0,0 +1,165 @@
+
+/**
+ * The SearchMetrics class counts the work of a single search (query), by listening to the progress of the search and passing
+ * the events on to the listener of the caller (if any). The counters are: <br>
+ * &nbsp&nbsp&nbspexpansions: the cells removed from the open list and expanded, <br>
+ * &nbsp&nbsp&nbspheap pushes: the cells put on the open list (the visited events), <br>
+ * &nbsp&nbsp&nbspdecrease-keys: the cells on the open list reached through a cheaper parent, <br>
+ * &nbsp&nbsp&nbspre-opens: the expansions of the cells which have already been expanded within the same search
+ * (e.g. by the inconsistent heuristics, or the repairs of D* Lite). The bidirectional search is not counted, since the cells where
+ * the frontiers meet are expanded once by each direction, and neither direction expands its own cells again. <br>
+ * The instance is reused by the following searches of the same thread, so counting the search does not allocate any memory,
+ * unless the grid of the search is larger than the grid of the previous searches.
+ *
+ */
+public class SearchMetrics implements SearchListener {
+
+	/**
+	 * Declares the listener of the caller, to which the events are passed on, or null.
+	 */
+	private SearchListener listener;
+
+	/**
+	 * Declares the cells expanded within the current search, or null before the first search.
+	 */
+	private CellStamps expandedCells;
+
+	/**
+	 * Declares a boolean for tracking whether the repeated expansions of the cells are counted as the re-opens.
+	 */
+	private boolean countReopens;
+
+	/**
+	 * Declares the number of the expanded cells.
+	 */
+	private int numberOfExpansions;
+
+	/**
+	 * Declares the number of the cells put on the open list.
+	 */
+	private int numberOfHeapPushes;
+
+	/**
+	 * Declares the number of the cells reached through a cheaper parent while on the open list.
+	 */
+	private int numberOfDecreaseKeys;
+
+	/**
+	 * Declares the number of the expansions of the cells which have already been expanded.
+	 */
+	private int numberOfReopens;
+
+	/**
+	 * Declares the wall time (in nanoseconds) of the search.
+	 */
+	private long elapsedNanos;
+
+	/**
+	 * A method for starting to count the next search, resetting all of the counters.
+	 * @param grid - The grid on which the search is performed.
+	 * @param listener - The listener to which the events are passed on, or null.
+	 * @param countReopens - boolean whether the repeated expansions are counted as the re-opens, which is false for the bidirectional search.
+	 */
+	public void start(GridMap grid, SearchListener listener, boolean countReopens) {
+		this.listener = listener;
+		this.countReopens = countReopens;
+		if (expandedCells == null || expandedCells.getNumberOfCells() < grid.getNumberOfCells()) {
+			expandedCells = new CellStamps(grid.getNumberOfCells());
+		} else {
+			expandedCells.nextGeneration();
+		}
+		numberOfExpansions = 0;
+		numberOfHeapPushes = 0;
+		numberOfDecreaseKeys = 0;
+		numberOfReopens = 0;
+		elapsedNanos = 0;
+	}//End of start method
+
+	/**
+	 * A method for finishing the count of the search.
+	 * @param elapsedNanos - The wall time (in nanoseconds) of the search.
+	 */
+	public void finish(long elapsedNanos) {
+		this.elapsedNanos = elapsedNanos;
+		listener = null;
+	}
+
+	@Override
+	public void nodeVisited(int cell) {
+		numberOfHeapPushes++;
+		if (listener != null) {
+			listener.nodeVisited(cell);
+		}
+	}
+
+	@Override
+	public void nodeExpanded(int cell) {
+		numberOfExpansions++;
+		//In the bidirectional search the cell might have been expanded by the other direction, which is not a re-open
+		if (countReopens) {
+			if (expandedCells.isMarked(cell)) {
+				numberOfReopens++;
+			} else {
+				expandedCells.mark(cell);
+			}
+		}
+		if (listener != null) {
+			listener.nodeExpanded(cell);
+		}
+	}//End of nodeExpanded method
+
+	@Override
+	public void parentChanged(int cell, int parentCell) {
+		numberOfDecreaseKeys++;
+		if (listener != null) {
+			listener.parentChanged(cell, parentCell);
+		}
+	}
+
+	@Override
+	public void progressUpdated(int numberOfOperations, int numberOfVisitedNodes) {
+		if (listener != null) {
+			listener.progressUpdated(numberOfOperations, numberOfVisitedNodes);
+		}
+	}
+
+	/**
+	 * Getter for the number of the expanded cells.
+	 * @return - integer with the number of the expansions.
+	 */
+	public int getNumberOfExpansions() {
+		return numberOfExpansions;
+	}
+
+	/**
+	 * Getter for the number of the cells put on the open list.
+	 * @return - integer with the number of the heap pushes.
+	 */
+	public int getNumberOfHeapPushes() {
+		return numberOfHeapPushes;
+	}
+
+	/**
+	 * Getter for the number of the cells reached through a cheaper parent while on the open list.
+	 * @return - integer with the number of the decrease-keys.
+	 */
+	public int getNumberOfDecreaseKeys() {
+		return numberOfDecreaseKeys;
+	}
+
+	/**
+	 * Getter for the number of the expansions of the cells which have already been expanded within the search.
+	 * @return - integer with the number of the re-opens.
+	 */
+	public int getNumberOfReopens() {
+		return numberOfReopens;
+	}
+
+	/**
+	 * Getter for the wall time of the search.
+	 * @return - long with the elapsed time in nanoseconds.
+	 */
+	public long getElapsedNanos() {
+		return elapsedNanos;
+	}
+}
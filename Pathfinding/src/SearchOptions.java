@@ -0,0 +1,125 @@
+
+/**
+ * The SearchOptions class holds the options of a single search performed by the PathfindingEngine.
+ * The setters return this instance of the options, so that they can be chained.
+ *
+ */
+public class SearchOptions {
+
+	/**
+	 * Declares a boolean for tracking whether diagonal path finding is allowed, by default true
+	 */
+	private boolean allowDiagonalPathFinding = true;
+
+	/**
+	 * Declares a String variable for the type of the heuristics to be used by the A* algorithm, by default Manhattan
+	 */
+	private String heuristicsType = "manhattan";
+
+	/**
+	 * Declares a boolean for tracking whether the Dijkstra algorithm maintains its open list as the bucket queue, by default false
+	 */
+	private boolean useBucketQueue = false;
+
+	/**
+	 * Declares a boolean for tracking whether the A* and Dijkstra algorithms search from both the start and the goal, by default false
+	 */
+	private boolean bidirectional = false;
+
+	/**
+	 * Declares the landmarks of the grid used by the ALT heuristics, by default null
+	 */
+	private LandmarkHeuristic landmarks = null;
+
+	/**
+	 * Setter for the boolean whether diagonal path finding is allowed.
+	 * @param allowDiagonalPathFinding - boolean whether diagonal path finding is allowed.
+	 * @return - This instance of the options.
+	 */
+	public SearchOptions setAllowDiagonalPathFinding(boolean allowDiagonalPathFinding) {
+		this.allowDiagonalPathFinding = allowDiagonalPathFinding;
+		return this;
+	}
+
+	/**
+	 * Getter for the boolean whether diagonal path finding is allowed.
+	 * @return - boolean whether diagonal path finding is allowed.
+	 */
+	public boolean isAllowDiagonalPathFinding() {
+		return allowDiagonalPathFinding;
+	}
+
+	/**
+	 * Setter for the type of the heuristics, either "manhattan", "chebyshev", "octile", "euclidean" (see the Heuristics class),
+	 * or "alt", which requires the landmarks of the grid (see the LandmarkHeuristic class).
+	 * @param heuristicsType - String with the type of the heuristics.
+	 * @return - This instance of the options.
+	 */
+	public SearchOptions setHeuristicsType(String heuristicsType) {
+		this.heuristicsType = heuristicsType;
+		return this;
+	}
+
+	/**
+	 * Getter for the type of the heuristics.
+	 * @return - String with the type of the heuristics.
+	 */
+	public String getHeuristicsType() {
+		return heuristicsType;
+	}
+
+	/**
+	 * Setter for the boolean whether the Dijkstra algorithm maintains its open list as the bucket queue.
+	 * @param useBucketQueue - boolean whether the bucket queue is used.
+	 * @return - This instance of the options.
+	 */
+	public SearchOptions setUseBucketQueue(boolean useBucketQueue) {
+		this.useBucketQueue = useBucketQueue;
+		return this;
+	}
+
+	/**
+	 * Getter for the boolean whether the Dijkstra algorithm maintains its open list as the bucket queue.
+	 * @return - boolean whether the bucket queue is used.
+	 */
+	public boolean isUseBucketQueue() {
+		return useBucketQueue;
+	}
+
+	/**
+	 * Setter for the boolean whether the A* and Dijkstra algorithms search from both the start and the goal.
+	 * @param bidirectional - boolean whether the bidirectional search is performed.
+	 * @return - This instance of the options.
+	 */
+	public SearchOptions setBidirectional(boolean bidirectional) {
+		this.bidirectional = bidirectional;
+		return this;
+	}
+
+	/**
+	 * Getter for the boolean whether the A* and Dijkstra algorithms search from both the start and the goal.
+	 * @return - boolean whether the bidirectional search is performed.
+	 */
+	public boolean isBidirectional() {
+		return bidirectional;
+	}
+
+	/**
+	 * Setter for the landmarks of the grid, which are used by the ALT heuristics. The landmarks are preprocessed once for the grid
+	 * and shared by its searches.
+	 * @param landmarks - The landmarks of the grid.
+	 * @return - This instance of the options.
+	 */
+	public SearchOptions setLandmarks(LandmarkHeuristic landmarks) {
+		this.landmarks = landmarks;
+		return this;
+	}
+
+	/**
+	 * Getter for the landmarks of the grid used by the ALT heuristics.
+	 * @return - The landmarks, or null if none have been set.
+	 */
+	public LandmarkHeuristic getLandmarks() {
+		return landmarks;
+	}
+}
@@ -0,0 +1,137 @@
+
+/**
+ * The SearchProfiler class measures the time which a single search spends in each of its phases, and reports it to the
+ * Java Flight Recorder once the search has finished (see the FlightRecorderEvents). The phases are: <br>
+ * &nbsp&nbsp&nbspqueue: the maintenance of the open list (adding, polling, decreasing the keys and sorting the cells), <br>
+ * &nbsp&nbsp&nbspneighbours: the generation of the surrounding cells of the expanded cells, and the rest of the search, <br>
+ * &nbsp&nbsp&nbspheuristic: the evaluation of the heuristics, <br>
+ * &nbsp&nbsp&nbsptrace: the tracing of the found path. <br>
+ * The search is always in exactly one of the phases, so the times of the phases add up to the time of the search. <br>
+ * The profiler is created only while the Flight Recorder records the search events, otherwise the engine gets null
+ * and skips the profiling with a single test per phase, without reading the clock.
+ *
+ */
+public class SearchProfiler {
+
+	/**
+	 * Declares the phase of the maintenance of the open list, in which the search starts.
+	 */
+	public static final int queuePhase = 0;
+
+	/**
+	 * Declares the phase of the generation of the surrounding cells.
+	 */
+	public static final int neighboursPhase = 1;
+
+	/**
+	 * Declares the phase of the evaluation of the heuristics.
+	 */
+	public static final int heuristicPhase = 2;
+
+	/**
+	 * Declares the phase of the tracing of the found path.
+	 */
+	public static final int tracePhase = 3;
+
+	/**
+	 * Declares the names of the phases, indexed by the phase.
+	 */
+	private static final String[] phaseNames = {"queue", "neighbours", "heuristic", "trace"};
+
+	/**
+	 * Declares the type of the algorithm of the search.
+	 */
+	private final String algorithmType;
+
+	/**
+	 * Declares the search event of the Flight Recorder, which has been started with the search.
+	 */
+	private final Object searchEvent;
+
+	/**
+	 * Declares the time (in nanoseconds) spent in each of the phases, indexed by the phase.
+	 */
+	private final long[] phaseNanos = new long[phaseNames.length];
+
+	/**
+	 * Declares the number of times each of the phases has been entered, indexed by the phase.
+	 */
+	private final int[] phaseEntries = new int[phaseNames.length];
+
+	/**
+	 * Declares the current phase of the search.
+	 */
+	private int currentPhase = queuePhase;
+
+	/**
+	 * Declares the time (in nanoseconds) at which the current phase has been entered.
+	 */
+	private long phaseStartTime;
+
+	/**
+	 * Declares the number of the expanded cells.
+	 */
+	private int numberOfExpansions = 0;
+
+	/**
+	 * The constructor of this class, starting the search event and the queue phase.
+	 * @param algorithmType - The type of the algorithm of the search.
+	 */
+	private SearchProfiler(String algorithmType) {
+		this.algorithmType = algorithmType;
+		this.searchEvent = FlightRecorderEvents.beginSearch();
+		phaseEntries[queuePhase]++;
+		phaseStartTime = System.nanoTime();
+	}
+
+	/**
+	 * A method for starting to profile the search, if the Flight Recorder records the search events.
+	 * @param algorithmType - The type of the algorithm of the search, e.g. "astar".
+	 * @return - The profiler of the search, or null if the search is not profiled.
+	 */
+	public static SearchProfiler start(String algorithmType) {
+		if (!FlightRecorderEvents.isSearchEnabled()) {
+			return null;
+		}
+		return new SearchProfiler(algorithmType);
+	}//End of start method
+
+	/**
+	 * A method for leaving the current phase, adding the time spent in it, and entering the given phase.
+	 * @param phase - The phase being entered.
+	 */
+	public void enterPhase(int phase) {
+		long now = System.nanoTime();
+		phaseNanos[currentPhase] += now - phaseStartTime;
+		phaseStartTime = now;
+		currentPhase = phase;
+		phaseEntries[phase]++;
+	}//End of enterPhase method
+
+	/**
+	 * A method called when the cell has been removed from the open list and is expanded,
+	 * which counts the expansion and enters the neighbours phase.
+	 */
+	public void nodeExpanded() {
+		numberOfExpansions++;
+		enterPhase(neighboursPhase);
+	}
+
+	/**
+	 * A method for finishing the profile of the search, and committing the search event and the events of its phases.
+	 * @param start - The start cell of the search.
+	 * @param goal - The goal cell of the search.
+	 * @param result - The result of the search.
+	 */
+	public void finish(int start, int goal, PathResult result) {
+		phaseNanos[currentPhase] += System.nanoTime() - phaseStartTime;
+		FlightRecorderEvents.commitSearch(searchEvent, algorithmType, start, goal, result.isPathFound(), result.getCost(), numberOfExpansions,
+				result.getNumberOfVisitedNodes(), phaseNanos[queuePhase], phaseNanos[neighboursPhase], phaseNanos[heuristicPhase],
+				phaseNanos[tracePhase]);
+		for (int phase = 0; phase < phaseNames.length; phase++) {
+			if (phaseEntries[phase] > 0) {
+				FlightRecorderEvents.commitPhase(algorithmType, phaseNames[phase], phaseNanos[phase], phaseEntries[phase]);
+			}
+		}
+	}//End of finish method
+}
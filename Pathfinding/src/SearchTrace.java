@@ -0,0 +1,217 @@
+
+/**
+ * The SearchTrace class is the trace of the path-finder and the GUI, which replaces the printing to the console. <br>
+ * The level of the trace is chosen once, by the system property pathfinding.trace (off, info, debug or trace), when the class is loaded.
+ * Since the level is a static final field, each tracing statement guarded by the isEnabled method is compiled by the JIT compiler
+ * down to a single branch (or removed altogether) when its level is disabled, so the disabled trace costs nothing. <br>
+ * The enabled lines are put into the preallocated TraceBuffer, and formatted and written to the sink (the console by default)
+ * by the background thread, so even the trace of every cell changes the time of the search only a little. The lines of the trace level
+ * (e.g. the heuristics of each cell) can be sampled by the system property pathfinding.trace.sample, whereby only every n-th of them is kept.
+ * The lines which do not fit into the full buffer are dropped and counted, rather than slowing the search down. <br>
+ * Usage: java -Dpathfinding.trace=debug -Dpathfinding.trace.sample=100 ... <br>
+ * &nbsp&nbsp&nbspif (SearchTrace.isEnabled(SearchTrace.debugLevel)) { <br>
+ * &nbsp&nbsp&nbsp&nbsp&nbsp&nbspSearchTrace.log(SearchTrace.debugLevel, "Expanded cell %d", cell); <br>
+ * &nbsp&nbsp&nbsp}
+ *
+ */
+public class SearchTrace {
+
+	/**
+	 * Declares the level at which nothing is traced.
+	 */
+	public static final int offLevel = 0;
+
+	/**
+	 * Declares the level of the lines about the actions of the user and the results of the searches.
+	 */
+	public static final int infoLevel = 1;
+
+	/**
+	 * Declares the level of the lines about the progress of each search, such as its start and the state of the GUI.
+	 */
+	public static final int debugLevel = 2;
+
+	/**
+	 * Declares the level of the lines about each cell of the search, which are sampled.
+	 */
+	public static final int traceLevel = 3;
+
+	/**
+	 * Declares the names of the levels, indexed by the level.
+	 */
+	private static final String[] levelNames = {"off", "info", "debug", "trace"};
+
+	/**
+	 * Declares the number of the lines kept by the buffer until they are written.
+	 */
+	private static final int bufferCapacity = 1 << 16;
+
+	/**
+	 * Declares the delay (in milliseconds) of the background thread, between writing the lines of the buffer.
+	 */
+	private static final int msFlushInterval = 20;
+
+	/**
+	 * Declares the level of the trace, whereby the lines of the higher levels are not traced.
+	 */
+	public static final int level = parseLevel(System.getProperty("pathfinding.trace", "off"));
+
+	/**
+	 * Declares the sampling of the lines of the trace level, whereby only every n-th line of them is traced.
+	 */
+	public static final int sampleRate = Math.max(1, Integer.getInteger("pathfinding.trace.sample", 1));
+
+	/**
+	 * Declares the buffer of the traced lines, or null if the trace is off.
+	 */
+	private static final TraceBuffer buffer = level > offLevel ? new TraceBuffer(bufferCapacity) : null;
+
+	/**
+	 * Declares the sink to which the lines are written.
+	 */
+	private static volatile TraceSink sink = new TraceSink() {
+		@Override
+		public void write(int level, String line) {
+			System.out.println(line);
+		}
+
+		@Override
+		public void flush() {
+			System.out.flush();
+		}
+	};
+
+	/**
+	 * Declares the counter of the lines of the trace level, from which every n-th line is traced.
+	 * The counter is shared by the threads without any synchronisation, since the lost increments only shift the sampling.
+	 */
+	private static int sampleCounter = 0;
+
+	static {
+		if (buffer != null) {
+			startFlushing();
+		}
+	}
+
+	/**
+	 * A method for determining whether the lines of the given level are traced. The method is meant to guard each tracing statement,
+	 * so that the line is not even prepared (e.g. its values calculated) when its level is disabled.
+	 * @param lineLevel - The level of the line.
+	 * @return - boolean whether the lines of the level are traced.
+	 */
+	public static boolean isEnabled(int lineLevel) {
+		return lineLevel <= level;
+	}
+
+	/**
+	 * A method for tracing the line without any values.
+	 * @param lineLevel - The level of the line.
+	 * @param message - The line, which is not formatted.
+	 */
+	public static void log(int lineLevel, String message) {
+		put(lineLevel, message, 0, 0, 0);
+	}
+
+	/**
+	 * A method for tracing the line with a single value.
+	 * @param lineLevel - The level of the line.
+	 * @param message - The format string of the line with a single integer value, e.g. "Expanded cell %d".
+	 * @param value - The value.
+	 */
+	public static void log(int lineLevel, String message, long value) {
+		put(lineLevel, message, 1, value, 0);
+	}
+
+	/**
+	 * A method for tracing the line with two values.
+	 * @param lineLevel - The level of the line.
+	 * @param message - The format string of the line with two integer values, e.g. "Cell %d has the heuristics %d".
+	 * @param first - The first value.
+	 * @param second - The second value.
+	 */
+	public static void log(int lineLevel, String message, long first, long second) {
+		put(lineLevel, message, 2, first, second);
+	}
+
+	/**
+	 * A method for putting the line into the buffer, if its level is enabled and (for the trace level) it has been sampled.
+	 * @param lineLevel - The level of the line.
+	 * @param message - The message of the line.
+	 * @param values - The number of the values of the line.
+	 * @param first - The first value.
+	 * @param second - The second value.
+	 */
+	private static void put(int lineLevel, String message, int values, long first, long second) {
+		if (lineLevel > level) {
+			return;
+		}
+		if (lineLevel == traceLevel && sampleRate > 1) {
+			int sample = sampleCounter++;
+			if (sample % sampleRate != 0) {
+				return;
+			}
+		}
+		buffer.put(lineLevel, message, values, first, second);
+	}//End of put method
+
+	/**
+	 * Setter for the sink to which the lines are written, e.g. the log of the server instead of the console.
+	 * @param traceSink - The sink of the lines.
+	 */
+	public static void setSink(TraceSink traceSink) {
+		sink = traceSink;
+	}
+
+	/**
+	 * A method for writing the lines traced so far to the sink, e.g. before the program exits.
+	 * The lines are written by the calling thread, while the background thread waits.
+	 */
+	public static void flush() {
+		if (buffer != null) {
+			synchronized (buffer) {
+				buffer.drain(sink);
+			}
+		}
+	}//End of flush method
+
+	/**
+	 * A method for starting the background thread, which writes the lines of the buffer to the sink,
+	 * and for writing the remaining lines once the program exits.
+	 */
+	private static void startFlushing() {
+		buffer.put(infoLevel, "The trace level is " + levelNames[level] + ", keeping 1 of every " + sampleRate + " lines of the trace level", 0, 0, 0);
+		Thread flusher = new Thread(new Runnable() {
+			public void run() {
+				while (true) {
+					flush();
+					try {
+						Thread.sleep(msFlushInterval);
+					} catch (InterruptedException e) {
+						return;
+					}
+				}
+			}
+		}, "Trace flusher");
+		flusher.setDaemon(true);
+		flusher.start();
+		Runtime.getRuntime().addShutdownHook(new Thread(new Runnable() {
+			public void run() {
+				flush();
+			}
+		}));
+	}//End of startFlushing method
+
+	/**
+	 * A method for parsing the name of the level.
+	 * @param name - The name of the level, i.e. "off", "info", "debug" or "trace".
+	 * @return - integer with the level.
+	 */
+	private static int parseLevel(String name) {
+		for (int i = 0; i < levelNames.length; i++) {
+			if (levelNames[i].equalsIgnoreCase(name)) {
+				return i;
+			}
+		}
+		throw new IllegalArgumentException("Unknown level of the trace: " + name);
+	}//End of parseLevel method
+}
@@ -0,0 +1,83 @@
+
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.GraphicsEnvironment;
+import java.awt.RenderingHints;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.imageio.ImageIO;
+
+/**
+ * The SpriteCache class holds the images (sprites) drawn by the GridDisplay, so that each image is decoded only once,
+ * rather than for each of the grids and on each of the frames, and all of the cells share the same instance of the image. <br>
+ * The images are scaled once to the size at which they are drawn, and stored as the images compatible with the screen
+ * (which can be accelerated by the graphics card), so drawing them is a plain copy of the pixels.
+ *
+ */
+public class SpriteCache {
+
+	/**
+	 * Declares the map of the loaded images, keyed by the name of the image file and the size of the image.
+	 */
+	private static final Map<String, BufferedImage> sprites = new HashMap<String, BufferedImage>();
+
+	/**
+	 * A method for obtaining the image of the given file scaled to the given size, which is loaded on the first request.
+	 * @param fileName - The name of the image file, next to the classes.
+	 * @param width - The width at which the image is drawn.
+	 * @param height - The height at which the image is drawn.
+	 * @return - The scaled image, or null if the image cannot be loaded.
+	 */
+	public static synchronized BufferedImage getSprite(String fileName, int width, int height) {
+		String key = fileName + "@" + width + "x" + height;
+		if (sprites.containsKey(key)) {
+			return sprites.get(key);
+		}
+		BufferedImage sprite = null;
+		try {
+			InputStream stream = SpriteCache.class.getResourceAsStream(fileName);
+			if (stream == null) {
+				throw new IOException("The image " + fileName + " has not been found");
+			}
+			try {
+				sprite = scale(ImageIO.read(stream), width, height);
+			} finally {
+				stream.close();
+			}
+		} catch (IOException e) {
+			e.printStackTrace();
+		}
+		//Store the failed image as well, so that the file is not read again on each frame
+		sprites.put(key, sprite);
+		return sprite;
+	}//End of getSprite method
+
+	/**
+	 * A method for scaling the image into the new image of the given size, which is compatible with the screen if there is one.
+	 * @param image - The image to be scaled.
+	 * @param width - The width of the scaled image.
+	 * @param height - The height of the scaled image.
+	 * @return - The scaled image.
+	 */
+	private static BufferedImage scale(BufferedImage image, int width, int height) {
+		BufferedImage scaledImage;
+		if (GraphicsEnvironment.isHeadless()) {
+			scaledImage = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+		} else {
+			GraphicsConfiguration configuration = GraphicsEnvironment.getLocalGraphicsEnvironment().getDefaultScreenDevice().getDefaultConfiguration();
+			scaledImage = configuration.createCompatibleImage(width, height, Transparency.TRANSLUCENT);
+		}
+		Graphics2D g2d = scaledImage.createGraphics();
+		//The image is scaled only once, so the scaling can be of the best quality
+		g2d.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BICUBIC);
+		g2d.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+		g2d.drawImage(image, 0, 0, width, height, null);
+		g2d.dispose();
+		return scaledImage;
+	}//End of scale method
+}
@@ -0,0 +1,150 @@
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * The TraceBuffer class is the ring buffer of the traced lines, which is allocated once, so tracing the line does not allocate any memory.
+ * Each slot keeps the message (a constant format string) and up to two values, and the line is formatted only when the buffer is drained,
+ * so the thread which traces the line pays neither for the formatting nor for the output. <br>
+ * Any number of threads can trace the lines at the same time, claiming the slots with an atomic counter, while a single thread drains
+ * the buffer. Once the buffer is full, the following lines are dropped (and counted) rather than waiting for the buffer to be drained.
+ *
+ */
+public class TraceBuffer {
+
+	/**
+	 * Declares the messages of the slots, i.e. the format strings of the lines.
+	 */
+	private final String[] messages;
+
+	/**
+	 * Declares the levels of the lines of the slots.
+	 */
+	private final int[] levels;
+
+	/**
+	 * Declares the number of the values of the slots (0, 1 or 2).
+	 */
+	private final int[] numberOfValues;
+
+	/**
+	 * Declares the first values of the slots.
+	 */
+	private final long[] firstValues;
+
+	/**
+	 * Declares the second values of the slots.
+	 */
+	private final long[] secondValues;
+
+	/**
+	 * Declares the sequence number (plus 1) of the line which has been completely written into each of the slots.
+	 */
+	private final AtomicLongArray publishedSequences;
+
+	/**
+	 * Declares the sequence number of the next line to be traced.
+	 */
+	private final AtomicLong nextSequence = new AtomicLong();
+
+	/**
+	 * Declares the number of the lines dropped, since the buffer has been full.
+	 */
+	private final AtomicLong numberOfDroppedLines = new AtomicLong();
+
+	/**
+	 * Declares the sequence number of the next line to be drained.
+	 */
+	private volatile long readSequence = 0;
+
+	/**
+	 * The constructor of this class.
+	 * @param capacity - The number of the lines kept by the buffer, which is rounded up to a power of two.
+	 */
+	public TraceBuffer(int capacity) {
+		if (capacity <= 0 || capacity > (1 << 30)) {
+			throw new IllegalArgumentException("The capacity of the buffer must be between 1 and 2^30: " + capacity);
+		}
+		int length = 1;
+		while (length < capacity) {
+			length <<= 1;
+		}
+		messages = new String[length];
+		levels = new int[length];
+		numberOfValues = new int[length];
+		firstValues = new long[length];
+		secondValues = new long[length];
+		publishedSequences = new AtomicLongArray(length);
+	}
+
+	/**
+	 * A method for putting the line into the buffer, or dropping it if the buffer is full.
+	 * @param level - The level of the line.
+	 * @param message - The message of the line, which is the format string of the values (e.g. "Expanded cell %d").
+	 * @param values - The number of the values (0, 1 or 2), whereby the message without any values is not formatted.
+	 * @param first - The first value.
+	 * @param second - The second value.
+	 * @return - boolean whether the line has been put into the buffer.
+	 */
+	public boolean put(int level, String message, int values, long first, long second) {
+		long sequence;
+		do {
+			sequence = nextSequence.get();
+			if (sequence - readSequence >= messages.length) {
+				numberOfDroppedLines.incrementAndGet();
+				return false;
+			}
+		} while (!nextSequence.compareAndSet(sequence, sequence + 1));
+
+		int slot = (int) (sequence & (messages.length - 1));
+		messages[slot] = message;
+		levels[slot] = level;
+		numberOfValues[slot] = values;
+		firstValues[slot] = first;
+		secondValues[slot] = second;
+		//Publish the slot to the draining thread once all of its fields have been written
+		publishedSequences.lazySet(slot, sequence + 1);
+		return true;
+	}//End of put method
+
+	/**
+	 * A method for formatting the lines put into the buffer so far and writing them to the sink, in the order of their sequence numbers.
+	 * The method must be called by a single thread at a time.
+	 * @param sink - The sink to which the lines are written.
+	 * @return - integer with the number of the written lines.
+	 */
+	public int drain(TraceSink sink) {
+		int numberOfLines = 0;
+		long sequence = readSequence;
+		while (true) {
+			int slot = (int) (sequence & (messages.length - 1));
+			if (publishedSequences.get(slot) != sequence + 1) {
+				//The next line has not been traced yet, or its slot is still being written
+				break;
+			}
+			String line;
+			if (numberOfValues[slot] == 0) {
+				line = messages[slot];
+			} else if (numberOfValues[slot] == 1) {
+				line = String.format(messages[slot], firstValues[slot]);
+			} else {
+				line = String.format(messages[slot], firstValues[slot], secondValues[slot]);
+			}
+			int level = levels[slot];
+			messages[slot] = null;
+			//Release the slot to the tracing threads, once it has been read
+			sequence++;
+			readSequence = sequence;
+			sink.write(level, line);
+			numberOfLines++;
+		}
+		long dropped = numberOfDroppedLines.getAndSet(0);
+		if (dropped > 0) {
+			sink.write(SearchTrace.infoLevel, "The trace buffer has been full, " + dropped + " lines have been dropped");
+		}
+		if (numberOfLines > 0 || dropped > 0) {
+			sink.flush();
+		}
+		return numberOfLines;
+	}//End of drain method
+}
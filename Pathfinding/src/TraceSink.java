@@ -0,0 +1,22 @@
+
+/**
+ * The TraceSink interface receives the lines of the trace (see the SearchTrace), e.g. to print them to the console or write them
+ * into the log of the server. <br>
+ * The methods are called only by the background thread which flushes the trace, so the sink does not have to be thread-safe,
+ * and its slow output does not slow the searches down.
+ *
+ */
+public interface TraceSink {
+
+	/**
+	 * A method called for each line of the trace, in the order in which the lines have been traced.
+	 * @param level - The level of the line, e.g. SearchTrace.debugLevel.
+	 * @param line - The formatted line.
+	 */
+	void write(int level, String line);
+
+	/**
+	 * A method called once the lines traced so far have been written, e.g. to flush the buffered output.
+	 */
+	void flush();
+}
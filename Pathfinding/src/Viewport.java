@@ -0,0 +1,205 @@
+
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+
+/**
+ * The Viewport class is the camera through which the grid is shown on the canvas, that is the part of the grid (in the pixels
+ * of the grid, at which the GridDisplay draws the cells) which is visible, and the zoom at which it is drawn. <br>
+ * The viewport is immutable, so the rendering thread can keep using it while the event thread pans or zooms the camera,
+ * which creates the new viewport. <br>
+ * The canvas position (x, y) shows the grid position (originX + x / scale, originY + y / scale).
+ *
+ */
+public class Viewport {
+
+	/**
+	 * Declares the lowest zoom, at which each pixel of the canvas shows the area of 4096 x 4096 pixels of the grid.
+	 */
+	public static final double minimalScale = 1.0 / 4096;
+
+	/**
+	 * Declares the highest zoom, at which each pixel of the grid is drawn as 4 x 4 pixels of the canvas.
+	 */
+	public static final double maximalScale = 4.0;
+
+	/**
+	 * Declares the width (in pixels) of the grid.
+	 */
+	private final int gridWidth;
+
+	/**
+	 * Declares the height (in pixels) of the grid.
+	 */
+	private final int gridHeight;
+
+	/**
+	 * Declares the width (in pixels) of the canvas.
+	 */
+	private final int canvasWidth;
+
+	/**
+	 * Declares the height (in pixels) of the canvas.
+	 */
+	private final int canvasHeight;
+
+	/**
+	 * Declares the horizontal position of the grid shown at the left edge of the canvas.
+	 */
+	private final double originX;
+
+	/**
+	 * Declares the vertical position of the grid shown at the top edge of the canvas.
+	 */
+	private final double originY;
+
+	/**
+	 * Declares the number of the pixels of the canvas per pixel of the grid.
+	 */
+	private final double scale;
+
+	/**
+	 * The constructor of this class, showing the top left corner of the grid without any zoom.
+	 * @param gridWidth - The width (in pixels) of the grid.
+	 * @param gridHeight - The height (in pixels) of the grid.
+	 * @param canvasWidth - The width (in pixels) of the canvas.
+	 * @param canvasHeight - The height (in pixels) of the canvas.
+	 */
+	public Viewport(int gridWidth, int gridHeight, int canvasWidth, int canvasHeight) {
+		this(gridWidth, gridHeight, canvasWidth, canvasHeight, 0, 0, 1);
+	}
+
+	/**
+	 * The constructor of this class, which keeps the origin within the grid and the scale within its limits.
+	 * @param gridWidth - The width (in pixels) of the grid.
+	 * @param gridHeight - The height (in pixels) of the grid.
+	 * @param canvasWidth - The width (in pixels) of the canvas.
+	 * @param canvasHeight - The height (in pixels) of the canvas.
+	 * @param originX - The horizontal position of the grid shown at the left edge of the canvas.
+	 * @param originY - The vertical position of the grid shown at the top edge of the canvas.
+	 * @param scale - The number of the pixels of the canvas per pixel of the grid.
+	 */
+	private Viewport(int gridWidth, int gridHeight, int canvasWidth, int canvasHeight, double originX, double originY, double scale) {
+		this.gridWidth = gridWidth;
+		this.gridHeight = gridHeight;
+		this.canvasWidth = canvasWidth;
+		this.canvasHeight = canvasHeight;
+		//The camera is not zoomed out further than showing the whole grid
+		double wholeGridScale = Math.min(1, Math.min((double) canvasWidth / gridWidth, (double) canvasHeight / gridHeight));
+		this.scale = Math.max(Math.max(minimalScale, wholeGridScale), Math.min(maximalScale, scale));
+		//The grid cannot be moved away from the canvas, and the grid smaller than the canvas stays at the top left corner
+		this.originX = Math.max(0, Math.min(originX, gridWidth - canvasWidth / this.scale));
+		this.originY = Math.max(0, Math.min(originY, gridHeight - canvasHeight / this.scale));
+	}
+
+	/**
+	 * A method for moving the camera, so that the grid follows the mouse dragged by the given distance.
+	 * @param dx - The horizontal distance (in pixels of the canvas).
+	 * @param dy - The vertical distance (in pixels of the canvas).
+	 * @return - The moved viewport.
+	 */
+	public Viewport pan(int dx, int dy) {
+		return new Viewport(gridWidth, gridHeight, canvasWidth, canvasHeight, originX - dx / scale, originY - dy / scale, scale);
+	}
+
+	/**
+	 * A method for zooming the camera by the given factor, so that the position of the grid under the given position of the canvas
+	 * (e.g. the mouse pointer) stays at its place.
+	 * @param factor - The factor by which the scale is multiplied, above 1 for zooming in and below 1 for zooming out.
+	 * @param x - The horizontal position of the canvas.
+	 * @param y - The vertical position of the canvas.
+	 * @return - The zoomed viewport.
+	 */
+	public Viewport zoom(double factor, int x, int y) {
+		Viewport zoomed = new Viewport(gridWidth, gridHeight, canvasWidth, canvasHeight, originX, originY, scale * factor);
+		return new Viewport(gridWidth, gridHeight, canvasWidth, canvasHeight,
+				toGridX(x) - x / zoomed.scale, toGridY(y) - y / zoomed.scale, zoomed.scale);
+	}
+
+	/**
+	 * Getter for the number of the pixels of the canvas per pixel of the grid.
+	 * @return - double with the scale.
+	 */
+	public double getScale() {
+		return scale;
+	}
+
+	/**
+	 * A method for converting the horizontal position of the canvas into the position of the grid.
+	 * @param x - The horizontal position of the canvas.
+	 * @return - double with the horizontal position of the grid.
+	 */
+	public double toGridX(int x) {
+		return originX + x / scale;
+	}
+
+	/**
+	 * A method for converting the vertical position of the canvas into the position of the grid.
+	 * @param y - The vertical position of the canvas.
+	 * @return - double with the vertical position of the grid.
+	 */
+	public double toGridY(int y) {
+		return originY + y / scale;
+	}
+
+	/**
+	 * A method for converting the horizontal position of the grid into the position of the canvas.
+	 * @param x - The horizontal position of the grid.
+	 * @return - integer with the horizontal position of the canvas, rounded down.
+	 */
+	public int toCanvasX(double x) {
+		return (int) Math.floor((x - originX) * scale);
+	}
+
+	/**
+	 * A method for converting the vertical position of the grid into the position of the canvas.
+	 * @param y - The vertical position of the grid.
+	 * @return - integer with the vertical position of the canvas, rounded down.
+	 */
+	public int toCanvasY(double y) {
+		return (int) Math.floor((y - originY) * scale);
+	}
+
+	/**
+	 * A method for converting the area of the grid into the smallest area of the canvas which contains it, clipped to the canvas.
+	 * @param area - The area of the grid.
+	 * @return - The area of the canvas, which is empty if the area of the grid is not visible.
+	 */
+	public Rectangle toCanvas(Rectangle area) {
+		int left = toCanvasX(area.x);
+		int top = toCanvasY(area.y);
+		int right = (int) Math.ceil((area.x + area.width - originX) * scale);
+		int bottom = (int) Math.ceil((area.y + area.height - originY) * scale);
+		return new Rectangle(left, top, right - left, bottom - top).intersection(new Rectangle(0, 0, canvasWidth, canvasHeight));
+	}
+
+	/**
+	 * A method for converting the area of the canvas into the smallest area of the grid which contains it.
+	 * @param area - The area of the canvas.
+	 * @return - The area of the grid.
+	 */
+	public Rectangle toGrid(Rectangle area) {
+		int left = (int) Math.floor(toGridX(area.x));
+		int top = (int) Math.floor(toGridY(area.y));
+		int right = (int) Math.ceil(toGridX(area.x + area.width));
+		int bottom = (int) Math.ceil(toGridY(area.y + area.height));
+		return new Rectangle(left, top, right - left, bottom - top);
+	}
+
+	/**
+	 * Getter for the area of the grid which is visible on the canvas.
+	 * @return - The visible area of the grid.
+	 */
+	public Rectangle getVisibleArea() {
+		return toGrid(new Rectangle(0, 0, canvasWidth, canvasHeight));
+	}
+
+	/**
+	 * A method for setting the transformation of the graphics object, so that the cells drawn by the GridDisplay in the pixels
+	 * of the grid appear at their places of the canvas.
+	 * @param g2d - The graphics object of the canvas.
+	 */
+	public void applyTo(Graphics2D g2d) {
+		g2d.scale(scale, scale);
+		g2d.translate(-originX, -originY);
+	}
+}
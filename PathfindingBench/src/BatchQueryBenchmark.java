@@ -0,0 +1,101 @@
+
+import java.util.Random;
+
+/**
+ * The BatchQueryBenchmark class measures the throughput of the BatchQueryExecutor, solving the same batch of random queries
+ * on a random map with 1, 2, 4, ... worker threads up to the number of the available processors, and prints the number of
+ * queries per second and the speed-up against the single worker for each of them. <br>
+ * The type of the algorithm can be given as the first argument (by default "jps"). <br>
+ * Usage: java -cp Pathfinding/bin:PathfindingBench/bin BatchQueryBenchmark [astar|dijkstra|jps|hpa|dstar]
+ *
+ */
+public class BatchQueryBenchmark {
+
+	/**
+	 * Declares the number of the columns and rows of the map.
+	 */
+	private static final int mapSize = 512;
+
+	/**
+	 * Declares the probability of each cell being an obstacle.
+	 */
+	private static final double obstacleDensity = 0.2;
+
+	/**
+	 * Declares the number of the queries in the batch.
+	 */
+	private static final int numberOfQueries = 2000;
+
+	/**
+	 * The main method which runs the benchmark and prints the results.
+	 * @param args - Optionally the type of the algorithm.
+	 */
+	public static void main(String[] args) {
+		String algorithmType = args.length > 0 ? args[0] : "jps";
+		SearchOptions options = new SearchOptions().setHeuristicsType("chebyshev").setUseBucketQueue(true);
+
+		//Create the random map, and the random queries between the free cells
+		Random random = new Random(1);
+		GridMap grid = new GridMap(mapSize, mapSize);
+		for (int cell = 0; cell < grid.getNumberOfCells(); cell++) {
+			if (random.nextDouble() < obstacleDensity) {
+				grid.setObstacle(cell, true);
+			}
+		}
+		int[] starts = new int[numberOfQueries];
+		int[] goals = new int[numberOfQueries];
+		for (int i = 0; i < numberOfQueries; i++) {
+			starts[i] = randomFreeCell(grid, random);
+			goals[i] = randomFreeCell(grid, random);
+		}
+
+		System.out.println("Algorithm: " + algorithmType + ", map: " + mapSize + " x " + mapSize + ", queries: " + numberOfQueries);
+		System.out.println("Workers   Time (ms)   Queries per second   Speed-up");
+		double singleWorkerRate = 0;
+		int availableProcessors = Runtime.getRuntime().availableProcessors();
+		for (int parallelism = 1; parallelism <= availableProcessors; parallelism = nextParallelism(parallelism, availableProcessors)) {
+			BatchQueryExecutor executor = new BatchQueryExecutor(algorithmType, options, parallelism);
+			//Warm up the JIT compiler and let each worker allocate its search arrays
+			executor.execute(grid, starts, goals);
+
+			long startTime = System.nanoTime();
+			executor.execute(grid, starts, goals);
+			long elapsedNanos = System.nanoTime() - startTime;
+			executor.shutdown();
+
+			double rate = numberOfQueries / (elapsedNanos / 1000000000.0);
+			if (parallelism == 1) {
+				singleWorkerRate = rate;
+			}
+			System.out.println(String.format("%7d  %10.1f  %19.0f  %9.2f", parallelism, elapsedNanos / 1000000.0, rate, rate / singleWorkerRate));
+		}
+	}//End of main method
+
+	/**
+	 * A method for obtaining the next number of the workers to be measured, i.e. the double of the current one,
+	 * but finishing with the number of the available processors.
+	 * @param parallelism - The current number of the workers.
+	 * @param availableProcessors - The number of the available processors.
+	 * @return - integer with the next number of the workers, which exceeds the available processors once all have been measured.
+	 */
+	private static int nextParallelism(int parallelism, int availableProcessors) {
+		if (parallelism == availableProcessors) {
+			return parallelism + 1;
+		}
+		return Math.min(parallelism * 2, availableProcessors);
+	}//End of nextParallelism method
+
+	/**
+	 * A method for choosing a random cell which is not an obstacle.
+	 * @param grid - The grid from which the cell is chosen.
+	 * @param random - The random generator.
+	 * @return - The index of the free cell.
+	 */
+	private static int randomFreeCell(GridMap grid, Random random) {
+		int cell;
+		do {
+			cell = random.nextInt(grid.getNumberOfCells());
+		} while (grid.isObstacle(cell));
+		return cell;
+	}//End of randomFreeCell method
+}
@@ -0,0 +1,69 @@
+
+/**
+ * The DijkstraBenchmark class measures the throughput of the DijkstraAlgorithm with each of its open lists,
+ * comparing the array list sorted with the bubble sort algorithm against the Dial's bucket queue. <br>
+ * Each measurement is a single search on the open grid without the obstacles, from its top-left to its bottom-right corner,
+ * so the engine expands (almost) every cell of the grid, and the number of the visited (i.e. discovered) cells per second
+ * is printed for each size. <br>
+ * Usage: java -cp Pathfinding/bin:PathfindingBench/bin DijkstraBenchmark
+ *
+ */
+public class DijkstraBenchmark {
+
+	/**
+	 * Declares the sizes (columns and rows) of the grids on which the sorted array list is measured,
+	 * the larger grids would take hours due to the quadratic sorting.
+	 */
+	private static final int[] sortedListGridSizes = {25, 50, 100};
+
+	/**
+	 * Declares the sizes (columns and rows) of the grids on which the bucket queue is measured.
+	 */
+	private static final int[] bucketQueueGridSizes = {25, 50, 100, 500, 1000, 2000};
+
+	/**
+	 * The main method which runs the benchmark for both of the open lists and prints the results.
+	 * @param args - The arguments, which are not used.
+	 */
+	public static void main(String[] args) {
+		DijkstraAlgorithm engine = new DijkstraAlgorithm();
+		//Warm up the JIT compiler, so that the first measurements are not dominated by the interpreter
+		for (int i = 0; i < 5; i++) {
+			sweep(engine, 25, false, false);
+			sweep(engine, 200, true, false);
+		}
+
+		System.out.println("Open list          Grid size     Visited cells   Time (ms)    Visited cells per second");
+		for (int size : sortedListGridSizes) {
+			sweep(engine, size, false, true);
+		}
+		for (int size : bucketQueueGridSizes) {
+			sweep(engine, size, true, true);
+		}
+	}//End of main method
+
+	/**
+	 * A method for searching the path across the whole open grid, and printing the result of the search if it is measured.
+	 * @param engine - The Dijkstra engine, which is reused by the searches.
+	 * @param size - The number of columns and rows of the grid.
+	 * @param useBucketQueue - boolean whether the open list is maintained as the bucket queue, otherwise as the sorted array list.
+	 * @param printResult - boolean whether the result is printed, i.e. the search is not the warm-up.
+	 */
+	private static void sweep(DijkstraAlgorithm engine, int size, boolean useBucketQueue, boolean printResult) {
+		GridMap grid = new GridMap(size, size);
+		SearchOptions options = new SearchOptions().setUseBucketQueue(useBucketQueue);
+		long startTime = System.nanoTime();
+		PathResult result = engine.calculatePath(grid, 0, grid.getNumberOfCells() - 1, options, null);
+		long elapsedNanos = System.nanoTime() - startTime;
+		if (!result.isPathFound()) {
+			throw new IllegalStateException("The path across the open grid of " + size + " x " + size + " cells has not been found");
+		}
+		if (!printResult) {
+			return;
+		}
+		double elapsedMillis = elapsedNanos / 1000000.0;
+		double cellsPerSecond = result.getNumberOfVisitedNodes() / (elapsedNanos / 1000000000.0);
+		System.out.println(String.format("%-18s %4d x %-4d  %14d  %10.1f  %26.0f", useBucketQueue ? "Bucket queue" : "Sorted array list",
+				size, size, result.getNumberOfVisitedNodes(), elapsedMillis, cellsPerSecond));
+	}//End of sweep method
+}
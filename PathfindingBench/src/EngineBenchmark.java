@@ -0,0 +1,282 @@
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.Random;
+
+/**
+ * The EngineBenchmark class measures the performance of the path-finding engines headlessly, that is without the GUI listening
+ * to the searches, over the maps generated by the MapGenerator at several sizes. <br>
+ * For each of the maps, the same random queries (pairs of the start and goal cells which are connected) are solved by each of the engines.
+ * The queries are first solved for a number of the warm-up iterations, so that the JIT compiler has compiled the engine and the engine
+ * has allocated its search arrays, and then for a number of the measured iterations. For each engine the benchmark reports: <br>
+ * &nbsp&nbsp&nbspthe number of the queries solved per second, <br>
+ * &nbsp&nbsp&nbspthe time per expanded (visited) node, <br>
+ * &nbsp&nbsp&nbspthe number of the bytes allocated per query by the thread solving the queries. <br>
+ * The results can also be appended to a CSV file, so that the runs of the different releases can be compared. <br>
+ * Usage: java -cp Pathfinding/bin:PathfindingBench/bin EngineBenchmark [-engines astar,dijkstra,jps,hpa,dstar]
+ * [-maps open,random20,random40,maze,rooms] [-sizes 128,256,512] [-queries 64] [-warmup 3] [-iterations 5] [-csv results.csv]
+ *
+ */
+public class EngineBenchmark {
+
+	/**
+	 * Declares the seed of the maps and the queries, so that each run benchmarks the same queries.
+	 */
+	private static final long seed = 1;
+
+	/**
+	 * Declares the types of the engines to be benchmarked.
+	 */
+	private String[] algorithmTypes = {"astar", "dijkstra", "jps", "hpa", "dstar"};
+
+	/**
+	 * Declares the types of the maps to be benchmarked.
+	 */
+	private String[] mapTypes = MapGenerator.mapTypes;
+
+	/**
+	 * Declares the numbers of the columns and rows of the maps to be benchmarked.
+	 */
+	private int[] mapSizes = {128, 256, 512};
+
+	/**
+	 * Declares the number of the queries solved by each iteration.
+	 */
+	private int numberOfQueries = 64;
+
+	/**
+	 * Declares the number of the iterations which are not measured.
+	 */
+	private int warmupIterations = 3;
+
+	/**
+	 * Declares the number of the measured iterations.
+	 */
+	private int measuredIterations = 5;
+
+	/**
+	 * Declares the CSV file to which the results are appended, or null if the results are only printed.
+	 */
+	private File csvFile;
+
+	/**
+	 * Declares the options of the searches.
+	 */
+	private SearchOptions options = new SearchOptions().setHeuristicsType("chebyshev").setUseBucketQueue(true);
+
+	/**
+	 * Declares the sum of the costs of the found paths, which is printed at the end, so that the JIT compiler cannot remove the searches.
+	 */
+	private long sumOfCosts = 0;
+
+	/**
+	 * The main method which parses the arguments, runs the benchmark and prints the results.
+	 * @param args - The arguments, as described by the class.
+	 * @throws IOException - If the results cannot be written to the CSV file.
+	 */
+	public static void main(String[] args) throws IOException {
+		EngineBenchmark benchmark = new EngineBenchmark();
+		for (int i = 0; i + 1 < args.length; i += 2) {
+			String value = args[i + 1];
+			if (args[i].equals("-engines")) {
+				benchmark.algorithmTypes = value.split(",");
+			} else if (args[i].equals("-maps")) {
+				benchmark.mapTypes = value.split(",");
+			} else if (args[i].equals("-sizes")) {
+				String[] sizes = value.split(",");
+				benchmark.mapSizes = new int[sizes.length];
+				for (int n = 0; n < sizes.length; n++) {
+					benchmark.mapSizes[n] = Integer.parseInt(sizes[n]);
+				}
+			} else if (args[i].equals("-queries")) {
+				benchmark.numberOfQueries = Integer.parseInt(value);
+			} else if (args[i].equals("-warmup")) {
+				benchmark.warmupIterations = Integer.parseInt(value);
+			} else if (args[i].equals("-iterations")) {
+				benchmark.measuredIterations = Integer.parseInt(value);
+			} else if (args[i].equals("-csv")) {
+				benchmark.csvFile = new File(value);
+			} else {
+				throw new IllegalArgumentException("Unknown argument: " + args[i]);
+			}
+		}
+		benchmark.run();
+	}//End of main method
+
+	/**
+	 * A method for running the benchmark of each engine on each of the maps, and printing (and optionally writing) the results.
+	 * @throws IOException - If the results cannot be written to the CSV file.
+	 */
+	private void run() throws IOException {
+		PrintWriter csv = null;
+		if (csvFile != null) {
+			boolean writeHeader = !csvFile.exists();
+			csv = new PrintWriter(new FileWriter(csvFile, true));
+			if (writeHeader) {
+				csv.println("timestamp,map,size,engine,queries_per_second,ns_per_expansion,bytes_per_query,expansions_per_query");
+			}
+		}
+		long timestamp = System.currentTimeMillis();
+
+		System.out.println("Java " + System.getProperty("java.version") + ", queries: " + numberOfQueries + ", warm-up iterations: "
+				+ warmupIterations + ", measured iterations: " + measuredIterations);
+		System.out.println(String.format("%-9s %5s %-9s %14s %14s %14s %14s", "Map", "Size", "Engine", "Queries/s", "ns/expansion",
+				"Bytes/query", "Expansions/q"));
+		for (String mapType : mapTypes) {
+			for (int mapSize : mapSizes) {
+				GridMap grid = MapGenerator.generate(mapType, mapSize, seed);
+				int[] starts = new int[numberOfQueries];
+				int[] goals = new int[numberOfQueries];
+				generateQueries(grid, starts, goals);
+
+				for (String algorithmType : algorithmTypes) {
+					double[] result = measure(algorithmType, grid, starts, goals);
+					System.out.println(String.format("%-9s %5d %-9s %14.1f %14.1f %14.0f %14.0f", mapType, mapSize, algorithmType,
+							result[0], result[1], result[2], result[3]));
+					if (csv != null) {
+						csv.println(String.format("%d,%s,%d,%s,%.1f,%.1f,%.0f,%.0f", timestamp, mapType, mapSize, algorithmType,
+								result[0], result[1], result[2], result[3]));
+					}
+				}
+			}
+		}
+		if (csv != null) {
+			csv.close();
+		}
+		System.out.println("Sum of the path costs: " + sumOfCosts);
+	}//End of run method
+
+	/**
+	 * A method for measuring the engine on the queries of the map. A new engine is created for each map, so the engines which keep
+	 * their state between the searches (such as the abstraction of the HPA*) build the state during the warm-up iterations.
+	 * @param algorithmType - The type of the algorithm.
+	 * @param grid - The map on which the queries are solved.
+	 * @param starts - The start cells of the queries.
+	 * @param goals - The goal cells of the queries.
+	 * @return - The array with the queries per second, nanoseconds per expansion, bytes allocated per query and expansions per query.
+	 */
+	private double[] measure(String algorithmType, GridMap grid, int[] starts, int[] goals) {
+		PathfindingEngine engine = PathfindingEngines.forType(algorithmType);
+		for (int iteration = 0; iteration < warmupIterations; iteration++) {
+			solveQueries(engine, grid, starts, goals);
+		}
+
+		long allocatedBytesBefore = getAllocatedBytes();
+		long startTime = System.nanoTime();
+		long numberOfExpansions = 0;
+		for (int iteration = 0; iteration < measuredIterations; iteration++) {
+			numberOfExpansions += solveQueries(engine, grid, starts, goals);
+		}
+		long elapsedNanos = System.nanoTime() - startTime;
+		long allocatedBytes = getAllocatedBytes() - allocatedBytesBefore;
+
+		long numberOfSolvedQueries = (long) measuredIterations * starts.length;
+		double[] result = new double[4];
+		result[0] = numberOfSolvedQueries / (elapsedNanos / 1000000000.0);
+		result[1] = numberOfExpansions == 0 ? 0 : (double) elapsedNanos / numberOfExpansions;
+		result[2] = allocatedBytesBefore < 0 ? -1 : (double) allocatedBytes / numberOfSolvedQueries;
+		result[3] = (double) numberOfExpansions / numberOfSolvedQueries;
+		return result;
+	}//End of measure method
+
+	/**
+	 * A method for solving each of the queries once.
+	 * @param engine - The engine solving the queries.
+	 * @param grid - The map on which the queries are solved.
+	 * @param starts - The start cells of the queries.
+	 * @param goals - The goal cells of the queries.
+	 * @return - The total number of the nodes expanded by the searches.
+	 */
+	private long solveQueries(PathfindingEngine engine, GridMap grid, int[] starts, int[] goals) {
+		long numberOfExpansions = 0;
+		for (int i = 0; i < starts.length; i++) {
+			PathResult result = engine.calculatePath(grid, starts[i], goals[i], options, null);
+			numberOfExpansions += result.getNumberOfVisitedNodes();
+			sumOfCosts += result.getCost();
+		}
+		return numberOfExpansions;
+	}//End of solveQueries method
+
+	/**
+	 * A method for generating the random queries, whereby the goal of each query is connected to its start,
+	 * so that the searches are not dominated by flooding the unreachable parts of the map.
+	 * @param grid - The map on which the queries are solved.
+	 * @param starts - The array to be filled with the start cells.
+	 * @param goals - The array to be filled with the goal cells.
+	 */
+	private void generateQueries(GridMap grid, int[] starts, int[] goals) {
+		Random random = new Random(seed);
+		int[] reachable = new int[grid.getNumberOfCells()];
+		boolean[] visited = new boolean[grid.getNumberOfCells()];
+		for (int i = 0; i < starts.length; i++) {
+			int numberOfReachable;
+			do {
+				starts[i] = randomFreeCell(grid, random);
+				numberOfReachable = findReachableCells(grid, starts[i], reachable, visited);
+			} while (numberOfReachable < 2);
+			do {
+				goals[i] = reachable[random.nextInt(numberOfReachable)];
+			} while (goals[i] == starts[i]);
+		}
+	}//End of generateQueries method
+
+	/**
+	 * A method for finding the cells which are reachable from the start cell, by the breadth-first search over the eight directions.
+	 * @param grid - The map on which the cells are found.
+	 * @param start - The start cell.
+	 * @param reachable - The array to be filled with the reachable cells.
+	 * @param visited - The array for marking the reachable cells, which is cleared before returning.
+	 * @return - The number of the reachable cells (including the start cell).
+	 */
+	private static int findReachableCells(GridMap grid, int start, int[] reachable, boolean[] visited) {
+		int numberOfReachable = 0;
+		reachable[numberOfReachable++] = start;
+		visited[start] = true;
+		for (int i = 0; i < numberOfReachable; i++) {
+			for (int direction = 0; direction < GridMap.numberOfDirections; direction++) {
+				int adjacent = grid.getAdjacentCell(reachable[i], direction);
+				if (adjacent != -1 && !visited[adjacent] && !grid.isObstacle(adjacent)) {
+					visited[adjacent] = true;
+					reachable[numberOfReachable++] = adjacent;
+				}
+			}
+		}
+		for (int i = 0; i < numberOfReachable; i++) {
+			visited[reachable[i]] = false;
+		}
+		return numberOfReachable;
+	}//End of findReachableCells method
+
+	/**
+	 * A method for choosing a random cell which is not an obstacle.
+	 * @param grid - The grid from which the cell is chosen.
+	 * @param random - The random generator.
+	 * @return - The index of the free cell.
+	 */
+	private static int randomFreeCell(GridMap grid, Random random) {
+		int cell;
+		do {
+			cell = random.nextInt(grid.getNumberOfCells());
+		} while (grid.isObstacle(cell));
+		return cell;
+	}//End of randomFreeCell method
+
+	/**
+	 * A method for obtaining the number of the bytes allocated by the current thread so far, if the JVM supports measuring it.
+	 * @return - The number of the allocated bytes, or -1 if it cannot be measured.
+	 */
+	private static long getAllocatedBytes() {
+		ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+		if (threadBean instanceof com.sun.management.ThreadMXBean) {
+			com.sun.management.ThreadMXBean allocationBean = (com.sun.management.ThreadMXBean) threadBean;
+			if (allocationBean.isThreadAllocatedMemorySupported() && allocationBean.isThreadAllocatedMemoryEnabled()) {
+				return allocationBean.getThreadAllocatedBytes(Thread.currentThread().getId());
+			}
+		}
+		return -1;
+	}//End of getAllocatedBytes method
+}
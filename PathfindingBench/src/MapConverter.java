@@ -0,0 +1,66 @@
+
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * The MapConverter class converts the MovingAI map file into the binary grid file (see the MappedGridMap),
+ * and compares the time taken by loading the map file with the time taken by opening the binary grid file. <br>
+ * By default the binary grid file is written next to the map file with the ".grid" extension (e.g. "arena.grid" for "arena.map"),
+ * where the ScenarioRunner finds it. <br>
+ * Usage: java -cp Pathfinding/bin:PathfindingBench/bin MapConverter file.map [file.grid]
+ *
+ */
+public class MapConverter {
+
+	/**
+	 * The main method which converts the map file and prints the times taken.
+	 * @param args - The arguments, as described by the class.
+	 * @throws IOException - If the map file cannot be read, or the binary grid file cannot be written.
+	 */
+	public static void main(String[] args) throws IOException {
+		if (args.length == 0) {
+			System.out.println("Usage: MapConverter file.map [file.grid]");
+			return;
+		}
+		File mapFile = new File(args[0]);
+		File gridFile = args.length > 1 ? new File(args[1]) : getGridFile(mapFile);
+
+		long startTime = System.nanoTime();
+		GridMap grid = MovingAILoader.loadMap(mapFile);
+		long loadingNanos = System.nanoTime() - startTime;
+		MappedGridMap.save(grid, gridFile);
+
+		startTime = System.nanoTime();
+		GridMap mappedGrid = MappedGridMap.open(gridFile, false);
+		long openingNanos = System.nanoTime() - startTime;
+
+		//Read all of the cells of the binary grid file, which loads its pages, and check that they match the map file
+		startTime = System.nanoTime();
+		int numberOfObstacles = 0;
+		for (int cell = 0; cell < grid.getNumberOfCells(); cell++) {
+			if (mappedGrid.isObstacle(cell) != grid.isObstacle(cell)) {
+				throw new IOException("The binary grid file " + gridFile + " does not match the map file at the cell " + cell);
+			}
+			if (mappedGrid.isObstacle(cell)) {
+				numberOfObstacles++;
+			}
+		}
+		long readingNanos = System.nanoTime() - startTime;
+
+		System.out.println(String.format("%s: %d x %d cells, %d obstacles, written to %s (%d bytes)", mapFile.getName(), grid.getWidth(),
+				grid.getHeight(), numberOfObstacles, gridFile, gridFile.length()));
+		System.out.println(String.format("Loading the map file: %.3f ms, opening the binary grid file: %.3f ms, reading all of its cells: %.3f ms",
+				loadingNanos / 1000000.0, openingNanos / 1000000.0, readingNanos / 1000000.0));
+	}//End of main method
+
+	/**
+	 * Getter for the binary grid file converted from the map file, i.e. the file next to the map file with the ".grid" extension.
+	 * @param mapFile - The map file.
+	 * @return - The binary grid file, which might not exist.
+	 */
+	public static File getGridFile(File mapFile) {
+		String name = mapFile.getName();
+		int extension = name.lastIndexOf('.');
+		return new File(mapFile.getParentFile(), (extension > 0 ? name.substring(0, extension) : name) + ".grid");
+	}//End of getGridFile method
+}
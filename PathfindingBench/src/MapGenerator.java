@@ -0,0 +1,146 @@
+
+import java.util.Random;
+
+/**
+ * The MapGenerator class generates the maps on which the path-finding engines are benchmarked, that is: <br>
+ * &nbsp&nbsp&nbsp"open": the map without any obstacles, <br>
+ * &nbsp&nbsp&nbsp"random20" and "random40": the maps with 20% and 40% of the cells being random obstacles, <br>
+ * &nbsp&nbsp&nbsp"maze": the perfect maze with the corridors one cell wide, <br>
+ * &nbsp&nbsp&nbsp"rooms": the square rooms separated by the walls, with a random door in each wall. <br>
+ * The maps are generated from the seed, so that the same map is benchmarked by each of the runs.
+ *
+ */
+public class MapGenerator {
+
+	/**
+	 * Declares the names of the types of the maps which can be generated.
+	 */
+	public static final String[] mapTypes = {"open", "random20", "random40", "maze", "rooms"};
+
+	/**
+	 * Declares the number of the cells along the side of each room of the "rooms" map (including its wall).
+	 */
+	private static final int roomSize = 16;
+
+	/**
+	 * A method for generating the map of the given type.
+	 * @param mapType - The type of the map, i.e. "open", "random20", "random40", "maze" or "rooms".
+	 * @param size - The number of the columns and rows of the map.
+	 * @param seed - The seed of the random generator.
+	 * @return - The generated map.
+	 */
+	public static GridMap generate(String mapType, int size, long seed) {
+		Random random = new Random(seed);
+		if (mapType.equals("open")) {
+			return new GridMap(size, size);
+		} else if (mapType.equals("random20")) {
+			return generateRandom(size, 0.2, random);
+		} else if (mapType.equals("random40")) {
+			return generateRandom(size, 0.4, random);
+		} else if (mapType.equals("maze")) {
+			return generateMaze(size, random);
+		} else if (mapType.equals("rooms")) {
+			return generateRooms(size, random);
+		}
+		throw new IllegalArgumentException("Unknown type of the map: " + mapType);
+	}//End of generate method
+
+	/**
+	 * A method for generating the map whereby each cell is an obstacle with the given probability.
+	 * @param size - The number of the columns and rows of the map.
+	 * @param obstacleDensity - The probability of each cell being an obstacle.
+	 * @param random - The random generator.
+	 * @return - The generated map.
+	 */
+	private static GridMap generateRandom(int size, double obstacleDensity, Random random) {
+		GridMap grid = new GridMap(size, size);
+		for (int cell = 0; cell < grid.getNumberOfCells(); cell++) {
+			if (random.nextDouble() < obstacleDensity) {
+				grid.setObstacle(cell, true);
+			}
+		}
+		return grid;
+	}//End of generateRandom method
+
+	/**
+	 * A method for generating the perfect maze by the randomised depth-first search, whereby the cells with both the column and row
+	 * being even are the rooms of the maze, and the search removes the walls between the rooms while moving to the unvisited ones.
+	 * The search uses its own stack, so that the large mazes do not overflow the stack of the thread.
+	 * @param size - The number of the columns and rows of the map.
+	 * @param random - The random generator.
+	 * @return - The generated map.
+	 */
+	private static GridMap generateMaze(int size, Random random) {
+		GridMap grid = new GridMap(size, size);
+		for (int cell = 0; cell < grid.getNumberOfCells(); cell++) {
+			grid.setObstacle(cell, true);
+		}
+
+		int[] stack = new int[grid.getNumberOfCells()];
+		int stackSize = 0;
+		int[] candidates = new int[GridMap.numberOfNonDiagonalDirections];
+		grid.setObstacle(0, false);
+		stack[stackSize++] = 0;
+		while (stackSize > 0) {
+			int cell = stack[stackSize - 1];
+			int column = grid.getColumn(cell);
+			int row = grid.getRow(cell);
+
+			//Find the unvisited rooms two cells away
+			int numberOfCandidates = 0;
+			for (int direction = 0; direction < GridMap.numberOfNonDiagonalDirections; direction++) {
+				int nextColumn = column + 2 * GridMap.columnOffsets[direction];
+				int nextRow = row + 2 * GridMap.rowOffsets[direction];
+				if (grid.isWithinBounds(nextColumn, nextRow) && grid.isObstacle(grid.getCellIndex(nextColumn, nextRow))) {
+					candidates[numberOfCandidates++] = direction;
+				}
+			}
+			if (numberOfCandidates == 0) {
+				stackSize--;
+				continue;
+			}
+
+			//Remove the wall to the random one of them, and continue from there
+			int direction = candidates[random.nextInt(numberOfCandidates)];
+			grid.setObstacle(grid.getCellIndex(column + GridMap.columnOffsets[direction], row + GridMap.rowOffsets[direction]), false);
+			int nextCell = grid.getCellIndex(column + 2 * GridMap.columnOffsets[direction], row + 2 * GridMap.rowOffsets[direction]);
+			grid.setObstacle(nextCell, false);
+			stack[stackSize++] = nextCell;
+		}
+		return grid;
+	}//End of generateMaze method
+
+	/**
+	 * A method for generating the map of the square rooms, whereby the walls run along each roomSize-th column and row,
+	 * and each wall between two rooms has a door of two cells at a random position.
+	 * @param size - The number of the columns and rows of the map.
+	 * @param random - The random generator.
+	 * @return - The generated map.
+	 */
+	private static GridMap generateRooms(int size, Random random) {
+		GridMap grid = new GridMap(size, size);
+		for (int i = roomSize - 1; i < size; i += roomSize) {
+			for (int j = 0; j < size; j++) {
+				//The vertical wall at the column i, and the horizontal wall at the row i
+				grid.setObstacle(grid.getCellIndex(i, j), true);
+				grid.setObstacle(grid.getCellIndex(j, i), true);
+			}
+		}
+		for (int i = roomSize - 1; i < size; i += roomSize) {
+			for (int j = 0; j < size; j += roomSize) {
+				int length = Math.min(roomSize - 1, size - j);
+				if (length < 2) {
+					continue;
+				}
+				//The door in the vertical wall, and the door in the horizontal wall of the room starting at j
+				int door = j + random.nextInt(length - 1);
+				grid.setObstacle(grid.getCellIndex(i, door), false);
+				grid.setObstacle(grid.getCellIndex(i, door + 1), false);
+				door = j + random.nextInt(length - 1);
+				grid.setObstacle(grid.getCellIndex(door, i), false);
+				grid.setObstacle(grid.getCellIndex(door + 1, i), false);
+			}
+		}
+		return grid;
+	}//End of generateRooms method
+}
@@ -0,0 +1,233 @@
+
+import java.io.File;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The ScenarioRunner class solves every query of the MovingAI scenario file with each of the engines, and reports: <br>
+ * &nbsp&nbsp&nbspthe number of the queries whose path has been found, <br>
+ * &nbsp&nbsp&nbspthe average and the worst ratio of the cost of the path to the optimal length of the scenario, <br>
+ * &nbsp&nbsp&nbspthe number of the paths longer than the optimal length, <br>
+ * &nbsp&nbsp&nbspthe average number of the expanded (visited) nodes, and the number of the queries solved per second. <br>
+ * Since the engines cost the diagonal step 14 rather than 10 times the square root of 2, and allow the diagonal steps between
+ * two obstacles (which the optimal lengths of the MovingAI sets do not allow), the optimal engines may find the paths slightly shorter
+ * than the optimal length, hence only the paths longer than the optimal length are reported as the suboptimal ones. <br>
+ * The map files are looked up relative to the scenario file (or the map directory, if given), and each map is only loaded once.
+ * If the binary grid file converted from the map file by the MapConverter (e.g. "arena.grid" next to "arena.map") exists,
+ * then it is opened instead, which maps it into the memory rather than reading it. <br>
+ * If the JSON file is given, then the queries are measured by the MetricsRegistry, and the metrics of each engine
+ * (the counters, and the percentiles of the latency and of the expansions per query) are written to the file. <br>
+ * The A* engine uses the Chebyshev heuristics, unless another heuristics is given (manhattan, chebyshev, octile, euclidean or alt). <br>
+ * The ALT heuristics uses the given number of the landmarks (16 by default) of each map, which are loaded from the landmark file next to
+ * the map file (e.g. "arena.landmarks" next to "arena.map"), or preprocessed and saved into it if it does not exist yet. The A* engine
+ * with the ALT heuristics is then compared to the A* engine with the octile heuristics, and the reduction of the expanded nodes is reported. <br>
+ * Usage: java -cp Pathfinding/bin:PathfindingBench/bin ScenarioRunner file.scen [-maps mapDirectory] [-engines astar,dijkstra,jps,hpa,dstar]
+ * [-heuristics octile] [-landmarks 16] [-json metrics.json]
+ *
+ */
+public class ScenarioRunner {
+
+	/**
+	 * Declares the tolerance of the ratio to the optimal length, below which the path is not reported as the suboptimal one.
+	 */
+	private static final double tolerance = 0.0001;
+
+	/**
+	 * The main method which loads the scenarios, solves them and prints the results.
+	 * @param args - The arguments, as described by the class.
+	 * @throws IOException - If the scenario or map files cannot be read.
+	 */
+	public static void main(String[] args) throws IOException {
+		if (args.length == 0) {
+			System.out.println("Usage: ScenarioRunner file.scen [-maps mapDirectory] [-engines astar,dijkstra,jps,hpa,dstar] [-heuristics octile]"
+					+ " [-landmarks 16] [-json metrics.json]");
+			return;
+		}
+		File scenarioFile = new File(args[0]);
+		File mapDirectory = scenarioFile.getAbsoluteFile().getParentFile();
+		String[] algorithmTypes = {"astar", "dijkstra", "jps", "hpa", "dstar"};
+		File metricsFile = null;
+		String heuristicsType = "chebyshev";
+		int numberOfLandmarks = 16;
+		for (int i = 1; i + 1 < args.length; i += 2) {
+			if (args[i].equals("-maps")) {
+				mapDirectory = new File(args[i + 1]);
+			} else if (args[i].equals("-engines")) {
+				algorithmTypes = args[i + 1].split(",");
+			} else if (args[i].equals("-heuristics")) {
+				heuristicsType = args[i + 1];
+			} else if (args[i].equals("-landmarks")) {
+				numberOfLandmarks = Integer.parseInt(args[i + 1]);
+			} else if (args[i].equals("-json")) {
+				metricsFile = new File(args[i + 1]);
+			} else {
+				throw new IllegalArgumentException("Unknown argument: " + args[i]);
+			}
+		}
+
+		List<MovingAIScenario> scenarios = MovingAILoader.loadScenarios(scenarioFile);
+		Map<String, GridMap> maps = new HashMap<String, GridMap>();
+		Map<GridMap, LandmarkHeuristic> landmarks = new HashMap<GridMap, LandmarkHeuristic>();
+		SearchOptions options = new SearchOptions().setHeuristicsType(heuristicsType).setUseBucketQueue(true);
+		for (MovingAIScenario scenario : scenarios) {
+			if (!maps.containsKey(scenario.getMapName())) {
+				File mapFile = findMapFile(mapDirectory, scenario.getMapName());
+				GridMap grid = loadMap(mapFile);
+				maps.put(scenario.getMapName(), grid);
+				if (heuristicsType.equals("alt")) {
+					landmarks.put(grid, loadLandmarks(mapFile, grid, numberOfLandmarks, options.isAllowDiagonalPathFinding()));
+				}
+			}
+		}
+		System.out.println("Scenario: " + scenarioFile.getName() + ", queries: " + scenarios.size() + ", maps: " + maps.size());
+		System.out.println(String.format("%-9s %8s %12s %12s %12s %14s %12s", "Engine", "Found", "Avg ratio", "Max ratio",
+				"Suboptimal", "Expansions/q", "Queries/s"));
+
+		for (String algorithmType : algorithmTypes) {
+			long numberOfExpansions = solveScenarios(algorithmType, algorithmType, scenarios, maps, landmarks, options, metricsFile != null);
+			if (algorithmType.equals("astar") && heuristicsType.equals("alt")) {
+				//The octile heuristics is the tightest of the geometric heuristics, so it is the baseline of the ALT heuristics
+				SearchOptions octileOptions = new SearchOptions().setHeuristicsType("octile").setUseBucketQueue(true);
+				long numberOfOctileExpansions = solveScenarios("astar-oct", algorithmType, scenarios, maps, landmarks, octileOptions,
+						metricsFile != null);
+				System.out.println(String.format("The ALT heuristics with %d landmarks expands %.1f %% fewer nodes than the octile heuristics",
+						numberOfLandmarks, numberOfOctileExpansions == 0 ? 0 : 100.0 * (numberOfOctileExpansions - numberOfExpansions) / numberOfOctileExpansions));
+			}
+		}
+		if (metricsFile != null) {
+			MetricsRegistry.writeJson(metricsFile);
+			System.out.println("The metrics have been written to " + metricsFile);
+		}
+	}//End of main method
+
+	/**
+	 * A method for solving every query of the scenarios with the engine, and printing the results of the engine.
+	 * @param label - The label of the engine in the results.
+	 * @param algorithmType - The type of the algorithm of the engine.
+	 * @param scenarios - The queries of the scenarios.
+	 * @param maps - The grids of the maps, keyed by the name of the map.
+	 * @param landmarks - The landmarks of the grids used by the ALT heuristics, keyed by the grid.
+	 * @param options - The options of the searches.
+	 * @param measure - boolean whether the queries are measured by the MetricsRegistry.
+	 * @return - long with the total number of the expanded (visited) nodes.
+	 */
+	private static long solveScenarios(String label, String algorithmType, List<MovingAIScenario> scenarios, Map<String, GridMap> maps,
+			Map<GridMap, LandmarkHeuristic> landmarks, SearchOptions options, boolean measure) {
+		//A new engine for each map, so that the state kept by the engine belongs to the map
+		Map<GridMap, PathfindingEngine> engines = new HashMap<GridMap, PathfindingEngine>();
+		int numberOfFound = 0;
+		int numberOfSuboptimal = 0;
+		double sumOfRatios = 0;
+		double maximumRatio = 0;
+		long numberOfExpansions = 0;
+		long elapsedNanos = 0;
+		for (MovingAIScenario scenario : scenarios) {
+			GridMap grid = maps.get(scenario.getMapName());
+			PathfindingEngine engine = engines.get(grid);
+			if (engine == null) {
+				engine = PathfindingEngines.forType(algorithmType);
+				engines.put(grid, engine);
+			}
+			int start = grid.getCellIndex(scenario.getStartColumn(), scenario.getStartRow());
+			int goal = grid.getCellIndex(scenario.getGoalColumn(), scenario.getGoalRow());
+			if (start == goal) {
+				continue;
+			}
+			options.setLandmarks(landmarks.get(grid));
+
+			long startTime = System.nanoTime();
+			PathResult result;
+			if (measure) {
+				result = MetricsRegistry.measure(algorithmType, engine, grid, start, goal, options, null);
+			} else {
+				result = engine.calculatePath(grid, start, goal, options, null);
+			}
+			elapsedNanos += System.nanoTime() - startTime;
+			numberOfExpansions += result.getNumberOfVisitedNodes();
+
+			if (result.isPathFound()) {
+				numberOfFound++;
+				//The costs of the engines are 10 for the straight step
+				double ratio = result.getCost() / 10.0 / scenario.getOptimalLength();
+				sumOfRatios += ratio;
+				maximumRatio = Math.max(maximumRatio, ratio);
+				if (ratio > 1 + tolerance) {
+					numberOfSuboptimal++;
+				}
+			}
+		}
+		System.out.println(String.format("%-9s %8s %12.4f %12.4f %12d %14.0f %12.1f", label, numberOfFound + "/" + scenarios.size(),
+				numberOfFound == 0 ? 0 : sumOfRatios / numberOfFound, maximumRatio, numberOfSuboptimal,
+				(double) numberOfExpansions / scenarios.size(), scenarios.size() / (elapsedNanos / 1000000000.0)));
+		return numberOfExpansions;
+	}//End of solveScenarios method
+
+	/**
+	 * A method for loading the landmarks of the map from its landmark file, or preprocessing them and saving them into the landmark file,
+	 * if the file does not exist yet, or holds a different number of the landmarks or has been saved for other obstacles.
+	 * @param mapFile - The map file.
+	 * @param grid - The grid of the map.
+	 * @param numberOfLandmarks - The number of the landmarks.
+	 * @param allowDiagonalPathFinding - boolean whether the searches allow the diagonal path finding.
+	 * @return - The landmarks of the grid.
+	 * @throws IOException - If the landmark file cannot be written.
+	 */
+	private static LandmarkHeuristic loadLandmarks(File mapFile, GridMap grid, int numberOfLandmarks, boolean allowDiagonalPathFinding)
+			throws IOException {
+		String name = mapFile.getName();
+		int extension = name.lastIndexOf('.');
+		File landmarkFile = new File(mapFile.getParentFile(), (extension > 0 ? name.substring(0, extension) : name) + ".landmarks");
+		if (landmarkFile.isFile()) {
+			try {
+				LandmarkHeuristic landmarks = LandmarkHeuristic.load(landmarkFile, grid);
+				if (landmarks.getNumberOfLandmarks() == numberOfLandmarks && landmarks.isValidFor(grid, allowDiagonalPathFinding)) {
+					return landmarks;
+				}
+			} catch (IOException e) {
+				System.out.println(e.getMessage());
+			}
+		}
+		long startTime = System.nanoTime();
+		LandmarkHeuristic landmarks = LandmarkHeuristic.preprocess(grid, numberOfLandmarks, allowDiagonalPathFinding);
+		landmarks.save(landmarkFile);
+		System.out.println(String.format("Preprocessed %d landmarks of %s in %.1f ms, saved into %s", landmarks.getNumberOfLandmarks(),
+				mapFile.getName(), (System.nanoTime() - startTime) / 1000000.0, landmarkFile.getName()));
+		return landmarks;
+	}//End of loadLandmarks method
+
+	/**
+	 * A method for loading the map file, or opening the binary grid file converted from it, if there is one.
+	 * @param mapFile - The map file.
+	 * @return - The grid with the obstacles of the map.
+	 * @throws IOException - If the file cannot be read.
+	 */
+	private static GridMap loadMap(File mapFile) throws IOException {
+		File gridFile = MapConverter.getGridFile(mapFile);
+		if (gridFile.isFile()) {
+			return MappedGridMap.open(gridFile, false);
+		}
+		return MovingAILoader.loadMap(mapFile);
+	}//End of loadMap method
+
+	/**
+	 * A method for finding the map file of the scenario, which is either at the path given by the scenario
+	 * (e.g. "maps/dao/arena.map"), or directly in the map directory.
+	 * @param mapDirectory - The directory of the map files.
+	 * @param mapName - The name of the map given by the scenario.
+	 * @return - The map file.
+	 * @throws IOException - If the map file does not exist.
+	 */
+	private static File findMapFile(File mapDirectory, String mapName) throws IOException {
+		File file = new File(mapDirectory, mapName);
+		if (file.isFile()) {
+			return file;
+		}
+		file = new File(mapDirectory, new File(mapName).getName());
+		if (file.isFile()) {
+			return file;
+		}
+		throw new IOException("The map file " + mapName + " has not been found in " + mapDirectory);
+	}//End of findMapFile method
+}